@@ -0,0 +1,180 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+public class ForkedGlobalsTests {
+	@BeforeEach
+	public void setUp() {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testBoundFunctions() throws Exception {
+		LuaEnvironment parent = new LuaEnvironment();
+		LuaEnvironment fork = parent.fork();
+		
+		fork.execute(""
+				+ "load(\"loaded = true\")()\n"
+				+ "import(\"java.util.ArrayList\")\n"
+				+ "local resume = coroutine.wrap(function() coroutine.yield(5) end)\n"
+				+ "local coroutineValue = resume()\n"
+				+ "-- Resume the coroutine until it is finished, so that its thread ends.\n"
+				+ "resume()\n"
+				+ "coroutineResult = coroutineValue",
+				null);
+		
+		Assertions.assertEquals(Boolean.TRUE, fork.getFromEnvironment("loaded"));
+		Assertions.assertNotNull(fork.getFromEnvironment("ArrayList"));
+		Assertions.assertEquals(Integer.valueOf(5), fork.getFromEnvironment("coroutineResult"));
+		
+		Assertions.assertNull(parent.getFromEnvironment("loaded"));
+		Assertions.assertNull(parent.getFromEnvironment("ArrayList"));
+		Assertions.assertNull(parent.getFromEnvironment("coroutineResult"));
+		Assertions.assertNull(parent.execute("return java.util", null));
+		Assertions.assertNotNull(fork.execute("return java.util.ArrayList", null));
+		Assertions.assertNotNull(fork.execute("return java.lang.String", null));
+		
+		Assertions.assertSame(fork.getEnvironment(), fork.getEnvironment().get("_G"));
+		Assertions.assertNotSame(parent.getEnvironment().get("string"), fork.getEnvironment().get("string"));
+		Assertions.assertSame(
+				parent.getEnvironment().get("string").get("format"),
+				fork.getEnvironment().get("string").get("format"));
+	}
+	
+	@Test
+	public void testCopyOnWrite() throws Exception {
+		LuaEnvironment parent = new LuaEnvironment();
+		parent.addToEnvironment("shared", "parent");
+		parent.addToEnvironment("removed", "parent");
+		
+		LuaEnvironment fork = parent.fork();
+		
+		Assertions.assertEquals("parent", fork.execute("return shared", null));
+		Assertions.assertTrue(fork.getEnvironment() instanceof ForkedGlobals);
+		
+		fork.execute("shared = \"fork\"\nremoved = nil\nadded = 1", null);
+		
+		Assertions.assertEquals("fork", fork.getFromEnvironment("shared"));
+		Assertions.assertNull(fork.getFromEnvironment("removed"));
+		Assertions.assertEquals(Integer.valueOf(1), fork.getFromEnvironment("added"));
+		
+		Assertions.assertEquals("parent", parent.getFromEnvironment("shared"));
+		Assertions.assertEquals("parent", parent.getFromEnvironment("removed"));
+		Assertions.assertNull(parent.getFromEnvironment("added"));
+		
+		Assertions.assertEquals(Boolean.FALSE, fork.execute(""
+				+ "for key, value in pairs(_G) do\n"
+				+ "  if key == \"removed\" then return true end\n"
+				+ "end\n"
+				+ "return false",
+				null));
+	}
+	
+	@Test
+	public void testForkOfFork() throws Exception {
+		LuaEnvironment parent = new LuaEnvironment();
+		parent.addToEnvironment("list", Arrays.asList("a", "b"));
+		
+		LuaEnvironment fork = parent.fork().fork();
+		
+		Assertions.assertEquals("ab", fork.execute(""
+				+ "local result = \"\"\n"
+				+ "for index, value in ipairs(list) do\n"
+				+ "  result = result .. value\n"
+				+ "end\n"
+				+ "return result",
+				null));
+		Assertions.assertSame(parent.getChunkCache(), fork.getChunkCache());
+	}
+	
+	@Test
+	public void testImportIntoNestedPackages() throws Exception {
+		LuaEnvironment parent = new LuaEnvironment();
+		parent.execute("import(\"java.util.ArrayList\")\nimport(\"java.io.StringReader\")", null);
+		
+		LuaEnvironment fork = parent.fork();
+		fork.execute("import(\"java.io.StringWriter\")\nimport(\"java.util.BitSet\")", null);
+		
+		Assertions.assertNotNull(fork.execute("return java.util.ArrayList", null));
+		Assertions.assertNotNull(fork.execute("return java.util.BitSet", null));
+		Assertions.assertNotNull(fork.execute("return java.io.StringReader", null));
+		Assertions.assertNotNull(fork.execute("return java.io.StringWriter", null));
+		
+		Assertions.assertNotNull(parent.execute("return java.util.ArrayList", null));
+		Assertions.assertNull(parent.execute("return java.util.BitSet", null));
+		Assertions.assertNotNull(parent.execute("return java.io.StringReader", null));
+		Assertions.assertNull(parent.execute("return java.io.StringWriter", null));
+	}
+	
+	@Test
+	public void testIteration() throws Exception {
+		LuaEnvironment parent = new LuaEnvironment();
+		parent.addToEnvironment("inherited", "parent");
+		parent.addToEnvironment("shadowed", "parent");
+		parent.addToEnvironment("removed", "parent");
+		
+		LuaEnvironment fork = parent.fork();
+		fork.execute("shadowed = \"fork\"\nremoved = nil\nadded = \"fork\"", null);
+		
+		Map<String, String> entries = new HashMap<>();
+		int count = 0;
+		
+		LuaValue key = LuaValue.NIL;
+		Varargs entry = fork.getEnvironment().next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			entries.put(key.tojstring(), entry.arg(2).tojstring());
+			count++;
+			
+			entry = fork.getEnvironment().next(key);
+		}
+		
+		Assertions.assertEquals(entries.size(), count);
+		Assertions.assertEquals("parent", entries.get("inherited"));
+		Assertions.assertEquals("fork", entries.get("shadowed"));
+		Assertions.assertEquals("fork", entries.get("added"));
+		Assertions.assertFalse(entries.containsKey("removed"));
+		Assertions.assertTrue(entries.containsKey("print"));
+		
+		Assertions.assertEquals(Boolean.TRUE, fork.execute(""
+				+ "for key, value in pairs(_G) do\n"
+				+ "  if key == \"inherited\" then return true end\n"
+				+ "end\n"
+				+ "return false",
+				null));
+	}
+	
+	@Test
+	public void testLibrariesCopied() throws Exception {
+		LuaEnvironment parent = new LuaEnvironment();
+		LuaEnvironment fork = parent.fork();
+		LuaEnvironment otherFork = parent.fork();
+		
+		fork.execute("string.foo = 1\nmath.x = 2", null);
+		
+		Assertions.assertEquals(Integer.valueOf(1), fork.execute("return string.foo", null));
+		Assertions.assertEquals(Integer.valueOf(2), fork.execute("return math.x", null));
+		Assertions.assertEquals("a1", fork.execute("return string.format(\"a%d\", 1)", null));
+		Assertions.assertEquals(Boolean.TRUE, fork.execute("return require(\"string\") == string", null));
+		
+		Assertions.assertNull(otherFork.execute("return string.foo", null));
+		Assertions.assertNull(otherFork.execute("return math.x", null));
+		Assertions.assertNull(parent.execute("return string.foo", null));
+		Assertions.assertNull(parent.execute("return math.x", null));
+	}
+}
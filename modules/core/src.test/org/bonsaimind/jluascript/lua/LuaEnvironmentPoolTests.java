@@ -0,0 +1,125 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaValue;
+
+public class LuaEnvironmentPoolTests {
+	@BeforeEach
+	public void setUp() {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testBorrowAndReturn() throws Exception {
+		LuaEnvironmentPool pool = new LuaEnvironmentPool(2);
+		
+		Assertions.assertEquals(2, pool.getSize());
+		Assertions.assertEquals(2, pool.getAvailableCount());
+		Assertions.assertEquals(2, pool.getCreatedCount());
+		
+		PooledLuaEnvironment first = pool.borrow();
+		PooledLuaEnvironment second = pool.borrow();
+		
+		Assertions.assertNotSame(first.getEnvironment(), second.getEnvironment());
+		Assertions.assertEquals(0, pool.getAvailableCount());
+		Assertions.assertNull(pool.borrow(10, TimeUnit.MILLISECONDS));
+		Assertions.assertTrue(pool.getWaitTime(TimeUnit.MILLISECONDS) >= 10);
+		
+		first.close();
+		second.close();
+		second.close();
+		
+		Assertions.assertEquals(2, pool.getAvailableCount());
+		Assertions.assertEquals(2, pool.getBorrowCount());
+		Assertions.assertEquals(2, pool.getCreatedCount());
+	}
+	
+	@Test
+	public void testInvalidate() throws Exception {
+		LuaEnvironmentPool pool = new LuaEnvironmentPool(1);
+		
+		LuaEnvironment environment = null;
+		
+		try (PooledLuaEnvironment pooledEnvironment = pool.borrow()) {
+			environment = pooledEnvironment.getEnvironment();
+			pooledEnvironment.invalidate();
+		}
+		
+		try (PooledLuaEnvironment pooledEnvironment = pool.borrow()) {
+			Assertions.assertNotSame(environment, pooledEnvironment.getEnvironment());
+		}
+		
+		Assertions.assertEquals(2, pool.getCreatedCount());
+	}
+	
+	@Test
+	public void testFailingReplacement() throws Exception {
+		AtomicBoolean failing = new AtomicBoolean();
+		LuaEnvironmentPool pool = new LuaEnvironmentPool(1, () -> {
+			if (failing.get()) {
+				throw new IllegalStateException("Creation failed.");
+			}
+			
+			return new LuaEnvironment();
+		});
+		
+		PooledLuaEnvironment pooledEnvironment = pool.borrow();
+		pooledEnvironment.invalidate();
+		
+		failing.set(true);
+		pooledEnvironment.close();
+		
+		Assertions.assertFalse(pooledEnvironment.isBorrowed());
+		Assertions.assertEquals(1, pool.getAvailableCount());
+		Assertions.assertThrows(IllegalStateException.class, () -> pool.borrow());
+		Assertions.assertEquals(1, pool.getAvailableCount());
+		
+		failing.set(false);
+		
+		try (PooledLuaEnvironment replacedEnvironment = pool.borrow()) {
+			Assertions.assertNotSame(pooledEnvironment, replacedEnvironment);
+			Assertions.assertFalse(replacedEnvironment.isInvalid());
+			Assertions.assertTrue(replacedEnvironment.isBorrowed());
+		}
+		
+		Assertions.assertEquals(1, pool.getAvailableCount());
+		Assertions.assertEquals(2, pool.getCreatedCount());
+	}
+	
+	@Test
+	public void testReset() throws Exception {
+		LuaEnvironmentPool pool = new LuaEnvironmentPool(1, () -> new LuaEnvironment().addToEnvironment("configured", "value"));
+		
+		try (PooledLuaEnvironment pooledEnvironment = pool.borrow()) {
+			pooledEnvironment.getEnvironment().execute(""
+					+ "added = 5\n"
+					+ "configured = nil\n"
+					+ "print = 1\n"
+					+ "setmetatable(_ENV, { __index = function() return \"fallback\" end })",
+					null);
+			
+			Assertions.assertEquals("fallback", pooledEnvironment.getEnvironment().execute("return configured", null));
+		}
+		
+		try (PooledLuaEnvironment pooledEnvironment = pool.borrow()) {
+			Assertions.assertEquals("value", pooledEnvironment.getEnvironment().execute("return configured", null));
+			Assertions.assertNull(pooledEnvironment.getEnvironment().execute("return added", null));
+			Assertions.assertEquals("function", pooledEnvironment.getEnvironment().execute("return type(print)", null));
+			Assertions.assertNull(pooledEnvironment.getEnvironment().execute("return missing", null));
+		}
+		
+		Assertions.assertEquals(1, pool.getCreatedCount());
+	}
+}
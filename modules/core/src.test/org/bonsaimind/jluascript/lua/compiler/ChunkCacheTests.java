@@ -0,0 +1,145 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.bonsaimind.jluascript.lua.LuaEnvironment;
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.bonsaimind.jluascript.support.DynamicClassLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaValue;
+
+public class ChunkCacheTests {
+	protected Path file = null;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+		
+		file = Files.createTempFile("chunk-cache", ".lua");
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(file);
+	}
+	
+	@Test
+	public void testMaximumSize() throws Exception {
+		ChunkCache chunkCache = new ChunkCache(2);
+		LuaEnvironment environment = createEnvironment(chunkCache);
+		
+		write("return 1", FileTime.fromMillis(1000));
+		
+		CompiledChunk firstChunk = chunkCache.get(file, "first", environment.getEnvironment());
+		CompiledChunk secondChunk = chunkCache.get(file, "second", environment.getEnvironment());
+		
+		Assertions.assertSame(firstChunk, chunkCache.get(file, "first", environment.getEnvironment()));
+		
+		chunkCache.get(file, "third", environment.getEnvironment());
+		
+		Assertions.assertEquals(2, chunkCache.getMaximumSize());
+		Assertions.assertEquals(2, chunkCache.size());
+		Assertions.assertSame(firstChunk, chunkCache.get(file, "first", environment.getEnvironment()));
+		Assertions.assertNotSame(secondChunk, chunkCache.get(file, "second", environment.getEnvironment()));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new ChunkCache(0));
+	}
+	
+	@Test
+	public void testModifiedFile() throws Exception {
+		ChunkCache chunkCache = new ChunkCache();
+		LuaEnvironment environment = createEnvironment(chunkCache);
+		
+		write("return 1", FileTime.fromMillis(1000));
+		Assertions.assertEquals(Integer.valueOf(1), environment.execute(file, null));
+		
+		CompiledChunk compiledChunk = chunkCache.get(file, "@" + file.toString(), environment.getEnvironment());
+		
+		write("return 23", FileTime.fromMillis(2000));
+		Assertions.assertEquals(Integer.valueOf(23), environment.execute(file, null));
+		
+		Assertions.assertNotSame(compiledChunk, chunkCache.get(file, "@" + file.toString(), environment.getEnvironment()));
+		Assertions.assertEquals(1, chunkCache.size());
+		
+		chunkCache.remove(file);
+		
+		Assertions.assertEquals(0, chunkCache.size());
+	}
+	
+	@Test
+	public void testSharedBetweenEnvironments() throws Exception {
+		ChunkCache chunkCache = new ChunkCache();
+		LuaEnvironment firstEnvironment = createEnvironment(chunkCache);
+		LuaEnvironment secondEnvironment = createEnvironment(chunkCache);
+		
+		write("counter = (counter or 0) + 1\nreturn value .. counter", FileTime.fromMillis(1000));
+		
+		firstEnvironment.addToEnvironment("value", "first");
+		secondEnvironment.addToEnvironment("value", "second");
+		
+		Assertions.assertEquals("first1", firstEnvironment.execute(file, null));
+		
+		CompiledChunk compiledChunk = chunkCache.get(file, "@" + file.toString(), firstEnvironment.getEnvironment());
+		
+		Assertions.assertTrue(compiledChunk.isGenerated());
+		
+		Assertions.assertEquals("second1", secondEnvironment.execute(file, null));
+		Assertions.assertEquals("first2", firstEnvironment.execute(file, null));
+		Assertions.assertEquals("second2", secondEnvironment.execute(file, null));
+		
+		Assertions.assertSame(compiledChunk, chunkCache.get(file, "@" + file.toString(), secondEnvironment.getEnvironment()));
+		Assertions.assertEquals(1, chunkCache.size());
+	}
+	
+	@Test
+	public void testTieredExecutionMode() throws Exception {
+		ChunkCache chunkCache = new ChunkCache();
+		LuaEnvironment compiledEnvironment = createEnvironment(chunkCache);
+		LuaEnvironment tieredEnvironment = createEnvironment(chunkCache).setExecutionMode(ExecutionMode.TIERED);
+		
+		write("return 5", FileTime.fromMillis(1000));
+		
+		Assertions.assertEquals(Integer.valueOf(5), compiledEnvironment.execute(file, null));
+		Assertions.assertEquals(Integer.valueOf(5), tieredEnvironment.execute(file, null));
+		Assertions.assertEquals(2, chunkCache.size());
+		
+		LuaEnvironment otherTieredEnvironment = createEnvironment(chunkCache).setExecutionMode(ExecutionMode.TIERED);
+		
+		Assertions.assertEquals(Integer.valueOf(5), otherTieredEnvironment.execute(file, null));
+		Assertions.assertEquals(2, chunkCache.size());
+		
+		LuaEnvironment configuredTieredEnvironment = createEnvironment(chunkCache);
+		configuredTieredEnvironment.getEnvironment().loader = new TieredLoader(3, Runnable::run);
+		
+		Assertions.assertEquals(Integer.valueOf(5), configuredTieredEnvironment.execute(file, null));
+		Assertions.assertEquals(3, chunkCache.size());
+		
+		CompiledChunk compiledChunk = chunkCache.get(file, "@" + file.toString(), tieredEnvironment.getEnvironment());
+		
+		Assertions.assertFalse(compiledChunk.isGenerated());
+		Assertions.assertSame(
+				((TieredFunction)compiledChunk.bind(LuaValue.NIL)).getChunk(),
+				((TieredFunction)compiledChunk.bind(LuaValue.NIL)).getChunk());
+	}
+	
+	protected LuaEnvironment createEnvironment(ChunkCache chunkCache) {
+		return new LuaEnvironment(new DynamicClassLoader(getClass().getClassLoader()), new DefaultCoercer(), chunkCache);
+	}
+	
+	protected void write(String script, FileTime lastModifiedTime) throws Exception {
+		Files.write(file, script.getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(file, lastModifiedTime);
+	}
+}
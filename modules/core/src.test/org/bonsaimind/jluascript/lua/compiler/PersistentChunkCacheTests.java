@@ -0,0 +1,112 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.bonsaimind.jluascript.lua.LuaEnvironment;
+import org.bonsaimind.jluascript.lua.ScriptExecutionException;
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.bonsaimind.jluascript.support.DynamicClassLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaValue;
+
+public class PersistentChunkCacheTests {
+	protected Path directory = null;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+		
+		directory = Files.createTempDirectory("persistent-chunk-cache");
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach((path) -> path.toFile().delete());
+		}
+	}
+	
+	@Test
+	public void testBrokenStoredFile() throws Exception {
+		Path file = write("script.lua", "return 42");
+		
+		Assertions.assertEquals(Integer.valueOf(42), createEnvironment().execute(file, null));
+		
+		Path storedFile = getStoredFile();
+		Files.write(storedFile, new byte[] { 1, 2, 3 });
+		
+		Assertions.assertEquals(Integer.valueOf(42), createEnvironment().execute(file, null));
+		Assertions.assertTrue(Files.size(getStoredFile()) > 3);
+	}
+	
+	@Test
+	public void testReuseAcrossCaches() throws Exception {
+		Path file = write("script.lua", "local function add(a, b)\n return a + b\nend\nreturn add(value, 2)");
+		
+		LuaEnvironment firstEnvironment = createEnvironment();
+		firstEnvironment.addToEnvironment("value", Integer.valueOf(1));
+		
+		Assertions.assertEquals(Integer.valueOf(3), firstEnvironment.execute(file, null));
+		Assertions.assertNotNull(getStoredFile());
+		
+		// Without a compiler, the script can only be loaded from the stored
+		// classes.
+		LuaEnvironment secondEnvironment = createEnvironment();
+		secondEnvironment.getEnvironment().compiler = null;
+		secondEnvironment.addToEnvironment("value", Integer.valueOf(40));
+		
+		Assertions.assertEquals(Integer.valueOf(42), secondEnvironment.execute(file, null));
+	}
+	
+	@Test
+	public void testStackTrace() throws Exception {
+		Path file = write("failing.lua", "local function inner()\n error(\"failure\")\nend\ninner()");
+		
+		StackTraceElement[] compiledStackTrace = executeFailing(createEnvironment(), file);
+		StackTraceElement[] storedStackTrace = executeFailing(createEnvironment(), file);
+		
+		Assertions.assertEquals(2, compiledStackTrace.length);
+		Assertions.assertEquals("inner", compiledStackTrace[0].getMethodName());
+		Assertions.assertArrayEquals(compiledStackTrace, storedStackTrace);
+	}
+	
+	protected LuaEnvironment createEnvironment() {
+		return new LuaEnvironment(new DynamicClassLoader(getClass().getClassLoader()), new DefaultCoercer(), new PersistentChunkCache(directory.resolve("cache")));
+	}
+	
+	protected StackTraceElement[] executeFailing(LuaEnvironment environment, Path file) {
+		try {
+			environment.execute(file, null);
+			
+			Assertions.fail("Error should have been thrown, but was not.");
+		} catch (ScriptExecutionException e) {
+			return e.getStackTrace();
+		}
+		
+		return null;
+	}
+	
+	protected Path getStoredFile() throws Exception {
+		try (Stream<Path> paths = Files.list(directory.resolve("cache"))) {
+			return paths.filter((path) -> path.toString().endsWith(".chunk")).findFirst().orElse(null);
+		}
+	}
+	
+	protected Path write(String name, String script) throws Exception {
+		return Files.write(directory.resolve(name), script.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import org.bonsaimind.jluascript.lua.LuaEnvironment;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaClosure;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
+
+public class TieredLoaderTests {
+	@BeforeEach
+	public void setUp() {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testExecutionModes() throws Exception {
+		LuaEnvironment environment = new LuaEnvironment();
+		
+		Assertions.assertEquals(ExecutionMode.COMPILED, environment.getExecutionMode());
+		Assertions.assertFalse(environment.getEnvironment().load("return 1").isclosure());
+		
+		environment.setExecutionMode(ExecutionMode.INTERPRETED);
+		
+		Assertions.assertTrue(environment.getEnvironment().load("return 1") instanceof LuaClosure);
+		Assertions.assertEquals(Integer.valueOf(5), environment.execute("return 2 + 3", null));
+		
+		environment.setExecutionMode(ExecutionMode.TIERED);
+		
+		Assertions.assertTrue(environment.getEnvironment().load("return 1") instanceof TieredFunction);
+		Assertions.assertEquals(Integer.valueOf(5), environment.execute("return 2 + 3", null));
+	}
+	
+	@Test
+	public void testNestedFunctions() throws Exception {
+		LuaEnvironment environment = new LuaEnvironment();
+		environment.getEnvironment().loader = new TieredLoader(2, Runnable::run);
+		
+		TieredFunction chunk = (TieredFunction)environment.getEnvironment().load(""
+				+ "function double(value)\n"
+				+ "    return value * 2\n"
+				+ "end\n"
+				+ "local functions = {}\n"
+				+ "for index = 1, 3 do\n"
+				+ "    functions[index] = function() return index end\n"
+				+ "end\n"
+				+ "return functions");
+		
+		Prototype prototype = chunk.getChunk().getPrototype();
+		int[] code = prototype.code.clone();
+		int nestedVararg = prototype.p[0].is_vararg;
+		
+		// The interpreter creates its own closures, every one of them is a
+		// distinct function.
+		LuaValue functions = chunk.call();
+		
+		Assertions.assertTrue(environment.getEnvironment().get("double") instanceof LuaClosure);
+		Assertions.assertTrue(functions.get(1) instanceof LuaClosure);
+		Assertions.assertNotSame(functions.get(1), functions.get(2));
+		Assertions.assertEquals(2, functions.get(2).call().toint());
+		
+		// The second invocation reaches the threshold, and the compiled chunk
+		// creates compiled closures.
+		functions = chunk.call();
+		
+		Assertions.assertTrue(chunk.isCompiled());
+		Assertions.assertFalse(environment.getEnvironment().get("double") instanceof LuaClosure);
+		Assertions.assertEquals(8, environment.getEnvironment().get("double").call(LuaValue.valueOf(4)).toint());
+		Assertions.assertFalse(functions.get(1) instanceof LuaClosure);
+		Assertions.assertNotSame(functions.get(1), functions.get(2));
+		Assertions.assertEquals(3, functions.get(3).call().toint());
+		
+		// The prototype itself is never changed.
+		Assertions.assertArrayEquals(code, prototype.code);
+		Assertions.assertEquals(nestedVararg, prototype.p[0].is_vararg);
+	}
+	
+	@Test
+	public void testTiering() throws Exception {
+		LuaEnvironment environment = new LuaEnvironment();
+		environment.getEnvironment().loader = new TieredLoader(3, Runnable::run);
+		environment.addToEnvironment("value", Integer.valueOf(2));
+		
+		TieredFunction function = (TieredFunction)environment.getEnvironment().load("value = value * 2\nreturn value");
+		
+		Assertions.assertEquals(4, function.call().toint());
+		Assertions.assertFalse(function.isCompiled());
+		Assertions.assertEquals(8, function.call().toint());
+		Assertions.assertFalse(function.isCompiled());
+		
+		// The third invocation reaches the threshold, and as the executor runs
+		// the compilation directly, the compiled function is already used for
+		// it.
+		Assertions.assertEquals(16, function.call().toint());
+		Assertions.assertTrue(function.getChunk().isCompiled());
+		Assertions.assertTrue(function.isCompiled());
+		
+		Assertions.assertEquals(32, function.call().toint());
+		Assertions.assertTrue(function.isCompiled());
+		Assertions.assertEquals(3, function.getChunk().getInvocations());
+		
+		TieredFunction boundFunction = function.getChunk().bind(environment.getEnvironment());
+		
+		Assertions.assertEquals(64, boundFunction.call().toint());
+		Assertions.assertTrue(boundFunction.isCompiled());
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.libs.functions.interop;
+
+import org.bonsaimind.jluascript.lua.LuaEnvironment;
+import org.bonsaimind.jluascript.lua.ScriptExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ArrayConvertingFunctionTests {
+	protected LuaEnvironment environment = null;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		environment = new LuaEnvironment();
+	}
+	
+	@Test
+	public void testFunction() throws Exception {
+		Assertions.assertArrayEquals(new double[] { 1, 2.5 }, (double[])run("return toArray({ 1, 2.5 }, \"double\")"));
+		Assertions.assertArrayEquals(new String[] { "a", "b" }, (String[])run("return toArray({ \"a\", \"b\" }, String)"));
+		Assertions.assertArrayEquals(new Object[] { "a", Integer.valueOf(1) }, (Object[])run("return toArray({ \"a\", 1 })"));
+		Assertions.assertEquals(Integer.valueOf(2), run("return #toArray({ 1, 2 }, \"int\")"));
+		
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("return toArray({ 1 }, \"unknown\")"));
+	}
+	
+	protected Object run(String script) throws ScriptExecutionException {
+		return environment.execute(script, null);
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.libs.functions.interop;
+
+import org.bonsaimind.jluascript.lua.LuaEnvironment;
+import org.bonsaimind.jluascript.lua.ScriptExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TableConvertingFunctionTests {
+	protected LuaEnvironment environment = null;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		environment = new LuaEnvironment();
+	}
+	
+	@Test
+	public void testFunction() throws Exception {
+		environment.addToEnvironment("values", new int[] { 1, 2, 3 });
+		
+		Assertions.assertEquals(Integer.valueOf(6), run("local values = toTable(values) return values[1] + values[2] + values[3]"));
+		Assertions.assertEquals("table", run("return type(toTable(values))"));
+		
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("return toTable({})"));
+	}
+	
+	protected Object run(String script) throws ScriptExecutionException {
+		return environment.execute(script, null);
+	}
+}
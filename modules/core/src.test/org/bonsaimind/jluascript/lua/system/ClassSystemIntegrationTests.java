@@ -1,12 +1,26 @@
 
 package org.bonsaimind.jluascript.lua.system;
 
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
 import java.util.function.Supplier;
 
 import org.bonsaimind.jluascript.lua.LuaEnvironment;
 import org.bonsaimind.jluascript.lua.ScriptExecutionException;
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.bonsaimind.jluascript.support.DynamicClassLoader;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +33,73 @@ public class ClassSystemIntegrationTests {
 		environment = new LuaEnvironment();
 	}
 	
+	@Test
+	public void testArrayAccess() throws Exception {
+		int[] array = new int[] { 1, 2, 3 };
+		
+		environment.addToEnvironment("array", array);
+		
+		Assertions.assertEquals(Integer.valueOf(3), run("return #array"));
+		Assertions.assertEquals(Integer.valueOf(3), run("return array.length"));
+		Assertions.assertEquals(Integer.valueOf(2), run("return array[2]"));
+		Assertions.assertNull(run("return array[4]"));
+		
+		run("array[2] = 5");
+		Assertions.assertArrayEquals(new int[] { 1, 5, 3 }, array);
+		
+		run("array:fill(7, 2)");
+		Assertions.assertArrayEquals(new int[] { 1, 7, 7 }, array);
+		
+		Assertions.assertEquals(Integer.valueOf(14), run("local slice = array:slice(2, 3) return slice[1] + slice[2]"));
+		
+		String[] strings = new String[] { "a", "b", "c" };
+		
+		environment.addToEnvironment("strings", strings);
+		
+		run("strings:copy(strings, 1, 2, 2)");
+		Assertions.assertArrayEquals(new String[] { "a", "a", "b" }, strings);
+		
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("array[4] = 1"));
+	}
+	
+	@Test
+	public void testArrayParameters() throws Exception {
+		ArrayAcceptingTestObject arrayAcceptingTestObject = new ArrayAcceptingTestObject();
+		
+		environment.addToEnvironment("arrayAcceptingTestObject", arrayAcceptingTestObject);
+		
+		Assertions.assertEquals(Double.valueOf(4.5), run("return arrayAcceptingTestObject:sum({ 1, 1.5, 2 })"));
+		Assertions.assertEquals("a,b", run("return arrayAcceptingTestObject:join({ \"a\", \"b\" })"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("return arrayAcceptingTestObject:sum({ \"a\" })"));
+	}
+	
+	@Test
+	public void testBinaryStringParameters() throws Exception {
+		BinaryAcceptingTestObject binaryAcceptingTestObject = new BinaryAcceptingTestObject();
+		
+		environment.addToEnvironment("binaryAcceptingTestObject", binaryAcceptingTestObject);
+		
+		Assertions.assertEquals("string", run("return binaryAcceptingTestObject:accept(\"abc\")"));
+		Assertions.assertEquals(Integer.valueOf(3), run("return binaryAcceptingTestObject:acceptBytes(\"abc\")"));
+		Assertions.assertEquals(Integer.valueOf(3), run("return binaryAcceptingTestObject:acceptByteBuffer(\"abc\")"));
+		Assertions.assertTrue(binaryAcceptingTestObject.byteBuffer.isReadOnly());
+		Assertions.assertEquals('a', binaryAcceptingTestObject.byteBuffer.get(0));
+		Assertions.assertEquals("ABC", run("return (\"abc\"):toUpperCase()"));
+	}
+	
+	@Test
+	public void testCollectionParameters() throws Exception {
+		CollectionAcceptingTestObject collectionAcceptingTestObject = new CollectionAcceptingTestObject();
+		
+		environment.addToEnvironment("collectionAcceptingTestObject", collectionAcceptingTestObject);
+		
+		Assertions.assertEquals(Integer.valueOf(6), run("return collectionAcceptingTestObject:sum({ 1, 2, 3 })"));
+		Assertions.assertEquals("b", run("return collectionAcceptingTestObject:get({ a = \"b\" }, \"a\")"));
+		Assertions.assertEquals(Integer.valueOf(4), run("local values = { 1, 2, 3 } collectionAcceptingTestObject:append(values, 4) return values[4]"));
+		Assertions.assertEquals(Integer.valueOf(2), run("return collectionAcceptingTestObject:count({ 1 }, { 2 })"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("return Integer.valueOf({})"));
+	}
+	
 	@Test
 	public void testEnumMethods() throws Exception {
 		environment.addToEnvironment("TestEnum", TestEnum.class);
@@ -49,6 +130,26 @@ public class ClassSystemIntegrationTests {
 		Assertions.assertEquals("newValue2", run("return fieldHoldingObject.instanceField"));
 	}
 	
+	@Test
+	public void testFieldAssignment() throws Exception {
+		FieldHoldingObject fieldHoldingObject = new FieldHoldingObject();
+		
+		environment.addToEnvironment("FieldHoldingObject", FieldHoldingObject.class);
+		environment.addToEnvironment("fieldHoldingObject", fieldHoldingObject);
+		
+		run("FieldHoldingObject.staticField = \"staticValue\"\n"
+				+ "fieldHoldingObject.instanceField = \"instanceValue\"");
+		
+		Assertions.assertEquals("staticValue", FieldHoldingObject.staticField);
+		Assertions.assertEquals("instanceValue", fieldHoldingObject.instanceField);
+		Assertions.assertEquals("instanceValue", run("return fieldHoldingObject.instanceField"));
+		
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("fieldHoldingObject.nonExistingField = 5"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("FieldHoldingObject.nonExistingField = 5"));
+		
+		FieldHoldingObject.staticField = null;
+	}
+	
 	@Test
 	public void testFunctionalInterfaceBridge() throws Exception {
 		environment.addToEnvironment("testObject", new StringSupplyingTestObject());
@@ -63,6 +164,49 @@ public class ClassSystemIntegrationTests {
 		run("list:forEach(function(item) print(\"No action required.\") end)");
 	}
 	
+	@Test
+	public void testFunctionalInterfaceProxyReuse() throws Exception {
+		SupplierCollectingTestObject collector = new SupplierCollectingTestObject();
+		
+		environment.addToEnvironment("collector", collector);
+		
+		run("local supplier = function() return \"A\" end\n"
+				+ "collector:add(supplier)\n"
+				+ "collector:add(supplier)\n"
+				+ "collector:add(function() return \"B\" end)");
+		
+		Assertions.assertEquals(3, collector.suppliers.size());
+		Assertions.assertSame(collector.suppliers.get(0), collector.suppliers.get(1));
+		Assertions.assertNotSame(collector.suppliers.get(1), collector.suppliers.get(2));
+		Assertions.assertEquals("A", collector.suppliers.get(0).get());
+		Assertions.assertEquals("B", collector.suppliers.get(2).get());
+		Assertions.assertFalse(Proxy.isProxyClass(collector.suppliers.get(0).getClass()));
+	}
+	
+	@Test
+	public void testFunctionalInterfacePrimitives() throws Exception {
+		environment.addToEnvironment("testObject", new CallbackInvokingTestObject());
+		
+		Assertions.assertEquals(Integer.valueOf(5), run("return testObject:applyAsInt(function(a, b) return a + b end, 2, 3)"));
+		Assertions.assertEquals(Boolean.TRUE, run("return testObject:test(function(value) return value > 2 end, 3)"));
+		Assertions.assertEquals(Boolean.FALSE, run("return testObject:test(function(value) return value > 2 end, 1)"));
+		Assertions.assertEquals(Boolean.FALSE, run("return testObject:test(function(value) end, 3)"));
+	}
+	
+	@Test
+	public void testFunctionalInterfaceSort() throws Exception {
+		List<String> list = new ArrayList<>(Arrays.asList("B", "C", "A"));
+		
+		environment.addToEnvironment("Collections", Collections.class);
+		environment.addToEnvironment("list", list);
+		
+		run("Collections.sort(list, function(a, b)\n"
+				+ "    if a < b then return 1 elseif a > b then return -1 else return 0 end\n"
+				+ "end)");
+		
+		Assertions.assertEquals(Arrays.asList("C", "B", "A"), list);
+	}
+	
 	@Test
 	public void testInstanceClassMethod() throws Exception {
 		Assertions.assertEquals(Object.class, run("return Object.new():getClass()"));
@@ -80,6 +224,96 @@ public class ClassSystemIntegrationTests {
 		Assertions.assertEquals("234", run("return String.new(\"12345\"):substring(1, 4)"));
 	}
 	
+	@Test
+	public void testInstanceMetatable() throws Exception {
+		environment.addToEnvironment("first", new ArrayList<>());
+		environment.addToEnvironment("second", new ArrayList<>());
+		
+		Assertions.assertEquals(Boolean.FALSE, run("return getmetatable(first)"));
+		Assertions.assertEquals(Boolean.TRUE, run("return first.nonExistingMember == nil"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("setmetatable(first, {})"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("first.nonExistingMember = 5"));
+		Assertions.assertEquals(Integer.valueOf(0), run("return second:size()"));
+	}
+	
+	@Test
+	public void testInstanceMethodShared() throws Exception {
+		environment.addToEnvironment("first", new ArrayList<>());
+		environment.addToEnvironment("second", new ArrayList<>());
+		
+		Assertions.assertEquals(Boolean.TRUE, run("return first.add == second.add"));
+		Assertions.assertEquals(Boolean.FALSE, run("return first.add == second.remove"));
+		
+		run("first:add(\"A\")\n"
+				+ "second:add(\"B\")\n"
+				+ "second:add(\"C\")");
+		
+		Assertions.assertEquals(Integer.valueOf(1), run("return first:size()"));
+		Assertions.assertEquals(Integer.valueOf(2), run("return second:size()"));
+	}
+	
+	@Test
+	public void testNumericParameters() throws Exception {
+		environment.importClass(Math.class);
+		
+		Assertions.assertEquals(Integer.valueOf(2), run("return Math.sqrt(4)"));
+		Assertions.assertEquals(Integer.valueOf(3), run("return Math.abs(-3)"));
+		Assertions.assertEquals(Double.valueOf(3.5), run("return Math.abs(-3.5)"));
+		Assertions.assertEquals(Long.valueOf(1099511627776L), run("return Long.valueOf(2^40)"));
+		Assertions.assertEquals(Long.valueOf(1099511627776L), run("return Math.max(2^40, 1)"));
+		Assertions.assertEquals("1099511627777", run("return Long.toString(2^40 + 1)"));
+		Assertions.assertEquals(Integer.valueOf(3), run("return Short.valueOf(3)"));
+		Assertions.assertEquals(Double.valueOf(2.5), run("return Float.valueOf(2.5)"));
+		Assertions.assertEquals(Integer.valueOf(1), run("return Long.compare(2^40, 2^39)"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("return Byte.valueOf(300)"));
+		Assertions.assertThrows(ScriptExecutionException.class, () -> run("return Integer.valueOf(2^40)"));
+		Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE), run("return Long.MAX_VALUE"));
+		Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE), run("return Long.valueOf(\"9223372036854775807\")"));
+		Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE), run("return Math.max(Long.MAX_VALUE, 1)"));
+		Assertions.assertEquals("9223372036854775807", run("return Long.toString(Long.MAX_VALUE)"));
+		Assertions.assertEquals("9223372036854775807", run("return tostring(Long.MAX_VALUE)"));
+	}
+	
+	@Test
+	public void testNumericObjectParameters() throws Exception {
+		environment.importClass(Objects.class);
+		
+		// Integral numbers outside of the int range are passed as Long.
+		Assertions.assertEquals("5", run("return Objects.toString(5)"));
+		Assertions.assertEquals("1099511627776", run("return Objects.toString(2^40)"));
+		Assertions.assertEquals("-1099511627776", run("return Objects.toString(-2^40)"));
+		Assertions.assertEquals("1.0995116277765E12", run("return Objects.toString(2^40 + 0.5)"));
+	}
+	
+	@Test
+	public void testSharedCoercer() throws Exception {
+		DefaultCoercer coercer = new DefaultCoercer();
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			
+			for (int counter = 0; counter < 32; counter++) {
+				results.add(executorService.submit(() -> {
+					LuaEnvironment sharingEnvironment = new LuaEnvironment(new DynamicClassLoader(getClass().getClassLoader()), coercer);
+					StringBuilder result = new StringBuilder();
+					
+					for (int index = 0; index < 100; index++) {
+						result.append((String)sharingEnvironment.execute("return String.valueOf(1) .. String.valueOf(2.5) .. String.valueOf(true) .. (\"abc\"):substring(1)", null));
+					}
+					
+					return result.toString();
+				}));
+			}
+			
+			for (Future<String> result : results) {
+				Assertions.assertEquals(String.join("", Collections.nCopies(100, "12.5truebc")), result.get());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+	
 	@Test
 	public void testStaticClassField() throws Exception {
 		Assertions.assertEquals(Object.class, run("return Object.class"));
@@ -131,6 +365,94 @@ public class ClassSystemIntegrationTests {
 		return environment.execute(script, null);
 	}
 	
+	public static class ArrayAcceptingTestObject {
+		public ArrayAcceptingTestObject() {
+			super();
+		}
+		
+		public String join(String[] values) {
+			return String.join(",", values);
+		}
+		
+		public double sum(double[] values) {
+			double sum = 0;
+			
+			for (double value : values) {
+				sum = sum + value;
+			}
+			
+			return sum;
+		}
+	}
+	
+	public static class BinaryAcceptingTestObject {
+		public ByteBuffer byteBuffer = null;
+		
+		public BinaryAcceptingTestObject() {
+			super();
+		}
+		
+		public String accept(byte[] bytes) {
+			return "bytes";
+		}
+		
+		public String accept(String string) {
+			return "string";
+		}
+		
+		public int acceptByteBuffer(ByteBuffer byteBuffer) {
+			this.byteBuffer = byteBuffer;
+			
+			return byteBuffer.remaining();
+		}
+		
+		public int acceptBytes(byte[] bytes) {
+			return bytes.length;
+		}
+	}
+	
+	public static class CallbackInvokingTestObject {
+		public CallbackInvokingTestObject() {
+			super();
+		}
+		
+		public int applyAsInt(IntBinaryOperator operator, int left, int right) {
+			return operator.applyAsInt(left, right);
+		}
+		
+		public boolean test(IntPredicate predicate, int value) {
+			return predicate.test(value);
+		}
+	}
+	
+	public static class CollectionAcceptingTestObject {
+		public CollectionAcceptingTestObject() {
+			super();
+		}
+		
+		public void append(List<Object> list, Object value) {
+			list.add(value);
+		}
+		
+		public int count(Collection<?>... collections) {
+			return collections.length;
+		}
+		
+		public Object get(Map<Object, Object> map, Object key) {
+			return map.get(key);
+		}
+		
+		public int sum(Iterable<Object> values) {
+			int sum = 0;
+			
+			for (Object value : values) {
+				sum = sum + ((Integer)value).intValue();
+			}
+			
+			return sum;
+		}
+	}
+	
 	public static class FieldHoldingObject {
 		public static String staticField = null;
 		public String instanceField = null;
@@ -150,6 +472,18 @@ public class ClassSystemIntegrationTests {
 		}
 	}
 	
+	public static class SupplierCollectingTestObject {
+		public List<Supplier<?>> suppliers = new ArrayList<>();
+		
+		public SupplierCollectingTestObject() {
+			super();
+		}
+		
+		public void add(Supplier<?> supplier) {
+			suppliers.add(supplier);
+		}
+	}
+	
 	public enum TestEnum {
 		ALPHA, BRAVO, CHARLY;
 	}
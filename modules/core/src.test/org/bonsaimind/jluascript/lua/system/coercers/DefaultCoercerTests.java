@@ -5,11 +5,15 @@
 package org.bonsaimind.jluascript.lua.system.coercers;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
+import org.bonsaimind.jluascript.lua.system.types.functions.AbstractExecutableInvokingFunction;
+import org.bonsaimind.jluascript.lua.system.types.functions.DispatchMode;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.luaj.vm2.LuaInteger;
+import org.luaj.vm2.LuaString;
 import org.luaj.vm2.LuaValue;
 
 public class DefaultCoercerTests {
@@ -25,6 +29,31 @@ public class DefaultCoercerTests {
 		LuaValue.valueOf(1);
 	}
 	
+	@Test
+	public void testCoerceJavaToLuaBinaryStrings() {
+		byte[] bytes = new byte[] { 'a', 'b', 'c' };
+		
+		Assertions.assertTrue(coercer.coerceJavaToLua(bytes).isuserdata());
+		
+		coercer.setBinaryStrings(true);
+		
+		LuaValue string = coercer.coerceJavaToLua(bytes);
+		Assertions.assertTrue(string.isstring());
+		Assertions.assertEquals("abc", string.tojstring());
+		Assertions.assertSame(bytes, ((LuaString)string).m_bytes);
+		
+		ByteBuffer byteBuffer = ByteBuffer.wrap(bytes, 1, 2);
+		LuaValue bufferString = coercer.coerceJavaToLua(byteBuffer);
+		Assertions.assertEquals("bc", bufferString.tojstring());
+		Assertions.assertSame(bytes, ((LuaString)bufferString).m_bytes);
+		Assertions.assertEquals(1, byteBuffer.position());
+		
+		ByteBuffer directByteBuffer = ByteBuffer.allocateDirect(3);
+		directByteBuffer.put(bytes).flip();
+		Assertions.assertEquals("abc", coercer.coerceJavaToLua(directByteBuffer).tojstring());
+		Assertions.assertEquals(0, directByteBuffer.position());
+	}
+	
 	@Test
 	public void testCoerceJavaToLuaBoolean() {
 		Assertions.assertTrue(coercer.coerceJavaToLua(Boolean.TRUE).isboolean());
@@ -41,6 +70,21 @@ public class DefaultCoercerTests {
 		Assertions.assertEquals(5, coercer.coerceJavaToLua(Integer.valueOf(5)).toint());
 	}
 	
+	@Test
+	public void testCoerceJavaToLuaLong() {
+		Assertions.assertTrue(coercer.coerceJavaToLua(Long.valueOf(5)).isint());
+		Assertions.assertEquals(5, coercer.coerceJavaToLua(Long.valueOf(5)).toint());
+		Assertions.assertFalse(coercer.coerceJavaToLua(Long.valueOf(1L << 40)).isint());
+		Assertions.assertEquals(1L << 40, coercer.coerceJavaToLua(Long.valueOf(1L << 40)).tolong());
+		Assertions.assertEquals(-(1L << 40), coercer.coerceJavaToLua(Long.valueOf(-(1L << 40))).tolong());
+		Assertions.assertTrue(coercer.coerceJavaToLua(Long.valueOf(1L << 53)).isnumber());
+		Assertions.assertEquals(1L << 53, coercer.coerceJavaToLua(Long.valueOf(1L << 53)).tolong());
+		Assertions.assertTrue(coercer.coerceJavaToLua(Long.valueOf((1L << 53) + 1)).isuserdata(Long.class));
+		Assertions.assertTrue(coercer.coerceJavaToLua(Long.valueOf(Long.MAX_VALUE)).isuserdata(Long.class));
+		Assertions.assertEquals(Long.valueOf(Long.MAX_VALUE), coercer.coerceLuaToJava(coercer.coerceJavaToLua(Long.valueOf(Long.MAX_VALUE))));
+		Assertions.assertEquals(Long.valueOf(Long.MIN_VALUE), coercer.coerceLuaToJava(coercer.coerceJavaToLua(Long.valueOf(Long.MIN_VALUE))));
+	}
+	
 	@Test
 	public void testCoerceJavaToLuaNull() {
 		Assertions.assertTrue(coercer.coerceJavaToLua(null).isnil());
@@ -54,6 +98,19 @@ public class DefaultCoercerTests {
 		Assertions.assertEquals(new BigDecimal("5"), coercer.coerceJavaToLua(new BigDecimal("5")).touserdata());
 	}
 	
+	@Test
+	public void testCoerceJavaToLuaObjectMetatable() {
+		LuaValue first = coercer.coerceJavaToLua(new BigDecimal("5"));
+		LuaValue second = coercer.coerceJavaToLua(new BigDecimal("6"));
+		
+		Assertions.assertNotNull(first.getmetatable());
+		Assertions.assertSame(first.getmetatable(), second.getmetatable());
+		Assertions.assertNotSame(first.getmetatable(), coercer.coerceJavaToLua(new Object()).getmetatable());
+		Assertions.assertTrue(first.get("toString").isfunction());
+		Assertions.assertTrue(first.get("nonExistingMember").isnil());
+		Assertions.assertEquals("5", first.method("toString").tojstring());
+	}
+	
 	@Test
 	public void testCoerceJavaToLuaPrimitiveArray() {
 		Object value = coercer.coerceLuaToJava(coercer.coerceJavaToLua(new float[] { 0, 1, 2, 3, 4, 5 }));
@@ -104,6 +161,14 @@ public class DefaultCoercerTests {
 		Assertions.assertEquals(Integer.valueOf(5), coercer.coerceLuaToJava(LuaValue.valueOf(5)));
 	}
 	
+	@Test
+	public void testCoerceLuaToJavaLong() {
+		Assertions.assertEquals(Long.valueOf(1L << 40), coercer.coerceLuaToJava(LuaValue.valueOf((double)(1L << 40))));
+		Assertions.assertEquals(Long.valueOf(-(1L << 40)), coercer.coerceLuaToJava(LuaValue.valueOf((double)-(1L << 40))));
+		Assertions.assertEquals(Double.valueOf(0x1p63), coercer.coerceLuaToJava(LuaValue.valueOf(0x1p63)));
+		Assertions.assertEquals(Double.valueOf(1e300), coercer.coerceLuaToJava(LuaValue.valueOf(1e300)));
+	}
+	
 	@Test
 	public void testCoerceLuaToJavaNil() {
 		Assertions.assertNull(coercer.coerceLuaToJava(LuaValue.NIL));
@@ -123,4 +188,73 @@ public class DefaultCoercerTests {
 	public void testCoerceLuaToJavaString() {
 		Assertions.assertEquals("AAA", coercer.coerceLuaToJava(LuaInteger.valueOf("AAA")));
 	}
+	
+	@Test
+	public void testDispatchMode() {
+		Assertions.assertEquals(DispatchMode.METHOD_HANDLES, coercer.getDispatchMode());
+		Assertions.assertEquals(DispatchMode.METHOD_HANDLES, ((AbstractExecutableInvokingFunction<?>)coercer.coerceJavaToLua(new BigDecimal("5")).get("add")).getDispatchMode());
+		
+		coercer.setDispatchMode(DispatchMode.GENERATED);
+		
+		LuaValue value = coercer.coerceJavaToLua(new BigDecimal("5"));
+		LuaValue staticValue = coercer.coerceClassToStaticLuaInstance(BigDecimal.class);
+		
+		Assertions.assertEquals(DispatchMode.GENERATED, ((AbstractExecutableInvokingFunction<?>)value.get("add")).getDispatchMode());
+		Assertions.assertEquals(DispatchMode.GENERATED, ((AbstractExecutableInvokingFunction<?>)staticValue.get("valueOf")).getDispatchMode());
+		Assertions.assertEquals(DispatchMode.GENERATED, ((AbstractExecutableInvokingFunction<?>)staticValue.get("new")).getDispatchMode());
+		Assertions.assertEquals("8", value.method("add", staticValue.get("valueOf").call(LuaValue.valueOf(3))).method("toString").tojstring());
+	}
+	
+	@Test
+	public void testRegisterJavaToLuaConverter() {
+		coercer.registerJavaToLuaConverter(Number.class, (number, coercer) -> LuaValue.valueOf("number"));
+		coercer.registerJavaToLuaConverter(CharSequence.class, (sequence, coercer) -> LuaValue.valueOf(sequence.length()));
+		
+		Assertions.assertEquals("number", coercer.coerceJavaToLua(new BigDecimal("5")).tojstring());
+		Assertions.assertEquals(5, coercer.coerceJavaToLua(Integer.valueOf(5)).toint());
+		Assertions.assertEquals(3, coercer.coerceJavaToLua(new StringBuilder("xyz")).toint());
+		Assertions.assertEquals("xyz", coercer.coerceJavaToLua("xyz").tojstring());
+		
+		coercer.registerJavaToLuaConverter(Integer.class, (number, coercer) -> LuaValue.valueOf(number.intValue() * 2));
+		
+		Assertions.assertEquals(10, coercer.coerceJavaToLua(Integer.valueOf(5)).toint());
+		Assertions.assertTrue(coercer.coerceJavaToLua(new Object()).isuserdata());
+	}
+	
+	@Test
+	public void testRegisterLuaToJavaConverter() {
+		coercer.registerLuaToJavaConverter(LuaValue.TSTRING, (luaValue, coercer) -> new StringBuilder(luaValue.tojstring()));
+		
+		Assertions.assertEquals("xyz", coercer.coerceLuaToJava(LuaValue.valueOf("xyz")).toString());
+		Assertions.assertTrue(coercer.coerceLuaToJava(LuaValue.valueOf("xyz")) instanceof StringBuilder);
+		Assertions.assertEquals(Integer.valueOf(5), coercer.coerceLuaToJava(LuaValue.valueOf(5)));
+		
+		coercer.registerLuaToJavaConverter(LuaValue.TSTRING, null);
+		
+		Assertions.assertEquals("xyz", coercer.coerceLuaToJava(LuaValue.valueOf("xyz")));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> coercer.registerLuaToJavaConverter(-1, null));
+	}
+	
+	@Test
+	public void testUserDataCache() {
+		Object object = new Object();
+		
+		Assertions.assertEquals(0, coercer.getUserDataCacheSize());
+		Assertions.assertNotSame(coercer.coerceJavaToLua(object), coercer.coerceJavaToLua(object));
+		
+		coercer.setUserDataCacheSize(16);
+		
+		Assertions.assertEquals(16, coercer.getUserDataCacheSize());
+		Assertions.assertSame(coercer.coerceJavaToLua(object), coercer.coerceJavaToLua(object));
+		Assertions.assertNotSame(coercer.coerceJavaToLua(new BigDecimal("5")), coercer.coerceJavaToLua(new BigDecimal("5")));
+		
+		int[] array = new int[] { 1, 2, 3 };
+		
+		Assertions.assertSame(coercer.coerceJavaToLua(array), coercer.coerceJavaToLua(array));
+		Assertions.assertEquals("AAA", coercer.coerceJavaToLua("AAA").tojstring());
+		
+		coercer.setUserDataCacheSize(0);
+		
+		Assertions.assertNotSame(coercer.coerceJavaToLua(object), coercer.coerceJavaToLua(object));
+	}
 }
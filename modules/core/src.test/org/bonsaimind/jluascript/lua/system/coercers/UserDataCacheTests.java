@@ -0,0 +1,73 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.coercers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaUserdata;
+import org.luaj.vm2.LuaValue;
+
+public class UserDataCacheTests {
+	@BeforeEach
+	public void setUp() {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testEviction() {
+		UserDataCache cache = new UserDataCache(2);
+		
+		LuaUserdata first = new LuaUserdata(new Object());
+		LuaUserdata second = new LuaUserdata(new Object());
+		LuaUserdata third = new LuaUserdata(new Object());
+		
+		cache.put(first);
+		cache.put(second);
+		
+		// Accessing the first makes the second the least recently used one.
+		Assertions.assertSame(first, cache.get(first.touserdata()));
+		
+		cache.put(third);
+		
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertSame(first, cache.get(first.touserdata()));
+		Assertions.assertNull(cache.get(second.touserdata()));
+		Assertions.assertSame(third, cache.get(third.touserdata()));
+		
+		cache.clear();
+		
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertNull(cache.get(first.touserdata()));
+	}
+	
+	@Test
+	public void testIdentity() {
+		UserDataCache cache = new UserDataCache(16);
+		
+		String value = new String("value");
+		LuaUserdata userData = new LuaUserdata(value);
+		
+		cache.put(userData);
+		
+		Assertions.assertSame(userData, cache.get(value));
+		Assertions.assertNull(cache.get(new String("value")));
+		
+		LuaUserdata replacingUserData = new LuaUserdata(value);
+		
+		cache.put(replacingUserData);
+		
+		Assertions.assertEquals(1, cache.size());
+		Assertions.assertSame(replacingUserData, cache.get(value));
+	}
+	
+	@Test
+	public void testInvalidSize() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new UserDataCache(0));
+	}
+}
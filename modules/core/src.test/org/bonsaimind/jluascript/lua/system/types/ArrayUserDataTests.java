@@ -0,0 +1,146 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaValue;
+
+public class ArrayUserDataTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testCharArray() {
+		char[] array = new char[] { 'a', 'b' };
+		ArrayUserData arrayUserData = new CharArrayUserData(array, coercer);
+		
+		Assertions.assertEquals("b", arrayUserData.get(2).tojstring());
+		
+		arrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf("c"));
+		arrayUserData.set(LuaValue.valueOf(2), LuaValue.valueOf(100));
+		Assertions.assertArrayEquals(new char[] { 'c', 'd' }, array);
+		
+		Assertions.assertThrows(LuaError.class, () -> arrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf("ab")));
+	}
+	
+	@Test
+	public void testCoercion() {
+		Assertions.assertTrue(coercer.coerceJavaToLua(new int[0]) instanceof IntArrayUserData);
+		Assertions.assertTrue(coercer.coerceJavaToLua(new long[0]) instanceof LongArrayUserData);
+		Assertions.assertTrue(coercer.coerceJavaToLua(new double[0]) instanceof DoubleArrayUserData);
+		Assertions.assertTrue(coercer.coerceJavaToLua(new byte[0]) instanceof ByteArrayUserData);
+		Assertions.assertTrue(coercer.coerceJavaToLua(new char[0]) instanceof CharArrayUserData);
+		Assertions.assertTrue(coercer.coerceJavaToLua(new boolean[0]) instanceof BooleanArrayUserData);
+		Assertions.assertTrue(coercer.coerceJavaToLua(new String[0]) instanceof ObjectArrayUserData);
+		Assertions.assertEquals(ArrayUserData.class, coercer.coerceJavaToLua(new float[0]).getClass());
+	}
+	
+	@Test
+	public void testCopy() {
+		int[] source = new int[] { 1, 2, 3 };
+		int[] destination = new int[4];
+		
+		new IntArrayUserData(source, coercer).copy(1, new IntArrayUserData(destination, coercer), 2, 2);
+		Assertions.assertArrayEquals(new int[] { 0, 0, 2, 3 }, destination);
+		
+		Assertions.assertThrows(LuaError.class, () -> new IntArrayUserData(source, coercer).copy(0, new IntArrayUserData(destination, coercer), 2, 3));
+		Assertions.assertThrows(LuaError.class, () -> new IntArrayUserData(source, coercer).copy(0, new DoubleArrayUserData(new double[3], coercer), 0, 3));
+	}
+	
+	@Test
+	public void testFill() {
+		double[] array = new double[4];
+		ArrayUserData arrayUserData = new DoubleArrayUserData(array, coercer);
+		
+		arrayUserData.fill(LuaValue.valueOf(1.5), 1, 3);
+		Assertions.assertArrayEquals(new double[] { 0, 1.5, 1.5, 0 }, array);
+		
+		Assertions.assertThrows(LuaError.class, () -> arrayUserData.fill(LuaValue.valueOf(1), 2, 5));
+	}
+	
+	@Test
+	public void testGenericArray() {
+		float[] array = new float[] { 1.5f, 2.5f };
+		ArrayUserData arrayUserData = new ArrayUserData(array, coercer);
+		
+		Assertions.assertEquals(2.5, arrayUserData.get(2).todouble());
+		
+		arrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(3.5));
+		arrayUserData.fill(LuaValue.valueOf(4), 1, 2);
+		Assertions.assertArrayEquals(new float[] { 3.5f, 4.0f }, array);
+		
+		LuaValue slice = arrayUserData.slice(1, 2);
+		Assertions.assertArrayEquals(new float[] { 4.0f }, (float[])slice.touserdata());
+	}
+	
+	@Test
+	public void testIntegralRange() {
+		byte[] byteArray = new byte[1];
+		ArrayUserData byteArrayUserData = new ByteArrayUserData(byteArray, coercer);
+		
+		byteArrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(127));
+		Assertions.assertEquals(127, byteArray[0]);
+		Assertions.assertThrows(LuaError.class, () -> byteArrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(300)));
+		Assertions.assertThrows(LuaError.class, () -> byteArrayUserData.fill(LuaValue.valueOf(300), 0, 1));
+		Assertions.assertEquals(127, byteArray[0]);
+		
+		int[] intArray = new int[1];
+		ArrayUserData intArrayUserData = new IntArrayUserData(intArray, coercer);
+		
+		intArrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(2.0));
+		Assertions.assertEquals(2, intArray[0]);
+		Assertions.assertThrows(LuaError.class, () -> intArrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(1.5)));
+		Assertions.assertThrows(LuaError.class, () -> intArrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(1L << 40)));
+		Assertions.assertEquals(2, intArray[0]);
+	}
+	
+	@Test
+	public void testLength() {
+		ArrayUserData arrayUserData = new IntArrayUserData(new int[3], coercer);
+		
+		Assertions.assertEquals(3, arrayUserData.len().toint());
+		Assertions.assertEquals(3, arrayUserData.get(LuaString.valueOf(ArrayUserData.LENGTH_NAME)).toint());
+		Assertions.assertEquals(3, arrayUserData.get(ArrayUserData.LENGTH_NAME).toint());
+	}
+	
+	@Test
+	public void testLongArray() {
+		long[] array = new long[] { 5L, 1L << 40 };
+		ArrayUserData arrayUserData = new LongArrayUserData(array, coercer);
+		
+		Assertions.assertTrue(arrayUserData.get(1).isint());
+		Assertions.assertEquals((double)(1L << 40), arrayUserData.get(2).todouble());
+		
+		arrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf((double)(1L << 41)));
+		Assertions.assertEquals(1L << 41, array[0]);
+	}
+	
+	@Test
+	public void testObjectArray() {
+		Number[] array = new Number[2];
+		ArrayUserData arrayUserData = new ObjectArrayUserData(array, coercer);
+		
+		arrayUserData.set(LuaValue.valueOf(1), LuaValue.valueOf(5));
+		Assertions.assertEquals(Integer.valueOf(5), array[0]);
+		
+		Assertions.assertThrows(LuaError.class, () -> arrayUserData.set(LuaValue.valueOf(2), LuaValue.valueOf("text")));
+		Assertions.assertThrows(LuaError.class, () -> arrayUserData.set(LuaValue.valueOf(3), LuaValue.valueOf(1)));
+		Assertions.assertThrows(LuaError.class, () -> arrayUserData.set(LuaValue.valueOf("other"), LuaValue.valueOf(1)));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaValue;
+
+public class StaticUserDataTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testClassField() {
+		StaticUserData staticUserData = (StaticUserData)coercer.coerceClassToStaticLuaInstance(String.class);
+		
+		LuaValue classValue = staticUserData.get(StaticUserData.CLASS_FIELD_NAME);
+		
+		Assertions.assertSame(String.class, classValue.touserdata());
+		Assertions.assertSame(coercer.coerceJavaToLua(Integer.class).getmetatable(), classValue.getmetatable());
+		Assertions.assertEquals("java.lang.String", classValue.method("getName").tojstring());
+	}
+	
+	@Test
+	public void testFields() {
+		StaticUserData staticUserData = (StaticUserData)coercer.coerceClassToStaticLuaInstance(FieldHoldingObject.class);
+		
+		FieldHoldingObject.staticField = "A";
+		Assertions.assertEquals("A", staticUserData.get("staticField").tojstring());
+		
+		FieldHoldingObject.staticField = "B";
+		Assertions.assertEquals("B", staticUserData.get("staticField").tojstring());
+		
+		Assertions.assertEquals("final", staticUserData.get("FINAL_FIELD").tojstring());
+		Assertions.assertSame(staticUserData.get("FINAL_FIELD"), staticUserData.cache.get(LuaString.valueOf("FINAL_FIELD")));
+		Assertions.assertNull(staticUserData.cache.get(LuaString.valueOf("staticField")));
+	}
+	
+	@Test
+	public void testMissingMembers() {
+		StaticUserData staticUserData = (StaticUserData)coercer.coerceClassToStaticLuaInstance(String.class);
+		
+		Assertions.assertTrue(staticUserData.get("nonExistingMember").isnil());
+		Assertions.assertSame(LuaValue.NIL, staticUserData.cache.get(LuaString.valueOf("nonExistingMember")));
+		Assertions.assertTrue(staticUserData.get("nonExistingMember").isnil());
+		Assertions.assertTrue(staticUserData.get(LuaValue.valueOf(1)).isnil());
+		Assertions.assertNull(staticUserData.cache.get(LuaValue.valueOf(1)));
+	}
+	
+	@Test
+	public void testMissingMembersBounded() {
+		StaticUserData staticUserData = (StaticUserData)coercer.coerceClassToStaticLuaInstance(String.class);
+		int cacheSize = staticUserData.cache.size();
+		
+		for (int index = 0; index < AbstractInterjectingUserData.MAXIMUM_MISSING_KEYS * 4; index++) {
+			Assertions.assertTrue(staticUserData.get("nonExistingMember" + index).isnil());
+		}
+		
+		Assertions.assertEquals(cacheSize + AbstractInterjectingUserData.MAXIMUM_MISSING_KEYS, staticUserData.cache.size());
+		Assertions.assertTrue(staticUserData.get("valueOf").isfunction());
+	}
+	
+	@Test
+	public void testMethods() {
+		StaticUserData staticUserData = (StaticUserData)coercer.coerceClassToStaticLuaInstance(String.class);
+		
+		LuaValue function = staticUserData.get("valueOf");
+		
+		Assertions.assertTrue(function.isfunction());
+		Assertions.assertSame(function, staticUserData.get(LuaString.valueOf("valueOf")));
+		Assertions.assertEquals("5", function.call(LuaValue.valueOf(5)).tojstring());
+	}
+	
+	public static class FieldHoldingObject {
+		public static final String FINAL_FIELD = "final";
+		public static String staticField = null;
+		
+		public FieldHoldingObject() {
+			super();
+		}
+	}
+}
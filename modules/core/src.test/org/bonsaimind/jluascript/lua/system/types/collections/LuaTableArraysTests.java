@@ -0,0 +1,87 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+public class LuaTableArraysTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testToArray() {
+		LuaTable table = LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(1), LuaValue.valueOf(2.5), LuaValue.valueOf(3) });
+		
+		Assertions.assertArrayEquals(new double[] { 1, 2.5, 3 }, (double[])LuaTableArrays.toArray(table, double.class, coercer));
+		Assertions.assertArrayEquals(new float[] { 1, 2.5f, 3 }, (float[])LuaTableArrays.toArray(table, float.class, coercer));
+		Assertions.assertArrayEquals(new Number[] { Integer.valueOf(1), Double.valueOf(2.5), Integer.valueOf(3) }, (Number[])LuaTableArrays.toArray(table, Number.class, coercer));
+		
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(table, String.class, coercer));
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(LuaValue.listOf(new LuaValue[] { LuaValue.valueOf("a") }), int.class, coercer));
+	}
+	
+	@Test
+	public void testToArrayIntegral() {
+		LuaTable table = LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(1), LuaValue.valueOf(2.0), LuaValue.valueOf(-3) });
+		
+		Assertions.assertArrayEquals(new byte[] { 1, 2, -3 }, (byte[])LuaTableArrays.toArray(table, byte.class, coercer));
+		Assertions.assertArrayEquals(new short[] { 1, 2, -3 }, (short[])LuaTableArrays.toArray(table, short.class, coercer));
+		Assertions.assertArrayEquals(new int[] { 1, 2, -3 }, (int[])LuaTableArrays.toArray(table, int.class, coercer));
+		Assertions.assertArrayEquals(new long[] { 1, 2, -3 }, (long[])LuaTableArrays.toArray(table, long.class, coercer));
+		
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(300) }), byte.class, coercer));
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(40000) }), short.class, coercer));
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(1.5) }), int.class, coercer));
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(2.5) }), long.class, coercer));
+		Assertions.assertThrows(LuaError.class, () -> LuaTableArrays.toArray(LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(1.5) }), Integer.class, coercer));
+	}
+	
+	@Test
+	public void testToArrayNested() {
+		LuaTable table = LuaValue.listOf(new LuaValue[] {
+				LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(1), LuaValue.valueOf(2) }),
+				LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(3) }) });
+		
+		int[][] array = (int[][])LuaTableArrays.toArray(table, int[].class, coercer);
+		
+		Assertions.assertArrayEquals(new int[] { 1, 2 }, array[0]);
+		Assertions.assertArrayEquals(new int[] { 3 }, array[1]);
+	}
+	
+	@Test
+	public void testToTable() {
+		LuaTable table = LuaTableArrays.toTable(new double[] { 1.5, 2.0 }, coercer);
+		
+		Assertions.assertEquals(2, table.length());
+		Assertions.assertEquals(1.5, table.get(1).todouble());
+		Assertions.assertTrue(table.get(2).isint());
+		
+		LuaTable stringTable = LuaTableArrays.toTable(new String[] { "a", "b" }, coercer);
+		
+		Assertions.assertEquals("a", stringTable.get(1).tojstring());
+		Assertions.assertEquals("b", stringTable.get(2).tojstring());
+		
+		LuaTable charTable = LuaTableArrays.toTable(new char[] { 'x' }, coercer);
+		
+		Assertions.assertEquals("x", charTable.get(1).tojstring());
+		
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LuaTableArrays.toTable("noArray", coercer));
+	}
+}
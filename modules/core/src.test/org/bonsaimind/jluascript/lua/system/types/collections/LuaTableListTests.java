@@ -0,0 +1,78 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+public class LuaTableListTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testModification() {
+		LuaTable table = LuaValue.listOf(new LuaValue[] { LuaValue.valueOf("a"), LuaValue.valueOf("c") });
+		List<Object> list = new LuaTableList(table, coercer);
+		
+		list.add(1, "b");
+		list.add("d");
+		Assertions.assertEquals(Arrays.asList("a", "b", "c", "d"), list);
+		Assertions.assertEquals("b", table.get(2).tojstring());
+		Assertions.assertEquals(4, table.length());
+		
+		Assertions.assertEquals("a", list.set(0, "x"));
+		Assertions.assertEquals("x", table.get(1).tojstring());
+		
+		Assertions.assertEquals("b", list.remove(1));
+		Assertions.assertEquals(Arrays.asList("x", "c", "d"), list);
+		Assertions.assertEquals(3, table.length());
+		
+		Assertions.assertThrows(NullPointerException.class, () -> list.add(null));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.add(5, "y"));
+	}
+	
+	@Test
+	public void testNested() {
+		LuaTable nested = LuaValue.listOf(new LuaValue[] { LuaValue.valueOf(1), LuaValue.valueOf(2) });
+		LuaTable table = LuaValue.listOf(new LuaValue[] { nested, new LuaTable() });
+		List<Object> list = new LuaTableList(table, coercer);
+		
+		Assertions.assertEquals(Arrays.asList(Integer.valueOf(1), Integer.valueOf(2)), list.get(0));
+		Assertions.assertTrue(list.get(1) instanceof LuaTableMap);
+		Assertions.assertSame(nested, coercer.coerceJavaToLua(list.get(0)));
+	}
+	
+	@Test
+	public void testRead() {
+		LuaTable table = LuaValue.listOf(new LuaValue[] { LuaValue.valueOf("a"), LuaValue.valueOf(2), LuaValue.valueOf(true) });
+		List<Object> list = new LuaTableList(table, coercer);
+		
+		Assertions.assertEquals(3, list.size());
+		Assertions.assertEquals("a", list.get(0));
+		Assertions.assertEquals(Integer.valueOf(2), list.get(1));
+		Assertions.assertEquals(Boolean.TRUE, list.get(2));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+		
+		table.set(4, LuaValue.valueOf("d"));
+		Assertions.assertEquals(4, list.size());
+		Assertions.assertEquals("d", list.get(3));
+	}
+}
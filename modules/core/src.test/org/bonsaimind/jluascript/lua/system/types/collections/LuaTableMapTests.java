@@ -0,0 +1,90 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+public class LuaTableMapTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testIteration() {
+		LuaTable table = new LuaTable();
+		table.set("a", LuaValue.valueOf(1));
+		table.set("b", LuaValue.valueOf(2));
+		table.set(1, LuaValue.valueOf("first"));
+		
+		Map<Object, Object> map = new LuaTableMap(table, coercer);
+		
+		Map<Object, Object> expected = new HashMap<>();
+		expected.put("a", Integer.valueOf(1));
+		expected.put("b", Integer.valueOf(2));
+		expected.put(Integer.valueOf(1), "first");
+		
+		Assertions.assertEquals(3, map.size());
+		Assertions.assertEquals(expected, new HashMap<>(map));
+		
+		Iterator<Map.Entry<Object, Object>> iterator = map.entrySet().iterator();
+		
+		while (iterator.hasNext()) {
+			Map.Entry<Object, Object> entry = iterator.next();
+			
+			if ("a".equals(entry.getKey())) {
+				iterator.remove();
+			} else if ("b".equals(entry.getKey())) {
+				entry.setValue(Integer.valueOf(5));
+			}
+		}
+		
+		Assertions.assertTrue(table.get("a").isnil());
+		Assertions.assertEquals(5, table.get("b").toint());
+		Assertions.assertEquals(2, map.size());
+		
+		map.clear();
+		Assertions.assertTrue(map.isEmpty());
+		Assertions.assertTrue(table.next(LuaValue.NIL).arg1().isnil());
+	}
+	
+	@Test
+	public void testReadWrite() {
+		LuaTable table = new LuaTable();
+		table.set("a", LuaValue.valueOf(1));
+		
+		Map<Object, Object> map = new LuaTableMap(table, coercer);
+		
+		Assertions.assertFalse(map.isEmpty());
+		Assertions.assertTrue(map.containsKey("a"));
+		Assertions.assertFalse(map.containsKey("b"));
+		Assertions.assertEquals(Integer.valueOf(1), map.get("a"));
+		Assertions.assertNull(map.get("b"));
+		
+		Assertions.assertNull(map.put("b", "value"));
+		Assertions.assertEquals("value", table.get("b").tojstring());
+		
+		Assertions.assertEquals(Integer.valueOf(1), map.remove("a"));
+		Assertions.assertTrue(table.get("a").isnil());
+		
+		Assertions.assertThrows(NullPointerException.class, () -> map.put(null, "value"));
+	}
+}
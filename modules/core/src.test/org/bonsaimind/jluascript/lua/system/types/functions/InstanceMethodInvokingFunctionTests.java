@@ -0,0 +1,261 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+public class InstanceMethodInvokingFunctionTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testDispatchModeGenerated() throws Exception {
+		InstanceMethodInvokingFunction function = new InstanceMethodInvokingFunction(getMethods(String.class, "substring"), coercer);
+		function.setDispatchMode(DispatchMode.GENERATED);
+		LuaValue instance = coercer.coerceJavaToLua("12345");
+		
+		Assertions.assertEquals("234", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(4))).tojstring());
+		Assertions.assertEquals("2345", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1))).tojstring());
+		Assertions.assertNotNull(function.dispatchStub);
+		Assertions.assertEquals(0, function.getCacheMissCount());
+	}
+	
+	@Test
+	public void testDispatchModeGeneratedConstructor() throws Exception {
+		List<Constructor<?>> constructors = new ArrayList<>(Arrays.asList(StringBuilder.class.getConstructors()));
+		ConstructorInvokingFunction function = new ConstructorInvokingFunction(constructors, coercer);
+		function.setDispatchMode(DispatchMode.GENERATED);
+		
+		Assertions.assertEquals("abc", function.invoke(LuaValue.valueOf("abc")).arg1().touserdata().toString());
+		Assertions.assertEquals("", function.invoke(LuaValue.valueOf(16)).arg1().touserdata().toString());
+		Assertions.assertNotNull(function.dispatchStub);
+	}
+	
+	@Test
+	public void testDispatchModeGeneratedFallback() throws Exception {
+		StaticMethodInvokingFunction function = new StaticMethodInvokingFunction(getMethods(String.class, "format"), coercer);
+		function.setDispatchMode(DispatchMode.GENERATED);
+		
+		Assertions.assertEquals("a-1", function.invoke(LuaValue.varargsOf(new LuaValue[] { LuaValue.valueOf("%s-%s"), LuaValue.valueOf("a"), LuaValue.valueOf(1) })).tojstring());
+		Assertions.assertNotNull(function.dispatchStub);
+		Assertions.assertEquals(1, function.getCacheMissCount());
+	}
+	
+	@Test
+	public void testDispatchModeGeneratedStatic() throws Exception {
+		StaticMethodInvokingFunction function = new StaticMethodInvokingFunction(getMethods(Math.class, "max"), coercer);
+		function.setDispatchMode(DispatchMode.GENERATED);
+		
+		Assertions.assertEquals(LuaValue.TNUMBER, function.invoke(LuaValue.varargsOf(LuaValue.valueOf(1), LuaValue.valueOf(2))).arg1().type());
+		Assertions.assertEquals(2, function.invoke(LuaValue.varargsOf(LuaValue.valueOf(1), LuaValue.valueOf(2))).arg1().toint());
+		Assertions.assertEquals(2.5d, function.invoke(LuaValue.varargsOf(LuaValue.valueOf(1.5d), LuaValue.valueOf(2.5d))).arg1().todouble());
+		Assertions.assertNotNull(function.dispatchStub);
+	}
+	
+	@Test
+	public void testDispatchModeGeneratedVoidAndPrimitiveReturn() throws Exception {
+		List<Object> list = new ArrayList<>();
+		InstanceMethodInvokingFunction addFunction = new InstanceMethodInvokingFunction(getMethods(List.class, "add"), coercer);
+		addFunction.setDispatchMode(DispatchMode.GENERATED);
+		InstanceMethodInvokingFunction sizeFunction = new InstanceMethodInvokingFunction(getMethods(List.class, "size"), coercer);
+		sizeFunction.setDispatchMode(DispatchMode.GENERATED);
+		LuaValue instance = coercer.coerceJavaToLua(list);
+		
+		Assertions.assertTrue(addFunction.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf("A"))).arg1().toboolean());
+		Assertions.assertTrue(addFunction.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(0), LuaValue.valueOf("B"))).arg1().isnil());
+		Assertions.assertEquals(2, sizeFunction.invoke(instance).arg1().toint());
+		Assertions.assertEquals("B", list.get(0));
+		Assertions.assertNotNull(addFunction.dispatchStub);
+		Assertions.assertNotNull(sizeFunction.dispatchStub);
+	}
+	
+	@Test
+	public void testDispatchModes() throws Exception {
+		InstanceMethodInvokingFunction function = new InstanceMethodInvokingFunction(getMethods(String.class, "substring"), coercer);
+		LuaValue instance = coercer.coerceJavaToLua("12345");
+		
+		Assertions.assertEquals(DispatchMode.METHOD_HANDLES, function.getDispatchMode());
+		Assertions.assertEquals("234", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(4))).tojstring());
+		
+		function.setDispatchMode(DispatchMode.REFLECTION);
+		Assertions.assertEquals("234", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(4))).tojstring());
+	}
+	
+	@Test
+	public void testDispatchModesVoidAndPrimitiveReturn() throws Exception {
+		List<Object> list = new ArrayList<>();
+		InstanceMethodInvokingFunction addFunction = new InstanceMethodInvokingFunction(getMethods(List.class, "add"), coercer);
+		InstanceMethodInvokingFunction sizeFunction = new InstanceMethodInvokingFunction(getMethods(List.class, "size"), coercer);
+		LuaValue instance = coercer.coerceJavaToLua(list);
+		
+		Assertions.assertTrue(addFunction.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf("A"))).arg1().toboolean());
+		Assertions.assertTrue(addFunction.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(0), LuaValue.valueOf("B"))).arg1().isnil());
+		Assertions.assertEquals(2, sizeFunction.invoke(instance).arg1().toint());
+		Assertions.assertEquals("B", list.get(0));
+	}
+	
+	@Test
+	public void testErrors() throws Exception {
+		for (DispatchMode dispatchMode : DispatchMode.values()) {
+			StaticMethodInvokingFunction function = new StaticMethodInvokingFunction(getMethods(ErrorThrowingObject.class, "throwAssertionError"), coercer);
+			function.setDispatchMode(dispatchMode);
+			
+			Assertions.assertThrows(LuaError.class, () -> function.invoke(LuaValue.NONE));
+		}
+		
+		StaticMethodInvokingFunction function = new StaticMethodInvokingFunction(getMethods(ErrorThrowingObject.class, "throwInternalError"), coercer);
+		
+		Assertions.assertThrows(InternalError.class, () -> function.invoke(LuaValue.NONE));
+	}
+	
+	@Test
+	public void testFixedArityCalls() throws Exception {
+		List<Object> list = new ArrayList<>();
+		list.add("A");
+		
+		StaticMethodInvokingFunction emptyListFunction = new StaticMethodInvokingFunction(getMethods(Collections.class, "emptyList"), coercer);
+		InstanceMethodInvokingFunction sizeFunction = new InstanceMethodInvokingFunction(getMethods(List.class, "size"), coercer);
+		StaticMethodInvokingFunction maxFunction = new StaticMethodInvokingFunction(getMethods(Math.class, "max"), coercer);
+		InstanceMethodInvokingFunction substringFunction = new InstanceMethodInvokingFunction(getMethods(String.class, "substring"), coercer);
+		
+		Assertions.assertEquals(Collections.emptyList(), emptyListFunction.call().touserdata());
+		Assertions.assertEquals(1, sizeFunction.call(coercer.coerceJavaToLua(list)).toint());
+		Assertions.assertEquals(2, maxFunction.call(LuaValue.valueOf(1), LuaValue.valueOf(2)).toint());
+		Assertions.assertEquals("234", substringFunction.call(LuaValue.valueOf("12345"), LuaValue.valueOf(1), LuaValue.valueOf(4)).tojstring());
+		
+		maxFunction.setDispatchMode(DispatchMode.GENERATED);
+		Assertions.assertEquals(2, maxFunction.call(LuaValue.valueOf(1), LuaValue.valueOf(2)).toint());
+	}
+	
+	@Test
+	public void testInvocationAllocation() throws Exception {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		
+		Assumptions.assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+		Assumptions.assumeTrue(((com.sun.management.ThreadMXBean)threadMXBean).isThreadAllocatedMemorySupported());
+		
+		List<Object> list = new ArrayList<>();
+		list.add("A");
+		
+		InstanceMethodInvokingFunction sizeFunction = new InstanceMethodInvokingFunction(getMethods(List.class, "size"), coercer);
+		Varargs sizeArgs = coercer.coerceJavaToLua(list);
+		
+		StaticMethodInvokingFunction maxFunction = new StaticMethodInvokingFunction(getMethods(Math.class, "max"), coercer);
+		Varargs maxArgs = LuaValue.varargsOf(LuaValue.valueOf(1), LuaValue.valueOf(2));
+		
+		// Only the exactly sized array of parameters should remain, which is
+		// 16 bytes for a single parameter and 24 bytes for two parameters on
+		// a common 64bit JVM with compressed pointers. The bound is generous
+		// because the JIT might not have applied escape analysis yet after
+		// the warm-up, but it is still well below what was allocated when
+		// the parameters were boxed and copied into intermediate arrays.
+		assertAllocatedBytesPerInvocation(() -> sizeFunction.invoke(sizeArgs), 256);
+		assertAllocatedBytesPerInvocation(() -> maxFunction.invoke(maxArgs), 256);
+		assertAllocatedBytesPerInvocation(() -> maxFunction.call(maxArgs.arg(1), maxArgs.arg(2)), 256);
+	}
+	
+	@Test
+	public void testResolutionCacheMonomorphic() throws Exception {
+		InstanceMethodInvokingFunction function = new InstanceMethodInvokingFunction(getMethods(String.class, "substring"), coercer);
+		LuaValue instance = coercer.coerceJavaToLua("12345");
+		
+		Assertions.assertEquals("234", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(4))).tojstring());
+		Assertions.assertEquals(0, function.getCacheHitCount());
+		Assertions.assertEquals(1, function.getCacheMissCount());
+		
+		Assertions.assertEquals("2", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(2))).tojstring());
+		Assertions.assertEquals("12", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(0), LuaValue.valueOf(2))).tojstring());
+		Assertions.assertEquals(2, function.getCacheHitCount());
+		Assertions.assertEquals(1, function.getCacheMissCount());
+	}
+	
+	@Test
+	public void testResolutionCachePolymorphic() throws Exception {
+		InstanceMethodInvokingFunction function = new InstanceMethodInvokingFunction(getMethods(String.class, "substring"), coercer);
+		LuaValue instance = coercer.coerceJavaToLua("12345");
+		
+		Assertions.assertEquals("234", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(4))).tojstring());
+		Assertions.assertEquals("2345", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1))).tojstring());
+		Assertions.assertEquals(0, function.getCacheHitCount());
+		Assertions.assertEquals(2, function.getCacheMissCount());
+		
+		Assertions.assertEquals("234", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1), LuaValue.valueOf(4))).tojstring());
+		Assertions.assertEquals("2345", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(1))).tojstring());
+		Assertions.assertEquals("345", function.invoke(LuaValue.varargsOf(instance, LuaValue.valueOf(2))).tojstring());
+		Assertions.assertEquals(3, function.getCacheHitCount());
+		Assertions.assertEquals(2, function.getCacheMissCount());
+	}
+	
+	protected List<Method> getMethods(Class<?> clazz, String name) {
+		List<Method> methods = new ArrayList<>();
+		
+		for (Method method : clazz.getMethods()) {
+			if (method.getName().equals(name)) {
+				methods.add(method);
+			}
+		}
+		
+		return methods;
+	}
+	
+	protected void assertAllocatedBytesPerInvocation(Runnable invocation, long maximumBytes) {
+		com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		int invocations = 100000;
+		
+		// Warm up, so that the method handles are created and everything has
+		// been resolved and cached.
+		for (int counter = 0; counter < invocations; counter++) {
+			invocation.run();
+		}
+		
+		long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+		
+		for (int counter = 0; counter < invocations; counter++) {
+			invocation.run();
+		}
+		
+		long allocatedBytesAfter = threadMXBean.getThreadAllocatedBytes(threadId);
+		
+		long allocatedBytes = (allocatedBytesAfter - allocatedBytesBefore) / invocations;
+		
+		Assertions.assertTrue(allocatedBytes <= maximumBytes, String.format("%d bytes allocated per invocation, expected at most %d.", Long.valueOf(allocatedBytes), Long.valueOf(maximumBytes)));
+	}
+	
+	public static class ErrorThrowingObject {
+		public static void throwAssertionError() {
+			throw new AssertionError("Expected.");
+		}
+		
+		public static void throwInternalError() {
+			throw new InternalError("Expected.");
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaValue;
+
+public class BinaryConversionsTests {
+	@BeforeEach
+	public void setUp() {
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testToBinary() {
+		LuaString string = LuaString.valueOf("abc");
+		
+		Assertions.assertEquals("abc", BinaryConversions.toBinary(string, String.class));
+		Assertions.assertEquals("abc", BinaryConversions.toBinary(string, Object.class));
+		Assertions.assertArrayEquals(new byte[] { 'a', 'b', 'c' }, (byte[])BinaryConversions.toBinary(string, byte[].class));
+		Assertions.assertTrue(BinaryConversions.toBinary(string, ByteBuffer.class) instanceof ByteBuffer);
+	}
+	
+	@Test
+	public void testToByteArray() {
+		byte[] bytes = new byte[] { 'a', 'b', 'c', 'd' };
+		LuaString string = LuaString.valueUsing(bytes, 1, 2);
+		
+		byte[] copy = BinaryConversions.toByteArray(string);
+		Assertions.assertArrayEquals(new byte[] { 'b', 'c' }, copy);
+		
+		copy[0] = 'x';
+		Assertions.assertEquals('b', bytes[1]);
+	}
+	
+	@Test
+	public void testToByteBuffer() {
+		byte[] bytes = new byte[] { 'a', 'b', 'c', 'd' };
+		LuaString string = LuaString.valueUsing(bytes, 1, 2);
+		
+		ByteBuffer byteBuffer = BinaryConversions.toByteBuffer(string);
+		Assertions.assertTrue(byteBuffer.isReadOnly());
+		Assertions.assertEquals(0, byteBuffer.position());
+		Assertions.assertEquals(2, byteBuffer.remaining());
+		Assertions.assertEquals('b', byteBuffer.get(0));
+		Assertions.assertEquals('c', byteBuffer.get(1));
+		
+		// Backed by the very same bytes.
+		bytes[1] = 'x';
+		Assertions.assertEquals('x', byteBuffer.get(0));
+	}
+}
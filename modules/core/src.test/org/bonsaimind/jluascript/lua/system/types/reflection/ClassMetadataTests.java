@@ -0,0 +1,63 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClassMetadataTests {
+	@Test
+	public void testDeclaredMethods() {
+		List<Method> methods = ClassMetadata.forClass(Collections.emptyList().getClass()).getInstanceMethods("size");
+		
+		Assertions.assertEquals(1, methods.size());
+		Assertions.assertTrue(methods.get(0).getDeclaringClass().isInterface());
+	}
+	
+	@Test
+	public void testFields() {
+		ClassMetadata metadata = ClassMetadata.forClass(FieldHoldingObject.class);
+		
+		Assertions.assertEquals("instanceField", metadata.getInstanceField("instanceField").getName());
+		Assertions.assertNull(metadata.getInstanceField("staticField"));
+		Assertions.assertNull(metadata.getInstanceField("privateField"));
+		Assertions.assertEquals("staticField", metadata.getStaticField("staticField").getName());
+		Assertions.assertNull(metadata.getStaticField("instanceField"));
+	}
+	
+	@Test
+	public void testMethods() {
+		ClassMetadata metadata = ClassMetadata.forClass(String.class);
+		
+		Assertions.assertEquals(2, metadata.getInstanceMethods("substring").size());
+		Assertions.assertNull(metadata.getInstanceMethods("valueOf"));
+		Assertions.assertNull(metadata.getInstanceMethods("nonExistingMethod"));
+		Assertions.assertFalse(metadata.getStaticMethods("valueOf").isEmpty());
+		Assertions.assertNull(metadata.getStaticMethods("substring"));
+		Assertions.assertFalse(metadata.getConstructors().isEmpty());
+	}
+	
+	@Test
+	public void testShared() {
+		Assertions.assertSame(ClassMetadata.forClass(ArrayList.class), ClassMetadata.forClass(ArrayList.class));
+		Assertions.assertNotSame(ClassMetadata.forClass(ArrayList.class), ClassMetadata.forClass(List.class));
+	}
+	
+	public static class FieldHoldingObject {
+		public static String staticField = null;
+		public String instanceField = null;
+		@SuppressWarnings("unused")
+		private String privateField = null;
+		
+		public FieldHoldingObject() {
+			super();
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.util.function.IntSupplier;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.ZeroArgFunction;
+
+public class FieldAccessorTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testFinal() throws Exception {
+		FieldAccessor fieldAccessor = new FieldAccessor(FieldHoldingObject.class.getField("FINAL_FIELD"), coercer);
+		
+		Assertions.assertTrue(fieldAccessor.isFinal());
+		Assertions.assertEquals("final", fieldAccessor.get(null).tojstring());
+		Assertions.assertThrows(LuaError.class, () -> fieldAccessor.set(null, LuaValue.valueOf("value")));
+	}
+	
+	@Test
+	public void testFunctionalInterface() throws Exception {
+		FieldHoldingObject object = new FieldHoldingObject();
+		FieldAccessor fieldAccessor = new FieldAccessor(FieldHoldingObject.class.getField("supplierField"), coercer);
+		
+		fieldAccessor.set(object, new ZeroArgFunction() {
+			@Override
+			public LuaValue call() {
+				return LuaValue.valueOf(5);
+			}
+		});
+		
+		Assertions.assertEquals(5, object.supplierField.getAsInt());
+	}
+	
+	@Test
+	public void testPrimitives() throws Exception {
+		FieldHoldingObject object = new FieldHoldingObject();
+		
+		FieldAccessor intAccessor = new FieldAccessor(FieldHoldingObject.class.getField("intField"), coercer);
+		intAccessor.set(object, LuaValue.valueOf(5));
+		Assertions.assertEquals(5, object.intField);
+		Assertions.assertEquals(5, intAccessor.get(object).toint());
+		
+		FieldAccessor longAccessor = new FieldAccessor(FieldHoldingObject.class.getField("longField"), coercer);
+		longAccessor.set(object, LuaValue.valueOf(5000000000.0));
+		Assertions.assertEquals(5000000000L, object.longField);
+		Assertions.assertEquals(5000000000.0, longAccessor.get(object).todouble());
+		
+		FieldAccessor doubleAccessor = new FieldAccessor(FieldHoldingObject.class.getField("doubleField"), coercer);
+		doubleAccessor.set(object, LuaValue.valueOf(1.5));
+		Assertions.assertEquals(1.5, object.doubleField);
+		Assertions.assertEquals(1.5, doubleAccessor.get(object).todouble());
+		
+		FieldAccessor booleanAccessor = new FieldAccessor(FieldHoldingObject.class.getField("booleanField"), coercer);
+		booleanAccessor.set(object, LuaValue.TRUE);
+		Assertions.assertTrue(object.booleanField);
+		Assertions.assertTrue(booleanAccessor.get(object).toboolean());
+		
+		Assertions.assertThrows(LuaError.class, () -> intAccessor.set(object, LuaValue.valueOf("abc")));
+	}
+	
+	@Test
+	public void testReferences() throws Exception {
+		FieldHoldingObject object = new FieldHoldingObject();
+		
+		FieldAccessor stringAccessor = new FieldAccessor(FieldHoldingObject.class.getField("stringField"), coercer);
+		stringAccessor.set(object, LuaValue.valueOf("value"));
+		Assertions.assertEquals("value", object.stringField);
+		Assertions.assertEquals("value", stringAccessor.get(object).tojstring());
+		stringAccessor.set(object, LuaValue.NIL);
+		Assertions.assertNull(object.stringField);
+		Assertions.assertTrue(stringAccessor.get(object).isnil());
+		
+		FieldAccessor boxedAccessor = new FieldAccessor(FieldHoldingObject.class.getField("boxedLongField"), coercer);
+		boxedAccessor.set(object, LuaValue.valueOf(5));
+		Assertions.assertEquals(Long.valueOf(5), object.boxedLongField);
+		
+		Assertions.assertThrows(LuaError.class, () -> stringAccessor.set(object, LuaValue.valueOf(5)));
+	}
+	
+	@Test
+	public void testStatic() throws Exception {
+		FieldAccessor fieldAccessor = new FieldAccessor(FieldHoldingObject.class.getField("staticField"), coercer);
+		
+		fieldAccessor.set(null, LuaValue.valueOf(7));
+		Assertions.assertEquals(7, FieldHoldingObject.staticField);
+		Assertions.assertEquals(7, fieldAccessor.get(null).toint());
+	}
+	
+	public static class FieldHoldingObject {
+		public static final String FINAL_FIELD = "final";
+		public static int staticField = 0;
+		public boolean booleanField = false;
+		public Long boxedLongField = null;
+		public double doubleField = 0.0d;
+		public int intField = 0;
+		public long longField = 0;
+		public String stringField = null;
+		public IntSupplier supplierField = null;
+		
+		public FieldHoldingObject() {
+			super();
+		}
+	}
+}
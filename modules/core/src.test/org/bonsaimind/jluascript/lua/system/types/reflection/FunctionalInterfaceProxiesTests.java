@@ -0,0 +1,119 @@
+/*
+ * Licensed under Creative Commons Zero or as Public Domain.
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.OneArgFunction;
+import org.luaj.vm2.lib.TwoArgFunction;
+import org.luaj.vm2.lib.ZeroArgFunction;
+
+public class FunctionalInterfaceProxiesTests {
+	protected DefaultCoercer coercer = null;
+	
+	@BeforeEach
+	public void setUp() {
+		coercer = new DefaultCoercer();
+		
+		// Workaround for a dependency problem between LuaValue and its deriving
+		// classes. If the static constructor of, say LuaInteger is being called
+		// before LuaValue has been loaded, it will fail.
+		LuaValue.valueOf(1);
+	}
+	
+	@Test
+	public void testAdapters() {
+		IntPredicate predicate = FunctionalInterfaceProxies.createProxy(IntPredicate.class, new OneArgFunction() {
+			@Override
+			public LuaValue call(LuaValue arg) {
+				return LuaValue.valueOf(arg.toint() > 2);
+			}
+		}, coercer);
+		
+		Assertions.assertTrue(predicate instanceof LuaFunctionIntAdapter);
+		Assertions.assertTrue(predicate.test(3));
+		Assertions.assertFalse(predicate.test(2));
+		
+		LongBinaryOperator operator = FunctionalInterfaceProxies.createProxy(LongBinaryOperator.class, new TwoArgFunction() {
+			@Override
+			public LuaValue call(LuaValue arg1, LuaValue arg2) {
+				return LuaValue.valueOf(arg1.todouble() + arg2.todouble());
+			}
+		}, coercer);
+		
+		Assertions.assertTrue(operator instanceof LuaFunctionLongAdapter);
+		Assertions.assertEquals(5000000000L, operator.applyAsLong(4000000000L, 1000000000L));
+		
+		DoubleUnaryOperator unaryOperator = FunctionalInterfaceProxies.createProxy(DoubleUnaryOperator.class, new OneArgFunction() {
+			@Override
+			public LuaValue call(LuaValue arg) {
+				return LuaValue.valueOf(arg.todouble() * 2);
+			}
+		}, coercer);
+		
+		Assertions.assertTrue(unaryOperator instanceof LuaFunctionDoubleAdapter);
+		Assertions.assertEquals(3.0d, unaryOperator.applyAsDouble(1.5d));
+		
+		@SuppressWarnings("unchecked")
+		ToIntFunction<String> toIntFunction = FunctionalInterfaceProxies.createProxy(ToIntFunction.class, new OneArgFunction() {
+			@Override
+			public LuaValue call(LuaValue arg) {
+				return LuaValue.valueOf(arg.length());
+			}
+		}, coercer);
+		
+		Assertions.assertEquals(LuaFunctionIntAdapter.class, toIntFunction.getClass());
+		Assertions.assertEquals(3, toIntFunction.applyAsInt("abc"));
+	}
+	
+	@Test
+	public void testGeneratedImplementation() {
+		@SuppressWarnings("unchecked")
+		Comparator<String> comparator = FunctionalInterfaceProxies.createProxy(Comparator.class, new TwoArgFunction() {
+			@Override
+			public LuaValue call(LuaValue arg1, LuaValue arg2) {
+				return LuaValue.valueOf(arg2.tojstring().compareTo(arg1.tojstring()));
+			}
+		}, coercer);
+		
+		Assertions.assertFalse(Proxy.isProxyClass(comparator.getClass()));
+		Assertions.assertTrue(comparator.compare("a", "b") > 0);
+	}
+	
+	@Test
+	public void testIsFunctionalInterface() {
+		Assertions.assertTrue(FunctionalInterfaceProxies.isFunctionalInterface(Comparator.class));
+		Assertions.assertTrue(FunctionalInterfaceProxies.isFunctionalInterface(Runnable.class));
+		Assertions.assertFalse(FunctionalInterfaceProxies.isFunctionalInterface(Object.class));
+		Assertions.assertFalse(FunctionalInterfaceProxies.isFunctionalInterface(String.class));
+	}
+	
+	@Test
+	public void testProxyFallback() {
+		NonPublicSupplier supplier = FunctionalInterfaceProxies.createProxy(NonPublicSupplier.class, new ZeroArgFunction() {
+			@Override
+			public LuaValue call() {
+				return LuaValue.valueOf("value");
+			}
+		}, coercer);
+		
+		Assertions.assertTrue(Proxy.isProxyClass(supplier.getClass()));
+		Assertions.assertEquals("value", supplier.get());
+	}
+	
+	interface NonPublicSupplier extends Supplier<String> {
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaUserdata;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link ForkedGlobals} is a {@link Globals} extension which is a
+ * copy-on-write overlay over the {@link Globals} of a parent.
+ * <p>
+ * Reading a key which has not been set in the {@link ForkedGlobals} falls
+ * through to the parent, even when reading raw, writing a key only ever
+ * changes the {@link ForkedGlobals}. A key which is removed while the parent
+ * still has it, is marked as removed so that it does not fall through anymore.
+ * Iterating returns the keys which have been set in the {@link ForkedGlobals}
+ * first, followed by the keys of the parent which have neither been set nor
+ * removed in the {@link ForkedGlobals}.
+ * <p>
+ * The parent must not be changed while the {@link ForkedGlobals} is in use on
+ * a different thread, reading from it concurrently is safe.
+ */
+public class ForkedGlobals extends Globals {
+	/** The value which marks a key as removed. */
+	protected static final LuaValue REMOVED = new LuaUserdata(new Object());
+	
+	/** The {@link Globals} of the parent. */
+	protected Globals parent = null;
+	
+	/**
+	 * Creates a new instance of {@link ForkedGlobals}.
+	 * 
+	 * @param parent The {@link Globals} of the parent, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code parent} is
+	 *         {@code null}.
+	 */
+	public ForkedGlobals(Globals parent) {
+		super();
+		
+		this.parent = Verifier.notNull("parent", parent);
+	}
+	
+	/**
+	 * Gets the {@link Globals} of the parent.
+	 * 
+	 * @return The {@link Globals} of the parent.
+	 */
+	public Globals getParent() {
+		return parent;
+	}
+	
+	/**
+	 * Gets whether the given key has been set or removed in this
+	 * {@link ForkedGlobals}, instead of being inherited from the parent.
+	 * 
+	 * @param key The key to check, cannot be {@code null}.
+	 * @return {@code true} if the given key has been set or removed in this
+	 *         {@link ForkedGlobals}.
+	 */
+	public boolean isLocal(LuaValue key) {
+		return !super.rawget(key).isnil();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The keys which have been set in this {@link ForkedGlobals} are returned
+	 * first, followed by the keys of the parent which have neither been set
+	 * nor removed in this {@link ForkedGlobals}.
+	 */
+	@Override
+	public Varargs next(LuaValue key) {
+		if (!key.isnil() && !isLocal(key)) {
+			return nextInherited(key);
+		}
+		
+		Varargs entry = super.next(key);
+		
+		while (entry.arg(2) == REMOVED) {
+			entry = super.next(entry.arg1());
+		}
+		
+		if (entry.arg1().isnil()) {
+			return nextInherited(LuaValue.NIL);
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue rawget(int key) {
+		return resolve(LuaValue.valueOf(key), super.rawget(key));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue rawget(LuaValue key) {
+		return resolve(key, super.rawget(key));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void rawset(int key, LuaValue value) {
+		super.rawset(key, mark(LuaValue.valueOf(key), value));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void rawset(LuaValue key, LuaValue value) {
+		super.rawset(key, mark(key, value));
+	}
+	
+	/**
+	 * Gets the value which is to be stored for the given key and value, which
+	 * is {@link #REMOVED} if the value is {@code nil} but the parent has the
+	 * key.
+	 * 
+	 * @param key The key.
+	 * @param value The value.
+	 * @return The value which is to be stored.
+	 */
+	protected LuaValue mark(LuaValue key, LuaValue value) {
+		if (value.isnil() && !parent.get(key).isnil()) {
+			return REMOVED;
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Gets the entry of the parent which follows the given key, skipping all
+	 * keys which have been set or removed in this {@link ForkedGlobals}.
+	 * 
+	 * @param key The key of the parent, {@code nil} to get the first entry.
+	 * @return The entry of the parent which follows the given key.
+	 */
+	protected Varargs nextInherited(LuaValue key) {
+		Varargs entry = parent.next(key);
+		
+		while (!entry.arg1().isnil() && isLocal(entry.arg1())) {
+			entry = parent.next(entry.arg1());
+		}
+		
+		return entry;
+	}
+	
+	/**
+	 * Resolves the given locally stored value of the given key, falling
+	 * through to the parent if it is not set.
+	 * 
+	 * @param key The key.
+	 * @param value The locally stored value.
+	 * @return The resolved value.
+	 */
+	protected LuaValue resolve(LuaValue key, LuaValue value) {
+		if (value == REMOVED) {
+			return LuaValue.NIL;
+		} else if (value.isnil()) {
+			return parent.get(key);
+		}
+		
+		return value;
+	}
+}
@@ -20,15 +20,16 @@
 package org.bonsaimind.jluascript.lua;
 
 import java.io.File;
-import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.bonsaimind.jluascript.lua.compiler.ChunkCache;
+import org.bonsaimind.jluascript.lua.compiler.ExecutionMode;
+import org.bonsaimind.jluascript.lua.compiler.TieredLoader;
 import org.bonsaimind.jluascript.lua.libs.ClassImportLib;
 import org.bonsaimind.jluascript.lua.libs.DefaultImportsLib;
 import org.bonsaimind.jluascript.lua.libs.FileSystemLib;
@@ -39,13 +40,13 @@ import org.bonsaimind.jluascript.lua.libs.StringExtendingLib;
 import org.bonsaimind.jluascript.lua.system.Coercer;
 import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
 import org.bonsaimind.jluascript.support.DynamicClassLoader;
-import org.bonsaimind.jluascript.support.ShebangSkippingInputStream;
 import org.bonsaimind.jluascript.support.ShebangSkippingReader;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.Globals;
 import org.luaj.vm2.LoadState;
 import org.luaj.vm2.LuaTable;
 import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
 import org.luaj.vm2.compiler.LuaC;
 import org.luaj.vm2.lib.Bit32Lib;
 import org.luaj.vm2.lib.CoroutineLib;
@@ -66,17 +67,33 @@ import org.luaj.vm2.luajc.LuaJC;
  * This class is not thread-safe. If you need to use this from different
  * threads, you must synchronize access to it yourself.
  * <p>
+ * Files are compiled through a {@link ChunkCache}, which by default is shared
+ * by all environments, so that every file is compiled only once and is
+ * afterwards only bound to the environment in which it is executed.
+ * <p>
+ * By default all chunks are compiled by LuaJC before they are executed, the
+ * {@link ExecutionMode} can be changed with
+ * {@link #setExecutionMode(ExecutionMode)}.
+ * <p>
+ * A {@link #fork() fork} of an environment is a cheap child environment,
+ * whose globals are a copy-on-write overlay over the globals of this
+ * environment, see {@link ForkedGlobals}.
+ * <p>
  * Extending classes can override the {@link #loadDefaultLibraries()} method if
  * they need to customize the libraries which are being loaded into the
  * environment.
  */
 public class LuaEnvironment {
+	/** The {@link ChunkCache} which is being used. */
+	protected ChunkCache chunkCache = null;
 	/** The {@link DynamicClassLoader} which is being used. */
 	protected DynamicClassLoader classLoader = null;
 	/** The {@link Coercer} that is being used. */
 	protected Coercer coercer = null;
 	/** The Lua environment. */
 	protected Globals environment = null;
+	/** The {@link ExecutionMode} of the chunks which are loaded. */
+	protected ExecutionMode executionMode = null;
 	
 	/**
 	 * Creates a new instance of {@link LuaEnvironment}.
@@ -102,30 +119,93 @@ public class LuaEnvironment {
 	 * @param classLoader The {@link DynamicClassLoader} to use for loading
 	 *        classes, cannot be {@code null}.
 	 * @param coercer The {@link Coercer} that will be used, cannot be
-	 *        {@code null}.
+	 *        {@code null}. It can be shared with other environments, even if
+	 *        they run on different threads, if it allows concurrent use like
+	 *        the {@link DefaultCoercer}.
 	 * @throws IllegalStateException If {@code classLoader} or {@code coercer}
 	 *         is {@code null}.
 	 */
 	public LuaEnvironment(DynamicClassLoader classLoader, Coercer coercer) {
+		this(classLoader, coercer, ChunkCache.getShared());
+	}
+	
+	/**
+	 * Creates a new instance of {@link LuaEnvironment}.
+	 * 
+	 * @param classLoader The {@link DynamicClassLoader} to use for loading
+	 *        classes, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} that will be used, cannot be
+	 *        {@code null}. It can be shared with other environments, even if
+	 *        they run on different threads, if it allows concurrent use like
+	 *        the {@link DefaultCoercer}.
+	 * @param chunkCache The {@link ChunkCache} to use for compiling files,
+	 *        cannot be {@code null}. It can be shared with other environments,
+	 *        even if they run on different threads.
+	 * @throws IllegalStateException If {@code classLoader}, {@code coercer} or
+	 *         {@code chunkCache} is {@code null}.
+	 */
+	public LuaEnvironment(DynamicClassLoader classLoader, Coercer coercer, ChunkCache chunkCache) {
 		super();
 		
 		Verifier.notNull("classLoader", classLoader);
 		Verifier.notNull("coercer", coercer);
+		Verifier.notNull("chunkCache", chunkCache);
 		
 		this.classLoader = classLoader;
 		this.coercer = coercer;
+		this.chunkCache = chunkCache;
 		
 		environment = new Globals();
 		
 		// Install the compilers.
 		LoadState.install(environment);
 		LuaC.install(environment);
-		LuaJC.install(environment);
+		setExecutionMode(ExecutionMode.COMPILED);
 		
 		// Load the libraries.
 		loadDefaultLibraries();
 	}
 	
+	/**
+	 * Creates a new instance of {@link LuaEnvironment} as fork of the given
+	 * parent.
+	 * <p>
+	 * The {@link DynamicClassLoader}, the {@link Coercer}, the
+	 * {@link ChunkCache}, the compilers and the {@link ExecutionMode} are
+	 * taken from the parent, the globals are a {@link ForkedGlobals} over the
+	 * globals of the parent.
+	 * 
+	 * @param parent The parent {@link LuaEnvironment}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If {@code parent} is {@code null}.
+	 * @see #fork()
+	 */
+	protected LuaEnvironment(LuaEnvironment parent) {
+		super();
+		
+		Verifier.notNull("parent", parent);
+		
+		this.classLoader = parent.classLoader;
+		this.coercer = parent.coercer;
+		this.chunkCache = parent.chunkCache;
+		this.executionMode = parent.executionMode;
+		
+		environment = new ForkedGlobals(parent.environment);
+		
+		environment.compiler = parent.environment.compiler;
+		environment.loader = parent.environment.loader;
+		environment.undumper = parent.environment.undumper;
+		
+		// Load the libraries which are bound to the globals.
+		loadForkLibraries();
+		
+		environment.STDERR = parent.environment.STDERR;
+		environment.STDIN = parent.environment.STDIN;
+		environment.STDOUT = parent.environment.STDOUT;
+		
+		copyInheritedTables(parent.environment);
+		inheritLoadedPackages(parent.environment);
+	}
+	
 	/**
 	 * Adds the given {@link Object} as Lua variable with the given name to the
 	 * environment.
@@ -215,12 +295,8 @@ public class LuaEnvironment {
 				absoluteFile.getParent().toString(),
 				absoluteFile.toString());
 		
-		try (InputStream fileStream = Files.newInputStream(file)) {
-			LuaValue loadedScript = environment.load(
-					new ShebangSkippingInputStream(fileStream, StandardCharsets.UTF_8),
-					"@" + file.toString(),
-					"bt",
-					environment);
+		try {
+			LuaValue loadedScript = chunkCache.load(file, "@" + file.toString(), environment);
 			
 			return (RETURN_TYPE)coercer.coerceLuaToJava(loadedScript.call());
 		} catch (Exception e) {
@@ -299,6 +375,39 @@ public class LuaEnvironment {
 		return execute(new StringReader(script), args);
 	}
 	
+	/**
+	 * Creates a fork of this environment.
+	 * <p>
+	 * The fork shares the {@link DynamicClassLoader}, the {@link Coercer} and
+	 * the {@link ChunkCache} with this environment. Its globals fall through
+	 * to the globals of this environment, but all changes to them stay in the
+	 * fork, see {@link ForkedGlobals}. The functions which are bound to the
+	 * globals, like {@code load}, {@code require}, {@code import} and the
+	 * {@code coroutine} library, are recreated for the fork. All other tables
+	 * in the globals, like the {@code string} or {@code math} library, are
+	 * copied shallowly, so that changing them does not change this
+	 * environment or other forks. Tables nested in these tables are still
+	 * shared, and so is the metatable of strings, which LuaJ keeps for the
+	 * whole JVM.
+	 * <p>
+	 * This environment must not be changed while the fork is used on a
+	 * different thread, but any number of forks can be used concurrently.
+	 * 
+	 * @return The fork of this environment.
+	 */
+	public LuaEnvironment fork() {
+		return new LuaEnvironment(this);
+	}
+	
+	/**
+	 * Gets the {@link ChunkCache} which is used for compiling files.
+	 * 
+	 * @return The {@link ChunkCache} which is used for compiling files.
+	 */
+	public ChunkCache getChunkCache() {
+		return chunkCache;
+	}
+	
 	/**
 	 * Gets the current Lua environment.
 	 * 
@@ -308,6 +417,15 @@ public class LuaEnvironment {
 		return environment;
 	}
 	
+	/**
+	 * Gets the {@link ExecutionMode} of the chunks which are loaded.
+	 * 
+	 * @return The {@link ExecutionMode} of the chunks which are loaded.
+	 */
+	public ExecutionMode getExecutionMode() {
+		return executionMode;
+	}
+	
 	/**
 	 * Gets the {@link Object} from the Lua environment with the given name.
 	 * Returns {@code null} if there is no variable with that name, or if it is
@@ -404,6 +522,32 @@ public class LuaEnvironment {
 		return this;
 	}
 	
+	/**
+	 * Sets the {@link ExecutionMode} of the chunks which are loaded from now
+	 * on, chunks which have already been loaded keep their
+	 * {@link ExecutionMode}.
+	 * 
+	 * @param executionMode The {@link ExecutionMode}, cannot be {@code null}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code executionMode} is
+	 *         {@code null}.
+	 */
+	public LuaEnvironment setExecutionMode(ExecutionMode executionMode) {
+		Verifier.notNull("executionMode", executionMode);
+		
+		this.executionMode = executionMode;
+		
+		if (executionMode == ExecutionMode.COMPILED) {
+			LuaJC.install(environment);
+		} else if (executionMode == ExecutionMode.TIERED) {
+			environment.loader = new TieredLoader();
+		} else {
+			environment.loader = LuaC.instance;
+		}
+		
+		return this;
+	}
+	
 	/**
 	 * Extracts the Lua stacktrace from the given {@link StackTraceElement}s.
 	 * 
@@ -513,6 +657,88 @@ public class LuaEnvironment {
 		return currentException;
 	}
 	
+	/**
+	 * Copies all tables in the given parent {@link Globals} which have not
+	 * been set in the fork itself, like the libraries, into the fork.
+	 * <p>
+	 * The copies are shallow and keep the metatable of the original table,
+	 * so that changing the tables in the fork does not change the parent.
+	 * 
+	 * @param parentEnvironment The {@link Globals} of the parent.
+	 */
+	protected void copyInheritedTables(Globals parentEnvironment) {
+		ForkedGlobals forkedEnvironment = (ForkedGlobals)environment;
+		List<LuaValue> inheritedKeys = new ArrayList<>();
+		
+		LuaValue key = LuaValue.NIL;
+		Varargs entry = parentEnvironment.next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			if (entry.arg(2) instanceof LuaTable
+					&& !(entry.arg(2) instanceof Globals)
+					&& !forkedEnvironment.isLocal(key)) {
+				inheritedKeys.add(key);
+			}
+			
+			entry = parentEnvironment.next(key);
+		}
+		
+		for (LuaValue inheritedKey : inheritedKeys) {
+			LuaTable table = (LuaTable)parentEnvironment.rawget(inheritedKey);
+			LuaTable copy = LuaUtil.copyTable(table);
+			copy.setmetatable(table.getmetatable());
+			
+			forkedEnvironment.rawset(inheritedKey, copy);
+		}
+	}
+	
+	/**
+	 * Adds the packages which have been loaded into the given parent
+	 * {@link Globals} to the {@code package.loaded} table of the fork, if they
+	 * have not been loaded into the fork itself, and takes over the
+	 * {@code package.path}.
+	 * <p>
+	 * Packages which are also a global of the parent are replaced by the
+	 * global of the fork with the same name, so that the copied tables and
+	 * the fork itself are used.
+	 * 
+	 * @param parentEnvironment The {@link Globals} of the parent.
+	 */
+	protected void inheritLoadedPackages(Globals parentEnvironment) {
+		LuaValue parentPackage = parentEnvironment.get("package");
+		LuaValue forkPackage = environment.get("package");
+		
+		if (parentPackage == forkPackage || !parentPackage.istable() || !forkPackage.istable()) {
+			return;
+		}
+		
+		forkPackage.set("path", parentPackage.get("path"));
+		
+		LuaValue parentLoaded = parentPackage.get("loaded");
+		LuaValue forkLoaded = forkPackage.get("loaded");
+		
+		if (!parentLoaded.istable() || !forkLoaded.istable()) {
+			return;
+		}
+		
+		LuaValue key = LuaValue.NIL;
+		Varargs entry = parentLoaded.next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			if (forkLoaded.rawget(key).isnil()) {
+				if (entry.arg(2) == parentEnvironment) {
+					forkLoaded.rawset(key, environment);
+				} else if (key.isstring() && parentEnvironment.rawget(key) == entry.arg(2)) {
+					forkLoaded.rawset(key, environment.rawget(key));
+				} else {
+					forkLoaded.rawset(key, entry.arg(2));
+				}
+			}
+			
+			entry = parentLoaded.next(key);
+		}
+	}
+	
 	/**
 	 * Checks whether the given {@link StackTraceElement} is part of the
 	 * stacktrace from inside the Lua script.
@@ -553,11 +779,34 @@ public class LuaEnvironment {
 		loadLibrary(new DefaultImportsLib(coercer));
 		loadLibrary(new FileSystemLib(coercer));
 		loadLibrary(new JarLoaderLib(classLoader));
-		loadLibrary(new LuaJavaInteropLib(coercer, environment));
+		loadLibrary(new LuaJavaInteropLib(coercer, environment, chunkCache));
 		loadLibrary(new ProcessLib(coercer));
 		loadLibrary(new StringExtendingLib(coercer));
 	}
 	
+	/**
+	 * Loads the libraries of a fork.
+	 * <p>
+	 * These are the libraries whose functions are bound to the globals they
+	 * have been loaded into, all other libraries are inherited from the
+	 * parent. Overriding classes which load additional libraries of that kind
+	 * in {@link #loadDefaultLibraries()} should load them here, too.
+	 * {@link #environment} is guaranteed to exist and
+	 * {@link #loadLibrary(LuaValue)} can be safely used for loading the
+	 * libraries.
+	 */
+	protected void loadForkLibraries() {
+		// The package library must be loaded first, as the other libraries
+		// register themselves in it.
+		loadLibrary(new PackageLib());
+		
+		loadLibrary(new CoroutineLib());
+		loadLibrary(new JseBaseLib());
+		
+		loadLibrary(new ClassImportLib(classLoader, coercer));
+		loadLibrary(new LuaJavaInteropLib(coercer, environment, chunkCache));
+	}
+	
 	/**
 	 * Updates the environment variables with the given values.
 	 * 
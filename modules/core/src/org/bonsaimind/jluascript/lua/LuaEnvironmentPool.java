@@ -0,0 +1,337 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.bonsaimind.jluascript.support.DynamicClassLoader;
+import org.bonsaimind.jluascript.utils.Verifier;
+
+/**
+ * The {@link LuaEnvironmentPool} keeps a fixed number of pre-initialized
+ * {@link LuaEnvironment}s which can be borrowed by different threads, so that
+ * the cost of creating an environment is not paid for every use.
+ * <p>
+ * A borrowed {@link PooledLuaEnvironment} is returned by closing it, which
+ * makes it possible to use it with try-with-resources:
+ * 
+ * <pre>
+ * try (PooledLuaEnvironment pooledEnvironment = pool.borrow()) {
+ * 	pooledEnvironment.getEnvironment().execute(script, args);
+ * }
+ * </pre>
+ * 
+ * When returned, the globals of the environment are reset to how they were
+ * after its creation, see {@link PooledLuaEnvironment#reset()}. An environment
+ * which has been {@link PooledLuaEnvironment#invalidate() invalidated} or which
+ * fails to reset is replaced by a newly created one. If creating the
+ * replacement fails, the invalid environment keeps its place in the pool and
+ * the replacement is created again when it is borrowed the next time.
+ * <p>
+ * This class is thread-safe.
+ */
+public class LuaEnvironmentPool {
+	/** The {@link PooledLuaEnvironment}s which can be borrowed. */
+	protected BlockingQueue<PooledLuaEnvironment> availableEnvironments = new LinkedBlockingQueue<>();
+	/** The number of times an environment has been borrowed. */
+	protected AtomicLong borrowCount = new AtomicLong();
+	/** The number of environments which have been created. */
+	protected AtomicLong createdCount = new AtomicLong();
+	/** The factory which creates the {@link LuaEnvironment}s. */
+	protected Supplier<? extends LuaEnvironment> environmentFactory = null;
+	/** The number of environments in this pool. */
+	protected int size = 0;
+	/** The total time in nanoseconds spent waiting for an environment. */
+	protected AtomicLong waitTime = new AtomicLong();
+	
+	/**
+	 * Creates a new instance of {@link LuaEnvironmentPool}.
+	 * <p>
+	 * The environments share one {@link DefaultCoercer}, but each has its own
+	 * {@link DynamicClassLoader}.
+	 * 
+	 * @param size The number of environments, must be greater than zero.
+	 * @throws IllegalArgumentException If the given {@code size} is not greater
+	 *         than zero.
+	 */
+	public LuaEnvironmentPool(int size) {
+		super();
+		
+		if (size <= 0) {
+			throw new IllegalArgumentException("size must be greater than zero.");
+		}
+		
+		this.size = size;
+		this.environmentFactory = createDefaultEnvironmentFactory(new DefaultCoercer());
+		
+		fill();
+	}
+	
+	/**
+	 * Creates a new instance of {@link LuaEnvironmentPool}.
+	 * <p>
+	 * All environments are created by the given factory before this
+	 * constructor returns.
+	 * 
+	 * @param size The number of environments, must be greater than zero.
+	 * @param environmentFactory The factory which creates the
+	 *        {@link LuaEnvironment}s, cannot be {@code null}. Anything it adds
+	 *        to the environments is part of the state to which they are reset.
+	 * @throws IllegalArgumentException If the given {@code size} is not greater
+	 *         than zero or the given {@code environmentFactory} is
+	 *         {@code null}.
+	 */
+	public LuaEnvironmentPool(int size, Supplier<? extends LuaEnvironment> environmentFactory) {
+		super();
+		
+		if (size <= 0) {
+			throw new IllegalArgumentException("size must be greater than zero.");
+		}
+		
+		this.size = size;
+		this.environmentFactory = Verifier.notNull("environmentFactory", environmentFactory);
+		
+		fill();
+	}
+	
+	/**
+	 * Borrows an environment, waiting until one is available.
+	 * 
+	 * @return The borrowed {@link PooledLuaEnvironment}, must be
+	 *         {@link PooledLuaEnvironment#close() closed} to return it.
+	 * @throws InterruptedException If the thread has been interrupted while
+	 *         waiting.
+	 * @throws RuntimeException If the available environment had to be
+	 *         replaced and the factory failed to create it.
+	 */
+	public PooledLuaEnvironment borrow() throws InterruptedException {
+		PooledLuaEnvironment pooledEnvironment = availableEnvironments.poll();
+		
+		if (pooledEnvironment == null) {
+			long waitStart = System.nanoTime();
+			
+			try {
+				pooledEnvironment = availableEnvironments.take();
+			} finally {
+				waitTime.addAndGet(System.nanoTime() - waitStart);
+			}
+		}
+		
+		return markBorrowed(pooledEnvironment);
+	}
+	
+	/**
+	 * Borrows an environment, waiting at most the given time until one is
+	 * available.
+	 * 
+	 * @param timeout The maximum time to wait.
+	 * @param timeUnit The {@link TimeUnit} of the {@code timeout}, cannot be
+	 *        {@code null}.
+	 * @return The borrowed {@link PooledLuaEnvironment}, must be
+	 *         {@link PooledLuaEnvironment#close() closed} to return it.
+	 *         {@code null} if none became available in time.
+	 * @throws IllegalArgumentException If the given {@code timeUnit} is
+	 *         {@code null}.
+	 * @throws InterruptedException If the thread has been interrupted while
+	 *         waiting.
+	 * @throws RuntimeException If the available environment had to be
+	 *         replaced and the factory failed to create it.
+	 */
+	public PooledLuaEnvironment borrow(long timeout, TimeUnit timeUnit) throws InterruptedException {
+		Verifier.notNull("timeUnit", timeUnit);
+		
+		PooledLuaEnvironment pooledEnvironment = availableEnvironments.poll();
+		
+		if (pooledEnvironment == null) {
+			long waitStart = System.nanoTime();
+			
+			try {
+				pooledEnvironment = availableEnvironments.poll(timeout, timeUnit);
+			} finally {
+				waitTime.addAndGet(System.nanoTime() - waitStart);
+			}
+			
+			if (pooledEnvironment == null) {
+				return null;
+			}
+		}
+		
+		return markBorrowed(pooledEnvironment);
+	}
+	
+	/**
+	 * Gets the number of environments which are currently available.
+	 * 
+	 * @return The number of environments which are currently available.
+	 */
+	public int getAvailableCount() {
+		return availableEnvironments.size();
+	}
+	
+	/**
+	 * Gets the number of times an environment has been borrowed.
+	 * 
+	 * @return The number of times an environment has been borrowed.
+	 */
+	public long getBorrowCount() {
+		return borrowCount.get();
+	}
+	
+	/**
+	 * Gets the number of environments which have been created, including the
+	 * ones which have been created to replace invalid ones.
+	 * 
+	 * @return The number of environments which have been created.
+	 */
+	public long getCreatedCount() {
+		return createdCount.get();
+	}
+	
+	/**
+	 * Gets the number of environments in this pool.
+	 * 
+	 * @return The number of environments in this pool.
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Gets the total time spent waiting for an environment to become
+	 * available.
+	 * 
+	 * @param timeUnit The {@link TimeUnit} in which to return the time, cannot
+	 *        be {@code null}.
+	 * @return The total time spent waiting for an environment.
+	 * @throws IllegalArgumentException If the given {@code timeUnit} is
+	 *         {@code null}.
+	 */
+	public long getWaitTime(TimeUnit timeUnit) {
+		Verifier.notNull("timeUnit", timeUnit);
+		
+		return timeUnit.convert(waitTime.get(), TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Creates the default factory, which creates {@link LuaEnvironment}s that
+	 * share the given {@link Coercer}.
+	 * 
+	 * @param coercer The {@link Coercer} to share.
+	 * @return The default factory.
+	 */
+	protected Supplier<? extends LuaEnvironment> createDefaultEnvironmentFactory(Coercer coercer) {
+		return () -> new LuaEnvironment(new DynamicClassLoader(LuaEnvironment.class.getClassLoader()), coercer);
+	}
+	
+	/**
+	 * Creates a new {@link PooledLuaEnvironment} with the
+	 * {@link #environmentFactory}.
+	 * 
+	 * @return The new {@link PooledLuaEnvironment}.
+	 */
+	protected PooledLuaEnvironment createEnvironment() {
+		PooledLuaEnvironment pooledEnvironment = new PooledLuaEnvironment(this, environmentFactory.get());
+		
+		createdCount.incrementAndGet();
+		
+		return pooledEnvironment;
+	}
+	
+	/**
+	 * Fills the pool with newly created environments, one for every place in
+	 * the pool.
+	 */
+	protected void fill() {
+		for (int counter = 0; counter < size; counter++) {
+			availableEnvironments.add(createEnvironment());
+		}
+	}
+	
+	/**
+	 * Marks the given {@link PooledLuaEnvironment} as borrowed.
+	 * <p>
+	 * If the given {@link PooledLuaEnvironment} is invalid, because its
+	 * replacement could not be created when it was taken back, the
+	 * replacement is created now and marked instead.
+	 * 
+	 * @param pooledEnvironment The {@link PooledLuaEnvironment} to mark.
+	 * @return The given {@link PooledLuaEnvironment} or its replacement.
+	 * @throws RuntimeException If the replacement could not be created, the
+	 *         given {@link PooledLuaEnvironment} is put back into the pool in
+	 *         that case.
+	 */
+	protected PooledLuaEnvironment markBorrowed(PooledLuaEnvironment pooledEnvironment) {
+		PooledLuaEnvironment borrowedEnvironment = pooledEnvironment;
+		
+		if (borrowedEnvironment.isInvalid()) {
+			try {
+				borrowedEnvironment = createEnvironment();
+			} catch (RuntimeException e) {
+				availableEnvironments.add(pooledEnvironment);
+				
+				throw e;
+			}
+		}
+		
+		borrowedEnvironment.setBorrowed(true);
+		borrowCount.incrementAndGet();
+		
+		return borrowedEnvironment;
+	}
+	
+	/**
+	 * Takes back the given {@link PooledLuaEnvironment}, which is reset or, if
+	 * it has been invalidated or cannot be reset, replaced.
+	 * <p>
+	 * If the replacement cannot be created, the invalid
+	 * {@link PooledLuaEnvironment} is put back instead, so that the pool does
+	 * not shrink, and is replaced when it is borrowed the next time.
+	 * 
+	 * @param pooledEnvironment The {@link PooledLuaEnvironment} to take back.
+	 */
+	protected void takeBack(PooledLuaEnvironment pooledEnvironment) {
+		PooledLuaEnvironment returnedEnvironment = pooledEnvironment;
+		
+		if (!returnedEnvironment.isInvalid()) {
+			try {
+				returnedEnvironment.reset();
+			} catch (RuntimeException e) {
+				returnedEnvironment.invalidate();
+			}
+		}
+		
+		if (returnedEnvironment.isInvalid()) {
+			try {
+				returnedEnvironment = createEnvironment();
+			} catch (RuntimeException e) {
+				// The replacement is created again when the environment is
+				// borrowed the next time.
+			}
+		}
+		
+		availableEnvironments.add(returnedEnvironment);
+	}
+}
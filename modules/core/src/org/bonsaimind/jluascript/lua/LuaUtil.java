@@ -41,6 +41,11 @@ public final class LuaUtil {
 	/**
 	 * Adds the coerced {@link Class} to the given {@link LuaValue environment}
 	 * through its package path.
+	 * <p>
+	 * If the given {@link LuaValue environment} is a {@link ForkedGlobals},
+	 * every package table which is still the same table as the one of the
+	 * parent at the same level is copied before it is changed, so that the
+	 * parent is not changed.
 	 * 
 	 * @param environment The {@link LuaValue environment} to which to add the
 	 *        coerced {@link Class}.
@@ -49,21 +54,59 @@ public final class LuaUtil {
 	 */
 	public static final void addClassByPackage(LuaValue environment, Class<?> clazz, LuaValue coercedStaticInstance) {
 		LuaValue previousPackageTable = environment;
+		LuaValue previousParentPackageTable = LuaValue.NIL;
+		
+		if (environment instanceof ForkedGlobals) {
+			previousParentPackageTable = ((ForkedGlobals)environment).getParent();
+		}
 		
 		for (String packagePart : clazz.getPackage().getName().split("\\.")) {
 			LuaValue packageTable = previousPackageTable.get(packagePart);
+			LuaValue parentPackageTable = LuaValue.NIL;
+			
+			if (previousParentPackageTable.istable()) {
+				parentPackageTable = previousParentPackageTable.get(packagePart);
+			}
 			
 			if (packageTable.isnil()) {
 				packageTable = new LuaTable();
 				previousPackageTable.set(packagePart, packageTable);
+			} else if (packageTable == parentPackageTable && packageTable.istable()) {
+				packageTable = copyTable((LuaTable)packageTable);
+				previousPackageTable.set(packagePart, packageTable);
 			}
 			
 			previousPackageTable = packageTable;
+			previousParentPackageTable = parentPackageTable;
 		}
 		
 		previousPackageTable.set(clazz.getSimpleName(), coercedStaticInstance);
 	}
 	
+	/**
+	 * Creates a shallow copy of the given {@link LuaTable}.
+	 * <p>
+	 * Only the raw entries are copied, the metatable is not. Nested tables are
+	 * not copied, the copy references the same tables as the given one.
+	 * 
+	 * @param table The {@link LuaTable} to copy.
+	 * @return The copy of the given {@link LuaTable}.
+	 */
+	public static final LuaTable copyTable(LuaTable table) {
+		LuaTable copy = new LuaTable();
+		
+		LuaValue key = LuaValue.NIL;
+		Varargs entry = table.next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			copy.rawset(key, entry.arg(2));
+			
+			entry = table.next(key);
+		}
+		
+		return copy;
+	}
+	
 	/**
 	 * Converts the given {@link Varargs} to a combined {@link Path}.
 	 * 
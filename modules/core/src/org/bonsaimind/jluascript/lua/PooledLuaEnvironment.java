@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link PooledLuaEnvironment} is a {@link LuaEnvironment} which has been
+ * borrowed from a {@link LuaEnvironmentPool}, and is returned to it when
+ * closed.
+ * <p>
+ * On creation a baseline of the globals is taken, to which the globals are
+ * reset when the environment is returned. Only the globals themselves and the
+ * metatable of the globals are reset, changes to tables which are referenced
+ * by the globals, like the {@code string} library or {@code package.loaded},
+ * are kept. An environment in which such changes must not be kept should be
+ * {@link #invalidate() invalidated} before it is returned.
+ */
+public class PooledLuaEnvironment implements AutoCloseable {
+	/** The baseline of the globals. */
+	protected LuaTable baseline = new LuaTable();
+	/** The metatable of the globals in the baseline, can be {@code null}. */
+	protected LuaValue baselineMetatable = null;
+	/** Whether the environment is currently borrowed. */
+	protected AtomicBoolean borrowed = new AtomicBoolean();
+	/** The {@link LuaEnvironment}. */
+	protected LuaEnvironment environment = null;
+	/** Whether the environment has been invalidated. */
+	protected volatile boolean invalid = false;
+	/** The {@link LuaEnvironmentPool} to which the environment belongs. */
+	protected LuaEnvironmentPool pool = null;
+	
+	/**
+	 * Creates a new instance of {@link PooledLuaEnvironment}.
+	 * 
+	 * @param pool The {@link LuaEnvironmentPool} to which the environment
+	 *        belongs, cannot be {@code null}.
+	 * @param environment The {@link LuaEnvironment}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code pool} or
+	 *         {@code environment} is {@code null}.
+	 */
+	public PooledLuaEnvironment(LuaEnvironmentPool pool, LuaEnvironment environment) {
+		super();
+		
+		this.pool = Verifier.notNull("pool", pool);
+		this.environment = Verifier.notNull("environment", environment);
+		
+		Globals globals = environment.getEnvironment();
+		
+		LuaValue key = LuaValue.NIL;
+		Varargs entry = globals.next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			baseline.rawset(key, entry.arg(2));
+			
+			entry = globals.next(key);
+		}
+		
+		baselineMetatable = globals.getmetatable();
+	}
+	
+	/**
+	 * Returns the environment to the {@link LuaEnvironmentPool}.
+	 * <p>
+	 * Closing an environment which has already been returned has no effect,
+	 * even if it is closed concurrently by multiple threads.
+	 */
+	@Override
+	public void close() {
+		if (borrowed.compareAndSet(true, false)) {
+			pool.takeBack(this);
+		}
+	}
+	
+	/**
+	 * Gets the {@link LuaEnvironment}.
+	 * <p>
+	 * The {@link LuaEnvironment} must not be used anymore after this
+	 * {@link PooledLuaEnvironment} has been closed.
+	 * 
+	 * @return The {@link LuaEnvironment}.
+	 */
+	public LuaEnvironment getEnvironment() {
+		return environment;
+	}
+	
+	/**
+	 * Invalidates the environment, so that it is discarded and replaced by a
+	 * new one when it is returned.
+	 * 
+	 * @return This instance.
+	 */
+	public PooledLuaEnvironment invalidate() {
+		invalid = true;
+		
+		return this;
+	}
+	
+	/**
+	 * Gets whether the environment is currently borrowed.
+	 * 
+	 * @return {@code true} if the environment is currently borrowed.
+	 */
+	public boolean isBorrowed() {
+		return borrowed.get();
+	}
+	
+	/**
+	 * Gets whether the environment has been invalidated.
+	 * 
+	 * @return {@code true} if the environment has been invalidated.
+	 */
+	public boolean isInvalid() {
+		return invalid;
+	}
+	
+	/**
+	 * Resets the globals to the baseline, which means that all globals which
+	 * have been added are removed, and all which have been changed or removed
+	 * are restored.
+	 */
+	public void reset() {
+		Globals globals = environment.getEnvironment();
+		
+		globals.setmetatable(baselineMetatable);
+		
+		List<LuaValue> changedKeys = new ArrayList<>();
+		
+		LuaValue key = LuaValue.NIL;
+		Varargs entry = globals.next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			if (baseline.rawget(key) != entry.arg(2)) {
+				changedKeys.add(key);
+			}
+			
+			entry = globals.next(key);
+		}
+		
+		key = LuaValue.NIL;
+		entry = baseline.next(key);
+		
+		while (!(key = entry.arg1()).isnil()) {
+			if (globals.rawget(key).isnil()) {
+				changedKeys.add(key);
+			}
+			
+			entry = baseline.next(key);
+		}
+		
+		for (LuaValue changedKey : changedKeys) {
+			globals.rawset(changedKey, baseline.rawget(changedKey));
+		}
+	}
+	
+	/**
+	 * Sets whether the environment is currently borrowed.
+	 * 
+	 * @param borrowed {@code true} if the environment is currently borrowed.
+	 */
+	protected void setBorrowed(boolean borrowed) {
+		this.borrowed.set(borrowed);
+	}
+}
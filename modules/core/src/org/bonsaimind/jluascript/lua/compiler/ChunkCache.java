@@ -0,0 +1,381 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bonsaimind.jluascript.support.ShebangSkippingInputStream;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
+
+/**
+ * The {@link ChunkCache} caches the {@link CompiledChunk}s of Lua files, so
+ * that every file is read and compiled only once and afterwards only bound to
+ * the environment in which it is executed.
+ * <p>
+ * The {@link CompiledChunk}s are cached by the absolute path of the file, the
+ * name of the chunk and the {@link Globals#loader loader} of the environment,
+ * so that environments with different {@link ExecutionMode}s do not share
+ * their {@link CompiledChunk}s. Loaders are compared by their {@link Class},
+ * except for {@link TieredLoader}s, which are compared by their
+ * configuration. A cached {@link CompiledChunk} is only reused as long as the
+ * last modified time and the size of the file are unchanged, otherwise the
+ * file is compiled again. If the maximum size is exceeded, the least recently
+ * used entry is removed.
+ * <p>
+ * The {@link ChunkCache} is thread-safe and can be shared between
+ * environments, the {@link #getShared() shared instance} is used by all
+ * {@link org.bonsaimind.jluascript.lua.LuaEnvironment}s by default. If the
+ * same file is loaded concurrently for the first time, it might be compiled
+ * more than once, but only one of the {@link CompiledChunk}s is kept. Files
+ * are compiled without holding any lock.
+ */
+public class ChunkCache {
+	/** The default maximum number of entries. */
+	public static final int DEFAULT_MAXIMUM_SIZE = 256;
+	
+	/** The {@link ChunkCache} which is shared by default. */
+	private static final ChunkCache SHARED = new ChunkCache();
+	
+	/**
+	 * The cached {@link CacheEntry}s by their {@link CacheKey}, in the order
+	 * of their last access. Access must be synchronized on the {@link Map}.
+	 */
+	protected Map<CacheKey, CacheEntry> entries = null;
+	/** The maximum number of entries. */
+	protected int maximumSize = 0;
+	
+	/**
+	 * Creates a new instance of {@link ChunkCache} which holds at most
+	 * {@link #DEFAULT_MAXIMUM_SIZE} entries.
+	 */
+	public ChunkCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+	
+	/**
+	 * Creates a new instance of {@link ChunkCache}.
+	 * 
+	 * @param maximumSize The maximum number of entries, must be greater than
+	 *        zero.
+	 * @throws IllegalArgumentException If the given {@code maximumSize} is not
+	 *         greater than zero.
+	 */
+	public ChunkCache(int maximumSize) {
+		super();
+		
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be greater than zero.");
+		}
+		
+		this.maximumSize = maximumSize;
+		this.entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+				return size() > ChunkCache.this.maximumSize;
+			}
+		};
+	}
+	
+	/**
+	 * Gets the {@link ChunkCache} which is shared by default.
+	 * 
+	 * @return The {@link ChunkCache} which is shared by default.
+	 */
+	public static final ChunkCache getShared() {
+		return SHARED;
+	}
+	
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+	
+	/**
+	 * Gets the {@link CompiledChunk} of the given file, compiling it with the
+	 * given {@link Globals} if there is no up-to-date one cached.
+	 * <p>
+	 * This method does perform automatic Shebang stripping on the input.
+	 * 
+	 * @param file The file to load, cannot be {@code null}.
+	 * @param chunkName The name of the chunk, cannot be {@code null} or empty.
+	 * @param globals The {@link Globals} to compile the file with, cannot be
+	 *        {@code null}.
+	 * @return The {@link CompiledChunk} of the given file.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null} or the {@code chunkName} is empty.
+	 * @throws IOException If reading the file failed.
+	 */
+	public CompiledChunk get(Path file, String chunkName, Globals globals) throws IOException {
+		Verifier.notNull("file", file);
+		Verifier.notNullOrEmpty("chunkName", chunkName);
+		Verifier.notNull("globals", globals);
+		
+		CacheKey key = new CacheKey(file.toAbsolutePath().normalize(), chunkName, getLoaderKey(globals));
+		BasicFileAttributes attributes = Files.readAttributes(key.getFile(), BasicFileAttributes.class);
+		
+		CacheEntry entry = null;
+		
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		
+		if (entry == null || !entry.isUpToDate(attributes)) {
+			entry = new CacheEntry(compile(key.getFile(), chunkName, globals), attributes);
+			
+			synchronized (entries) {
+				entries.put(key, entry);
+			}
+		}
+		
+		return entry.getCompiledChunk();
+	}
+	
+	/**
+	 * Gets the maximum number of entries.
+	 * 
+	 * @return The maximum number of entries.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+	
+	/**
+	 * Loads the given file into the given {@link Globals}, compiling it only
+	 * if there is no up-to-date {@link CompiledChunk} cached.
+	 * <p>
+	 * This method does perform automatic Shebang stripping on the input.
+	 * 
+	 * @param file The file to load, cannot be {@code null}.
+	 * @param chunkName The name of the chunk, cannot be {@code null} or empty.
+	 * @param globals The {@link Globals} to compile the file with and to bind
+	 *        it to, cannot be {@code null}.
+	 * @return The {@link LuaFunction} which executes the file.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null} or the {@code chunkName} is empty.
+	 * @throws IOException If reading the file failed.
+	 */
+	public LuaFunction load(Path file, String chunkName, Globals globals) throws IOException {
+		return get(file, chunkName, globals).bind(globals);
+	}
+	
+	/**
+	 * Removes all entries of the given file.
+	 * 
+	 * @param file The file to remove, cannot be {@code null}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code file} is
+	 *         {@code null}.
+	 */
+	public ChunkCache remove(Path file) {
+		Verifier.notNull("file", file);
+		
+		Path absoluteFile = file.toAbsolutePath().normalize();
+		
+		synchronized (entries) {
+			entries.keySet().removeIf((key) -> key.getFile().equals(absoluteFile));
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Gets the number of entries.
+	 * 
+	 * @return The number of entries.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	/**
+	 * Compiles the given file with the given {@link Globals}.
+	 * <p>
+	 * The file is compiled with the {@link Globals#compiler compiler} and the
+	 * {@link Globals#loader loader} of the given {@link Globals}, so whether
+	 * the chunk is interpreted or compiled into a class is decided by these.
+	 * 
+	 * @param file The file to compile.
+	 * @param chunkName The name of the chunk.
+	 * @param globals The {@link Globals} to compile the file with.
+	 * @return The {@link CompiledChunk}.
+	 * @throws IOException If reading the file failed.
+	 */
+	protected CompiledChunk compile(Path file, String chunkName, Globals globals) throws IOException {
+		try (InputStream fileStream = Files.newInputStream(file)) {
+			Prototype prototype = globals.loadPrototype(
+					new ShebangSkippingInputStream(fileStream, StandardCharsets.UTF_8),
+					chunkName,
+					"bt");
+			LuaFunction function = globals.loader.load(prototype, chunkName, LuaValue.NIL);
+			
+			return new CompiledChunk(prototype, function);
+		}
+	}
+	
+	/**
+	 * Gets the key of the {@link Globals#loader loader} of the given
+	 * {@link Globals}, which is part of the {@link CacheKey}.
+	 * 
+	 * @param globals The {@link Globals}.
+	 * @return The key of the loader, which is the {@link TieredLoader} itself
+	 *         or otherwise the {@link Class} of the loader, {@code null} if
+	 *         there is none.
+	 */
+	protected Object getLoaderKey(Globals globals) {
+		if (globals.loader instanceof TieredLoader) {
+			return globals.loader;
+		} else if (globals.loader != null) {
+			return globals.loader.getClass();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * The {@link CacheEntry} is a {@link CompiledChunk} together with the
+	 * attributes of the file it has been compiled from.
+	 */
+	protected static class CacheEntry {
+		/** The {@link CompiledChunk}. */
+		protected CompiledChunk compiledChunk = null;
+		/** The last modified time of the file. */
+		protected FileTime lastModifiedTime = null;
+		/** The size of the file. */
+		protected long size = 0;
+		
+		/**
+		 * Creates a new instance of {@link CacheEntry}.
+		 * 
+		 * @param compiledChunk The {@link CompiledChunk}.
+		 * @param attributes The {@link BasicFileAttributes} of the file.
+		 */
+		public CacheEntry(CompiledChunk compiledChunk, BasicFileAttributes attributes) {
+			super();
+			
+			this.compiledChunk = compiledChunk;
+			this.lastModifiedTime = attributes.lastModifiedTime();
+			this.size = attributes.size();
+		}
+		
+		/**
+		 * Gets the {@link CompiledChunk}.
+		 * 
+		 * @return The {@link CompiledChunk}.
+		 */
+		public CompiledChunk getCompiledChunk() {
+			return compiledChunk;
+		}
+		
+		/**
+		 * Gets whether this entry is still up-to-date with the file.
+		 * 
+		 * @param attributes The current {@link BasicFileAttributes} of the
+		 *        file.
+		 * @return {@code true} if the last modified time and the size of the
+		 *         file are unchanged.
+		 */
+		public boolean isUpToDate(BasicFileAttributes attributes) {
+			return size == attributes.size()
+					&& lastModifiedTime.equals(attributes.lastModifiedTime());
+		}
+	}
+	
+	/**
+	 * The {@link CacheKey} is the absolute path of a file together with the
+	 * name of the chunk and the key of the loader.
+	 */
+	protected static class CacheKey {
+		/** The name of the chunk. */
+		protected String chunkName = null;
+		/** The absolute and normalized path of the file. */
+		protected Path file = null;
+		/** The key of the loader, can be {@code null}. */
+		protected Object loaderKey = null;
+		
+		/**
+		 * Creates a new instance of {@link CacheKey}.
+		 * 
+		 * @param file The absolute and normalized path of the file.
+		 * @param chunkName The name of the chunk.
+		 * @param loaderKey The key of the loader, can be {@code null}.
+		 */
+		public CacheKey(Path file, String chunkName, Object loaderKey) {
+			super();
+			
+			this.file = file;
+			this.chunkName = chunkName;
+			this.loaderKey = loaderKey;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (other instanceof CacheKey) {
+				CacheKey otherKey = (CacheKey)other;
+				
+				return file.equals(otherKey.file)
+						&& chunkName.equals(otherKey.chunkName)
+						&& Objects.equals(loaderKey, otherKey.loaderKey);
+			}
+			
+			return false;
+		}
+		
+		/**
+		 * Gets the absolute and normalized path of the file.
+		 * 
+		 * @return The absolute and normalized path of the file.
+		 */
+		public Path getFile() {
+			return file;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return (file.hashCode() * 31 + chunkName.hashCode()) * 31 + Objects.hashCode(loaderKey);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.lang.reflect.Constructor;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaClosure;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
+
+/**
+ * The {@link CompiledChunk} is a compiled Lua chunk which is not bound to any
+ * environment, and can be bound to any number of environments.
+ * <p>
+ * The chunk is either a {@link Prototype} which is executed by the interpreter
+ * through a {@link LuaClosure}, or a {@link LuaFunction} class which has been
+ * generated by LuaJC from the {@link Prototype}. Neither is modified during
+ * execution, so the {@link CompiledChunk} can be shared between all
+ * environments and threads.
+ * <p>
+ * If the chunk has been loaded by the {@link TieredLoader}, it is bound as
+ * {@link TieredFunction}, so that all bindings share the same
+ * {@link TieredChunk}.
+ * <p>
+ * A {@link CompiledChunk} which has been created directly from a generated
+ * {@link LuaFunction} class, for example one which has been loaded from a
+ * persistent cache, has no {@link Prototype}.
+ */
+public class CompiledChunk {
+	/**
+	 * The {@link Constructor} of the generated {@link LuaFunction} class,
+	 * {@code null} if the {@link Prototype} is interpreted.
+	 */
+	protected Constructor<? extends LuaFunction> functionConstructor = null;
+	/** The {@link Prototype}, {@code null} if there is none. */
+	protected Prototype prototype = null;
+	/**
+	 * The {@link TieredChunk}, {@code null} if the chunk has not been loaded by
+	 * the {@link TieredLoader}.
+	 */
+	protected TieredChunk tieredChunk = null;
+	
+	/**
+	 * Creates a new instance of {@link CompiledChunk}.
+	 * 
+	 * @param functionClass The generated {@link LuaFunction} class, cannot be
+	 *        {@code null}. It is instantiated for every binding.
+	 * @throws IllegalArgumentException If the given {@code functionClass} is
+	 *         {@code null} or cannot be instantiated.
+	 */
+	public CompiledChunk(Class<? extends LuaFunction> functionClass) {
+		super();
+		
+		this.functionConstructor = getConstructor(Verifier.notNull("functionClass", functionClass));
+	}
+	
+	/**
+	 * Creates a new instance of {@link CompiledChunk}.
+	 * 
+	 * @param prototype The {@link Prototype}, cannot be {@code null}.
+	 * @param function A {@link LuaFunction} which has been loaded from the
+	 *        given {@link Prototype}, cannot be {@code null}. If it is a
+	 *        {@link LuaClosure} the {@link Prototype} is interpreted, if it is
+	 *        a {@link TieredFunction} its {@link TieredChunk} is bound,
+	 *        otherwise its {@link Class} is instantiated for every binding.
+	 * @throws IllegalArgumentException If the given {@code prototype} or
+	 *         {@code function} is {@code null}, or if the {@link Class} of the
+	 *         given {@code function} cannot be instantiated.
+	 */
+	public CompiledChunk(Prototype prototype, LuaFunction function) {
+		super();
+		
+		this.prototype = Verifier.notNull("prototype", prototype);
+		
+		Verifier.notNull("function", function);
+		
+		if (function instanceof TieredFunction) {
+			this.tieredChunk = ((TieredFunction)function).getChunk();
+		} else if (!(function instanceof LuaClosure)) {
+			this.functionConstructor = getConstructor(function.getClass());
+		}
+	}
+	
+	/**
+	 * Binds the chunk to the given environment.
+	 * 
+	 * @param environment The environment, the {@code _ENV} of the chunk,
+	 *        cannot be {@code null}.
+	 * @return A new {@link LuaFunction} which executes the chunk in the given
+	 *         environment.
+	 * @throws IllegalArgumentException If the given {@code environment} is
+	 *         {@code null}.
+	 * @throws LuaError If the generated {@link LuaFunction} class could not be
+	 *         instantiated.
+	 */
+	public LuaFunction bind(LuaValue environment) {
+		Verifier.notNull("environment", environment);
+		
+		if (tieredChunk != null) {
+			return tieredChunk.bind(environment);
+		}
+		
+		if (functionConstructor == null) {
+			return new LuaClosure(prototype, environment);
+		}
+		
+		try {
+			LuaFunction function = functionConstructor.newInstance();
+			function.initupvalue1(environment);
+			
+			return function;
+		} catch (ReflectiveOperationException e) {
+			throw new LuaError(e);
+		}
+	}
+	
+	/**
+	 * Gets the {@link Prototype}.
+	 * 
+	 * @return The {@link Prototype}, {@code null} if this chunk has been
+	 *         created directly from a generated {@link LuaFunction} class.
+	 */
+	public Prototype getPrototype() {
+		return prototype;
+	}
+	
+	/**
+	 * Gets whether the chunk has been compiled into a {@link LuaFunction}
+	 * class.
+	 * 
+	 * @return {@code true} if the chunk has been compiled into a
+	 *         {@link LuaFunction} class, {@code false} if the {@link Prototype}
+	 *         is interpreted or a {@link TieredChunk} has not been compiled
+	 *         yet.
+	 */
+	public boolean isGenerated() {
+		if (tieredChunk != null) {
+			return tieredChunk.isCompiled();
+		}
+		
+		return functionConstructor != null;
+	}
+	
+	/**
+	 * Gets the public no-argument {@link Constructor} of the given
+	 * {@link LuaFunction} class.
+	 * 
+	 * @param functionClass The {@link LuaFunction} class.
+	 * @return The public no-argument {@link Constructor}.
+	 * @throws IllegalArgumentException If the given {@code functionClass} has
+	 *         no public no-argument {@link Constructor}.
+	 */
+	protected Constructor<? extends LuaFunction> getConstructor(Class<? extends LuaFunction> functionClass) {
+		try {
+			return functionClass.getConstructor();
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("Class <" + functionClass.getName() + "> of the function cannot be instantiated.", e);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+/**
+ * The {@link ExecutionMode} defines how the Lua chunks which are loaded into
+ * an environment are executed.
+ */
+public enum ExecutionMode {
+	/**
+	 * Every chunk is compiled by LuaJC into JVM classes before it is executed
+	 * for the first time.
+	 */
+	COMPILED,
+	
+	/**
+	 * Every chunk is executed by the interpreter, no JVM classes are
+	 * generated. The stacktraces of errors do not contain the Lua functions.
+	 */
+	INTERPRETED,
+	
+	/**
+	 * Every chunk is first executed by the interpreter and is compiled by
+	 * LuaJC in the background once it has been invoked often enough, see
+	 * {@link TieredLoader}.
+	 */
+	TIERED;
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bonsaimind.jluascript.lua.LuaEnvironment;
+import org.bonsaimind.jluascript.support.ShebangSkippingInputStream;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.Lua;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.Prototype;
+import org.luaj.vm2.luajc.JavaGen;
+import org.luaj.vm2.luajc.LuaJC;
+
+/**
+ * The {@link PersistentChunkCache} is a {@link ChunkCache} extension which
+ * additionally stores the classes generated by LuaJC in a directory, so that
+ * they can be reused by later runs of the JVM.
+ * <p>
+ * The classes are stored by the SHA-256 hash of the content of the file, the
+ * name of the chunk and the versions of jLuaScript and LuaJ, a file which has
+ * been compiled before is therefor neither parsed nor compiled again, even if
+ * it has been touched. As the name of the chunk does normally contain the path
+ * of the file, a moved file is compiled again. Files are only stored if LuaJC
+ * is installed as {@link Globals#loader loader}, otherwise they are only cached
+ * in memory.
+ * <p>
+ * Stored classes which cannot be read are ignored and replaced, failing to
+ * store classes is ignored, as the cache is only an optimization.
+ */
+public class PersistentChunkCache extends ChunkCache {
+	/** The magic number at the start of every stored file. */
+	protected static final int MAGIC_NUMBER = 0x4A4C5343;
+	
+	/** The directory in which the classes are stored. */
+	protected Path directory = null;
+	/** The version which is part of the hash. */
+	protected String version = null;
+	
+	/**
+	 * Creates a new instance of {@link PersistentChunkCache}.
+	 * 
+	 * @param directory The directory in which the classes are stored, cannot
+	 *        be {@code null}. It is created if it does not exist.
+	 * @throws IllegalArgumentException If the given {@code directory} is
+	 *         {@code null}.
+	 */
+	public PersistentChunkCache(Path directory) {
+		super();
+		
+		this.directory = Verifier.notNull("directory", directory).toAbsolutePath().normalize();
+		this.version = getJLuaScriptVersion() + "/" + getLuaJVersion();
+	}
+	
+	/**
+	 * Gets the directory in which the classes are stored.
+	 * 
+	 * @return The directory in which the classes are stored.
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The classes are read from the {@link #directory} if they have been
+	 * stored before, otherwise they are generated and stored.
+	 */
+	@Override
+	protected CompiledChunk compile(Path file, String chunkName, Globals globals) throws IOException {
+		if (!(globals.loader instanceof LuaJC)) {
+			return super.compile(file, chunkName, globals);
+		}
+		
+		byte[] content = Files.readAllBytes(file);
+		Path storedFile = directory.resolve(hash(chunkName, content) + ".chunk");
+		
+		if (Files.isRegularFile(storedFile)) {
+			try {
+				return read(storedFile);
+			} catch (IOException | ClassNotFoundException | LinkageError e) {
+				// The stored file is broken, it is replaced below.
+			}
+		}
+		
+		Prototype prototype = globals.loadPrototype(
+				new ShebangSkippingInputStream(new ByteArrayInputStream(content), StandardCharsets.UTF_8),
+				chunkName,
+				"bt");
+		
+		String luaFileName = toLuaFileName(chunkName);
+		JavaGen javaGen = new JavaGen(prototype, toJavaClassName(luaFileName), luaFileName, false);
+		
+		Map<String, byte[]> classes = new HashMap<>();
+		collectClasses(javaGen, classes);
+		
+		try {
+			write(storedFile, javaGen.classname, classes);
+		} catch (IOException e) {
+			// Storing is only an optimization.
+		}
+		
+		try {
+			return new CompiledChunk(new GeneratedClassLoader(classes).loadFunctionClass(javaGen.classname));
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Generated class <" + javaGen.classname + "> could not be loaded.", e);
+		}
+	}
+	
+	/**
+	 * Adds the classes of the given {@link JavaGen} and all its inner
+	 * {@link JavaGen}s to the given {@link Map}.
+	 * 
+	 * @param javaGen The {@link JavaGen}.
+	 * @param classes The {@link Map} of the bytecode by the class name.
+	 */
+	protected void collectClasses(JavaGen javaGen, Map<String, byte[]> classes) {
+		classes.put(javaGen.classname, javaGen.bytecode);
+		
+		if (javaGen.inners != null) {
+			for (JavaGen inner : javaGen.inners) {
+				collectClasses(inner, classes);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the version of jLuaScript.
+	 * 
+	 * @return The version of jLuaScript, {@code "development"} if it is not
+	 *         known.
+	 */
+	protected String getJLuaScriptVersion() {
+		Package jluascriptPackage = LuaEnvironment.class.getPackage();
+		
+		if (jluascriptPackage != null && jluascriptPackage.getImplementationVersion() != null) {
+			return jluascriptPackage.getImplementationVersion();
+		}
+		
+		return "development";
+	}
+	
+	/**
+	 * Gets the version of LuaJ.
+	 * <p>
+	 * The version is read at runtime, because the {@link Lua#_VERSION}
+	 * constant would be inlined by the compiler and would therefor not change
+	 * when LuaJ is updated.
+	 * 
+	 * @return The version of LuaJ, {@code "unknown"} if it is not known.
+	 */
+	protected String getLuaJVersion() {
+		Package luajPackage = Lua.class.getPackage();
+		
+		if (luajPackage != null && luajPackage.getImplementationVersion() != null) {
+			return luajPackage.getImplementationVersion();
+		}
+		
+		try {
+			Object version = Lua.class.getField("_VERSION").get(null);
+			
+			if (version != null) {
+				return version.toString();
+			}
+		} catch (ReflectiveOperationException e) {
+			// Falls through to the unknown version.
+		}
+		
+		return "unknown";
+	}
+	
+	/**
+	 * Creates the hash of the given chunk.
+	 * 
+	 * @param chunkName The name of the chunk.
+	 * @param content The content of the file.
+	 * @return The hash as hexadecimal {@link String}.
+	 */
+	protected String hash(String chunkName, byte[] content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(version.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update(chunkName.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte)0);
+			digest.update(content);
+			
+			StringBuilder hash = new StringBuilder();
+			
+			for (byte hashByte : digest.digest()) {
+				hash.append(String.format("%02x", Byte.valueOf(hashByte)));
+			}
+			
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is required to be supported by every JVM.
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Reads the classes from the given stored file.
+	 * 
+	 * @param storedFile The stored file.
+	 * @return The {@link CompiledChunk} of the main class.
+	 * @throws ClassNotFoundException If the main class is not part of the
+	 *         stored file.
+	 * @throws IOException If reading the file failed or it is malformed.
+	 */
+	protected CompiledChunk read(Path storedFile) throws ClassNotFoundException, IOException {
+		try (InputStream fileStream = Files.newInputStream(storedFile);
+				DataInputStream dataStream = new DataInputStream(fileStream)) {
+			if (dataStream.readInt() != MAGIC_NUMBER) {
+				throw new IOException("<" + storedFile.toString() + "> is not a stored chunk.");
+			}
+			
+			String mainClassName = dataStream.readUTF();
+			int classCount = dataStream.readInt();
+			
+			Map<String, byte[]> classes = new HashMap<>();
+			
+			for (int index = 0; index < classCount; index++) {
+				String className = dataStream.readUTF();
+				byte[] bytecode = new byte[dataStream.readInt()];
+				
+				dataStream.readFully(bytecode);
+				
+				classes.put(className, bytecode);
+			}
+			
+			return new CompiledChunk(new GeneratedClassLoader(classes).loadFunctionClass(mainClassName));
+		}
+	}
+	
+	/**
+	 * Converts the given chunk name into the name of the Lua file, the same
+	 * way as LuaJC does it.
+	 * 
+	 * @param chunkName The name of the chunk.
+	 * @return The name of the Lua file.
+	 */
+	protected String toLuaFileName(String chunkName) {
+		String luaFileName = chunkName;
+		
+		if (luaFileName.endsWith(".lua")) {
+			luaFileName = luaFileName.substring(0, luaFileName.length() - 4);
+		}
+		
+		luaFileName = luaFileName.replace('.', '/') + ".lua";
+		
+		if (luaFileName.startsWith("@")) {
+			luaFileName = luaFileName.substring(1);
+		}
+		
+		return luaFileName;
+	}
+	
+	/**
+	 * Converts the given name of the Lua file into the name of the main
+	 * class, the same way as LuaJC does it.
+	 * 
+	 * @param luaFileName The name of the Lua file.
+	 * @return The name of the main class.
+	 */
+	protected String toJavaClassName(String luaFileName) {
+		String stub = luaFileName;
+		
+		if (stub.endsWith(".lua")) {
+			stub = stub.substring(0, stub.length() - 4);
+		}
+		
+		StringBuilder className = new StringBuilder();
+		
+		for (int index = 0; index < stub.length(); index++) {
+			char character = stub.charAt(index);
+			
+			if ((index == 0 && Character.isJavaIdentifierStart(character))
+					|| (index > 0 && Character.isJavaIdentifierPart(character))) {
+				className.append(character);
+			} else {
+				className.append('_');
+			}
+		}
+		
+		return className.toString();
+	}
+	
+	/**
+	 * Writes the given classes to the given stored file.
+	 * <p>
+	 * The classes are first written to a temporary file which is then moved
+	 * to the stored file, so that concurrently running JVMs never see a
+	 * partially written file.
+	 * 
+	 * @param storedFile The stored file.
+	 * @param mainClassName The name of the main class.
+	 * @param classes The bytecode by the class name.
+	 * @throws IOException If writing the file failed.
+	 */
+	protected void write(Path storedFile, String mainClassName, Map<String, byte[]> classes) throws IOException {
+		Files.createDirectories(directory);
+		
+		Path temporaryFile = Files.createTempFile(directory, storedFile.getFileName().toString(), ".tmp");
+		
+		try {
+			try (OutputStream fileStream = Files.newOutputStream(temporaryFile);
+					DataOutputStream dataStream = new DataOutputStream(fileStream)) {
+				dataStream.writeInt(MAGIC_NUMBER);
+				dataStream.writeUTF(mainClassName);
+				dataStream.writeInt(classes.size());
+				
+				for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+					dataStream.writeUTF(entry.getKey());
+					dataStream.writeInt(entry.getValue().length);
+					dataStream.write(entry.getValue());
+				}
+			}
+			
+			Files.move(temporaryFile, storedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+	
+	/**
+	 * The {@link GeneratedClassLoader} is a {@link ClassLoader} extension which
+	 * defines the classes generated by LuaJC.
+	 */
+	protected static class GeneratedClassLoader extends ClassLoader {
+		/** The bytecode of the not yet defined classes by their name. */
+		protected Map<String, byte[]> classes = null;
+		
+		/**
+		 * Creates a new instance of {@link GeneratedClassLoader}.
+		 * 
+		 * @param classes The bytecode of the classes by their name.
+		 */
+		public GeneratedClassLoader(Map<String, byte[]> classes) {
+			super(LuaFunction.class.getClassLoader());
+			
+			this.classes = classes;
+		}
+		
+		/**
+		 * Loads the {@link LuaFunction} class with the given name.
+		 * 
+		 * @param className The name of the class.
+		 * @return The {@link LuaFunction} class.
+		 * @throws ClassNotFoundException If there is no such class or it is
+		 *         not a {@link LuaFunction}.
+		 */
+		public Class<? extends LuaFunction> loadFunctionClass(String className) throws ClassNotFoundException {
+			Class<?> clazz = loadClass(className);
+			
+			if (!LuaFunction.class.isAssignableFrom(clazz)) {
+				throw new ClassNotFoundException("<" + className + "> is not a function.");
+			}
+			
+			return clazz.asSubclass(LuaFunction.class);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			byte[] bytecode = classes.get(name);
+			
+			if (bytecode != null) {
+				return defineClass(name, bytecode, 0, bytecode.length);
+			}
+			
+			return super.findClass(name);
+		}
+	}
+}
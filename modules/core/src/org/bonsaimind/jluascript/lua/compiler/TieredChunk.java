@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaClosure;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
+import org.luaj.vm2.luajc.LuaJC;
+
+/**
+ * The {@link TieredChunk} is the state of a chunk which is executed by the
+ * {@link TieredLoader}, and is shared by all {@link TieredFunction}s which
+ * are bound to it.
+ * <p>
+ * It counts the invocations of the chunk, and once the threshold is reached,
+ * compiles the {@link Prototype} with LuaJC through the {@link Executor}. The
+ * generated class is shared by all {@link TieredFunction}s of the chunk,
+ * which create their own instance of it. If the compilation fails, the chunk
+ * stays interpreted.
+ * <p>
+ * The {@link Prototype} itself is never changed. The interpreter creates the
+ * closures of nested functions itself, so the closures which have been
+ * created by the interpreted chunk stay interpreted, while the compiled
+ * chunk creates compiled closures, as LuaJC compiles the nested functions
+ * together with the chunk.
+ * <p>
+ * Only invocations are counted and not the iterations of loops. The
+ * interpreter reports executed instructions only to the debug library,
+ * which is installed for the whole environment, slows down every
+ * instruction and appends a traceback to every error message. An
+ * invocation which runs a hot loop could not be switched to the compiled
+ * code anyway, as the interpreter cannot replace a running invocation.
+ */
+public class TieredChunk {
+	/** The name of the chunk. */
+	protected String chunkName = null;
+	/**
+	 * The {@link Constructor} of the {@link LuaFunction} class generated by
+	 * LuaJC, {@code null} as long as the chunk has not been compiled.
+	 */
+	protected volatile Constructor<? extends LuaFunction> compiledConstructor = null;
+	/** The {@link Executor} which compiles the chunk. */
+	protected Executor executor = null;
+	/** The number of invocations, stops counting at the threshold. */
+	protected AtomicInteger invocations = new AtomicInteger();
+	/** The {@link Prototype}. */
+	protected Prototype prototype = null;
+	/** The number of invocations after which the chunk is compiled. */
+	protected int threshold = 0;
+	
+	/**
+	 * Creates a new instance of {@link TieredChunk}.
+	 * 
+	 * @param prototype The {@link Prototype}, cannot be {@code null}.
+	 * @param chunkName The name of the chunk, cannot be {@code null}.
+	 * @param threshold The number of invocations after which the chunk is
+	 *        compiled.
+	 * @param executor The {@link Executor} which compiles the chunk, cannot be
+	 *        {@code null}.
+	 * @throws IllegalArgumentException If the given {@code prototype},
+	 *         {@code chunkName} or {@code executor} is {@code null}.
+	 */
+	public TieredChunk(Prototype prototype, String chunkName, int threshold, Executor executor) {
+		super();
+		
+		this.prototype = Verifier.notNull("prototype", prototype);
+		this.chunkName = Verifier.notNull("chunkName", chunkName);
+		this.threshold = threshold;
+		this.executor = Verifier.notNull("executor", executor);
+	}
+	
+	/**
+	 * Binds the chunk to the given environment.
+	 * 
+	 * @param environment The environment, the {@code _ENV} of the chunk.
+	 * @return A new {@link TieredFunction} which executes the chunk in the
+	 *         given environment.
+	 */
+	public TieredFunction bind(LuaValue environment) {
+		return new TieredFunction(this, environment);
+	}
+	
+	/**
+	 * Counts an invocation of the chunk, and schedules the compilation if the
+	 * threshold has been reached with it.
+	 */
+	public void countInvocation() {
+		if (invocations.get() < threshold && invocations.incrementAndGet() == threshold) {
+			executor.execute(this::compile);
+		}
+	}
+	
+	/**
+	 * Creates a new instance of the compiled {@link LuaFunction} class bound
+	 * to the given environment.
+	 * 
+	 * @param environment The environment, the {@code _ENV} of the chunk.
+	 * @return A new instance of the compiled {@link LuaFunction} class,
+	 *         {@code null} if the chunk has not been compiled yet.
+	 * @throws LuaError If the compiled {@link LuaFunction} class could not be
+	 *         instantiated.
+	 */
+	public LuaFunction createCompiledFunction(LuaValue environment) {
+		Constructor<? extends LuaFunction> constructor = compiledConstructor;
+		
+		if (constructor == null) {
+			return null;
+		}
+		
+		try {
+			LuaFunction function = constructor.newInstance();
+			function.initupvalue1(environment);
+			
+			return function;
+		} catch (ReflectiveOperationException e) {
+			throw new LuaError(e);
+		}
+	}
+	
+	/**
+	 * Creates a new {@link LuaClosure} which interprets the chunk in the given
+	 * environment.
+	 * 
+	 * @param environment The environment, the {@code _ENV} of the chunk.
+	 * @return A new {@link LuaClosure} which interprets the chunk.
+	 */
+	public LuaClosure createInterpretedFunction(LuaValue environment) {
+		return new LuaClosure(prototype, environment);
+	}
+	
+	/**
+	 * Gets the number of invocations, which stops counting at the threshold.
+	 * 
+	 * @return The number of invocations.
+	 */
+	public int getInvocations() {
+		return invocations.get();
+	}
+	
+	/**
+	 * Gets the {@link Prototype}.
+	 * 
+	 * @return The {@link Prototype}.
+	 */
+	public Prototype getPrototype() {
+		return prototype;
+	}
+	
+	/**
+	 * Gets whether the chunk has been compiled.
+	 * 
+	 * @return {@code true} if the chunk has been compiled.
+	 */
+	public boolean isCompiled() {
+		return compiledConstructor != null;
+	}
+	
+	/**
+	 * Compiles the {@link Prototype} with LuaJC.
+	 * <p>
+	 * The generated code only reads the {@link Prototype}, so it is safe to
+	 * compile it while it is being interpreted. LuaJC can only set the
+	 * environment of functions with variable arguments, which all main chunks
+	 * are, so any other {@link Prototype} with upvalues stays interpreted.
+	 */
+	protected void compile() {
+		if (prototype.is_vararg == 0 && prototype.upvalues.length > 0) {
+			return;
+		}
+		
+		try {
+			LuaFunction function = LuaJC.instance.load(prototype, chunkName, LuaValue.NIL);
+			
+			compiledConstructor = function.getClass().getConstructor();
+		} catch (Exception | LinkageError e) {
+			// The chunk can still be interpreted, so there is nothing more to
+			// do than to stay on the interpreter.
+		}
+	}
+}
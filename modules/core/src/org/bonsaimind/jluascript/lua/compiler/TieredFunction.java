@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link TieredFunction} is a {@link LuaFunction} extension which executes
+ * a {@link TieredChunk} in an environment.
+ * <p>
+ * As long as the {@link TieredChunk} has not been compiled, every invocation
+ * is counted and executed by the interpreter. Once it has been compiled, the
+ * next invocation swaps in the compiled {@link LuaFunction}, which is used for
+ * all following invocations.
+ */
+public class TieredFunction extends LuaFunction {
+	/** The {@link TieredChunk} which is executed. */
+	protected TieredChunk chunk = null;
+	/** Whether the {@link #delegate} is the compiled {@link LuaFunction}. */
+	protected volatile boolean compiled = false;
+	/** The {@link LuaFunction} to which the invocations are delegated. */
+	protected volatile LuaFunction delegate = null;
+	/** The environment, the {@code _ENV} of the chunk. */
+	protected LuaValue environment = null;
+	
+	/**
+	 * Creates a new instance of {@link TieredFunction}.
+	 * 
+	 * @param chunk The {@link TieredChunk} to execute, cannot be {@code null}.
+	 * @param environment The environment, the {@code _ENV} of the chunk.
+	 * @throws IllegalArgumentException If the given {@code chunk} is
+	 *         {@code null}.
+	 */
+	public TieredFunction(TieredChunk chunk, LuaValue environment) {
+		super();
+		
+		this.chunk = Verifier.notNull("chunk", chunk);
+		this.environment = environment;
+		this.delegate = chunk.createInterpretedFunction(environment);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call() {
+		return getDelegate().call();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue arg) {
+		return getDelegate().call(arg);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue arg1, LuaValue arg2) {
+		return getDelegate().call(arg1, arg2);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue arg1, LuaValue arg2, LuaValue arg3) {
+		return getDelegate().call(arg1, arg2, arg3);
+	}
+	
+	/**
+	 * Gets the {@link TieredChunk} which is executed.
+	 * 
+	 * @return The {@link TieredChunk} which is executed.
+	 */
+	public TieredChunk getChunk() {
+		return chunk;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The interpreted {@link LuaFunction} is created again, as it can only be
+	 * bound to an environment when it is created.
+	 */
+	@Override
+	public void initupvalue1(LuaValue environment) {
+		this.environment = environment;
+		
+		if (compiled) {
+			delegate.initupvalue1(environment);
+		} else {
+			delegate = chunk.createInterpretedFunction(environment);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Varargs invoke(Varargs varargs) {
+		return getDelegate().invoke(varargs);
+	}
+	
+	/**
+	 * Gets whether the compiled {@link LuaFunction} is used.
+	 * 
+	 * @return {@code true} if the compiled {@link LuaFunction} is used.
+	 */
+	public boolean isCompiled() {
+		return compiled;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String name() {
+		return delegate.name();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Varargs onInvoke(Varargs varargs) {
+		return getDelegate().onInvoke(varargs);
+	}
+	
+	/**
+	 * Gets the {@link LuaFunction} to which the current invocation is
+	 * delegated, counting the invocation and swapping in the compiled
+	 * {@link LuaFunction} if it is available.
+	 * 
+	 * @return The {@link LuaFunction} to which the current invocation is
+	 *         delegated.
+	 */
+	protected LuaFunction getDelegate() {
+		if (compiled) {
+			return delegate;
+		}
+		
+		chunk.countInvocation();
+		
+		LuaFunction compiledFunction = chunk.createCompiledFunction(environment);
+		
+		if (compiledFunction != null) {
+			delegate = compiledFunction;
+			compiled = true;
+		}
+		
+		return delegate;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.compiler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaFunction;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Prototype;
+
+/**
+ * The {@link TieredLoader} is a {@link Globals.Loader} which loads every
+ * {@link Prototype} as {@link TieredFunction}, which is executed by the
+ * interpreter until the chunk has been invoked as often as the threshold, and
+ * is then compiled by LuaJC in the background and swapped in. Closures of
+ * nested functions are compiled if they are created by the compiled chunk,
+ * see {@link TieredChunk}.
+ * <p>
+ * The invocations are counted per {@link Prototype}, so if the chunk is shared
+ * through a {@link ChunkCache}, the invocations from all environments count
+ * towards the same threshold and it is compiled only once. Two
+ * {@link TieredLoader}s are equal if they have the same threshold and
+ * {@link Executor}, so that only such share chunks through a
+ * {@link ChunkCache}.
+ */
+public class TieredLoader implements Globals.Loader {
+	/** The default threshold of invocations after which a chunk is compiled. */
+	public static final int DEFAULT_THRESHOLD = 50;
+	
+	/** The {@link Executor} which compiles the chunks. */
+	protected Executor executor = null;
+	/** The number of invocations after which a chunk is compiled. */
+	protected int threshold = 0;
+	
+	/**
+	 * Creates a new instance of {@link TieredLoader}.
+	 * <p>
+	 * The chunks are compiled after {@link #DEFAULT_THRESHOLD} invocations in
+	 * the {@link ForkJoinPool#commonPool() common pool}.
+	 */
+	public TieredLoader() {
+		this(DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Creates a new instance of {@link TieredLoader}.
+	 * 
+	 * @param threshold The number of invocations after which a chunk is
+	 *        compiled, must be greater than zero.
+	 * @param executor The {@link Executor} which compiles the chunks, cannot
+	 *        be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code threshold} is not
+	 *         greater than zero or the given {@code executor} is {@code null}.
+	 */
+	public TieredLoader(int threshold, Executor executor) {
+		super();
+		
+		if (threshold <= 0) {
+			throw new IllegalArgumentException("threshold must be greater than zero.");
+		}
+		
+		this.threshold = threshold;
+		this.executor = Verifier.notNull("executor", executor);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (other instanceof TieredLoader) {
+			TieredLoader otherLoader = (TieredLoader)other;
+			
+			return threshold == otherLoader.threshold
+					&& executor.equals(otherLoader.executor);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Gets the {@link Executor} which compiles the chunks.
+	 * 
+	 * @return The {@link Executor} which compiles the chunks.
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+	
+	/**
+	 * Gets the number of invocations after which a chunk is compiled.
+	 * 
+	 * @return The number of invocations after which a chunk is compiled.
+	 */
+	public int getThreshold() {
+		return threshold;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return threshold * 31 + executor.hashCode();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaFunction load(Prototype prototype, String chunkName, LuaValue environment) {
+		return new TieredChunk(prototype, chunkName, threshold, executor).bind(environment);
+	}
+}
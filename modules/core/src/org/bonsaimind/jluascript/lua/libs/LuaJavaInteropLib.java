@@ -19,10 +19,13 @@
 
 package org.bonsaimind.jluascript.lua.libs;
 
+import org.bonsaimind.jluascript.lua.compiler.ChunkCache;
 import org.bonsaimind.jluascript.lua.libs.functions.extensions.IteratorIPairsFunction;
 import org.bonsaimind.jluascript.lua.libs.functions.extensions.IteratorPairsFunction;
+import org.bonsaimind.jluascript.lua.libs.functions.interop.ArrayConvertingFunction;
 import org.bonsaimind.jluascript.lua.libs.functions.interop.FileLoadingFunction;
 import org.bonsaimind.jluascript.lua.libs.functions.interop.InstanceofFunction;
+import org.bonsaimind.jluascript.lua.libs.functions.interop.TableConvertingFunction;
 import org.bonsaimind.jluascript.lua.system.Coercer;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.Globals;
@@ -35,27 +38,45 @@ import org.luaj.vm2.lib.TwoArgFunction;
  * to write Lua code interacting with Java objects.
  */
 public class LuaJavaInteropLib extends TwoArgFunction {
+	/** The {@link ChunkCache} to use for loading files. */
+	protected ChunkCache chunkCache = null;
 	/** The {@link Coercer} to use. */
 	protected Coercer coercer = null;
 	/** The {@link Globals} to use. */
 	protected Globals globals = null;
 	
 	/**
-	 * Creates a new instance of {@link ClassImportLib}.
-	 *
+	 * Creates a new instance of {@link LuaJavaInteropLib}.
+	 * 
 	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
 	 * @param globals The {@link Globals} to use, cannot be {@code null}.
 	 * @throws IllegalArgumentException If the given {@code classLoader} or
 	 *         {@code coercer} is {@code null}.
 	 */
 	public LuaJavaInteropLib(Coercer coercer, Globals globals) {
+		this(coercer, globals, ChunkCache.getShared());
+	}
+	
+	/**
+	 * Creates a new instance of {@link LuaJavaInteropLib}.
+	 * 
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @param globals The {@link Globals} to use, cannot be {@code null}.
+	 * @param chunkCache The {@link ChunkCache} to use for loading files, cannot
+	 *        be {@code null}.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 */
+	public LuaJavaInteropLib(Coercer coercer, Globals globals, ChunkCache chunkCache) {
 		super();
 		
 		Verifier.notNull("coercer", coercer);
 		Verifier.notNull("globals", globals);
+		Verifier.notNull("chunkCache", chunkCache);
 		
 		this.coercer = coercer;
 		this.globals = globals;
+		this.chunkCache = chunkCache;
 	}
 	
 	/**
@@ -65,8 +86,10 @@ public class LuaJavaInteropLib extends TwoArgFunction {
 	public LuaValue call(LuaValue modname, LuaValue environment) {
 		environment.set("instanceof", new InstanceofFunction());
 		environment.set("ipairs", new IteratorIPairsFunction(environment.get("ipairs"), coercer));
-		environment.set("loadFile", new FileLoadingFunction(globals));
+		environment.set("loadFile", new FileLoadingFunction(globals, chunkCache));
 		environment.set("pairs", new IteratorPairsFunction(environment.get("pairs"), coercer));
+		environment.set("toArray", new ArrayConvertingFunction(coercer));
+		environment.set("toTable", new TableConvertingFunction(coercer));
 		
 		return environment;
 	}
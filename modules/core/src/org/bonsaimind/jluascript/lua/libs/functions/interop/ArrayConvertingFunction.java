@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.libs.functions.interop;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableArrays;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.TwoArgFunction;
+
+/**
+ * The {@link ArrayConvertingFunction} is a {@link TwoArgFunction} extension
+ * which converts the sequence of a table into a new Java array in one go.
+ * <p>
+ * It is invoked as {@code toArray(table[, type])}, with the type being either
+ * the name of a primitive type, like {@code "double"}, or a {@link Class}. If
+ * omitted, an {@link Object} array is created.
+ */
+public class ArrayConvertingFunction extends TwoArgFunction {
+	/** The {@link Coercer} to use. */
+	protected Coercer coercer = null;
+	
+	/**
+	 * Creates a new instance of {@link ArrayConvertingFunction}.
+	 * 
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code coercer} is
+	 *         {@code null}.
+	 */
+	public ArrayConvertingFunction(Coercer coercer) {
+		super();
+		
+		Verifier.notNull("coercer", coercer);
+		
+		this.coercer = coercer;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue table, LuaValue type) {
+		return coercer.coerceJavaToLua(LuaTableArrays.toArray(table.checktable(), getComponentType(type), coercer));
+	}
+	
+	/**
+	 * Gets the component type described by the given {@link LuaValue}.
+	 * 
+	 * @param type The {@link LuaValue} describing the component type.
+	 * @return The component type.
+	 * @throws LuaError If the given {@code type} does not describe a type.
+	 */
+	protected Class<?> getComponentType(LuaValue type) {
+		if (type.isnil()) {
+			return Object.class;
+		}
+		
+		if (type.isuserdata() && type.touserdata() instanceof Class<?>) {
+			return (Class<?>)type.touserdata();
+		}
+		
+		switch (type.checkjstring()) {
+			case "boolean":
+				return boolean.class;
+			
+			case "byte":
+				return byte.class;
+			
+			case "char":
+				return char.class;
+			
+			case "double":
+				return double.class;
+			
+			case "float":
+				return float.class;
+			
+			case "int":
+				return int.class;
+			
+			case "long":
+				return long.class;
+			
+			case "short":
+				return short.class;
+			
+			default:
+				throw new LuaError("Unknown array type <" + type.tojstring() + ">, expected a primitive type or a class.");
+		}
+	}
+}
@@ -20,13 +20,10 @@
 package org.bonsaimind.jluascript.lua.libs.functions.interop;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
+import org.bonsaimind.jluascript.lua.compiler.ChunkCache;
 import org.bonsaimind.jluascript.lua.libs.functions.AbstractPathAcceptingFunction;
-import org.bonsaimind.jluascript.support.ShebangSkippingInputStream;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.Globals;
 import org.luaj.vm2.LuaError;
@@ -35,25 +32,44 @@ import org.luaj.vm2.Varargs;
 /**
  * The {@link FileLoadingFunction} is an {@link AbstractPathAcceptingFunction}
  * extension which allows to load and execute Lua files from paths.
+ * <p>
+ * The files are compiled through a {@link ChunkCache}.
  */
 public class FileLoadingFunction extends AbstractPathAcceptingFunction {
+	/** The {@link ChunkCache} to use. */
+	protected ChunkCache chunkCache = null;
 	/** The {@link Globals} to load files into. */
 	protected Globals globals = null;
 	
 	/**
 	 * Creates a new instance of {@link FileLoadingFunction}.
-	 *
+	 * 
 	 * @param globals The {@link Globals} to load files into, cannot be
 	 *        {@code null}.
 	 * @throws IllegalArgumentException If the given {@code globals} is
 	 *         {@code null}.
 	 */
 	public FileLoadingFunction(Globals globals) {
+		this(globals, ChunkCache.getShared());
+	}
+	
+	/**
+	 * Creates a new instance of {@link FileLoadingFunction}.
+	 * 
+	 * @param globals The {@link Globals} to load files into, cannot be
+	 *        {@code null}.
+	 * @param chunkCache The {@link ChunkCache} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code globals} or
+	 *         {@code chunkCache} is {@code null}.
+	 */
+	public FileLoadingFunction(Globals globals, ChunkCache chunkCache) {
 		super();
 		
 		Verifier.notNull("globals", globals);
+		Verifier.notNull("chunkCache", chunkCache);
 		
 		this.globals = globals;
+		this.chunkCache = chunkCache;
 	}
 	
 	/**
@@ -61,12 +77,8 @@ public class FileLoadingFunction extends AbstractPathAcceptingFunction {
 	 */
 	@Override
 	protected Varargs performAction(Path path) {
-		try (InputStream fileStream = Files.newInputStream(path)) {
-			return globals.load(
-					new ShebangSkippingInputStream(fileStream, StandardCharsets.UTF_8),
-					"@" + path.getFileName().toString(),
-					"bt",
-					globals).invoke();
+		try {
+			return chunkCache.load(path, "@" + path.getFileName().toString(), globals).invoke();
 		} catch (IOException e) {
 			throw new LuaError(e);
 		}
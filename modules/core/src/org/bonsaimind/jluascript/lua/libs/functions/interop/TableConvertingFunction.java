@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.libs.functions.interop;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableArrays;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.OneArgFunction;
+
+/**
+ * The {@link TableConvertingFunction} is an {@link OneArgFunction} extension
+ * which converts a Java array into a new table in one go.
+ * <p>
+ * It is invoked as {@code toTable(array)}.
+ */
+public class TableConvertingFunction extends OneArgFunction {
+	/** The {@link Coercer} to use. */
+	protected Coercer coercer = null;
+	
+	/**
+	 * Creates a new instance of {@link TableConvertingFunction}.
+	 * 
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code coercer} is
+	 *         {@code null}.
+	 */
+	public TableConvertingFunction(Coercer coercer) {
+		super();
+		
+		Verifier.notNull("coercer", coercer);
+		
+		this.coercer = coercer;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue array) {
+		if (!array.isuserdata() || !array.touserdata().getClass().isArray()) {
+			throw new LuaError("Expected an array, but got <" + array.typename() + ">.");
+		}
+		
+		return LuaTableArrays.toTable(array.touserdata(), coercer);
+	}
+}
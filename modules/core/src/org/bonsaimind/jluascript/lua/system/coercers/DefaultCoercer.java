@@ -19,31 +19,130 @@
 
 package org.bonsaimind.jluascript.lua.system.coercers;
 
-import java.util.IdentityHashMap;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.bonsaimind.jluascript.lua.system.Coercer;
 import org.bonsaimind.jluascript.lua.system.types.ArrayUserData;
+import org.bonsaimind.jluascript.lua.system.types.BooleanArrayUserData;
+import org.bonsaimind.jluascript.lua.system.types.ByteArrayUserData;
+import org.bonsaimind.jluascript.lua.system.types.CharArrayUserData;
+import org.bonsaimind.jluascript.lua.system.types.ClassMembers;
+import org.bonsaimind.jluascript.lua.system.types.DoubleArrayUserData;
 import org.bonsaimind.jluascript.lua.system.types.InstanceUserData;
+import org.bonsaimind.jluascript.lua.system.types.IntArrayUserData;
+import org.bonsaimind.jluascript.lua.system.types.LongArrayUserData;
+import org.bonsaimind.jluascript.lua.system.types.ObjectArrayUserData;
 import org.bonsaimind.jluascript.lua.system.types.StaticUserData;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableView;
+import org.bonsaimind.jluascript.lua.system.types.functions.DispatchMode;
+import org.bonsaimind.jluascript.lua.system.types.reflection.BinaryConversions;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions;
+import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.LuaBoolean;
 import org.luaj.vm2.LuaError;
 import org.luaj.vm2.LuaNumber;
 import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaUserdata;
 import org.luaj.vm2.LuaValue;
 
 /**
  * The default implementation of {@link Coercer}.
+ * <p>
+ * Java {@link Object}s are converted by the {@link JavaToLuaConverter} which
+ * has been registered for the nearest (super-)class or interface of their
+ * {@link Class}, all {@link Object}s without one are wrapped into a
+ * {@link LuaUserdata}. Which {@link JavaToLuaConverter} is used is resolved
+ * only once per {@link Class} and then cached in a {@link ClassValue}, so
+ * converting an {@link Object} is a single lookup. The conversions of
+ * {@link LuaValue}s, {@link String}s, {@link Boolean}s, {@link Number}s and
+ * binary data are registered the same way and can be replaced.
+ * <p>
+ * {@link LuaValue}s are converted by the {@link LuaToJavaConverter} which has
+ * been registered for their Lua type, or by the default conversion if there
+ * is none.
+ * <p>
+ * An instance can be used concurrently and shared between
+ * {@link org.bonsaimind.jluascript.lua.LuaEnvironment}s running on different
+ * threads, all caches can be read without locking and are populated without
+ * blocking other readers. That way the {@link ClassMembers} and the resolved
+ * methods are created and warmed up only once for all of them. The
+ * configuration should be completed before it is shared, though.
  */
 public class DefaultCoercer implements Coercer {
+	/**
+	 * The smallest positive {@code double} which is no longer within the range
+	 * of {@code long}, which is {@code 2^63}.
+	 */
+	protected static final double LONG_RANGE_LIMIT = -(double)Long.MIN_VALUE;
+	
+	/**
+	 * Whether {@code byte[]}s and {@link ByteBuffer}s are coerced to Lua
+	 * strings.
+	 */
+	protected boolean binaryStrings = false;
+	/**
+	 * The cache used for storing the {@link ClassMembers}, which are shared
+	 * between all wrappers of the same {@link Class}.
+	 */
+	protected Map<Class<?>, ClassMembers> classMembersCache = new ConcurrentHashMap<>();
 	/** The cache used for storing static instances. */
-	protected Map<Class<?>, LuaValue> classStaticInstaceCache = new IdentityHashMap<>();
+	protected Map<Class<?>, LuaValue> classStaticInstaceCache = new ConcurrentHashMap<>();
+	/**
+	 * The {@link DispatchMode} used by the functions which invoke methods or
+	 * constructors.
+	 */
+	protected DispatchMode dispatchMode = DispatchMode.METHOD_HANDLES;
+	/**
+	 * The {@link Class}es for which the {@link #javaToLuaConverters} have been
+	 * registered, at the same index as the {@link JavaToLuaConverter}.
+	 */
+	protected List<Class<?>> javaToLuaConverterClasses = new CopyOnWriteArrayList<>();
+	/**
+	 * The index of the {@link JavaToLuaConverter} to use for a {@link Class},
+	 * {@code -1} if the {@link Object} is to be wrapped into a
+	 * {@link LuaUserdata}.
+	 * <p>
+	 * Only the index is cached, so that the cached values do not reference
+	 * this instance, which would otherwise be kept alive by the
+	 * {@link Class}es. It is replaced whenever a new {@link Class} is
+	 * registered.
+	 */
+	protected volatile ClassValue<Integer> javaToLuaConverterIndexes = null;
+	/** The registered {@link JavaToLuaConverter}s. */
+	protected List<JavaToLuaConverter<Object>> javaToLuaConverters = new CopyOnWriteArrayList<>();
+	/**
+	 * The registered {@link LuaToJavaConverter}s, indexed by the Lua type,
+	 * {@code null} where the default conversion is used.
+	 */
+	protected volatile LuaToJavaConverter[] luaToJavaConverters = new LuaToJavaConverter[LuaValue.TYPE_NAMES.length];
+	/**
+	 * The {@link UserDataCache} used for reusing the wrappers of
+	 * {@link Object}s, {@code null} if disabled.
+	 */
+	protected UserDataCache userDataCache = null;
 	
 	/**
 	 * Creates a new instance of {@link DefaultCoercer}.
 	 */
 	public DefaultCoercer() {
 		super();
+		
+		registerJavaToLuaConverter(LuaValue.class, (luaValue, coercer) -> luaValue);
+		registerJavaToLuaConverter(LuaTableView.class, (view, coercer) -> view.getTable());
+		registerJavaToLuaConverter(String.class, (string, coercer) -> LuaString.valueOf(string));
+		registerJavaToLuaConverter(Boolean.class, (value, coercer) -> LuaBoolean.valueOf(value.booleanValue()));
+		registerJavaToLuaConverter(Byte.class, (number, coercer) -> LuaNumber.valueOf(number.intValue()));
+		registerJavaToLuaConverter(Short.class, (number, coercer) -> LuaNumber.valueOf(number.intValue()));
+		registerJavaToLuaConverter(Integer.class, (number, coercer) -> LuaNumber.valueOf(number.intValue()));
+		registerJavaToLuaConverter(Long.class, (number, coercer) -> coerceLong(number));
+		registerJavaToLuaConverter(Float.class, (number, coercer) -> LuaNumber.valueOf(number.doubleValue()));
+		registerJavaToLuaConverter(Double.class, (number, coercer) -> LuaNumber.valueOf(number.doubleValue()));
+		registerJavaToLuaConverter(byte[].class, (bytes, coercer) -> coerceBinary(bytes));
+		registerJavaToLuaConverter(ByteBuffer.class, (byteBuffer, coercer) -> coerceBinary(byteBuffer));
 	}
 	
 	/**
@@ -58,8 +157,7 @@ public class DefaultCoercer implements Coercer {
 		LuaValue staticInstance = classStaticInstaceCache.get(clazz);
 		
 		if (staticInstance == null) {
-			staticInstance = new StaticUserData(clazz, this);
-			classStaticInstaceCache.put(clazz, staticInstance);
+			staticInstance = classStaticInstaceCache.computeIfAbsent(clazz, (key) -> coerceStaticInstance(key));
 		}
 		
 		return staticInstance;
@@ -74,29 +172,13 @@ public class DefaultCoercer implements Coercer {
 			return LuaValue.NIL;
 		}
 		
-		if (object instanceof LuaValue) {
-			return (LuaValue)object;
-		}
-		
-		if (object.getClass().isArray()) {
-			return coerceArray(object);
-		}
+		int converterIndex = javaToLuaConverterIndexes.get(object.getClass()).intValue();
 		
-		if (object instanceof String) {
-			return LuaString.valueOf((String)object);
-		} else if (object instanceof Boolean) {
-			return LuaBoolean.valueOf(((Boolean)object).booleanValue());
-		} else if (object instanceof Byte
-				|| object instanceof Short
-				|| object instanceof Integer
-				|| object instanceof Long) {
-			return LuaNumber.valueOf(((Number)object).intValue());
-		} else if (object instanceof Float
-				|| object instanceof Double) {
-			return LuaNumber.valueOf(((Number)object).doubleValue());
+		if (converterIndex >= 0) {
+			return javaToLuaConverters.get(converterIndex).convert(object, this);
 		}
 		
-		return coerceInstance(object);
+		return coerceUserData(object);
 	}
 	
 	/**
@@ -108,7 +190,17 @@ public class DefaultCoercer implements Coercer {
 			return null;
 		}
 		
-		switch (luaValue.type()) {
+		int type = luaValue.type();
+		
+		if (type >= 0 && type < luaToJavaConverters.length) {
+			LuaToJavaConverter converter = luaToJavaConverters[type];
+			
+			if (converter != null) {
+				return converter.convert(luaValue, this);
+			}
+		}
+		
+		switch (type) {
 			case LuaValue.TBOOLEAN:
 				return Boolean.valueOf(luaValue.toboolean());
 			
@@ -130,10 +222,19 @@ public class DefaultCoercer implements Coercer {
 			case LuaValue.TNUMBER:
 				if (luaValue.isint()) {
 					return Integer.valueOf(luaValue.toint());
-				} else {
-					return Double.valueOf(luaValue.todouble());
 				}
 				
+				// Integral numbers outside of the int range are Longs, also
+				// for Object parameters, and only fractional or too large
+				// numbers remain Doubles.
+				double value = luaValue.todouble();
+				
+				if (value == (long)value && value < LONG_RANGE_LIMIT) {
+					return Long.valueOf((long)value);
+				}
+				
+				return Double.valueOf(value);
+				
 			case LuaValue.TSTRING:
 				return luaValue.tojstring();
 			
@@ -153,17 +254,239 @@ public class DefaultCoercer implements Coercer {
 		throw new LuaError("Could not convert object <" + luaValue.typename() + "> to a Java object.");
 	}
 	
+	/**
+	 * Gets the {@link DispatchMode} used by the functions which invoke methods
+	 * or constructors.
+	 * 
+	 * @return The {@link DispatchMode}.
+	 * @see #setDispatchMode(DispatchMode)
+	 */
+	public DispatchMode getDispatchMode() {
+		return dispatchMode;
+	}
+	
+	/**
+	 * Gets the maximum number of wrappers which are kept for reuse.
+	 * 
+	 * @return The maximum number of wrappers which are kept for reuse,
+	 *         {@code 0} if the wrappers are not reused.
+	 * @see #setUserDataCacheSize(int)
+	 */
+	public int getUserDataCacheSize() {
+		if (userDataCache != null) {
+			return userDataCache.getMaximumSize();
+		}
+		
+		return 0;
+	}
+	
+	/**
+	 * Gets whether {@code byte[]}s and {@link ByteBuffer}s are coerced to Lua
+	 * strings.
+	 * 
+	 * @return {@code true} if {@code byte[]}s and {@link ByteBuffer}s are
+	 *         coerced to Lua strings.
+	 * @see #setBinaryStrings(boolean)
+	 */
+	public boolean isBinaryStrings() {
+		return binaryStrings;
+	}
+	
+	/**
+	 * Registers the given {@link JavaToLuaConverter} for the given
+	 * {@link Class}, replacing any {@link JavaToLuaConverter} which has been
+	 * registered for the same {@link Class}.
+	 * <p>
+	 * The {@link JavaToLuaConverter} is used for all {@link Object}s of the
+	 * given {@link Class} and its subclasses, unless there is one registered
+	 * for a nearer (super-)class. {@link JavaToLuaConverter}s registered for
+	 * classes are preferred over those registered for interfaces.
+	 * 
+	 * @param <T> The type of the {@link Object}s which are converted.
+	 * @param clazz The {@link Class} for which to register the
+	 *        {@link JavaToLuaConverter}, cannot be {@code null}.
+	 * @param converter The {@link JavaToLuaConverter} to register, cannot be
+	 *        {@code null}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code clazz} or
+	 *         {@code converter} is {@code null}.
+	 */
+	public synchronized <T> DefaultCoercer registerJavaToLuaConverter(Class<T> clazz, JavaToLuaConverter<? super T> converter) {
+		Verifier.notNull("clazz", clazz);
+		Verifier.notNull("converter", converter);
+		
+		JavaToLuaConverter<Object> objectConverter = (object, coercer) -> converter.convert(clazz.cast(object), coercer);
+		int index = javaToLuaConverterClasses.indexOf(clazz);
+		
+		if (index >= 0) {
+			javaToLuaConverters.set(index, objectConverter);
+		} else {
+			javaToLuaConverters.add(objectConverter);
+			javaToLuaConverterClasses.add(clazz);
+			
+			// The resolution of all classes might have changed.
+			javaToLuaConverterIndexes = new ClassValue<Integer>() {
+				@Override
+				protected Integer computeValue(Class<?> type) {
+					return Integer.valueOf(resolveJavaToLuaConverterIndex(type));
+				}
+			};
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Registers the given {@link LuaToJavaConverter} for the given Lua type,
+	 * replacing the default conversion or any {@link LuaToJavaConverter} which
+	 * has been registered for the same Lua type.
+	 * 
+	 * @param luaType The Lua type, one of the type constants of
+	 *        {@link LuaValue}, like {@link LuaValue#TTABLE}.
+	 * @param converter The {@link LuaToJavaConverter} to register,
+	 *        {@code null} to restore the default conversion.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code luaType} is not a
+	 *         valid Lua type.
+	 */
+	public synchronized DefaultCoercer registerLuaToJavaConverter(int luaType, LuaToJavaConverter converter) {
+		if (luaType < 0 || luaType >= luaToJavaConverters.length) {
+			throw new IllegalArgumentException("luaType <" + luaType + "> is not a valid Lua type.");
+		}
+		
+		LuaToJavaConverter[] converters = luaToJavaConverters.clone();
+		converters[luaType] = converter;
+		
+		luaToJavaConverters = converters;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets whether {@code byte[]}s and {@link ByteBuffer}s are coerced to Lua
+	 * strings.
+	 * <p>
+	 * If enabled, a {@code byte[]} or a heap {@link ByteBuffer} is exposed to
+	 * Lua as string which is backed by the very same {@code byte[]}, without
+	 * copying it. That means that the data must not be modified from Java
+	 * afterwards. If disabled, which is the default, a {@code byte[]} is
+	 * exposed as array and a {@link ByteBuffer} as object.
+	 * <p>
+	 * Lua strings are always accepted for {@code byte[]} and
+	 * {@link ByteBuffer} parameters, regardless of this setting.
+	 * 
+	 * @param binaryStrings {@code true} to coerce {@code byte[]}s and
+	 *        {@link ByteBuffer}s to Lua strings.
+	 * @return This instance.
+	 * @see BinaryConversions
+	 */
+	public DefaultCoercer setBinaryStrings(boolean binaryStrings) {
+		this.binaryStrings = binaryStrings;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets the {@link DispatchMode} used by the functions which invoke methods
+	 * or constructors, the default is {@link DispatchMode#METHOD_HANDLES}.
+	 * <p>
+	 * Changing it discards the already created {@link ClassMembers} and static
+	 * instances, wrappers which have already been handed out keep using the
+	 * previous {@link DispatchMode}.
+	 * 
+	 * @param dispatchMode The {@link DispatchMode} to use, cannot be
+	 *        {@code null}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code dispatchMode} is
+	 *         {@code null}.
+	 */
+	public DefaultCoercer setDispatchMode(DispatchMode dispatchMode) {
+		Verifier.notNull("dispatchMode", dispatchMode);
+		
+		if (this.dispatchMode != dispatchMode) {
+			this.dispatchMode = dispatchMode;
+			
+			classMembersCache.clear();
+			classStaticInstaceCache.clear();
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Sets the maximum number of wrappers which are kept for reuse.
+	 * <p>
+	 * If enabled, the same {@link Object} is wrapped into the same
+	 * {@link LuaValue} every time it is coerced, for as long as the wrapper is
+	 * still referenced and has not been pushed out of the cache by more
+	 * recently used ones. That makes the wrapper usable as table key and its
+	 * cached members are not being thrown away.
+	 * 
+	 * @param userDataCacheSize The maximum number of wrappers which are kept
+	 *        for reuse, {@code 0} or less to disable it.
+	 * @return This instance.
+	 */
+	public DefaultCoercer setUserDataCacheSize(int userDataCacheSize) {
+		if (userDataCacheSize > 0) {
+			userDataCache = new UserDataCache(userDataCacheSize);
+		} else {
+			userDataCache = null;
+		}
+		
+		return this;
+	}
+	
 	/**
 	 * Coerces the given array to a {@link LuaValue}.
+	 * <p>
+	 * The commonly used arrays are wrapped into an {@link ArrayUserData} which
+	 * accesses them directly, all others are accessed through reflection.
 	 * 
 	 * @param array The array to coerce.
 	 * @return The coerced array.
 	 * @throws LuaError If the conversion has failed or is not possible.
 	 */
 	protected LuaValue coerceArray(Object array) throws LuaError {
+		if (array instanceof Object[]) {
+			return new ObjectArrayUserData((Object[])array, this);
+		} else if (array instanceof int[]) {
+			return new IntArrayUserData((int[])array, this);
+		} else if (array instanceof double[]) {
+			return new DoubleArrayUserData((double[])array, this);
+		} else if (array instanceof long[]) {
+			return new LongArrayUserData((long[])array, this);
+		} else if (array instanceof byte[]) {
+			return new ByteArrayUserData((byte[])array, this);
+		} else if (array instanceof char[]) {
+			return new CharArrayUserData((char[])array, this);
+		} else if (array instanceof boolean[]) {
+			return new BooleanArrayUserData((boolean[])array, this);
+		}
+		
 		return new ArrayUserData(array, this);
 	}
 	
+	/**
+	 * Coerces the given {@code byte[]} or {@link ByteBuffer} to a Lua string
+	 * if {@link #isBinaryStrings()} is enabled, otherwise it is wrapped like
+	 * any other {@link Object}.
+	 * 
+	 * @param binary The {@code byte[]} or {@link ByteBuffer} to coerce.
+	 * @return The coerced {@link LuaValue}.
+	 * @throws LuaError If the conversion has failed or is not possible.
+	 */
+	protected LuaValue coerceBinary(Object binary) throws LuaError {
+		if (binaryStrings) {
+			if (binary instanceof byte[]) {
+				return BinaryConversions.toLuaString((byte[])binary);
+			} else if (binary instanceof ByteBuffer) {
+				return BinaryConversions.toLuaString((ByteBuffer)binary);
+			}
+		}
+		
+		return coerceUserData(binary);
+	}
+	
 	/**
 	 * Coerces the given {@link Object} as {@link LuaValue}.
 	 * 
@@ -172,7 +495,31 @@ public class DefaultCoercer implements Coercer {
 	 * @throws LuaError If the conversion has failed or is not possible.
 	 */
 	protected LuaValue coerceInstance(Object object) throws LuaError {
-		return new InstanceUserData(object, this);
+		return new InstanceUserData(object, getClassMembers(object.getClass()));
+	}
+	
+	/**
+	 * Coerces the given {@link Long} as {@link LuaValue}.
+	 * <p>
+	 * Lua has no 64-bit integer, so only values within
+	 * {@link ValueConversions#EXACT_LONG_LIMIT} are coerced to a Lua number,
+	 * values in the {@code int} range end up as {@code LuaInteger}, all others
+	 * as {@code LuaDouble}. Larger values cannot be represented exactly as
+	 * {@code double} and are wrapped like any other {@link Object} instead, so
+	 * that they are passed back to Java unchanged.
+	 * 
+	 * @param number The {@link Long} to coerce.
+	 * @return The coerced {@link LuaValue}.
+	 * @throws LuaError If the conversion has failed or is not possible.
+	 */
+	protected LuaValue coerceLong(Long number) throws LuaError {
+		long value = number.longValue();
+		
+		if (value >= -ValueConversions.EXACT_LONG_LIMIT && value <= ValueConversions.EXACT_LONG_LIMIT) {
+			return LuaNumber.valueOf((double)value);
+		}
+		
+		return coerceUserData(number);
 	}
 	
 	/**
@@ -183,6 +530,112 @@ public class DefaultCoercer implements Coercer {
 	 * @throws LuaError If the conversion has failed or is not possible.
 	 */
 	protected LuaValue coerceStaticInstance(Class<?> clazz) throws LuaError {
-		return new StaticUserData(clazz, this);
+		return new StaticUserData(getClassMembers(clazz));
+	}
+	
+	/**
+	 * Coerces the given {@link Object} as {@link LuaValue}, reusing the
+	 * wrapper from the {@link UserDataCache} if it is enabled.
+	 * 
+	 * @param object The {@link Object} to coerce.
+	 * @return The coerced {@link LuaValue}.
+	 * @throws LuaError If the conversion has failed or is not possible.
+	 */
+	protected LuaValue coerceUserData(Object object) throws LuaError {
+		if (userDataCache != null) {
+			LuaUserdata cachedUserData = userDataCache.get(object);
+			
+			if (cachedUserData != null) {
+				return cachedUserData;
+			}
+		}
+		
+		LuaValue luaValue = null;
+		
+		if (object.getClass().isArray()) {
+			luaValue = coerceArray(object);
+		} else {
+			luaValue = coerceInstance(object);
+		}
+		
+		if (userDataCache != null && luaValue instanceof LuaUserdata) {
+			userDataCache.put((LuaUserdata)luaValue);
+		}
+		
+		return luaValue;
+	}
+	
+	/**
+	 * Gets the {@link ClassMembers} of the given {@link Class}, which are
+	 * created on first request and then shared.
+	 * 
+	 * @param clazz The {@link Class}.
+	 * @return The {@link ClassMembers} of the given {@link Class}.
+	 */
+	protected ClassMembers getClassMembers(Class<?> clazz) {
+		ClassMembers classMembers = classMembersCache.get(clazz);
+		
+		if (classMembers == null) {
+			classMembers = classMembersCache.computeIfAbsent(clazz, (key) -> new ClassMembers(key, this, dispatchMode));
+		}
+		
+		return classMembers;
+	}
+	
+	/**
+	 * Resolves the index of the {@link JavaToLuaConverter} which has been
+	 * registered for one of the given interfaces or their superinterfaces.
+	 * 
+	 * @param interfaces The interfaces.
+	 * @return The index of the {@link JavaToLuaConverter}, {@code -1} if there
+	 *         is none.
+	 */
+	protected int resolveInterfaceConverterIndex(Class<?>[] interfaces) {
+		for (Class<?> interfaceClass : interfaces) {
+			int index = javaToLuaConverterClasses.indexOf(interfaceClass);
+			
+			if (index >= 0) {
+				return index;
+			}
+		}
+		
+		for (Class<?> interfaceClass : interfaces) {
+			int index = resolveInterfaceConverterIndex(interfaceClass.getInterfaces());
+			
+			if (index >= 0) {
+				return index;
+			}
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Resolves the index of the {@link JavaToLuaConverter} to use for the
+	 * given {@link Class}, which is the one registered for the nearest
+	 * (super-)class, or if there is none, for the nearest interface.
+	 * 
+	 * @param clazz The {@link Class}.
+	 * @return The index of the {@link JavaToLuaConverter}, {@code -1} if there
+	 *         is none.
+	 */
+	protected int resolveJavaToLuaConverterIndex(Class<?> clazz) {
+		for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+			int index = javaToLuaConverterClasses.indexOf(current);
+			
+			if (index >= 0) {
+				return index;
+			}
+		}
+		
+		for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+			int index = resolveInterfaceConverterIndex(current.getInterfaces());
+			
+			if (index >= 0) {
+				return index;
+			}
+		}
+		
+		return -1;
 	}
 }
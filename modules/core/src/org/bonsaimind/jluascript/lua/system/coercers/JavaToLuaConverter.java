@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.coercers;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * A {@link JavaToLuaConverter} converts Java {@link Object}s of a specific
+ * type to {@link LuaValue}s, it is registered with the {@link DefaultCoercer}
+ * for that type and all of its subtypes.
+ * 
+ * @param <T> The type of the {@link Object}s which are converted.
+ * @see DefaultCoercer#registerJavaToLuaConverter(Class, JavaToLuaConverter)
+ */
+@FunctionalInterface
+public interface JavaToLuaConverter<T> {
+	/**
+	 * Converts the given {@link Object} to a {@link LuaValue}.
+	 * 
+	 * @param object The {@link Object} to convert, never {@code null}.
+	 * @param coercer The {@link Coercer} which is converting the
+	 *        {@link Object}, can be used to coerce nested values.
+	 * @return The {@link LuaValue}, should never be {@code null}, but instead
+	 *         {@link LuaValue#NIL}.
+	 * @throws LuaError If the given {@link Object} could not be converted.
+	 */
+	public abstract LuaValue convert(T object, Coercer coercer) throws LuaError;
+}
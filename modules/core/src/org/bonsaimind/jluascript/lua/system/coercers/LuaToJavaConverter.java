@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.coercers;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * A {@link LuaToJavaConverter} converts {@link LuaValue}s of a specific Lua
+ * type to Java {@link Object}s, it is registered with the
+ * {@link DefaultCoercer} for that Lua type.
+ * 
+ * @see DefaultCoercer#registerLuaToJavaConverter(int, LuaToJavaConverter)
+ */
+@FunctionalInterface
+public interface LuaToJavaConverter {
+	/**
+	 * Converts the given {@link LuaValue} to an {@link Object}.
+	 * 
+	 * @param luaValue The {@link LuaValue} to convert, never {@code null}.
+	 * @param coercer The {@link Coercer} which is converting the
+	 *        {@link LuaValue}, can be used to coerce nested values.
+	 * @return The {@link Object}, can be {@code null}.
+	 * @throws LuaError If the given {@link LuaValue} could not be converted.
+	 */
+	public abstract Object convert(LuaValue luaValue, Coercer coercer) throws LuaError;
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.coercers;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaUserdata;
+
+/**
+ * The {@link UserDataCache} is a bounded cache of {@link LuaUserdata}s by the
+ * identity of the {@link Object} they wrap.
+ * <p>
+ * The {@link LuaUserdata}s are only weakly referenced, as they themselves
+ * reference the wrapped {@link Object}, an entry is removed as soon as the
+ * {@link LuaUserdata} is no longer referenced from anywhere else. If the
+ * maximum size is exceeded, the least recently used entry is removed.
+ * <p>
+ * All methods are synchronized.
+ */
+public class UserDataCache {
+	/** The maximum number of entries. */
+	protected int maximumSize = 0;
+	/** The {@link ReferenceQueue} of the collected {@link LuaUserdata}s. */
+	protected ReferenceQueue<LuaUserdata> referenceQueue = new ReferenceQueue<>();
+	/**
+	 * The cached {@link LuaUserdata}s, the {@link UserDataReference} is its
+	 * own key.
+	 */
+	protected Map<Object, UserDataReference> userDatas = null;
+	
+	/**
+	 * Creates a new instance of {@link UserDataCache}.
+	 * 
+	 * @param maximumSize The maximum number of entries, must be greater than
+	 *        zero.
+	 * @throws IllegalArgumentException If the given {@code maximumSize} is not
+	 *         greater than zero.
+	 */
+	public UserDataCache(int maximumSize) {
+		super();
+		
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be greater than zero.");
+		}
+		
+		this.maximumSize = maximumSize;
+		this.userDatas = new LinkedHashMap<Object, UserDataReference>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, UserDataReference> eldest) {
+				return size() > UserDataCache.this.maximumSize;
+			}
+		};
+	}
+	
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		userDatas.clear();
+		
+		while (referenceQueue.poll() != null) {
+			// Only draining the queue.
+		}
+	}
+	
+	/**
+	 * Gets the {@link LuaUserdata} which wraps the given {@link Object}.
+	 * 
+	 * @param object The wrapped {@link Object}, cannot be {@code null}.
+	 * @return The {@link LuaUserdata} which wraps the given {@link Object},
+	 *         {@code null} if there is none cached.
+	 * @throws IllegalArgumentException If the given {@code object} is
+	 *         {@code null}.
+	 */
+	public synchronized LuaUserdata get(Object object) {
+		Verifier.notNull("object", object);
+		
+		expungeStaleEntries();
+		
+		UserDataReference userDataReference = userDatas.get(new IdentityKey(object));
+		
+		if (userDataReference != null) {
+			return userDataReference.get();
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Gets the maximum number of entries.
+	 * 
+	 * @return The maximum number of entries.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+	
+	/**
+	 * Puts the given {@link LuaUserdata} into the cache, replacing any
+	 * {@link LuaUserdata} wrapping the same {@link Object}.
+	 * 
+	 * @param userData The {@link LuaUserdata} to cache, cannot be
+	 *        {@code null}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code userData} is
+	 *         {@code null}.
+	 */
+	public synchronized UserDataCache put(LuaUserdata userData) {
+		Verifier.notNull("userData", userData);
+		
+		expungeStaleEntries();
+		
+		UserDataReference userDataReference = new UserDataReference(userData, referenceQueue);
+		
+		userDatas.remove(userDataReference);
+		userDatas.put(userDataReference, userDataReference);
+		
+		return this;
+	}
+	
+	/**
+	 * Gets the number of entries, not counting those whose
+	 * {@link LuaUserdata} has already been collected.
+	 * 
+	 * @return The number of entries.
+	 */
+	public synchronized int size() {
+		expungeStaleEntries();
+		
+		return userDatas.size();
+	}
+	
+	/**
+	 * Removes all entries whose {@link LuaUserdata} has been collected.
+	 */
+	protected void expungeStaleEntries() {
+		Reference<? extends LuaUserdata> reference = referenceQueue.poll();
+		
+		while (reference != null) {
+			userDatas.remove(reference);
+			
+			reference = referenceQueue.poll();
+		}
+	}
+	
+	/**
+	 * The {@link IdentityKey} is used for looking up the
+	 * {@link UserDataReference} of an {@link Object} by its identity.
+	 */
+	protected static class IdentityKey {
+		/** The identity hash code of the {@link Object}. */
+		protected int hash = 0;
+		/** The {@link Object}. */
+		protected Object object = null;
+		
+		/**
+		 * Creates a new instance of {@link IdentityKey}.
+		 * 
+		 * @param object The {@link Object}.
+		 */
+		public IdentityKey(Object object) {
+			super();
+			
+			this.object = object;
+			this.hash = System.identityHashCode(object);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (other instanceof UserDataReference) {
+				return ((UserDataReference)other).getObject() == object;
+			} else if (other instanceof IdentityKey) {
+				return ((IdentityKey)other).object == object;
+			}
+			
+			return false;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+	
+	/**
+	 * The {@link UserDataReference} is a {@link WeakReference} to a
+	 * {@link LuaUserdata} which is equal to all other keys of the same wrapped
+	 * {@link Object}, once the {@link LuaUserdata} has been collected it is
+	 * only equal to itself.
+	 */
+	protected static class UserDataReference extends WeakReference<LuaUserdata> {
+		/** The identity hash code of the wrapped {@link Object}. */
+		protected int hash = 0;
+		
+		/**
+		 * Creates a new instance of {@link UserDataReference}.
+		 * 
+		 * @param userData The {@link LuaUserdata}.
+		 * @param referenceQueue The {@link ReferenceQueue} to register with.
+		 */
+		public UserDataReference(LuaUserdata userData, ReferenceQueue<LuaUserdata> referenceQueue) {
+			super(userData, referenceQueue);
+			
+			this.hash = System.identityHashCode(userData.touserdata());
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (other == this) {
+				return true;
+			}
+			
+			Object object = getObject();
+			
+			if (object == null) {
+				return false;
+			}
+			
+			if (other instanceof UserDataReference) {
+				return ((UserDataReference)other).getObject() == object;
+			} else if (other instanceof IdentityKey) {
+				return ((IdentityKey)other).object == object;
+			}
+			
+			return false;
+		}
+		
+		/**
+		 * Gets the {@link Object} wrapped by the referenced
+		 * {@link LuaUserdata}.
+		 * 
+		 * @return The wrapped {@link Object}, {@code null} if the
+		 *         {@link LuaUserdata} has been collected.
+		 */
+		public Object getObject() {
+			LuaUserdata userData = get();
+			
+			if (userData != null) {
+				return userData.touserdata();
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
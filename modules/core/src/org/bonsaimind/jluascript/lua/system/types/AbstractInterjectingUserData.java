@@ -19,10 +19,12 @@
 
 package org.bonsaimind.jluascript.lua.system.types;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaString;
 import org.luaj.vm2.LuaUserdata;
 import org.luaj.vm2.LuaValue;
 
@@ -31,14 +33,32 @@ import org.luaj.vm2.LuaValue;
  * which provides the means to intercept all actions on the Lua object and
  * return custom values for them. The provided values are then put into a cache
  * for subsequent calls.
+ * <p>
+ * The cache is keyed by the {@link LuaValue} itself, so a lookup does not need
+ * to decode the key. String keys for which nothing is provided are cached,
+ * too, so that looking up a non-existing member again is a single lookup. At
+ * most {@link #MAXIMUM_MISSING_KEYS} of them are cached, so that looking up
+ * arbitrary keys cannot grow the cache without bound. Keys of other types are
+ * never cached as missing.
+ * <p>
+ * The cache can be read and populated concurrently, so that one instance can
+ * be shared between environments running on different threads.
  */
 public abstract class AbstractInterjectingUserData extends LuaUserdata {
+	/** The maximum amount of keys which are cached as not having a value. */
+	public static final int MAXIMUM_MISSING_KEYS = 256;
+	
 	/** The {@link Map} that is being used as a cache. */
-	protected Map<String, LuaValue> cache = new HashMap<>();
+	protected Map<LuaValue, LuaValue> cache = new ConcurrentHashMap<>();
+	/**
+	 * How many keys have been cached as not having a value, might exceed
+	 * {@link #MAXIMUM_MISSING_KEYS} slightly under concurrent lookups.
+	 */
+	protected AtomicInteger missingKeyCount = new AtomicInteger();
 	
 	/**
 	 * Creates a new instance of {@link AbstractInterjectingUserData}.
-	 *
+	 * 
 	 * @param object The {@link Object}, cannot be {@code null}.
 	 * @throws IllegalArgumentException If the {@code object} is {@code null}.
 	 */
@@ -51,15 +71,19 @@ public abstract class AbstractInterjectingUserData extends LuaUserdata {
 	 */
 	@Override
 	public LuaValue get(LuaValue key) {
-		String keyString = key.tojstring();
-		
-		LuaValue luaValue = cache.get(keyString);
+		LuaValue luaValue = cache.get(key);
 		
 		if (luaValue == null) {
-			luaValue = provide(keyString);
+			luaValue = provide(key);
 			
 			if (luaValue == null) {
 				luaValue = LuaValue.NIL;
+				
+				if (key.type() == LuaValue.TSTRING && missingKeyCount.get() < MAXIMUM_MISSING_KEYS) {
+					missingKeyCount.incrementAndGet();
+					
+					putIntoCache(key, luaValue);
+				}
 			}
 		}
 		
@@ -80,17 +104,41 @@ public abstract class AbstractInterjectingUserData extends LuaUserdata {
 	public AbstractInterjectingUserData putIntoCache(String key, LuaValue value) {
 		Verifier.notNullOrEmpty("key", key);
 		
-		cache.put(key, value);
+		return putIntoCache(LuaString.valueOf(key), value);
+	}
+	
+	/**
+	 * Allows to put a {@link LuaValue} for the given {@link LuaValue key} into
+	 * the cache.
+	 * 
+	 * @param key The {@link LuaValue key}, cannot be {@code null}.
+	 * @param value The value to provide, can be {@code null} to clear the cache
+	 *        for this {@link LuaValue key}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the {@code key} is {@code null}.
+	 */
+	public AbstractInterjectingUserData putIntoCache(LuaValue key, LuaValue value) {
+		Verifier.notNull("key", key);
+		
+		if (value == null) {
+			cache.remove(key);
+		} else {
+			cache.put(key, value);
+		}
 		
 		return this;
 	}
 	
 	/**
-	 * Provides the value for the given {@link String key}.
+	 * Provides the value for the given {@link LuaValue key}.
+	 * <p>
+	 * If {@code null} is returned and the key is a string, the key is cached
+	 * as not having a value as long as not more than
+	 * {@link #MAXIMUM_MISSING_KEYS} have been cached.
 	 * 
-	 * @param key The {@link String key}, should not be {@code null} or empty.
+	 * @param key The {@link LuaValue key}, should not be {@code null}.
 	 * @return The provided {@link LuaValue}, can be {@code null} to not provide
 	 *         a value.
 	 */
-	protected abstract LuaValue provide(String key);
+	protected abstract LuaValue provide(LuaValue key);
 }
@@ -19,34 +19,31 @@
 
 package org.bonsaimind.jluascript.lua.system.types;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.reflection.FieldAccessor;
 import org.bonsaimind.jluascript.utils.Verifier;
-import org.luaj.vm2.LuaError;
 import org.luaj.vm2.LuaValue;
 
-// TODO: Auto-generated Javadoc
 /**
  * The {@link AbstractReflectiveUserData} is an
  * {@link AbstractInterjectingUserData} which provides all the necessary
  * meachnisms to wrap a Java {@link Class} or an instance thereof.
+ * <p>
+ * The members are looked up through the {@link ClassMembers}, which are shared
+ * between all wrappers of the same {@link Class}. Fields are indexed by their
+ * Lua name and read on every access, functions invoking methods and the
+ * values of final fields are cached. Fields which are not final can also be
+ * set.
  */
 public abstract class AbstractReflectiveUserData extends AbstractInterjectingUserData {
 	/** The {@link Class} that is being bound. */
 	protected Class<?> clazz = null;
 	/** The {@link Coercer} to use. */
 	protected Coercer coercer = null;
-	/** The {@link Map} that is being used to cache {@link Field}s. */
-	protected Map<String, Field> fieldCache = new HashMap<>();
 	/** The wrapped {@link Object instance}. */
 	protected Object instance = null;
+	/** The shared {@link ClassMembers} of the {@link Class}. */
+	protected ClassMembers members = null;
 	
 	/**
 	 * Creates a new instance of {@link AbstractReflectiveUserData}.
@@ -55,220 +52,97 @@ public abstract class AbstractReflectiveUserData extends AbstractInterjectingUse
 	 *        {@code null}.
 	 * @param instance The {@link Object instance} that is being wrapped, can be
 	 *        {@code null} for a static context.
-	 * @param clazz The {@link Class} of the wrapped {@link Object}, cannot be
-	 *        {@code null}.
-	 * @param coercer The {@link Coercer} to use, canot be {@code null}.
-	 * @throws IllegalArgumentException If the {@code userDataInstance},
-	 *         {@code clazz} or {@code coercer} is {@code null}.
+	 * @param members The {@link ClassMembers} of the {@link Class} of the
+	 *        wrapped {@link Object}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the {@code userDataInstance} or
+	 *         {@code members} is {@code null}.
 	 */
-	protected AbstractReflectiveUserData(Object userDataInstance, Object instance, Class<?> clazz, Coercer coercer) {
+	protected AbstractReflectiveUserData(Object userDataInstance, Object instance, ClassMembers members) {
 		super(Verifier.notNull("userDataInstance", userDataInstance));
 		
-		Verifier.notNull("clazz", clazz);
-		Verifier.notNull("coercer", coercer);
+		Verifier.notNull("members", members);
 		
 		this.instance = instance;
-		this.clazz = clazz;
-		this.coercer = coercer;
+		this.members = members;
+		this.clazz = members.getMetadata().getClazz();
+		this.coercer = members.getCoercer();
 	}
 	
 	/**
-	 * Coerces the given {@link List} of {@link Method}s into an
-	 * {@link LuaValue} which can be used to invoke the given {@link Method}s.
-	 *
-	 * @param methods The {@link List} of {@link Method}s, cannot be
-	 *        {@code null} or empty.
-	 * @return The {@link LuaValue} used to invoke the given {@link Method}s.
-	 */
-	protected abstract LuaValue coerceMethodList(List<Method> methods);
-	
-	/**
-	 * Returns whether the given {@link Field} should be available for the Lua
-	 * context.
-	 *
-	 * @param field The {@link Field} to check, cannot be {@code null}.
-	 * @return {@code true} if the given {@link Field} should be available for
-	 *         the Lua context.
-	 */
-	protected abstract boolean fieldIsAvailable(Field field);
-	
-	/**
-	 * Finds the (super-)class oder interface from the given {@link Class} which
-	 * declares the given {@link Method} and returns the declared instance of
-	 * the {@link Method}.
-	 *
-	 * @param method The {@link Method} to find the declared {@link Method}
-	 *        from, cannot be {@code null}.
-	 * @param clazz The {@link Class} at which to start the searc, cannot be
-	 *        {@code null}.
-	 * @return The declared {@link Method}, may be {@code null} if there was an
-	 *         reflection exception.
-	 * @throws IllegalArgumentException If the given {@code method} or
-	 *         {@code clazz} is {@code null}.
+	 * {@inheritDoc}
 	 */
-	protected Method findDeclaredMethod(Method method, Class<?> clazz) {
-		Verifier.notNull("method", method);
-		Verifier.notNull("clazz", clazz);
-		
-		if (!clazz.equals(Object.class) && clazz.getSuperclass() != null) {
-			Method declaredMethod = findDeclaredMethod(method, clazz.getSuperclass());
-			
-			if (declaredMethod != null) {
-				return declaredMethod;
-			}
-		}
-		
-		for (Class<?> superInterface : clazz.getInterfaces()) {
-			Method declaredMethod = findDeclaredMethod(method, superInterface);
-			
-			if (declaredMethod != null) {
-				return declaredMethod;
-			}
-		}
+	@Override
+	public void set(LuaValue key, LuaValue value) {
+		FieldAccessor fieldAccessor = findFieldAccessor(key);
 		
-		try {
-			return clazz.getDeclaredMethod(method.getName(), method.getParameterTypes());
-		} catch (ReflectiveOperationException e) {
-			return null;
+		if (fieldAccessor != null) {
+			fieldAccessor.set(instance, value);
+		} else {
+			super.set(key, value);
 		}
 	}
 	
 	/**
-	 * Finds the {@link Field} with the given name.
+	 * Finds the {@link FieldAccessor} of the field with the given name.
 	 * 
-	 * @param name The name of the {@link Field} to find, cannot be {@code null}
-	 *        or empty.
-	 * @return The {@link Field} if found, otherwise {@code null}.
-	 * @throws IllegalArgumentException If the given {@code name} is
-	 *         {@code null} or empty.
+	 * @param name The name of the field to find, cannot be {@code null}.
+	 * @return The {@link FieldAccessor} if found, otherwise {@code null}.
 	 */
-	protected Field findField(String name) {
-		Verifier.notNullOrEmpty("name", name);
-		
-		for (Field field : clazz.getFields()) {
-			if (field.getName().equals(name) && fieldIsAvailable(field)) {
-				return field;
-			}
-		}
-		
-		return null;
-	}
+	protected abstract FieldAccessor findFieldAccessor(LuaValue name);
 	
 	/**
-	 * Finds the (super-)class oder interface from the given {@link Class} which
-	 * declares the given {@link Method} and returns the declared instance of
-	 * the {@link Method}.
-	 *
-	 * @param method The {@link Method} to find the declared {@link Method}
-	 *        from, cannot be {@code null}.
-	 * @return The declared {@link Method}, may be {@code null} if there was an
-	 *         reflection exception.
-	 * @throws IllegalArgumentException If the given {@code method} is
-	 *         {@code null}.
+	 * Finds the function which invokes the method(s) with the given name.
+	 * 
+	 * @param name The name of the method(s), cannot be {@code null} or empty.
+	 * @return The {@link LuaValue} which can be used to invoke the method(s),
+	 *         {@code null} if no methods with that name were found or are
+	 *         available.
 	 */
-	protected Method getDeclaredMethod(Method method) {
-		Verifier.notNull("method", method);
-		
-		return findDeclaredMethod(method, method.getDeclaringClass());
-	}
+	protected abstract LuaValue findMethodFunction(String name);
 	
 	/**
-	 * Gets the value of the field with the given name as {@link LuaValue}.
+	 * Gets the value of the field as {@link LuaValue}.
 	 * 
-	 * @param name The name of the {@link Field}, cannot be {@code null} or
-	 *        empty.
-	 * @return The value of the field with the given name as {@link LuaValue},
-	 *         {@code null} if there is no field with that name.
-	 * @throws IllegalArgumentException If the given {@code name} is
-	 *         {@code null} or empty.
-	 * @throws LuaError If
+	 * @param name The name of the field, cannot be {@code null}.
+	 * @param fieldAccessor The {@link FieldAccessor} of the field, cannot be
+	 *        {@code null}.
+	 * @return The value of the field as {@link LuaValue}.
+	 * @throws org.luaj.vm2.LuaError If the value could not be read.
 	 */
-	protected LuaValue getFieldValue(String name) {
-		Verifier.notNullOrEmpty("name", name);
-		
-		Field field = null;
-		
-		if (fieldCache.containsKey(name)) {
-			field = fieldCache.get(name);
-		} else {
-			field = findField(name);
-			
-			fieldCache.put(name, field);
-		}
-		
-		if (field == null) {
-			return null;
+	protected LuaValue getFieldValue(LuaValue name, FieldAccessor fieldAccessor) {
+		LuaValue luaValue = fieldAccessor.get(instance);
+		
+		if (fieldAccessor.isFinal()) {
+			// If the field is final, we can cache the LuaValue, because it
+			// points at the same instance. If it is a primitive, the value
+			// will not change.
+			putIntoCache(name, luaValue);
 		}
 		
-		try {
-			LuaValue luaValue = coercer.coerceJavaToLua(field.get(instance));
-			
-			if (Modifier.isFinal(field.getModifiers())) {
-				// If the field is final, we can cache the LuaValue, because it
-				// points at the same instance. If it is a primitive, the value
-				// will not change.
-				putIntoCache(name, luaValue);
-			}
-			
-			return luaValue;
-		} catch (IllegalAccessException e) {
-			throw new LuaError(e);
-		}
+		return luaValue;
 	}
 	
 	/**
-	 * Gets the method(s) with the given name as invokable {@link LuaValue}.
-	 * 
-	 * @param name The name of the method(s), cannot be {@code null} or empty.
-	 * @return The {@link LuaValue} which can be used to invoke the method(s),
-	 *         {@code null} if no methods with that name were found or are
-	 *         available.
-	 * @throws IllegalArgumentException If the given {@code name} is
-	 *         {@code null} or empty.
+	 * {@inheritDoc}
 	 */
-	protected LuaValue getMethodsInvokable(String name) {
-		Verifier.notNullOrEmpty("name", name);
-		
-		List<Method> methods = new ArrayList<>();
+	@Override
+	protected LuaValue provide(LuaValue key) {
+		FieldAccessor fieldAccessor = findFieldAccessor(key);
 		
-		for (Method method : clazz.getMethods()) {
-			if (method.getName().equals(name) && methodIsAvailable(method)) {
-				methods.add(getDeclaredMethod(method));
-			}
+		if (fieldAccessor != null) {
+			return getFieldValue(key, fieldAccessor);
 		}
 		
-		if (!methods.isEmpty()) {
-			LuaValue luaFunction = coerceMethodList(methods);
-			
-			putIntoCache(name, luaFunction);
-			
-			return luaFunction;
+		if (!key.isstring()) {
+			return null;
 		}
 		
-		return null;
-	}
-	
-	/**
-	 * Returns whether the given {@link Method} should be available for the Lua
-	 * context.
-	 *
-	 * @param method The {@link Method} to check, cannot be {@code null}.
-	 * @return {@code true} if the given {@link Method} should be available for
-	 *         the Lua context.
-	 */
-	protected abstract boolean methodIsAvailable(Method method);
-	
-	/**
-	 * {@inheritDoc}
-	 */
-	@Override
-	protected LuaValue provide(String name) {
-		LuaValue luaValue = getFieldValue(name);
+		LuaValue function = findMethodFunction(key.tojstring());
 		
-		if (luaValue == null) {
-			return getMethodsInvokable(name);
+		if (function != null) {
+			putIntoCache(key, function);
 		}
 		
-		return luaValue;
+		return function;
 	}
 }
@@ -22,45 +22,147 @@ package org.bonsaimind.jluascript.lua.system.types;
 import java.lang.reflect.Array;
 
 import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.functions.ArrayCopyingFunction;
+import org.bonsaimind.jluascript.lua.system.types.functions.ArrayFillingFunction;
+import org.bonsaimind.jluascript.lua.system.types.functions.ArraySlicingFunction;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions;
 import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaString;
 import org.luaj.vm2.LuaUserdata;
 import org.luaj.vm2.LuaValue;
 
 /**
  * The {@link ArrayUserData} is a {@link LuaUserdata} extension which allows to
  * directly access Java arrays in Lua.
+ * <p>
+ * The elements can be read and written by their (one-based) index, the length
+ * is available through the {@code #} operator and the {@code length} field.
+ * Additionally the {@code fill}, {@code copy} and {@code slice} methods are
+ * available for bulk operations.
+ * <p>
+ * This implementation accesses the elements through reflection and works with
+ * all arrays, extensions provide direct access to the specific arrays.
  */
 public class ArrayUserData extends LuaUserdata {
+	/** The key of the copy method. */
+	public static final String COPY_NAME = "copy";
+	/** The key of the fill method. */
+	public static final String FILL_NAME = "fill";
+	/** The key of the length field. */
+	public static final String LENGTH_NAME = "length";
+	/** The key of the slice method. */
+	public static final String SLICE_NAME = "slice";
+	
+	/** The function of the copy method. */
+	protected static final LuaValue COPY_FUNCTION = new ArrayCopyingFunction();
+	/** The {@link LuaString} key of the copy method. */
+	protected static final LuaString COPY_KEY = LuaString.valueOf(COPY_NAME);
+	/** The function of the fill method. */
+	protected static final LuaValue FILL_FUNCTION = new ArrayFillingFunction();
+	/** The {@link LuaString} key of the fill method. */
+	protected static final LuaString FILL_KEY = LuaString.valueOf(FILL_NAME);
+	/** The {@link LuaString} key of the length field. */
+	protected static final LuaString LENGTH_KEY = LuaString.valueOf(LENGTH_NAME);
+	/** The function of the slice method. */
+	protected static final LuaValue SLICE_FUNCTION = new ArraySlicingFunction();
+	/** The {@link LuaString} key of the slice method. */
+	protected static final LuaString SLICE_KEY = LuaString.valueOf(SLICE_NAME);
+	
 	/** The {@link Coercer} to use for the values. */
 	protected Coercer coercer = null;
+	/** The length of the array. */
+	protected int length = 0;
 	
 	/**
 	 * Creates a new instance of {@link ArrayUserData}.
-	 *
+	 * 
 	 * @param array The {@link Object array}, cannot be {@code null}.
 	 * @param coercer The {@link Coercer}, cannot be {@code null}.
 	 * @throws IllegalArgumentException If the {@code array} or the
-	 *         {@code coercer} is {@code null}.
+	 *         {@code coercer} is {@code null}, or the {@code array} is not an
+	 *         array.
 	 */
 	public ArrayUserData(Object array, Coercer coercer) {
 		super(Verifier.notNull("array", array));
 		
 		Verifier.notNull("coercer", coercer);
 		
+		if (!array.getClass().isArray()) {
+			throw new IllegalArgumentException("array must be an array.");
+		}
+		
 		this.coercer = coercer;
+		this.length = Array.getLength(array);
 	}
 	
+	/**
+	 * Copies the given range of elements into the given destination array.
+	 * 
+	 * @param sourceIndex The (zero-based) index of the first element to copy.
+	 * @param destination The destination, cannot be {@code null}.
+	 * @param destinationIndex The (zero-based) index in the destination at
+	 *        which to start.
+	 * @param count The number of elements to copy.
+	 * @throws IllegalArgumentException If the given {@code destination} is
+	 *         {@code null}.
+	 * @throws LuaError If the range is out of bounds for either array or the
+	 *         elements cannot be stored in the destination.
+	 */
+	public void copy(int sourceIndex, ArrayUserData destination, int destinationIndex, int count) {
+		Verifier.notNull("destination", destination);
+		
+		try {
+			System.arraycopy(m_instance, sourceIndex, destination.m_instance, destinationIndex, count);
+		} catch (IndexOutOfBoundsException e) {
+			throw new LuaError("Cannot copy <" + count + "> elements from index <" + (sourceIndex + 1) + "> of an array of length <" + length + "> to index <" + (destinationIndex + 1) + "> of an array of length <" + destination.length + ">.");
+		} catch (ArrayStoreException e) {
+			throw new LuaError("Cannot copy elements of an <" + m_instance.getClass().getSimpleName() + "> into an <" + destination.m_instance.getClass().getSimpleName() + ">.");
+		}
+	}
+	
+	/**
+	 * Sets all elements in the given range to the given value.
+	 * 
+	 * @param value The value to set, cannot be {@code null}.
+	 * @param fromIndex The (zero-based) index of the first element, inclusive.
+	 * @param toIndex The (zero-based) index of the last element, exclusive.
+	 * @throws IllegalArgumentException If the given {@code value} is
+	 *         {@code null}.
+	 * @throws LuaError If the range is out of bounds or the value cannot be
+	 *         converted to the type of the elements.
+	 */
+	public void fill(LuaValue value, int fromIndex, int toIndex) {
+		Verifier.notNull("value", value);
+		
+		checkRange(fromIndex, toIndex);
+		
+		Object element = ValueConversions.toJava(value, m_instance.getClass().getComponentType(), coercer);
+		
+		for (int index = fromIndex; index < toIndex; index++) {
+			Array.set(m_instance, index, element);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
 	@Override
 	public LuaValue get(LuaValue key) {
-		if (key.equals("length")) {
-			return LuaValue.valueOf(Array.getLength(m_instance));
-		} else if (key.isint()) {
+		if (key.isint()) {
 			int index = key.toint() - 1;
-			int length = Array.getLength(m_instance);
 			
 			if (index >= 0 && index < length) {
-				return coercer.coerceJavaToLua(Array.get(m_instance, index));
+				return getElement(index);
 			}
+		} else if (LENGTH_KEY.raweq(key)) {
+			return LuaValue.valueOf(length);
+		} else if (FILL_KEY.raweq(key)) {
+			return FILL_FUNCTION;
+		} else if (COPY_KEY.raweq(key)) {
+			return COPY_FUNCTION;
+		} else if (SLICE_KEY.raweq(key)) {
+			return SLICE_FUNCTION;
 		}
 		
 		return LuaValue.NIL;
@@ -74,4 +176,90 @@ public class ArrayUserData extends LuaUserdata {
 	public Object getArray() {
 		return m_instance;
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue len() {
+		return LuaValue.valueOf(length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void set(LuaValue key, LuaValue value) {
+		if (!key.isint()) {
+			throw new LuaError("Cannot set <" + key.tojstring() + "> on an array, only indexes can be set.");
+		}
+		
+		int index = key.toint() - 1;
+		
+		if (index < 0 || index >= length) {
+			throw new LuaError("Index <" + key.toint() + "> is out of bounds for an array of length <" + length + ">.");
+		}
+		
+		setElement(index, value);
+	}
+	
+	/**
+	 * Creates a new array from the elements in the given range.
+	 * 
+	 * @param fromIndex The (zero-based) index of the first element, inclusive.
+	 * @param toIndex The (zero-based) index of the last element, exclusive.
+	 * @return The new array, coerced to a {@link LuaValue}.
+	 * @throws LuaError If the range is out of bounds.
+	 */
+	public LuaValue slice(int fromIndex, int toIndex) {
+		checkRange(fromIndex, toIndex);
+		
+		Object slice = Array.newInstance(m_instance.getClass().getComponentType(), toIndex - fromIndex);
+		System.arraycopy(m_instance, fromIndex, slice, 0, toIndex - fromIndex);
+		
+		return coercer.coerceJavaToLua(slice);
+	}
+	
+	/**
+	 * Checks that the given range is within the bounds of the array.
+	 * 
+	 * @param fromIndex The (zero-based) index of the first element, inclusive.
+	 * @param toIndex The (zero-based) index of the last element, exclusive.
+	 * @throws LuaError If the range is out of bounds.
+	 */
+	protected void checkRange(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+			throw new LuaError("Range <" + (fromIndex + 1) + "> to <" + toIndex + "> is out of bounds for an array of length <" + length + ">.");
+		}
+	}
+	
+	/**
+	 * Gets the element at the given index.
+	 * 
+	 * @param index The (zero-based) index, must be within bounds.
+	 * @return The element as {@link LuaValue}.
+	 */
+	protected LuaValue getElement(int index) {
+		return coercer.coerceJavaToLua(Array.get(m_instance, index));
+	}
+	
+	/**
+	 * Sets the element at the given index.
+	 * 
+	 * @param index The (zero-based) index, must be within bounds.
+	 * @param value The value to set.
+	 * @throws LuaError If the value cannot be converted to the type of the
+	 *         elements.
+	 */
+	protected void setElement(int index, LuaValue value) {
+		Array.set(m_instance, index, ValueConversions.toJava(value, m_instance.getClass().getComponentType(), coercer));
+	}
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types;
+
+import java.util.Arrays;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link CharArrayUserData} is an {@link ArrayUserData} extension which
+ * directly accesses {@code char[]}s, without reflection or boxing.
+ * <p>
+ * The elements are returned as strings of a single character, and can be
+ * set from such strings or from numbers (the code of the character).
+ */
+public class CharArrayUserData extends ArrayUserData {
+	/** The array. */
+	protected char[] array = null;
+	
+	/**
+	 * Creates a new instance of {@link CharArrayUserData}.
+	 * 
+	 * @param array The array, cannot be {@code null}.
+	 * @param coercer The {@link Coercer}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the {@code array} or the
+	 *         {@code coercer} is {@code null}.
+	 */
+	public CharArrayUserData(char[] array, Coercer coercer) {
+		super(array, coercer);
+		
+		this.array = array;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fill(LuaValue value, int fromIndex, int toIndex) {
+		Verifier.notNull("value", value);
+		
+		checkRange(fromIndex, toIndex);
+		
+		Arrays.fill(array, fromIndex, toIndex, ValueConversions.toChar(value));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected LuaValue getElement(int index) {
+		return LuaValue.valueOf(String.valueOf(array[index]));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void setElement(int index, LuaValue value) {
+		array[index] = ValueConversions.toChar(value);
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.functions.DispatchMode;
+import org.bonsaimind.jluascript.lua.system.types.functions.InstanceFieldAssigningFunction;
+import org.bonsaimind.jluascript.lua.system.types.functions.InstanceMemberIndexingFunction;
+import org.bonsaimind.jluascript.lua.system.types.functions.InstanceMethodInvokingFunction;
+import org.bonsaimind.jluascript.lua.system.types.functions.StaticMethodInvokingFunction;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ClassMetadata;
+import org.bonsaimind.jluascript.lua.system.types.reflection.FieldAccessor;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link ClassMembers} are the members of a {@link Class} bound to a
+ * {@link Coercer}, and are shared by all wrappers of that {@link Class}
+ * which use the same {@link Coercer}.
+ * <p>
+ * The reflective information is taken from the {@link ClassMetadata} of the
+ * {@link Class}, the functions which invoke the methods are created once on
+ * first request and then reused, which means that they are also warmed up
+ * only once.
+ * <p>
+ * Instances of the {@link Class} all share the same metatable, whose
+ * {@code __index} is a {@link LuaTable} of the methods, so that accessing a
+ * member is a single table lookup.
+ * <p>
+ * All functions which invoke methods or constructors use the
+ * {@link DispatchMode} the {@link ClassMembers} have been created with.
+ */
+public class ClassMembers {
+	/** The {@link Coercer} to use. */
+	protected Coercer coercer = null;
+	/**
+	 * The {@link DispatchMode} used by the functions which invoke methods or
+	 * constructors.
+	 */
+	protected DispatchMode dispatchMode = DispatchMode.METHOD_HANDLES;
+	/** The metatable shared by all instances, created on first request. */
+	protected volatile LuaTable instanceMetatable = null;
+	/** The functions which invoke the instance methods, by their name. */
+	protected ConcurrentMap<String, LuaValue> instanceMethodFunctions = new ConcurrentHashMap<>();
+	/** The {@link ClassMetadata} of the {@link Class}. */
+	protected ClassMetadata metadata = null;
+	/**
+	 * The {@link FieldAccessor}s of the public static fields by their Lua
+	 * name.
+	 */
+	protected Map<LuaValue, FieldAccessor> staticFieldAccessors = null;
+	/** The functions which invoke the static methods, by their name. */
+	protected ConcurrentMap<String, LuaValue> staticMethodFunctions = new ConcurrentHashMap<>();
+	
+	/**
+	 * Creates a new instance of {@link ClassMembers}.
+	 * 
+	 * @param clazz The {@link Class}, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code clazz} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public ClassMembers(Class<?> clazz, Coercer coercer) {
+		this(clazz, coercer, DispatchMode.METHOD_HANDLES);
+	}
+	
+	/**
+	 * Creates a new instance of {@link ClassMembers}.
+	 * 
+	 * @param clazz The {@link Class}, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @param dispatchMode The {@link DispatchMode} used by the functions which
+	 *        invoke methods or constructors, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code clazz},
+	 *         {@code coercer} or {@code dispatchMode} is {@code null}.
+	 */
+	public ClassMembers(Class<?> clazz, Coercer coercer, DispatchMode dispatchMode) {
+		super();
+		
+		this.metadata = ClassMetadata.forClass(Verifier.notNull("clazz", clazz));
+		this.coercer = Verifier.notNull("coercer", coercer);
+		this.dispatchMode = Verifier.notNull("dispatchMode", dispatchMode);
+		
+		this.staticFieldAccessors = createFieldAccessors(metadata.getStaticFieldNames(), true);
+	}
+	
+	/**
+	 * Gets the {@link Coercer}.
+	 * 
+	 * @return The {@link Coercer}.
+	 */
+	public Coercer getCoercer() {
+		return coercer;
+	}
+	
+	/**
+	 * Gets the {@link DispatchMode} used by the functions which invoke methods
+	 * or constructors.
+	 * 
+	 * @return The {@link DispatchMode}.
+	 */
+	public DispatchMode getDispatchMode() {
+		return dispatchMode;
+	}
+	
+	/**
+	 * Gets the metatable which is shared by all instances.
+	 * <p>
+	 * The metatable is protected through {@code __metatable}, so it cannot be
+	 * retrieved or changed from within Lua.
+	 * 
+	 * @return The metatable which is shared by all instances.
+	 */
+	public LuaTable getInstanceMetatable() {
+		LuaTable metatable = instanceMetatable;
+		
+		if (metatable == null) {
+			synchronized (this) {
+				metatable = instanceMetatable;
+				
+				if (metatable == null) {
+					metatable = createInstanceMetatable();
+					instanceMetatable = metatable;
+				}
+			}
+		}
+		
+		return metatable;
+	}
+	
+	/**
+	 * Gets the function which invokes the instance methods with the given
+	 * name.
+	 * 
+	 * @param name The name of the methods.
+	 * @return The function which invokes the instance methods, {@code null} if
+	 *         there are no instance methods with the given name.
+	 */
+	public LuaValue getInstanceMethodFunction(String name) {
+		LuaValue function = instanceMethodFunctions.get(name);
+		
+		if (function == null) {
+			List<Method> methods = metadata.getInstanceMethods(name);
+			
+			if (methods == null) {
+				return null;
+			}
+			
+			function = instanceMethodFunctions.computeIfAbsent(name, (key) -> new InstanceMethodInvokingFunction(methods, coercer).setDispatchMode(dispatchMode));
+		}
+		
+		return function;
+	}
+	
+	/**
+	 * Gets the {@link ClassMetadata}.
+	 * 
+	 * @return The {@link ClassMetadata}.
+	 */
+	public ClassMetadata getMetadata() {
+		return metadata;
+	}
+	
+	/**
+	 * Gets the {@link FieldAccessor} of the public static field with the given
+	 * Lua name.
+	 * 
+	 * @param name The Lua name of the field.
+	 * @return The {@link FieldAccessor}, {@code null} if there is no field
+	 *         with that name.
+	 */
+	public FieldAccessor getStaticFieldAccessor(LuaValue name) {
+		return staticFieldAccessors.get(name);
+	}
+	
+	/**
+	 * Gets the function which invokes the static methods with the given name.
+	 * 
+	 * @param name The name of the methods.
+	 * @return The function which invokes the static methods, {@code null} if
+	 *         there are no static methods with the given name.
+	 */
+	public LuaValue getStaticMethodFunction(String name) {
+		LuaValue function = staticMethodFunctions.get(name);
+		
+		if (function == null) {
+			List<Method> methods = metadata.getStaticMethods(name);
+			
+			if (methods == null) {
+				return null;
+			}
+			
+			function = staticMethodFunctions.computeIfAbsent(name, (key) -> new StaticMethodInvokingFunction(methods, coercer).setDispatchMode(dispatchMode));
+		}
+		
+		return function;
+	}
+	
+	/**
+	 * Creates the {@link FieldAccessor}s of the fields with the given names,
+	 * indexed by their Lua name.
+	 * 
+	 * @param names The names of the fields.
+	 * @param staticContext Whether the fields are static.
+	 * @return The {@link FieldAccessor}s by the Lua name of their field.
+	 */
+	protected Map<LuaValue, FieldAccessor> createFieldAccessors(Set<String> names, boolean staticContext) {
+		Map<LuaValue, FieldAccessor> fieldAccessors = new HashMap<>();
+		
+		for (String name : names) {
+			if (staticContext) {
+				fieldAccessors.put(LuaString.valueOf(name), new FieldAccessor(metadata.getStaticField(name), coercer));
+			} else {
+				fieldAccessors.put(LuaString.valueOf(name), new FieldAccessor(metadata.getInstanceField(name), coercer));
+			}
+		}
+		
+		return fieldAccessors;
+	}
+	
+	/**
+	 * Creates the metatable which is shared by all instances.
+	 * <p>
+	 * If the {@link Class} has no public instance fields, the {@code __index}
+	 * is the {@link LuaTable} of the methods itself, otherwise it is an
+	 * {@link InstanceMemberIndexingFunction} which reads the fields from the
+	 * instance, and the fields can be set through the
+	 * {@link InstanceFieldAssigningFunction} as {@code __newindex}.
+	 * 
+	 * @return The metatable which is shared by all instances.
+	 */
+	protected LuaTable createInstanceMetatable() {
+		LuaTable methods = new LuaTable();
+		
+		for (String name : metadata.getInstanceMethodNames()) {
+			methods.rawset(LuaString.valueOf(name), getInstanceMethodFunction(name));
+		}
+		
+		LuaTable metatable = new LuaTable();
+		
+		if (metadata.getInstanceFieldNames().isEmpty()) {
+			metatable.rawset(LuaValue.INDEX, methods);
+		} else {
+			Map<LuaValue, FieldAccessor> fieldAccessors = createFieldAccessors(metadata.getInstanceFieldNames(), false);
+			
+			metatable.rawset(LuaValue.INDEX, new InstanceMemberIndexingFunction(fieldAccessors, methods));
+			metatable.rawset(LuaValue.NEWINDEX, new InstanceFieldAssigningFunction(fieldAccessors));
+		}
+		
+		metatable.rawset(LuaValue.METATABLE, LuaValue.FALSE);
+		
+		return metatable;
+	}
+	
+}
@@ -19,57 +19,50 @@
 
 package org.bonsaimind.jluascript.lua.system.types;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.List;
-
 import org.bonsaimind.jluascript.lua.system.Coercer;
-import org.bonsaimind.jluascript.lua.system.types.functions.InstanceMethodInvokingFunction;
 import org.bonsaimind.jluascript.utils.Verifier;
-import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.LuaUserdata;
 
 /**
- * The {@link InstanceUserData} is an {@link AbstractReflectiveUserData}
- * extension which makes the instance context of an {@link Object} accessible
- * through Lua.
+ * The {@link InstanceUserData} is a {@link LuaUserdata} extension which makes
+ * the instance context of an {@link Object} accessible through Lua.
+ * <p>
+ * All instances of a {@link Class} share the metatable provided by the
+ * {@link ClassMembers}, the {@link InstanceUserData} itself holds nothing but
+ * the wrapped {@link Object}.
  */
-public class InstanceUserData extends AbstractReflectiveUserData {
+public class InstanceUserData extends LuaUserdata {
 	/**
-	 * Creates a new instance of {@link StaticUserData}.
+	 * Creates a new instance of {@link InstanceUserData}.
 	 *
 	 * @param object The {@link Object}, cannot be {@code null}.
-	 * @param coercer The {@link Coercer}, cannot be {@code null}.
+	 * @param members The {@link ClassMembers} of the {@link Class} of the
+	 *        {@link Object}, cannot be {@code null}.
 	 * @throws IllegalArgumentException If the {@code obejct} or the
-	 *         {@code coercer} is {@code null}.
-	 */
-	public InstanceUserData(Object object, Coercer coercer) {
-		super(Verifier.notNull("object", object), object, object.getClass(), coercer);
-	}
-	
-	/**
-	 * {@inheritDoc}
-	 */
-	@Override
-	protected LuaValue coerceMethodList(List<Method> methods) {
-		return new InstanceMethodInvokingFunction(methods, coercer);
-	}
-	
-	/**
-	 * {@inheritDoc}
+	 *         {@code members} is {@code null}, or the {@code members} are not
+	 *         those of the {@link Class} of the {@code object}.
 	 */
-	@Override
-	protected boolean fieldIsAvailable(Field field) {
-		return !Modifier.isStatic(field.getModifiers())
-				&& Modifier.isPublic(field.getModifiers());
+	public InstanceUserData(Object object, ClassMembers members) {
+		super(Verifier.notNull("object", object), Verifier.notNull("members", members).getInstanceMetatable());
+		
+		if (members.getMetadata().getClazz() != object.getClass()) {
+			throw new IllegalArgumentException("members are not those of <" + object.getClass().getName() + ">.");
+		}
 	}
 	
 	/**
-	 * {@inheritDoc}
+	 * Creates a new instance of {@link InstanceUserData}.
+	 *
+	 * @param object The {@link Object}, cannot be {@code null}.
+	 * @param coercer The {@link Coercer}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the {@code obejct} or the
+	 *         {@code coercer} is {@code null}.
+	 * @deprecated This creates {@link ClassMembers} which are not shared with
+	 *             any other wrapper, use {@link Coercer#coerceJavaToLua(Object)}
+	 *             or {@link #InstanceUserData(Object, ClassMembers)} instead.
 	 */
-	@Override
-	protected boolean methodIsAvailable(Method method) {
-		return !Modifier.isStatic(method.getModifiers())
-				&& Modifier.isPublic(method.getModifiers());
+	@Deprecated
+	public InstanceUserData(Object object, Coercer coercer) {
+		this(object, new ClassMembers(Verifier.notNull("object", object).getClass(), coercer));
 	}
 }
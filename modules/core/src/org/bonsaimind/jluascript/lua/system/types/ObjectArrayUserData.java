@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types;
+
+import java.util.Arrays;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link ObjectArrayUserData} is an {@link ArrayUserData} extension which
+ * directly accesses arrays of non-primitive types, without reflection.
+ * <p>
+ * Values which are set are converted to the component type of the array.
+ */
+public class ObjectArrayUserData extends ArrayUserData {
+	/** The array. */
+	protected Object[] array = null;
+	/** The component type of the array. */
+	protected Class<?> componentType = null;
+	
+	/**
+	 * Creates a new instance of {@link ObjectArrayUserData}.
+	 * 
+	 * @param array The array, cannot be {@code null}.
+	 * @param coercer The {@link Coercer}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the {@code array} or the
+	 *         {@code coercer} is {@code null}.
+	 */
+	public ObjectArrayUserData(Object[] array, Coercer coercer) {
+		super(array, coercer);
+		
+		this.array = array;
+		this.componentType = array.getClass().getComponentType();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fill(LuaValue value, int fromIndex, int toIndex) {
+		Verifier.notNull("value", value);
+		
+		checkRange(fromIndex, toIndex);
+		
+		try {
+			Arrays.fill(array, fromIndex, toIndex, ValueConversions.toJava(value, componentType, coercer));
+		} catch (ArrayStoreException e) {
+			throw createStoreError(value);
+		}
+	}
+	
+	/**
+	 * Creates the {@link LuaError} for when the given value cannot be stored
+	 * in the array.
+	 * 
+	 * @param value The value which could not be stored.
+	 * @return The {@link LuaError}.
+	 */
+	protected LuaError createStoreError(LuaValue value) {
+		return new LuaError("Cannot store <" + value.typename() + "> in an array of <" + componentType.getName() + ">.");
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected LuaValue getElement(int index) {
+		return coercer.coerceJavaToLua(array[index]);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void setElement(int index, LuaValue value) {
+		try {
+			array[index] = ValueConversions.toJava(value, componentType, coercer);
+		} catch (ArrayStoreException e) {
+			throw createStoreError(value);
+		}
+	}
+}
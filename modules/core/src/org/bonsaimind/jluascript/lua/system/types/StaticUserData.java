@@ -20,10 +20,7 @@
 package org.bonsaimind.jluascript.lua.system.types;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Arrays;
 import java.util.List;
 
 import org.bonsaimind.jluascript.lua.libs.functions.ErrorThrowingFunction;
@@ -31,7 +28,7 @@ import org.bonsaimind.jluascript.lua.system.Coercer;
 import org.bonsaimind.jluascript.lua.system.types.functions.ClassCreatingFunction;
 import org.bonsaimind.jluascript.lua.system.types.functions.ConstructorInvokingFunction;
 import org.bonsaimind.jluascript.lua.system.types.functions.ProxyInstanceCreatingFunction;
-import org.bonsaimind.jluascript.lua.system.types.functions.StaticMethodInvokingFunction;
+import org.bonsaimind.jluascript.lua.system.types.reflection.FieldAccessor;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.LuaValue;
 
@@ -56,77 +53,83 @@ public class StaticUserData extends AbstractReflectiveUserData {
 	/**
 	 * Creates a new instance of {@link StaticUserData}.
 	 *
-	 * @param clazz The {@link Class}, cannot be {@code null}.
-	 * @param coercer The {@link Coercer}, cannot be {@code null}.
-	 * @throws IllegalArgumentException If the {@code clazz} or the
-	 *         {@code coercer} is {@code null}.
+	 * @param members The {@link ClassMembers} of the {@link Class}, cannot be
+	 *        {@code null}.
+	 * @throws IllegalArgumentException If the {@code members} is {@code null}.
 	 */
-	public StaticUserData(Class<?> clazz, Coercer coercer) {
-		super(clazz, null, Verifier.notNull("clazz", clazz), Verifier.notNull("coercer", coercer));
+	public StaticUserData(ClassMembers members) {
+		super(Verifier.notNull("members", members).getMetadata().getClazz(), null, members);
 		
 		setup();
 	}
 	
 	/**
-	 * {@inheritDoc}
+	 * Creates a new instance of {@link StaticUserData}.
+	 *
+	 * @param clazz The {@link Class}, cannot be {@code null}.
+	 * @param coercer The {@link Coercer}, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the {@code clazz} or the
+	 *         {@code coercer} is {@code null}.
+	 * @deprecated This creates {@link ClassMembers} which are not shared with
+	 *             any other wrapper, use
+	 *             {@link Coercer#coerceClassToStaticLuaInstance(Class)} or
+	 *             {@link #StaticUserData(ClassMembers)} instead.
 	 */
-	@Override
-	protected LuaValue coerceMethodList(List<Method> methods) {
-		return new StaticMethodInvokingFunction(methods, coercer);
+	@Deprecated
+	public StaticUserData(Class<?> clazz, Coercer coercer) {
+		this(new ClassMembers(Verifier.notNull("clazz", clazz), Verifier.notNull("coercer", coercer)));
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected boolean fieldIsAvailable(Field field) {
-		return Modifier.isStatic(field.getModifiers())
-				&& Modifier.isPublic(field.getModifiers());
+	protected FieldAccessor findFieldAccessor(LuaValue name) {
+		return members.getStaticFieldAccessor(name);
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected boolean methodIsAvailable(Method method) {
-		return Modifier.isStatic(method.getModifiers())
-				&& Modifier.isPublic(method.getModifiers());
+	protected LuaValue findMethodFunction(String name) {
+		return members.getStaticMethodFunction(name);
 	}
 	
 	/**
 	 * Sets this static context up.
 	 */
 	protected void setup() {
-		cache.put(CLASS_FIELD_NAME, new InstanceUserData(clazz, coercer));
+		putIntoCache(CLASS_FIELD_NAME, coercer.coerceJavaToLua(clazz));
 		
 		if (clazz.isInterface()) {
-			cache.put(IMPLEMENT_NAME, new ClassCreatingFunction(clazz, coercer));
-			cache.put(IMPLEMENT_NEW_NAME, new ProxyInstanceCreatingFunction(clazz, coercer));
-			cache.put(EXTEND_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an interface and cannot be extended."));
-			cache.put(EXTEND_NEW_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an interface and cannot be extended."));
-			cache.put(CONSTRUCTOR_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an interface and cannot be instantiated."));
+			putIntoCache(IMPLEMENT_NAME, new ClassCreatingFunction(clazz, coercer));
+			putIntoCache(IMPLEMENT_NEW_NAME, new ProxyInstanceCreatingFunction(clazz, coercer));
+			putIntoCache(EXTEND_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an interface and cannot be extended."));
+			putIntoCache(EXTEND_NEW_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an interface and cannot be extended."));
+			putIntoCache(CONSTRUCTOR_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an interface and cannot be instantiated."));
 		} else {
-			cache.put(IMPLEMENT_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is not an interface."));
-			cache.put(IMPLEMENT_NEW_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is not an interface."));
+			putIntoCache(IMPLEMENT_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is not an interface."));
+			putIntoCache(IMPLEMENT_NEW_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is not an interface."));
 			
 			if (!Modifier.isFinal(clazz.getModifiers())) {
-				cache.put(EXTEND_NAME, new ClassCreatingFunction(clazz, coercer));
-				cache.put(EXTEND_NEW_NAME, new ProxyInstanceCreatingFunction(clazz, coercer));
+				putIntoCache(EXTEND_NAME, new ClassCreatingFunction(clazz, coercer));
+				putIntoCache(EXTEND_NEW_NAME, new ProxyInstanceCreatingFunction(clazz, coercer));
 			} else {
-				cache.put(EXTEND_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is marked as final and cannot be extended."));
-				cache.put(EXTEND_NEW_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is marked as final and cannot be extended."));
+				putIntoCache(EXTEND_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is marked as final and cannot be extended."));
+				putIntoCache(EXTEND_NEW_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is marked as final and cannot be extended."));
 			}
 			
 			if (!Modifier.isAbstract(clazz.getModifiers())) {
-				Constructor<?>[] constructors = clazz.getConstructors();
+				List<Constructor<?>> constructors = members.getMetadata().getConstructors();
 				
-				if (constructors.length > 0) {
-					cache.put(CONSTRUCTOR_NAME, new ConstructorInvokingFunction(Arrays.asList(constructors), coercer));
+				if (!constructors.isEmpty()) {
+					putIntoCache(CONSTRUCTOR_NAME, new ConstructorInvokingFunction(constructors, coercer).setDispatchMode(members.getDispatchMode()));
 				} else {
-					cache.put(CONSTRUCTOR_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " does not have any public constructors."));
+					putIntoCache(CONSTRUCTOR_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " does not have any public constructors."));
 				}
 			} else {
-				cache.put(CONSTRUCTOR_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an abstract class and cannot be instantiated."));
+				putIntoCache(CONSTRUCTOR_NAME, new ErrorThrowingFunction(clazz.getSimpleName() + " is an abstract class and cannot be instantiated."));
 			}
 		}
 	}
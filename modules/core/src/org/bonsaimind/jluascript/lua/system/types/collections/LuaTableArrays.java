@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import java.lang.reflect.Array;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link LuaTableArrays} is a static utility class for converting the
+ * sequence of a {@link LuaTable} into a Java array and the other way round.
+ * <p>
+ * The conversions are done in bulk, the target is allocated with the final
+ * size up front and filled in a single pass, primitive arrays are filled
+ * without boxing the elements.
+ */
+public final class LuaTableArrays {
+	/**
+	 * No instance required.
+	 */
+	private LuaTableArrays() {
+	}
+	
+	/**
+	 * Converts the sequence of the given {@link LuaTable} into a new array of
+	 * the given component type.
+	 * 
+	 * @param table The {@link LuaTable} to convert, cannot be {@code null}.
+	 * @param componentType The component type of the array, cannot be
+	 *        {@code null}.
+	 * @param coercer The {@link Coercer} to use for non-primitive elements,
+	 *        cannot be {@code null}.
+	 * @return The new array.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 * @throws LuaError If an element cannot be converted to the component
+	 *         type, for example because it is not integral or out of range.
+	 */
+	public static final Object toArray(LuaTable table, Class<?> componentType, Coercer coercer) {
+		Verifier.notNull("table", table);
+		Verifier.notNull("componentType", componentType);
+		Verifier.notNull("coercer", coercer);
+		
+		int length = table.rawlen();
+		
+		if (componentType == double.class) {
+			double[] array = new double[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = table.rawget(index + 1).checkdouble();
+			}
+			
+			return array;
+		} else if (componentType == int.class) {
+			int[] array = new int[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = ValueConversions.toInt(table.rawget(index + 1));
+			}
+			
+			return array;
+		} else if (componentType == long.class) {
+			long[] array = new long[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = ValueConversions.toLong(table.rawget(index + 1));
+			}
+			
+			return array;
+		} else if (componentType == float.class) {
+			float[] array = new float[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = (float)table.rawget(index + 1).checkdouble();
+			}
+			
+			return array;
+		} else if (componentType == boolean.class) {
+			boolean[] array = new boolean[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = table.rawget(index + 1).checkboolean();
+			}
+			
+			return array;
+		} else if (componentType == byte.class) {
+			byte[] array = new byte[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = ValueConversions.toByte(table.rawget(index + 1));
+			}
+			
+			return array;
+		} else if (componentType == short.class) {
+			short[] array = new short[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = ValueConversions.toShort(table.rawget(index + 1));
+			}
+			
+			return array;
+		} else if (componentType == char.class) {
+			char[] array = new char[length];
+			
+			for (int index = 0; index < length; index++) {
+				array[index] = ValueConversions.toChar(table.rawget(index + 1));
+			}
+			
+			return array;
+		} else if (componentType == void.class) {
+			throw new LuaError("Cannot create an array of <void>.");
+		}
+		
+		Object[] array = (Object[])Array.newInstance(componentType, length);
+		
+		try {
+			for (int index = 0; index < length; index++) {
+				array[index] = ValueConversions.toJava(table.rawget(index + 1), componentType, coercer);
+			}
+		} catch (ArrayStoreException e) {
+			throw new LuaError("Cannot store the elements of the table in an array of <" + componentType.getName() + ">.");
+		}
+		
+		return array;
+	}
+	
+	/**
+	 * Converts the given array into a new {@link LuaTable}.
+	 * 
+	 * @param array The array to convert, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for non-primitive elements,
+	 *        cannot be {@code null}.
+	 * @return The new {@link LuaTable}, with the elements of the given array
+	 *         as sequence.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null} or the given {@code array} is not an array.
+	 */
+	public static final LuaTable toTable(Object array, Coercer coercer) {
+		Verifier.notNull("array", array);
+		Verifier.notNull("coercer", coercer);
+		
+		if (!array.getClass().isArray()) {
+			throw new IllegalArgumentException("array must be an array.");
+		}
+		
+		LuaTable table = new LuaTable(Array.getLength(array), 0);
+		
+		if (array instanceof double[]) {
+			double[] doubles = (double[])array;
+			
+			for (int index = 0; index < doubles.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(doubles[index]));
+			}
+		} else if (array instanceof int[]) {
+			int[] ints = (int[])array;
+			
+			for (int index = 0; index < ints.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(ints[index]));
+			}
+		} else if (array instanceof long[]) {
+			long[] longs = (long[])array;
+			
+			for (int index = 0; index < longs.length; index++) {
+				table.rawset(index + 1, ValueConversions.toLua(longs[index], coercer));
+			}
+		} else if (array instanceof float[]) {
+			float[] floats = (float[])array;
+			
+			for (int index = 0; index < floats.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(floats[index]));
+			}
+		} else if (array instanceof boolean[]) {
+			boolean[] booleans = (boolean[])array;
+			
+			for (int index = 0; index < booleans.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(booleans[index]));
+			}
+		} else if (array instanceof byte[]) {
+			byte[] bytes = (byte[])array;
+			
+			for (int index = 0; index < bytes.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(bytes[index]));
+			}
+		} else if (array instanceof short[]) {
+			short[] shorts = (short[])array;
+			
+			for (int index = 0; index < shorts.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(shorts[index]));
+			}
+		} else if (array instanceof char[]) {
+			char[] chars = (char[])array;
+			
+			for (int index = 0; index < chars.length; index++) {
+				table.rawset(index + 1, LuaValue.valueOf(String.valueOf(chars[index])));
+			}
+		} else {
+			Object[] objects = (Object[])array;
+			
+			for (int index = 0; index < objects.length; index++) {
+				table.rawset(index + 1, coercer.coerceJavaToLua(objects[index]));
+			}
+		}
+		
+		return table;
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link LuaTableList} is a {@link java.util.List} which is backed by the
+ * sequence of a {@link LuaTable}, the (zero-based) index of the
+ * {@link java.util.List} is the (one-based) index of the {@link LuaTable}
+ * minus one.
+ * <p>
+ * Nothing is copied, the elements are coerced whenever they are accessed.
+ * As Lua sequences cannot contain {@code nil}, {@code null} elements are not
+ * permitted.
+ */
+public class LuaTableList extends AbstractList<Object> implements LuaTableView, RandomAccess {
+	/** The {@link Coercer} to use for the elements. */
+	protected Coercer coercer = null;
+	/** The backing {@link LuaTable}. */
+	protected LuaTable table = null;
+	
+	/**
+	 * Creates a new instance of {@link LuaTableList}.
+	 * 
+	 * @param table The backing {@link LuaTable}, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code table} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public LuaTableList(LuaTable table, Coercer coercer) {
+		super();
+		
+		this.table = Verifier.notNull("table", table);
+		this.coercer = Verifier.notNull("coercer", coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(int index, Object element) {
+		checkPositionIndex(index);
+		
+		table.insert(index + 1, coerceElement(element));
+		modCount++;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object get(int index) {
+		checkElementIndex(index);
+		
+		return LuaTableViews.toJava(table.rawget(index + 1), coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaTable getTable() {
+		return table;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object remove(int index) {
+		checkElementIndex(index);
+		
+		Object element = get(index);
+		
+		table.remove(index + 1);
+		modCount++;
+		
+		return element;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object set(int index, Object element) {
+		checkElementIndex(index);
+		
+		Object previousElement = get(index);
+		
+		table.rawset(index + 1, coerceElement(element));
+		
+		return previousElement;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return table.rawlen();
+	}
+	
+	/**
+	 * Checks that the given index is the index of an element.
+	 * 
+	 * @param index The index to check.
+	 * @throws IndexOutOfBoundsException If the given index is not the index of
+	 *         an element.
+	 */
+	protected void checkElementIndex(int index) {
+		int size = size();
+		
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index <" + index + "> is out of bounds for size <" + size + ">.");
+		}
+	}
+	
+	/**
+	 * Checks that the given index is a position at which an element can be
+	 * inserted.
+	 * 
+	 * @param index The index to check.
+	 * @throws IndexOutOfBoundsException If the given index is not a position
+	 *         at which an element can be inserted.
+	 */
+	protected void checkPositionIndex(int index) {
+		int size = size();
+		
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index <" + index + "> is out of bounds for size <" + size + ">.");
+		}
+	}
+	
+	/**
+	 * Coerces the given element to a {@link LuaValue}.
+	 * 
+	 * @param element The element to coerce.
+	 * @return The coerced element.
+	 * @throws NullPointerException If the given {@code element} is
+	 *         {@code null}.
+	 */
+	protected LuaValue coerceElement(Object element) {
+		if (element == null) {
+			throw new NullPointerException("Lua sequences cannot contain null elements.");
+		}
+		
+		return coercer.coerceJavaToLua(element);
+	}
+}
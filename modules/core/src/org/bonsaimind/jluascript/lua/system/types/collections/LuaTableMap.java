@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link LuaTableMap} is a {@link Map} which is backed by a
+ * {@link LuaTable}.
+ * <p>
+ * Nothing is copied, the keys and values are coerced whenever they are
+ * accessed. As Lua tables cannot contain {@code nil}, {@code null} keys are
+ * not permitted and putting a {@code null} value removes the entry. The
+ * {@link #size()} is determined by iterating over the {@link LuaTable}.
+ */
+public class LuaTableMap extends AbstractMap<Object, Object> implements LuaTableView {
+	/** The {@link Coercer} to use for the keys and values. */
+	protected Coercer coercer = null;
+	/** The lazily created {@link Set} of entries. */
+	protected Set<Map.Entry<Object, Object>> entrySet = null;
+	/** The backing {@link LuaTable}. */
+	protected LuaTable table = null;
+	
+	/**
+	 * Creates a new instance of {@link LuaTableMap}.
+	 * 
+	 * @param table The backing {@link LuaTable}, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code table} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public LuaTableMap(LuaTable table, Coercer coercer) {
+		super();
+		
+		this.table = Verifier.notNull("table", table);
+		this.coercer = Verifier.notNull("coercer", coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		if (key == null) {
+			return false;
+		}
+		
+		return !table.rawget(coercer.coerceJavaToLua(key)).isnil();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Map.Entry<Object, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		
+		return entrySet;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object get(Object key) {
+		if (key == null) {
+			return null;
+		}
+		
+		return LuaTableViews.toJava(table.rawget(coercer.coerceJavaToLua(key)), coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaTable getTable() {
+		return table;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return table.next(LuaValue.NIL).arg1().isnil();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object put(Object key, Object value) {
+		if (key == null) {
+			throw new NullPointerException("Lua tables cannot contain null keys.");
+		}
+		
+		LuaValue luaKey = coercer.coerceJavaToLua(key);
+		Object previousValue = LuaTableViews.toJava(table.rawget(luaKey), coercer);
+		
+		table.rawset(luaKey, coercer.coerceJavaToLua(value));
+		
+		return previousValue;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object remove(Object key) {
+		if (key == null) {
+			return null;
+		}
+		
+		return put(key, null);
+	}
+	
+	/**
+	 * The {@link EntrySet} is the {@link Set} of entries of the
+	 * {@link LuaTableMap}, which iterates directly over the {@link LuaTable}.
+	 */
+	protected class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+		/**
+		 * Creates a new instance of {@link EntrySet}.
+		 */
+		public EntrySet() {
+			super();
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clear() {
+			LuaValue key = table.next(LuaValue.NIL).arg1();
+			
+			while (!key.isnil()) {
+				LuaValue nextKey = table.next(key).arg1();
+				
+				table.rawset(key, LuaValue.NIL);
+				
+				key = nextKey;
+			}
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Map.Entry<Object, Object>> iterator() {
+			return new EntryIterator();
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			int size = 0;
+			LuaValue key = table.next(LuaValue.NIL).arg1();
+			
+			while (!key.isnil()) {
+				size++;
+				
+				key = table.next(key).arg1();
+			}
+			
+			return size;
+		}
+	}
+	
+	/**
+	 * The {@link EntryIterator} iterates over the entries of the
+	 * {@link LuaTable}.
+	 * <p>
+	 * The next entry is always fetched in advance, so that the current entry
+	 * can be removed without breaking the iteration.
+	 */
+	protected class EntryIterator implements Iterator<Map.Entry<Object, Object>> {
+		/** The key of the entry which has been returned last. */
+		protected LuaValue currentKey = LuaValue.NIL;
+		/** The next entry, with a {@code nil} key if there is none. */
+		protected Varargs nextEntry = null;
+		
+		/**
+		 * Creates a new instance of {@link EntryIterator}.
+		 */
+		public EntryIterator() {
+			super();
+			
+			this.nextEntry = table.next(LuaValue.NIL);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return !nextEntry.arg1().isnil();
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Map.Entry<Object, Object> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			
+			currentKey = nextEntry.arg1();
+			LuaValue currentValue = nextEntry.arg(2);
+			
+			nextEntry = table.next(currentKey);
+			
+			return new TableEntry(currentKey, currentValue);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (currentKey.isnil()) {
+				throw new IllegalStateException("There is no current entry.");
+			}
+			
+			table.rawset(currentKey, LuaValue.NIL);
+			currentKey = LuaValue.NIL;
+		}
+	}
+	
+	/**
+	 * The {@link TableEntry} is an entry of the {@link LuaTable}, setting its
+	 * value sets the value in the {@link LuaTable}.
+	 */
+	protected class TableEntry extends AbstractMap.SimpleEntry<Object, Object> {
+		private static final long serialVersionUID = 1L;
+		
+		/** The key in the {@link LuaTable}. */
+		protected LuaValue luaKey = null;
+		
+		/**
+		 * Creates a new instance of {@link TableEntry}.
+		 * 
+		 * @param luaKey The key in the {@link LuaTable}.
+		 * @param luaValue The value in the {@link LuaTable}.
+		 */
+		public TableEntry(LuaValue luaKey, LuaValue luaValue) {
+			super(LuaTableViews.toJava(luaKey, coercer), LuaTableViews.toJava(luaValue, coercer));
+			
+			this.luaKey = luaKey;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object setValue(Object value) {
+			if (value == null) {
+				throw new NullPointerException("Lua tables cannot contain null values.");
+			}
+			
+			table.rawset(luaKey, coercer.coerceJavaToLua(value));
+			
+			return super.setValue(value);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.collections;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link LuaTableViews} is a static utility class for exposing
+ * {@link LuaTable}s as Java collections, without copying them.
+ */
+public final class LuaTableViews {
+	/**
+	 * No instance required.
+	 */
+	private LuaTableViews() {
+	}
+	
+	/**
+	 * Tests whether the given type is a collection interface which a
+	 * {@link LuaTable} can be exposed as.
+	 * 
+	 * @param type The type to test, cannot be {@code null}.
+	 * @return {@code true} if the given type is {@link Iterable},
+	 *         {@link Collection}, {@link List} or {@link Map}.
+	 * @throws IllegalArgumentException If the given {@code type} is
+	 *         {@code null}.
+	 */
+	public static final boolean isViewType(Class<?> type) {
+		Verifier.notNull("type", type);
+		
+		return type == List.class
+				|| type == Map.class
+				|| type == Collection.class
+				|| type == Iterable.class;
+	}
+	
+	/**
+	 * Coerces the given {@link LuaValue} to a Java {@link Object}, exposing
+	 * {@link LuaTable}s as views.
+	 * <p>
+	 * A {@link LuaTable} is exposed as {@link LuaTableList} if it has a
+	 * sequence, otherwise as {@link LuaTableMap}.
+	 * 
+	 * @param value The {@link LuaValue} to coerce, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for everything else, cannot be
+	 *        {@code null}.
+	 * @return The coerced {@link Object}.
+	 * @throws IllegalArgumentException If the given {@code value} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public static final Object toJava(LuaValue value, Coercer coercer) {
+		Verifier.notNull("value", value);
+		Verifier.notNull("coercer", coercer);
+		
+		if (value instanceof LuaTable) {
+			LuaTable table = (LuaTable)value;
+			
+			if (table.rawlen() > 0) {
+				return new LuaTableList(table, coercer);
+			} else {
+				return new LuaTableMap(table, coercer);
+			}
+		}
+		
+		return coercer.coerceLuaToJava(value);
+	}
+	
+	/**
+	 * Exposes the given {@link LuaTable} as the given collection interface.
+	 * 
+	 * @param table The {@link LuaTable} to expose, cannot be {@code null}.
+	 * @param targetType The collection interface, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for the elements, cannot be
+	 *        {@code null}.
+	 * @return The {@link LuaTableMap} if the given {@code targetType} is
+	 *         {@link Map}, otherwise the {@link LuaTableList}.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null} or the given {@code targetType} is not a
+	 *         collection interface.
+	 * @see #isViewType(Class)
+	 */
+	public static final LuaTableView toView(LuaTable table, Class<?> targetType, Coercer coercer) {
+		Verifier.notNull("table", table);
+		Verifier.notNull("targetType", targetType);
+		Verifier.notNull("coercer", coercer);
+		
+		if (targetType == Map.class) {
+			return new LuaTableMap(table, coercer);
+		} else if (isViewType(targetType)) {
+			return new LuaTableList(table, coercer);
+		}
+		
+		throw new IllegalArgumentException("targetType <" + targetType.getName() + "> is not a collection interface.");
+	}
+}
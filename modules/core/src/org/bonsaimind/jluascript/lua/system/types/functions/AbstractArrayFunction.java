@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import org.bonsaimind.jluascript.lua.system.types.ArrayUserData;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+
+/**
+ * The {@link AbstractArrayFunction} is a {@link VarArgFunction} extension
+ * which is the base for the methods of an {@link ArrayUserData}, and checks
+ * that it is invoked on an array.
+ */
+public abstract class AbstractArrayFunction extends VarArgFunction {
+	/**
+	 * Creates a new instance of {@link AbstractArrayFunction}.
+	 */
+	protected AbstractArrayFunction() {
+		super();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Varargs invoke(Varargs args) {
+		LuaValue array = args.arg1();
+		
+		if (!(array instanceof ArrayUserData)) {
+			throw new LuaError("Must be invoked on an array, but was invoked on <" + array.typename() + ">.");
+		}
+		
+		return performAction((ArrayUserData)array, args);
+	}
+	
+	/**
+	 * Performs the action on the given {@link ArrayUserData}.
+	 * 
+	 * @param array The {@link ArrayUserData} on which the function was
+	 *        invoked.
+	 * @param args The arguments, including the array as first argument.
+	 * @return The result.
+	 */
+	protected abstract Varargs performAction(ArrayUserData array, Varargs args);
+}
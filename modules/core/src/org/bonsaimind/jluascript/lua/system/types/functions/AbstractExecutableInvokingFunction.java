@@ -19,41 +19,121 @@
 
 package org.bonsaimind.jluascript.lua.system.types.functions;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.bonsaimind.jluascript.lua.system.Coercer;
-import org.bonsaimind.jluascript.lua.system.types.reflection.LuaFunctionInvokingInvocationHandler;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableArrays;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableViews;
+import org.bonsaimind.jluascript.lua.system.types.reflection.BinaryConversions;
+import org.bonsaimind.jluascript.lua.system.types.reflection.FunctionalInterfaceProxies;
+import org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaTable;
 import org.luaj.vm2.LuaValue;
 import org.luaj.vm2.Varargs;
 import org.luaj.vm2.lib.VarArgFunction;
 
+import javassist.CannotCompileException;
+
 /**
  * The {@link AbstractExecutableInvokingFunction} is an {@link VarArgFunction}
  * provides the base for invoking a Java {@link Executable} from Lua with
  * variable arguments.
+ * <p>
+ * Instances are shared by all wrappers of the same {@link Class} and can be
+ * invoked concurrently. The caches are published through volatile fields and
+ * are replaced instead of being modified, so that they can be read without
+ * locking. Concurrent invocations might resolve or create the same entry more
+ * than once, which is harmless.
  * 
  * @param <EXECUTABLE_TYPE> The type of the {@link Executable} that is being
  *        executed.
  */
 public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends Executable> extends VarArgFunction {
+	/** The maximum amount of entries held by the polymorphic cache. */
+	public static final int POLYMORPHIC_CACHE_SIZE = 8;
+	
+	/**
+	 * The marker stored in {@link #methodHandles} for {@link Executable}s
+	 * which cannot be invoked through a {@link MethodHandle}.
+	 */
+	protected static final MethodHandle INACCESSIBLE_METHOD_HANDLE = MethodHandles.constant(Object.class, null);
+	/** The parameters used for invocations without any arguments. */
+	protected static final Object[] NO_PARAMETERS = new Object[0];
+	
+	/**
+	 * Whether any of the {@link #executables} accepts binary data, in which
+	 * case Lua strings are kept as they are until the {@link Executable} has
+	 * been resolved, so that they can be passed without decoding them.
+	 */
+	protected boolean binaryParameters = false;
+	/** How many invocations have been resolved through the cache. */
+	protected LongAdder cacheHitCount = new LongAdder();
+	/** How many invocations had to be resolved by scanning all overloads. */
+	protected LongAdder cacheMissCount = new LongAdder();
 	/** The {@link Coercer} to use. */
 	protected Coercer coercer = null;
+	/** The {@link DispatchMode} which is used to invoke the executables. */
+	protected DispatchMode dispatchMode = DispatchMode.METHOD_HANDLES;
+	/**
+	 * The stub generated by the {@link DispatchStubGenerator}, {@code null} if
+	 * not yet generated or if it could not be generated.
+	 */
+	protected volatile VarArgFunction dispatchStub = null;
+	/** Whether the {@link #dispatchStub} has already been generated. */
+	protected volatile boolean dispatchStubGenerated = false;
 	/** The {@link List} of {@link Executable}s to invoke. */
 	protected List<EXECUTABLE_TYPE> executables = null;
+	/**
+	 * The proxies which have been created for Lua functions, weakly keyed by
+	 * the identity of the Lua function and only weakly referenced, so that
+	 * passing the same Lua function again reuses the same proxy. Access must
+	 * be synchronized on the {@link Map}.
+	 */
+	protected Map<LuaValue, WeakReference<Object>> functionProxies = new WeakHashMap<>();
+	/**
+	 * The {@link MethodHandle}s for the {@link #executables}, at the same
+	 * index as the {@link Executable}, {@code null} if not yet created or
+	 * {@link #INACCESSIBLE_METHOD_HANDLE} if it could not be created.
+	 */
+	protected MethodHandle[] methodHandles = null;
+	/**
+	 * The last resolved {@link ResolvedExecutable}, checked first on every
+	 * invocation.
+	 */
+	protected volatile ResolvedExecutable<EXECUTABLE_TYPE> monomorphicCacheEntry = null;
+	/**
+	 * The types of the parameters of the {@link #executables}, at the same
+	 * index as the {@link Executable}, so that they do not need to be copied
+	 * on every invocation.
+	 */
+	protected Class<?>[][] parameterTypes = null;
+	/**
+	 * The resolved {@link ResolvedExecutable}s, the most recently resolved
+	 * first, checked if the {@link #monomorphicCacheEntry} did not match. The
+	 * {@link List} is never modified, but replaced.
+	 */
+	protected volatile List<ResolvedExecutable<EXECUTABLE_TYPE>> polymorphicCache = Collections.emptyList();
 	
 	/**
 	 * Creates a new instance of {@link AbstractExecutableInvokingFunction}.
-	 *
+	 * 
 	 * @param executables The {@link List} of {@link Executable}s to invoke,
 	 *        cannot be {@code null} or empty.
 	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
@@ -68,95 +148,389 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 		
 		this.executables = executables;
 		this.coercer = coercer;
+		
+		this.methodHandles = new MethodHandle[executables.size()];
+		this.parameterTypes = new Class<?>[executables.size()][];
+		
+		for (int index = 0; index < executables.size(); index++) {
+			this.parameterTypes[index] = executables.get(index).getParameterTypes();
+			
+			for (Class<?> parameterType : this.parameterTypes[index]) {
+				if (BinaryConversions.isBinaryType(parameterType)
+						|| (parameterType.isArray() && BinaryConversions.isBinaryType(parameterType.getComponentType()))) {
+					this.binaryParameters = true;
+				}
+			}
+		}
 	}
 	
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * Invokes the matching {@link Executable} without packaging the arguments
+	 * into {@link Varargs} first.
 	 */
 	@Override
-	public Varargs invoke(Varargs args) {
-		List<Object> parameters = coerceToJavaParameters(args);
-		EXECUTABLE_TYPE executable = findMatchingExecutable(parameters);
+	public LuaValue call() {
+		if (dispatchMode == DispatchMode.GENERATED) {
+			return super.call();
+		}
 		
-		if (executable == null) {
-			StringBuilder candidates = new StringBuilder();
-			
-			for (EXECUTABLE_TYPE candidateExecutable : executables) {
-				candidates.append("        ")
-						.append(getMethodSignature(candidateExecutable))
-						.append("\n");
-			}
-			
-			throw new LuaError(String.format("No matching method found for <%s>, possible candidates are: \n%s",
-					getRequestedMethodSignature(parameters),
-					candidates.toString()));
+		return invokeCoerced(NO_PARAMETERS);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Invokes the matching {@link Executable} without packaging the arguments
+	 * into {@link Varargs} first.
+	 */
+	@Override
+	public LuaValue call(LuaValue arg) {
+		if (dispatchMode == DispatchMode.GENERATED) {
+			return super.call(arg);
 		}
 		
-		for (int index = 0; index < parameters.size(); index++) {
-			Object parameter = parameters.get(index);
+		return invokeCoerced(new Object[] {
+				coerceToJavaParameter(arg) });
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Invokes the matching {@link Executable} without packaging the arguments
+	 * into {@link Varargs} first.
+	 */
+	@Override
+	public LuaValue call(LuaValue arg1, LuaValue arg2) {
+		if (dispatchMode == DispatchMode.GENERATED) {
+			return super.call(arg1, arg2);
+		}
+		
+		return invokeCoerced(new Object[] {
+				coerceToJavaParameter(arg1),
+				coerceToJavaParameter(arg2) });
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Invokes the matching {@link Executable} without packaging the arguments
+	 * into {@link Varargs} first.
+	 */
+	@Override
+	public LuaValue call(LuaValue arg1, LuaValue arg2, LuaValue arg3) {
+		if (dispatchMode == DispatchMode.GENERATED) {
+			return super.call(arg1, arg2, arg3);
+		}
+		
+		return invokeCoerced(new Object[] {
+				coerceToJavaParameter(arg1),
+				coerceToJavaParameter(arg2),
+				coerceToJavaParameter(arg3) });
+	}
+	
+	/**
+	 * Gets how many invocations have been resolved through the cache, without
+	 * scanning all overloads.
+	 * 
+	 * @return How many invocations have been resolved through the cache.
+	 */
+	public long getCacheHitCount() {
+		return cacheHitCount.sum();
+	}
+	
+	/**
+	 * Gets how many invocations could not be resolved through the cache and
+	 * had to scan all overloads.
+	 * 
+	 * @return How many invocations had to scan all overloads.
+	 */
+	public long getCacheMissCount() {
+		return cacheMissCount.sum();
+	}
+	
+	/**
+	 * Gets the {@link DispatchMode} which is used to invoke the executables.
+	 * 
+	 * @return The {@link DispatchMode} which is used to invoke the
+	 *         executables.
+	 */
+	public DispatchMode getDispatchMode() {
+		return dispatchMode;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Varargs invoke(Varargs args) {
+		if (dispatchMode == DispatchMode.GENERATED) {
+			VarArgFunction stub = getDispatchStub();
 			
-			if (parameter instanceof LuaFunctionParameter) {
-				Class<?> parameterType = executable.getParameterTypes()[Math.min(index, executable.getParameterTypes().length - 1)];
-				
-				parameters.set(index, Proxy.newProxyInstance(
-						getClass().getClassLoader(),
-						new Class<?>[] { parameterType },
-						new LuaFunctionInvokingInvocationHandler(((LuaFunctionParameter)parameter).getLuaFunction(), coercer)));
+			if (stub != null) {
+				return stub.invoke(args);
 			}
 		}
 		
-		if (hasVargArgsParameter(executable)) {
-			foldVarargs(executable, parameters);
+		return invokeResolving(args);
+	}
+	
+	/**
+	 * Invokes the matching {@link Executable} with the given arguments by
+	 * resolving it through the cache or by scanning all overloads.
+	 * <p>
+	 * This is also the fallback for the stub generated by the
+	 * {@link DispatchStubGenerator} for all arguments it cannot handle itself.
+	 * 
+	 * @param args The arguments, cannot be {@code null}.
+	 * @return The result of the invocation.
+	 * @throws LuaError If no matching {@link Executable} was found or the
+	 *         invocation failed.
+	 */
+	public Varargs invokeResolving(Varargs args) {
+		return invokeCoerced(coerceToJavaParameters(args));
+	}
+	
+	/**
+	 * Sets the {@link DispatchMode} which is used to invoke the executables.
+	 * 
+	 * @param dispatchMode The {@link DispatchMode} to use, cannot be
+	 *        {@code null}.
+	 * @return This instance.
+	 * @throws IllegalArgumentException If the given {@code dispatchMode} is
+	 *         {@code null}.
+	 */
+	public AbstractExecutableInvokingFunction<EXECUTABLE_TYPE> setDispatchMode(DispatchMode dispatchMode) {
+		Verifier.notNull("dispatchMode", dispatchMode);
+		
+		this.dispatchMode = dispatchMode;
+		
+		return this;
+	}
+	
+	/**
+	 * Coerces the given {@link Number} to the exact type of the parameter, so
+	 * that numbers which have been matched leniently by
+	 * {@link #isMatchingNumber(Class, Class)} can be passed.
+	 * <p>
+	 * The {@link Number} is only converted if the parameter does not accept it
+	 * as it is, primitive widening is left to the invocation, which means
+	 * that no new boxed value is created for it.
+	 * 
+	 * @param number The {@link Number} to coerce, cannot be {@code null}.
+	 * @param parameterType The type of the parameter, cannot be {@code null}.
+	 * @return The coerced {@link Number}.
+	 * @throws LuaError If the given {@link Number} is not integral or out of
+	 *         the range of an integral parameter type.
+	 */
+	protected Object coerceNumberParameter(Number number, Class<?> parameterType) {
+		Class<?> numberClass = number.getClass();
+		
+		if (isMatching(parameterType, numberClass)) {
+			return number;
 		}
 		
-		try {
-			return coercer.coerceJavaToLua(execute(executable, parameters));
-		} catch (Exception e) {
-			throw new LuaError(e);
+		if (parameterType == byte.class || parameterType == Byte.class) {
+			return Byte.valueOf((byte)ValueConversions.checkIntegral(number, Byte.MIN_VALUE, Byte.MAX_VALUE, parameterType));
+		} else if (parameterType == short.class || parameterType == Short.class) {
+			return Short.valueOf((short)ValueConversions.checkIntegral(number, Short.MIN_VALUE, Short.MAX_VALUE, parameterType));
+		} else if (parameterType == int.class || parameterType == Integer.class) {
+			return Integer.valueOf((int)ValueConversions.checkIntegral(number, Integer.MIN_VALUE, Integer.MAX_VALUE, parameterType));
+		} else if (parameterType == float.class && numberClass != Double.class) {
+			// Widened by the invocation.
+			return number;
+		} else if (parameterType == float.class || parameterType == Float.class) {
+			return Float.valueOf(number.floatValue());
+		} else if (parameterType == Long.class) {
+			return Long.valueOf(number.longValue());
+		} else if (parameterType == Double.class) {
+			return Double.valueOf(number.doubleValue());
+		}
+		
+		// The primitive long and double are widened by the invocation.
+		return number;
+	}
+	
+	/**
+	 * Coerces the given Lua string, which has been kept as is by
+	 * {@link #coerceToJavaParameter(LuaValue)}, to the given type of the
+	 * parameter.
+	 * 
+	 * @param string The Lua string to coerce, cannot be {@code null}.
+	 * @param parameterType The type of the parameter, cannot be {@code null}.
+	 * @return The coerced Lua string.
+	 * @see BinaryConversions#toBinary(LuaString, Class)
+	 */
+	protected Object coerceStringParameter(LuaString string, Class<?> parameterType) {
+		return BinaryConversions.toBinary(string, parameterType);
+	}
+	
+	/**
+	 * Coerces the given Lua table, which has been kept as is by
+	 * {@link #coerceToJavaParameter(LuaValue)}, to a view of the collection
+	 * interface or to a new array of the given type of the parameter.
+	 * 
+	 * @param table The Lua table to coerce, cannot be {@code null}.
+	 * @param parameterType The type of the parameter, cannot be {@code null}.
+	 * @return The coerced Lua table.
+	 * @see LuaTableArrays#toArray(LuaTable, Class, Coercer)
+	 * @see LuaTableViews#toView(LuaTable, Class, Coercer)
+	 */
+	protected Object coerceTableParameter(LuaTable table, Class<?> parameterType) {
+		if (parameterType.isArray()) {
+			return LuaTableArrays.toArray(table, parameterType.getComponentType(), coercer);
+		}
+		
+		return LuaTableViews.toView(table, parameterType, coercer);
+	}
+	
+	/**
+	 * Coerces the given argument into a Java {@link Object}.
+	 * <p>
+	 * Lua functions are not coerced but returned as they are, they are later
+	 * converted into a proxy of the functional interface that is expected by
+	 * the resolved {@link Executable}. The same goes for Lua tables, which are
+	 * later exposed as the collection or converted to the array expected by
+	 * the resolved {@link Executable}, and for Lua strings if any of the
+	 * {@link Executable}s accepts binary data, they are later converted to the
+	 * type expected by the resolved {@link Executable}.
+	 * 
+	 * @param arg The argument to coerce, cannot be {@code null}.
+	 * @return The coerced argument.
+	 */
+	protected Object coerceToJavaParameter(LuaValue arg) {
+		if (arg.isfunction()
+				|| arg instanceof LuaTable
+				|| (binaryParameters && arg instanceof LuaString)) {
+			return arg;
 		}
+		
+		return coercer.coerceLuaToJava(arg);
 	}
 	
 	/**
-	 * Coerces the given {@link Varargs} into a {@link List} of Java
-	 * {@link Object}s.
+	 * Coerces the given {@link Varargs} into an exactly sized array of Java
+	 * {@link Object}s with {@link #coerceToJavaParameter(LuaValue)}.
 	 * 
 	 * @param args The {@link Varargs} to coerce, cannot be {@code null}.
-	 * @return The {@link List} of coerced {@link Object}s, never {@code null}
-	 *         but may be empty.
+	 * @return The array of coerced {@link Object}s, never {@code null} but may
+	 *         be empty.
 	 * @throws IllegalArgumentException If the given {@code args} is
 	 *         {@code null}.
 	 */
-	protected List<Object> coerceToJavaParameters(Varargs args) {
+	protected Object[] coerceToJavaParameters(Varargs args) {
 		Verifier.notNull("args", args);
 		
-		List<Object> javaParameters = new ArrayList<>();
+		Object[] javaParameters = new Object[args.narg()];
+		
+		for (int index = 0; index < javaParameters.length; index++) {
+			javaParameters[index] = coerceToJavaParameter(args.arg(index + 1));
+		}
 		
-		for (int index = 1; index <= args.narg(); index++) {
-			LuaValue arg = args.arg(index);
+		return javaParameters;
+	}
+	
+	/**
+	 * Creates the {@link MethodHandle} for the given {@link Executable}.
+	 * <p>
+	 * The returned {@link MethodHandle} accepts all parameters as a single
+	 * {@link Object} array, exactly like the parameters given to
+	 * {@link #execute(Executable, Object[])}, and returns either
+	 * {@code void}, an {@code int}, a {@code long}, a {@code float}, a
+	 * {@code double}, a {@code boolean} or an {@link Object}, so that
+	 * primitive return values do not need to be boxed.
+	 * 
+	 * @param executable The {@link Executable} for which to create the
+	 *        {@link MethodHandle}, cannot be {@code null}.
+	 * @return The created {@link MethodHandle}.
+	 * @throws IllegalAccessException If the given {@link Executable} is not
+	 *         accessible.
+	 * @throws IllegalArgumentException If the given {@code executable} is
+	 *         {@code null}.
+	 */
+	protected MethodHandle createMethodHandle(EXECUTABLE_TYPE executable) throws IllegalAccessException {
+		Verifier.notNull("executable", executable);
+		
+		MethodHandle methodHandle = unreflect(executable).asFixedArity();
+		int parameterCount = methodHandle.type().parameterCount();
+		Class<?> returnType = methodHandle.type().returnType();
+		
+		MethodType methodType = MethodType.genericMethodType(parameterCount);
+		
+		if (returnType == void.class
+				|| returnType == int.class
+				|| returnType == long.class
+				|| returnType == float.class
+				|| returnType == double.class
+				|| returnType == boolean.class) {
+			methodType = methodType.changeReturnType(returnType);
+		}
+		
+		return methodHandle
+				.asType(methodType)
+				.asSpreader(Object[].class, parameterCount);
+	}
+	
+	/**
+	 * Invokes the given {@link Executable} with the given parameters according
+	 * to the current {@link DispatchMode}.
+	 * 
+	 * @param executable The {@link Executable}, cannot be {@code null}.
+	 * @param parameters The parameters, cannot be {@code null} but may be
+	 *        empty.
+	 * @return The coerced return value of the {@link Executable}s execution.
+	 * @throws Throwable Any thrown by the given {@link Executable}.
+	 */
+	protected LuaValue dispatch(EXECUTABLE_TYPE executable, Object[] parameters) throws Throwable {
+		if (dispatchMode != DispatchMode.REFLECTION) {
+			MethodHandle methodHandle = getMethodHandle(executable);
 			
-			if (arg.isfunction()) {
-				javaParameters.add(new LuaFunctionParameter(arg));
-			} else {
-				javaParameters.add(coercer.coerceLuaToJava(arg));
+			if (methodHandle != null) {
+				Class<?> returnType = methodHandle.type().returnType();
+				
+				if (returnType == void.class) {
+					methodHandle.invokeExact(parameters);
+					
+					return LuaValue.NIL;
+				} else if (returnType == int.class) {
+					return LuaValue.valueOf((int)methodHandle.invokeExact(parameters));
+				} else if (returnType == double.class) {
+					return LuaValue.valueOf((double)methodHandle.invokeExact(parameters));
+				} else if (returnType == boolean.class) {
+					return LuaValue.valueOf((boolean)methodHandle.invokeExact(parameters));
+				} else if (returnType == long.class) {
+					return ValueConversions.toLua((long)methodHandle.invokeExact(parameters), coercer);
+				} else if (returnType == float.class) {
+					return LuaValue.valueOf((float)methodHandle.invokeExact(parameters));
+				}
+				
+				return coercer.coerceJavaToLua((Object)methodHandle.invokeExact(parameters));
 			}
 		}
 		
-		return javaParameters;
+		return coercer.coerceJavaToLua(execute(executable, parameters));
 	}
 	
 	/**
 	 * Executes the given {@link Executable} with the given parameters.
 	 * 
 	 * @param executable The {@link Executable}, cannot be {@code null}.
-	 * @param parameters The {@link List} of parameters, cannot be {@code null}
-	 *        but may be empty.
+	 * @param parameters The parameters, cannot be {@code null} but may be
+	 *        empty.
 	 * @return The return value of the {@link Executable}s execution.
 	 * @throws Exception Any thrown by the given {@link Executable}.
 	 */
-	protected abstract Object execute(EXECUTABLE_TYPE executable, List<Object> parameters) throws Exception;
+	protected abstract Object execute(EXECUTABLE_TYPE executable, Object[] parameters) throws Exception;
 	
 	/**
 	 * Findes the {@link Executable} which matches the given parameters.
+	 * <p>
+	 * The parameters are first matched strictly, only if no {@link Executable}
+	 * matches that way are they matched leniently, which means that Lua
+	 * strings are matched against binary parameters and numbers against
+	 * numeric parameters they need to be converted for, see
+	 * {@link #isMatchingNumber(Class, Class)}.
 	 * 
 	 * @param parameters The parameters that must match, cannot be {@code null}
 	 *        but may be empty.
@@ -164,11 +538,21 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	 * @throws IllegalArgumentException If the given {@code parameters} are
 	 *         {@code null}.
 	 */
-	protected EXECUTABLE_TYPE findMatchingExecutable(List<Object> parameters) {
+	protected EXECUTABLE_TYPE findMatchingExecutable(Object[] parameters) {
 		Verifier.notNull("parameters", parameters);
 		
+		int parameterOffset = getParameterOffset();
+		
 		for (EXECUTABLE_TYPE executable : executables) {
-			if (isMatching(executable, parameters)) {
+			if (isMatching(executable, parameters, parameterOffset, false)) {
+				return executable;
+			}
+		}
+		
+		// Strings are only passed as binary data and numbers are only
+		// converted if there is no overload which accepts them as they are.
+		for (EXECUTABLE_TYPE executable : executables) {
+			if (isMatching(executable, parameters, parameterOffset, true)) {
 				return executable;
 			}
 		}
@@ -184,35 +568,180 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	 *        cannot be {@code null}.
 	 * @param parameters The parameters to use, cannot be {@code null} but may
 	 *        be empty.
+	 * @return The parameters with the varargs folded, might be the given
+	 *         array if there was nothing to fold.
 	 * @throws IllegalArgumentException If the given {@code executable} or
 	 *         {@code parameters} is {@code null}.
 	 */
-	protected void foldVarargs(EXECUTABLE_TYPE executable, List<Object> parameters) {
+	protected Object[] foldVarargs(EXECUTABLE_TYPE executable, Object[] parameters) {
 		Verifier.notNull("executable", executable);
 		Verifier.notNull("parameters", parameters);
 		
 		Parameter varArgParameter = executable.getParameters()[executable.getParameterCount() - 1];
+		int parameterCount = getParameterOffset() + executable.getParameterCount();
 		
-		if (parameters.size() >= executable.getParameterCount()) {
-			if (parameters.size() == executable.getParameterCount()
-					&& parameters.get(parameters.size() - 1).getClass().isArray()) {
-				// Keep as is.
-			} else {
-				Object[] varargs = (Object[])Array.newInstance(
-						varArgParameter.getType().getComponentType(),
-						parameters.size() - executable.getParameterCount() + 1);
+		if (parameters.length == parameterCount
+				&& parameters[parameters.length - 1] != null
+				&& parameters[parameters.length - 1].getClass().isArray()) {
+			// Keep as is.
+			return parameters;
+		}
+		
+		Object[] foldedParameters = new Object[parameterCount];
+		System.arraycopy(parameters, 0, foldedParameters, 0, parameterCount - 1);
+		
+		Object[] varargs = (Object[])Array.newInstance(
+				varArgParameter.getType().getComponentType(),
+				Math.max(0, parameters.length - parameterCount + 1));
+		
+		System.arraycopy(parameters, parameterCount - 1, varargs, 0, varargs.length);
+		
+		foldedParameters[parameterCount - 1] = varargs;
+		
+		return foldedParameters;
+	}
+	
+	/**
+	 * Gets the stub generated by the {@link DispatchStubGenerator}, generating
+	 * it on first use.
+	 * 
+	 * @return The generated stub, {@code null} if it could not be generated
+	 *         and the executables must be resolved instead.
+	 */
+	protected VarArgFunction getDispatchStub() {
+		if (!dispatchStubGenerated) {
+			synchronized (this) {
+				if (!dispatchStubGenerated) {
+					try {
+						dispatchStub = DispatchStubGenerator.INSTANCE.generate(this);
+					} catch (CannotCompileException | ReflectiveOperationException e) {
+						// The stub could not be generated, we will fall back
+						// to resolving the executables.
+						dispatchStub = null;
+					}
+					
+					dispatchStubGenerated = true;
+				}
+			}
+		}
+		
+		return dispatchStub;
+	}
+	
+	/**
+	 * Gets the proxy of the given functional interface for the given Lua
+	 * function, reusing the last one created for the same Lua function if it
+	 * implements the given functional interface.
+	 * 
+	 * @param luaFunction The Lua function, cannot be {@code null}.
+	 * @param functionalInterface The functional interface which must be
+	 *        implemented by the proxy, cannot be {@code null}.
+	 * @return The proxy.
+	 * @throws IllegalArgumentException If the given {@code luaFunction} or
+	 *         {@code functionalInterface} is {@code null}.
+	 */
+	protected Object getFunctionProxy(LuaValue luaFunction, Class<?> functionalInterface) {
+		Verifier.notNull("luaFunction", luaFunction);
+		Verifier.notNull("functionalInterface", functionalInterface);
+		
+		WeakReference<Object> proxyReference = null;
+		
+		synchronized (functionProxies) {
+			proxyReference = functionProxies.get(luaFunction);
+		}
+		
+		if (proxyReference != null) {
+			Object proxy = proxyReference.get();
+			
+			if (functionalInterface.isInstance(proxy)) {
+				return proxy;
+			}
+		}
+		
+		Object proxy = FunctionalInterfaceProxies.createProxy(functionalInterface, luaFunction, coercer);
+		
+		synchronized (functionProxies) {
+			functionProxies.put(luaFunction, new WeakReference<>(proxy));
+		}
+		
+		return proxy;
+	}
+	
+	/**
+	 * Gets the {@link MethodHandle} for the given {@link Executable}, creating
+	 * it on first use.
+	 * 
+	 * @param executable The {@link Executable} for which to get the
+	 *        {@link MethodHandle}, cannot be {@code null}.
+	 * @return The {@link MethodHandle}, {@code null} if it could not be
+	 *         created and core reflection must be used instead.
+	 */
+	protected MethodHandle getMethodHandle(EXECUTABLE_TYPE executable) {
+		for (int index = 0; index < methodHandles.length; index++) {
+			if (executables.get(index) == executable) {
+				MethodHandle methodHandle = methodHandles[index];
 				
-				for (int index = 0; index < varargs.length; index++) {
-					varargs[index] = parameters.remove(executable.getParameterCount() - 1);
+				if (methodHandle == null) {
+					try {
+						methodHandle = createMethodHandle(executable);
+					} catch (IllegalAccessException e) {
+						// Not accessible through a MethodHandle, we will fall
+						// back to reflection for this one.
+						methodHandle = INACCESSIBLE_METHOD_HANDLE;
+					}
+					
+					// MethodHandles are immutable, so it is safe to publish
+					// them like this, at worst they are created twice.
+					methodHandles[index] = methodHandle;
 				}
 				
-				parameters.add(varargs);
+				if (methodHandle == INACCESSIBLE_METHOD_HANDLE) {
+					return null;
+				}
+				
+				return methodHandle;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Gets the type of the parameter of the given {@link Executable} at the
+	 * given index, which is the component type of the varargs parameter for
+	 * all indexes covered by it.
+	 * 
+	 * @param executable The {@link Executable}, cannot be {@code null}.
+	 * @param parameterTypes The types of the parameters of the
+	 *        {@link Executable}, cannot be {@code null}.
+	 * @param parameterIndex The index of the parameter.
+	 * @return The type of the parameter.
+	 */
+	protected Class<?> getParameterType(EXECUTABLE_TYPE executable, Class<?>[] parameterTypes, int parameterIndex) {
+		Class<?> parameterType = parameterTypes[Math.min(parameterIndex, parameterTypes.length - 1)];
+		
+		if (executable.isVarArgs() && parameterIndex >= parameterTypes.length - 1) {
+			parameterType = parameterType.getComponentType();
+		}
+		
+		return parameterType;
+	}
+	
+	/**
+	 * Gets the types of the parameters of the given {@link Executable}.
+	 * 
+	 * @param executable The {@link Executable}, cannot be {@code null}.
+	 * @return The types of the parameters, the returned array must not be
+	 *         modified.
+	 */
+	protected Class<?>[] getParameterTypes(EXECUTABLE_TYPE executable) {
+		for (int index = 0; index < parameterTypes.length; index++) {
+			if (executables.get(index) == executable) {
+				return parameterTypes[index];
 			}
-		} else {
-			parameters.add(Array.newInstance(
-					varArgParameter.getType().getComponentType(),
-					0));
 		}
+		
+		return executable.getParameterTypes();
 	}
 	
 	/**
@@ -264,6 +793,17 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 		return signature.toString();
 	}
 	
+	/**
+	 * Gets the index of the first coerced parameter which is passed to the
+	 * {@link Executable}, all parameters before it are not matched against
+	 * the parameters of the {@link Executable}.
+	 * 
+	 * @return The index of the first parameter of the {@link Executable}.
+	 */
+	protected int getParameterOffset() {
+		return 0;
+	}
+	
 	/**
 	 * Builds a {@link String} of the signature of the given parameters for
 	 * debugging/logging purposes.
@@ -274,13 +814,18 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	 * @throws IllegalArgumentException If the given {@code parameters} is
 	 *         {@code null}.
 	 */
-	protected String getRequestedMethodSignature(List<Object> parameters) {
+	protected String getRequestedMethodSignature(Object[] parameters) {
 		Verifier.notNull("parameters", parameters);
 		
 		StringBuilder methodSignature = new StringBuilder();
 		
-		for (Object parameter : parameters) {
-			if (parameter != null) {
+		for (int index = getParameterOffset(); index < parameters.length; index++) {
+			Object parameter = parameters[index];
+			
+			if (parameter instanceof LuaString) {
+				methodSignature.append(String.class.getName())
+						.append(", ");
+			} else if (parameter != null) {
 				methodSignature.append(parameter.getClass().getName())
 						.append(", ");
 			} else {
@@ -288,7 +833,7 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 			}
 		}
 		
-		if (!parameters.isEmpty()) {
+		if (methodSignature.length() > 0) {
 			methodSignature.delete(methodSignature.length() - 2, methodSignature.length());
 		}
 		
@@ -307,8 +852,90 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	protected boolean hasVargArgsParameter(Executable executable) {
 		Verifier.notNull("executable", executable);
 		
-		return executable.getParameterCount() > 0
-				&& executable.getParameters()[executable.getParameterCount() - 1].isVarArgs();
+		return executable.isVarArgs();
+	}
+	
+	/**
+	 * Invokes the matching {@link Executable} with the given already coerced
+	 * parameters, resolving it through the cache or by scanning all
+	 * overloads.
+	 * 
+	 * @param parameters The coerced parameters, as returned by
+	 *        {@link #coerceToJavaParameters(Varargs)}, cannot be {@code null}
+	 *        but may be empty. The array might be modified.
+	 * @return The result of the invocation.
+	 * @throws IllegalArgumentException If the given {@code parameters} is
+	 *         {@code null}.
+	 * @throws LuaError If no matching {@link Executable} was found or the
+	 *         invocation failed.
+	 */
+	protected LuaValue invokeCoerced(Object[] parameters) {
+		Verifier.notNull("parameters", parameters);
+		
+		EXECUTABLE_TYPE executable = resolveExecutable(parameters);
+		
+		if (executable == null) {
+			StringBuilder candidates = new StringBuilder();
+			
+			for (EXECUTABLE_TYPE candidateExecutable : executables) {
+				candidates.append("        ")
+						.append(getMethodSignature(candidateExecutable))
+						.append("\n");
+			}
+			
+			throw new LuaError(String.format("No matching method found for <%s>, possible candidates are: \n%s",
+					getRequestedMethodSignature(parameters),
+					candidates.toString()));
+		}
+		
+		int parameterOffset = getParameterOffset();
+		Class<?>[] executableParameterTypes = null;
+		
+		for (int index = 0; index < parameters.length; index++) {
+			Object parameter = parameters[index];
+			
+			if (index < parameterOffset) {
+				if (parameter instanceof LuaString) {
+					parameters[index] = ((LuaString)parameter).tojstring();
+				}
+			} else if (parameter instanceof LuaString
+					|| parameter instanceof LuaTable
+					|| parameter instanceof Number
+					|| isLuaFunctionParameter(parameter)) {
+				if (executableParameterTypes == null) {
+					executableParameterTypes = getParameterTypes(executable);
+				}
+				
+				Class<?> parameterType = getParameterType(executable, executableParameterTypes, index - parameterOffset);
+				
+				if (parameter instanceof LuaString) {
+					parameters[index] = coerceStringParameter((LuaString)parameter, parameterType);
+				} else if (parameter instanceof LuaTable) {
+					parameters[index] = coerceTableParameter((LuaTable)parameter, parameterType);
+				} else if (parameter instanceof Number) {
+					parameters[index] = coerceNumberParameter((Number)parameter, parameterType);
+				} else {
+					parameters[index] = getFunctionProxy((LuaValue)parameter, parameterType);
+				}
+			}
+		}
+		
+		Object[] invocationParameters = parameters;
+		
+		if (hasVargArgsParameter(executable)) {
+			invocationParameters = foldVarargs(executable, parameters);
+		}
+		
+		try {
+			return dispatch(executable, invocationParameters);
+		} catch (VirtualMachineError e) {
+			throw e;
+		} catch (Throwable e) {
+			// Any other Error is wrapped as well, like it was when it reached
+			// us wrapped in an InvocationTargetException, so that it can be
+			// caught from Lua.
+			throw new LuaError(e);
+		}
 	}
 	
 	/**
@@ -323,17 +950,18 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	protected boolean isFunctionalInterface(Class<?> clazz) {
 		Verifier.notNull("clazz", clazz);
 		
-		if (!clazz.isInterface()) {
-			return false;
-		}
-		
-		for (Method method : clazz.getMethods()) {
-			if (!method.isDefault() && !Modifier.isAbstract(method.getModifiers())) {
-				return false;
-			}
-		}
-		
-		return true;
+		return FunctionalInterfaceProxies.isFunctionalInterface(clazz);
+	}
+	
+	/**
+	 * Tests if the given coerced parameter is a Lua function, which has been
+	 * kept as is by {@link #coerceToJavaParameters(Varargs)}.
+	 * 
+	 * @param parameter The coerced parameter to test, can be {@code null}.
+	 * @return {@code true} if the given parameter is a Lua function.
+	 */
+	protected boolean isLuaFunctionParameter(Object parameter) {
+		return parameter instanceof LuaValue && ((LuaValue)parameter).isfunction();
 	}
 	
 	/**
@@ -373,18 +1001,41 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	 *        {@code null}.
 	 * @param parameters The parameters that should match, cannot be
 	 *        {@code null} but may be empty.
+	 * @param parameterOffset The index of the first parameter in the given
+	 *        {@code parameters} which is passed to the {@link Executable}.
+	 * @return {@code true} if the given parameters match the given
+	 *         {@link Executable}.
+	 * @throws IllegalArgumentException If the given {@code executable} or
+	 *         {@code parameters} is {@code null}.
+	 */
+	protected boolean isMatching(Executable executable, Object[] parameters, int parameterOffset) {
+		return isMatching(executable, parameters, parameterOffset, true);
+	}
+	
+	/**
+	 * Tests if the given parameters match the given {@link Executable}.
+	 * 
+	 * @param executable The {@link Executable} that is wanted, cannot be
+	 *        {@code null}.
+	 * @param parameters The parameters that should match, cannot be
+	 *        {@code null} but may be empty.
+	 * @param parameterOffset The index of the first parameter in the given
+	 *        {@code parameters} which is passed to the {@link Executable}.
+	 * @param lenient Whether Lua strings match binary parameters and numbers
+	 *        match numeric parameters they need to be converted for.
 	 * @return {@code true} if the given parameters match the given
 	 *         {@link Executable}.
 	 * @throws IllegalArgumentException If the given {@code executable} or
 	 *         {@code parameters} is {@code null}.
 	 */
-	protected boolean isMatching(Executable executable, List<Object> parameters) {
+	protected boolean isMatching(Executable executable, Object[] parameters, int parameterOffset, boolean lenient) {
 		Verifier.notNull("executable", executable);
 		Verifier.notNull("parameters", parameters);
 		
 		Parameter[] methodParameters = executable.getParameters();
+		int parameterCount = parameters.length - parameterOffset;
 		
-		if (parameters.size() != methodParameters.length
+		if (parameterCount != methodParameters.length
 				&& (methodParameters.length <= 0
 						|| !methodParameters[methodParameters.length - 1].isVarArgs())) {
 			return false;
@@ -397,38 +1048,55 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 				// Test if the remaining parameters are matching.
 				Class<?> methodParameterType = methodParameter.getType();
 				
-				if (parameterIndex < parameters.size()) {
-					Object parameter = parameters.get(parameterIndex);
+				if (parameterIndex < parameterCount) {
+					Object parameter = parameters[parameterOffset + parameterIndex];
 					
-					if (parameter.getClass().isArray()) {
+					if (parameter != null && parameter.getClass().isArray()) {
 						if (!methodParameterType.isAssignableFrom(parameter.getClass())) {
 							return false;
 						}
 					} else {
 						Class<?> methodParameterClass = methodParameterType.getComponentType();
 						
-						for (; parameterIndex < parameters.size(); parameterIndex++) {
-							parameter = parameters.get(parameterIndex);
+						for (; parameterIndex < parameterCount; parameterIndex++) {
+							parameter = parameters[parameterOffset + parameterIndex];
 							
-							if (!methodParameterClass.isAssignableFrom(parameter.getClass())) {
+							if (parameter instanceof LuaString) {
+								if (!isMatchingString(methodParameterClass, lenient)) {
+									return false;
+								}
+							} else if (parameter instanceof LuaTable) {
+								if (!isMatchingTable(methodParameterClass)) {
+									return false;
+								}
+							} else if (parameter != null && !methodParameterClass.isAssignableFrom(parameter.getClass())) {
 								return false;
 							}
 						}
 					}
 				}
 			} else {
-				if (parameterIndex >= parameters.size()) {
+				if (parameterIndex >= parameterCount) {
 					return false;
 				}
 				
-				Object parameter = parameters.get(parameterIndex);
+				Object parameter = parameters[parameterOffset + parameterIndex];
 				
 				if (parameter != null) {
-					if (parameter instanceof LuaFunctionParameter) {
+					if (isLuaFunctionParameter(parameter)) {
 						if (!isFunctionalInterface(methodParameter.getType())) {
 							return false;
 						}
-					} else if (!isMatching(methodParameter.getType(), parameter.getClass())) {
+					} else if (parameter instanceof LuaString) {
+						if (!isMatchingString(methodParameter.getType(), lenient)) {
+							return false;
+						}
+					} else if (parameter instanceof LuaTable) {
+						if (!isMatchingTable(methodParameter.getType())) {
+							return false;
+						}
+					} else if (!isMatching(methodParameter.getType(), parameter.getClass())
+							&& !(lenient && isMatchingNumber(methodParameter.getType(), parameter.getClass()))) {
 						return false;
 					}
 				}
@@ -439,35 +1107,227 @@ public abstract class AbstractExecutableInvokingFunction<EXECUTABLE_TYPE extends
 	}
 	
 	/**
-	 * A simple wrapper around a {@link LuaValue} that is a function.
+	 * Tests if a number of the given {@link Class}, as returned by the
+	 * {@link Coercer}, can be converted to a parameter of the given
+	 * {@link Class}.
+	 * <p>
+	 * {@link Integer}s can be converted to all numeric types, {@link Long}s,
+	 * which are only returned for values outside of the {@code int} range, to
+	 * {@code long}, {@code float} and {@code double}, and {@link Double}s,
+	 * which are only returned for non-integral values, to {@code float} and
+	 * {@code double}, each of them also to the boxed type. Whether the value
+	 * does fit into a narrower type is only checked when it is converted.
+	 * 
+	 * @param expectedClass The {@link Class} that is being expected, cannot be
+	 *        {@code null}.
+	 * @param clazz The {@link Class} that is given, cannot be {@code null}.
+	 * @return {@code true} if a number of the given {@link Class} can be
+	 *         converted.
+	 */
+	protected boolean isMatchingNumber(Class<?> expectedClass, Class<?> clazz) {
+		boolean acceptsFloatingPoint = expectedClass == double.class
+				|| expectedClass == Double.class
+				|| expectedClass == float.class
+				|| expectedClass == Float.class;
+		
+		if (clazz == Double.class) {
+			return acceptsFloatingPoint;
+		}
+		
+		boolean acceptsLong = acceptsFloatingPoint
+				|| expectedClass == long.class
+				|| expectedClass == Long.class;
+		
+		if (clazz == Long.class) {
+			return acceptsLong;
+		}
+		
+		if (clazz == Integer.class) {
+			return acceptsLong
+					|| expectedClass == Integer.class
+					|| expectedClass == short.class
+					|| expectedClass == Short.class
+					|| expectedClass == byte.class
+					|| expectedClass == Byte.class;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Tests if a Lua string can be passed to a parameter of the given
+	 * {@link Class}.
+	 * 
+	 * @param expectedClass The {@link Class} that is being expected, cannot be
+	 *        {@code null}.
+	 * @param lenient Whether Lua strings match binary parameters.
+	 * @return {@code true} if a Lua string can be passed.
 	 */
-	protected static class LuaFunctionParameter {
-		/** The function. */
-		protected LuaValue luaFunction = null;
+	protected boolean isMatchingString(Class<?> expectedClass, boolean lenient) {
+		return isMatching(expectedClass, String.class)
+				|| (lenient && BinaryConversions.isBinaryType(expectedClass));
+	}
+	
+	/**
+	 * Tests if a Lua table can be passed to a parameter of the given
+	 * {@link Class}, which is the case for collection interfaces and arrays.
+	 * 
+	 * @param expectedClass The {@link Class} that is being expected, cannot be
+	 *        {@code null}.
+	 * @return {@code true} if a Lua table can be passed.
+	 */
+	protected boolean isMatchingTable(Class<?> expectedClass) {
+		return LuaTableViews.isViewType(expectedClass) || expectedClass.isArray();
+	}
+	
+	/**
+	 * Resolves the {@link Executable} which matches the given parameters.
+	 * <p>
+	 * The resolution is cached by the {@link Class}es of the given parameters,
+	 * the last match is checked first, then the previous matches, and only if
+	 * none of these matches are all overloads scanned through
+	 * {@link #findMatchingExecutable(Object[])}.
+	 * 
+	 * @param parameters The parameters that must match, cannot be {@code null}
+	 *        but may be empty.
+	 * @return The matching {@link Executable}, or {@code null} if none matched.
+	 * @throws IllegalArgumentException If the given {@code parameters} are
+	 *         {@code null}.
+	 */
+	protected EXECUTABLE_TYPE resolveExecutable(Object[] parameters) {
+		Verifier.notNull("parameters", parameters);
 		
+		ResolvedExecutable<EXECUTABLE_TYPE> monomorphicEntry = monomorphicCacheEntry;
+		
+		if (monomorphicEntry != null && monomorphicEntry.matches(parameters)) {
+			cacheHitCount.increment();
+			
+			return monomorphicEntry.getExecutable();
+		}
+		
+		List<ResolvedExecutable<EXECUTABLE_TYPE>> polymorphicEntries = polymorphicCache;
+		
+		for (int index = 0; index < polymorphicEntries.size(); index++) {
+			ResolvedExecutable<EXECUTABLE_TYPE> cacheEntry = polymorphicEntries.get(index);
+			
+			if (cacheEntry.matches(parameters)) {
+				cacheHitCount.increment();
+				
+				monomorphicCacheEntry = cacheEntry;
+				
+				return cacheEntry.getExecutable();
+			}
+		}
+		
+		cacheMissCount.increment();
+		
+		EXECUTABLE_TYPE executable = findMatchingExecutable(parameters);
+		
+		if (executable != null) {
+			ResolvedExecutable<EXECUTABLE_TYPE> cacheEntry = new ResolvedExecutable<>(parameters, executable);
+			
+			List<ResolvedExecutable<EXECUTABLE_TYPE>> updatedPolymorphicEntries = new ArrayList<>(POLYMORPHIC_CACHE_SIZE);
+			updatedPolymorphicEntries.add(cacheEntry);
+			updatedPolymorphicEntries.addAll(polymorphicEntries.subList(0, Math.min(polymorphicEntries.size(), POLYMORPHIC_CACHE_SIZE - 1)));
+			
+			polymorphicCache = updatedPolymorphicEntries;
+			monomorphicCacheEntry = cacheEntry;
+		}
+		
+		return executable;
+	}
+	
+	/**
+	 * Converts the given {@link Executable} into a {@link MethodHandle}
+	 * without any further adaption.
+	 * 
+	 * @param executable The {@link Executable} to convert, cannot be
+	 *        {@code null}.
+	 * @return The {@link MethodHandle} for the given {@link Executable}.
+	 * @throws IllegalAccessException If the given {@link Executable} is not
+	 *         accessible.
+	 */
+	protected abstract MethodHandle unreflect(EXECUTABLE_TYPE executable) throws IllegalAccessException;
+	
+	/**
+	 * The {@link ResolvedExecutable} is a cache entry which associates the
+	 * {@link Class}es of the parameters with the {@link Executable} they
+	 * resolved to.
+	 * 
+	 * @param <EXECUTABLE_TYPE> The type of the {@link Executable}.
+	 */
+	protected static class ResolvedExecutable<EXECUTABLE_TYPE extends Executable> {
+		/** The resolved {@link Executable}. */
+		protected EXECUTABLE_TYPE executable = null;
 		/**
-		 * Creates a new instance of {@link LuaFunctionParameter}.
-		 *
-		 * @param luaFunction The {@link LuaValue Lua function}, cannot be
+		 * The {@link Class}es of the parameters, {@code null} for a
+		 * {@code null} parameter.
+		 */
+		protected Class<?>[] parameterClasses = null;
+		
+		/**
+		 * Creates a new instance of {@link ResolvedExecutable}.
+		 * 
+		 * @param parameters The parameters which resolved to the given
+		 *        {@link Executable}, cannot be {@code null}.
+		 * @param executable The resolved {@link Executable}, cannot be
 		 *        {@code null}.
-		 * @throws IllegalArgumentException If the given {@code luaFunction} is
-		 *         {@code null}.
+		 * @throws IllegalArgumentException If the given {@code parameters} or
+		 *         {@code executable} is {@code null}.
 		 */
-		public LuaFunctionParameter(LuaValue luaFunction) {
+		public ResolvedExecutable(Object[] parameters, EXECUTABLE_TYPE executable) {
 			super();
 			
-			Verifier.notNull("luaFunction", luaFunction);
+			Verifier.notNull("parameters", parameters);
+			Verifier.notNull("executable", executable);
+			
+			this.executable = executable;
+			this.parameterClasses = new Class<?>[parameters.length];
 			
-			this.luaFunction = luaFunction;
+			for (int index = 0; index < parameterClasses.length; index++) {
+				Object parameter = parameters[index];
+				
+				if (parameter != null) {
+					parameterClasses[index] = parameter.getClass();
+				}
+			}
+		}
+		
+		/**
+		 * Gets the resolved {@link Executable}.
+		 * 
+		 * @return The resolved {@link Executable}.
+		 */
+		public EXECUTABLE_TYPE getExecutable() {
+			return executable;
 		}
 		
 		/**
-		 * Gets the {@link LuaValue Lua function}.
+		 * Tests whether the given parameters have exactly the same
+		 * {@link Class}es as the parameters this entry has been created from.
 		 * 
-		 * @return the {@link LuaValue Lua function}, cannot be {@code null}.
+		 * @param parameters The parameters to test, cannot be {@code null}.
+		 * @return {@code true} if the {@link Class}es of the given parameters
+		 *         are the same.
 		 */
-		public LuaValue getLuaFunction() {
-			return luaFunction;
+		public boolean matches(Object[] parameters) {
+			if (parameters.length != parameterClasses.length) {
+				return false;
+			}
+			
+			for (int index = 0; index < parameterClasses.length; index++) {
+				Object parameter = parameters[index];
+				
+				if (parameter == null) {
+					if (parameterClasses[index] != null) {
+						return false;
+					}
+				} else if (parameter.getClass() != parameterClasses[index]) {
+					return false;
+				}
+			}
+			
+			return true;
 		}
 	}
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import org.bonsaimind.jluascript.lua.system.types.ArrayUserData;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link ArrayCopyingFunction} is an {@link AbstractArrayFunction}
+ * extension which copies elements from one array into another.
+ * <p>
+ * It is invoked as
+ * {@code array:copy(destination[, sourceIndex[, destinationIndex[, count]]])},
+ * with the (one-based) indexes defaulting to the start of the arrays and the
+ * count defaulting to all remaining elements of the source. The destination
+ * array is returned.
+ */
+public class ArrayCopyingFunction extends AbstractArrayFunction {
+	/**
+	 * Creates a new instance of {@link ArrayCopyingFunction}.
+	 */
+	public ArrayCopyingFunction() {
+		super();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Varargs performAction(ArrayUserData array, Varargs args) {
+		LuaValue destination = args.arg(2);
+		
+		if (!(destination instanceof ArrayUserData)) {
+			throw new LuaError("Destination must be an array, but is <" + destination.typename() + ">.");
+		}
+		
+		int sourceIndex = args.optint(3, 1);
+		int destinationIndex = args.optint(4, 1);
+		int count = args.optint(5, array.length() - sourceIndex + 1);
+		
+		array.copy(sourceIndex - 1, (ArrayUserData)destination, destinationIndex - 1, count);
+		
+		return destination;
+	}
+}
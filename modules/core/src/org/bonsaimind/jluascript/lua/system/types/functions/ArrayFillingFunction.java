@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import org.bonsaimind.jluascript.lua.system.types.ArrayUserData;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link ArrayFillingFunction} is an {@link AbstractArrayFunction}
+ * extension which sets the elements of an array to a single value.
+ * <p>
+ * It is invoked as {@code array:fill(value[, from[, to]])}, with the
+ * (one-based) indexes being inclusive and defaulting to the whole array. The
+ * array is returned.
+ */
+public class ArrayFillingFunction extends AbstractArrayFunction {
+	/**
+	 * Creates a new instance of {@link ArrayFillingFunction}.
+	 */
+	public ArrayFillingFunction() {
+		super();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Varargs performAction(ArrayUserData array, Varargs args) {
+		LuaValue value = args.arg(2);
+		int from = args.optint(3, 1);
+		int to = args.optint(4, array.length());
+		
+		array.fill(value, from - 1, to);
+		
+		return array;
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import org.bonsaimind.jluascript.lua.system.types.ArrayUserData;
+import org.luaj.vm2.Varargs;
+
+/**
+ * The {@link ArraySlicingFunction} is an {@link AbstractArrayFunction}
+ * extension which creates a new array from a range of elements of an array.
+ * <p>
+ * It is invoked as {@code array:slice([from[, to]])}, with the (one-based)
+ * indexes being inclusive and defaulting to the whole array.
+ */
+public class ArraySlicingFunction extends AbstractArrayFunction {
+	/**
+	 * Creates a new instance of {@link ArraySlicingFunction}.
+	 */
+	public ArraySlicingFunction() {
+		super();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Varargs performAction(ArrayUserData array, Varargs args) {
+		int from = args.optint(2, 1);
+		int to = args.optint(3, array.length());
+		
+		return array.slice(from - 1, to);
+	}
+}
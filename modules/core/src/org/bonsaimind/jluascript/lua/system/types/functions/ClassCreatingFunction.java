@@ -22,6 +22,7 @@ package org.bonsaimind.jluascript.lua.system.types.functions;
 import java.util.UUID;
 
 import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.ClassMembers;
 import org.bonsaimind.jluascript.lua.system.types.StaticUserData;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.luaj.vm2.LuaError;
@@ -87,7 +88,9 @@ public class ClassCreatingFunction extends OneArgFunction {
 			
 			Class<?> createdClass = classPrototype.toClass(clazz.getClassLoader(), clazz.getProtectionDomain());
 			
-			StaticUserData luaClass = new StaticUserData(createdClass, coercer);
+			// The static context is modified below, so it must not be the one
+			// which is shared through the coercer.
+			StaticUserData luaClass = new StaticUserData(new ClassMembers(createdClass, coercer));
 			
 			luaClass.putIntoCache(StaticUserData.CONSTRUCTOR_NAME, new ProxyInstanceCreatingFunction(clazz, luaFunctions, coercer));
 			
@@ -19,6 +19,8 @@
 
 package org.bonsaimind.jluascript.lua.system.types.functions;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.util.List;
 
@@ -49,7 +51,15 @@ public class ConstructorInvokingFunction extends AbstractExecutableInvokingFunct
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Object execute(Constructor<?> executable, List<Object> parameters) throws Exception {
-		return executable.newInstance(parameters.toArray());
+	protected Object execute(Constructor<?> executable, Object[] parameters) throws Exception {
+		return executable.newInstance(parameters);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected MethodHandle unreflect(Constructor<?> executable) throws IllegalAccessException {
+		return MethodHandles.lookup().unreflectConstructor(executable);
 	}
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Executable;
+
+/**
+ * The {@link DispatchMode} defines how an
+ * {@link AbstractExecutableInvokingFunction} invokes the {@link Executable} it
+ * has resolved.
+ */
+public enum DispatchMode {
+	/**
+	 * A {@link org.luaj.vm2.lib.VarArgFunction} is generated once for all
+	 * overloads by the {@link DispatchStubGenerator}, which tests the types of
+	 * the arguments and invokes the matching {@link Executable} directly. Any
+	 * overload which cannot be handled by the generated function is resolved
+	 * and invoked like with {@link #METHOD_HANDLES}.
+	 */
+	GENERATED,
+	
+	/**
+	 * Every resolved {@link Executable} is converted once into an adapted
+	 * {@link MethodHandle}, which is kept and used for all following
+	 * invocations.
+	 */
+	METHOD_HANDLES,
+	
+	/** Every invocation goes through core reflection. */
+	REFLECTION;
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.reflection.AbstractClassGenerator;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.VarArgFunction;
+
+import javassist.CannotCompileException;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+
+/**
+ * The {@link DispatchStubGenerator} generates {@link VarArgFunction}s which
+ * invoke the overloads of an {@link AbstractExecutableInvokingFunction}
+ * directly, without reflection.
+ * <p>
+ * The generated stub tests the given arguments against every overload in the
+ * same order as {@link AbstractExecutableInvokingFunction} would, and invokes
+ * the first matching one with direct {@code invokevirtual},
+ * {@code invokeinterface}, {@code invokestatic} or {@code new} bytecode.
+ * Everything the stub cannot handle itself, like varargs, Lua functions or
+ * inaccessible types, is handed back to
+ * {@link AbstractExecutableInvokingFunction#invokeResolving(org.luaj.vm2.Varargs)}.
+ */
+public class DispatchStubGenerator extends AbstractClassGenerator {
+	/** The shared instance. */
+	public static final DispatchStubGenerator INSTANCE = new DispatchStubGenerator();
+	
+	/**
+	 * Creates a new instance of {@link DispatchStubGenerator}.
+	 */
+	public DispatchStubGenerator() {
+		super();
+	}
+	
+	/**
+	 * Generates the stub for the given {@link AbstractExecutableInvokingFunction}.
+	 * 
+	 * @param function The {@link AbstractExecutableInvokingFunction} for which
+	 *        to generate the stub, cannot be {@code null}.
+	 * @return The generated stub.
+	 * @throws CannotCompileException If the stub could not be compiled.
+	 * @throws IllegalArgumentException If the given {@code function} is
+	 *         {@code null}.
+	 * @throws ReflectiveOperationException If the stub could not be
+	 *         instantiated.
+	 */
+	public VarArgFunction generate(AbstractExecutableInvokingFunction<?> function) throws CannotCompileException, ReflectiveOperationException {
+		Verifier.notNull("function", function);
+		
+		Class<?> generatedClass = generateClass(getTargetClassLoader(function.executables), "DispatchStub", (stubClass, classPool) -> {
+			stubClass.setSuperclass(classPool.get(VarArgFunction.class.getName()));
+			
+			stubClass.addField(CtField.make("protected " + AbstractExecutableInvokingFunction.class.getName() + " function;", stubClass));
+			stubClass.addField(CtField.make("protected " + Coercer.class.getName() + " coercer;", stubClass));
+			stubClass.addConstructor(CtNewConstructor.make(
+					"public " + stubClass.getSimpleName() + "(" + AbstractExecutableInvokingFunction.class.getName() + " function, " + Coercer.class.getName() + " coercer) {"
+							+ "super();"
+							+ "this.function = function;"
+							+ "this.coercer = coercer;"
+							+ "}",
+					stubClass));
+			stubClass.addMethod(CtNewMethod.make(createInvokeSource(function), stubClass));
+		});
+		
+		return (VarArgFunction)generatedClass
+				.getConstructor(AbstractExecutableInvokingFunction.class, Coercer.class)
+				.newInstance(function, function.coercer);
+	}
+	
+	/**
+	 * Appends the given condition as alternative to the given
+	 * {@link StringBuilder}.
+	 * 
+	 * @param condition The {@link StringBuilder} to append to.
+	 * @param alternative The alternative condition to append.
+	 */
+	protected void appendCondition(StringBuilder condition, String alternative) {
+		if (condition.length() > 0) {
+			condition.append(" || ");
+		}
+		
+		condition.append(alternative);
+	}
+	
+	/**
+	 * Creates the source for the condition which tests whether the given
+	 * {@link LuaValue} can be passed to a parameter of the given type.
+	 * 
+	 * @param function The {@link AbstractExecutableInvokingFunction} which is
+	 *        used to decide whether a type matches.
+	 * @param argumentName The name of the variable holding the argument.
+	 * @param parameterType The type of the parameter.
+	 * @return The source of the condition, {@code null} if the argument can
+	 *         never match.
+	 */
+	protected String createArgumentCondition(AbstractExecutableInvokingFunction<?> function, String argumentName, Class<?> parameterType) {
+		StringBuilder condition = new StringBuilder();
+		
+		boolean acceptsInteger = function.isMatching(parameterType, Integer.class);
+		boolean acceptsDouble = function.isMatching(parameterType, Double.class);
+		
+		if (!parameterType.isPrimitive()) {
+			appendCondition(condition, argumentName + ".isnil()");
+		}
+		
+		if (acceptsInteger && acceptsDouble) {
+			appendCondition(condition, argumentName + ".type() == " + LuaValue.TNUMBER);
+		} else if (acceptsInteger) {
+			appendCondition(condition, "(" + argumentName + ".type() == " + LuaValue.TNUMBER + " && " + argumentName + ".isint())");
+		} else if (acceptsDouble) {
+			appendCondition(condition, "(" + argumentName + ".type() == " + LuaValue.TNUMBER + " && !" + argumentName + ".isint())");
+		}
+		
+		if (function.isMatching(parameterType, String.class)) {
+			appendCondition(condition, argumentName + ".type() == " + LuaValue.TSTRING);
+		}
+		
+		if (function.isMatching(parameterType, Boolean.class)) {
+			appendCondition(condition, argumentName + ".type() == " + LuaValue.TBOOLEAN);
+		}
+		
+		if (!parameterType.isPrimitive()) {
+			appendCondition(condition, "(" + argumentName + ".type() == " + LuaValue.TUSERDATA
+					+ " && " + argumentName + ".touserdata() instanceof " + toSourceName(parameterType) + ")");
+		}
+		
+		if (condition.length() == 0) {
+			return null;
+		}
+		
+		return "(" + condition.toString() + ")";
+	}
+	
+	/**
+	 * Creates the source which converts the given argument to the given
+	 * parameter type.
+	 * 
+	 * @param argumentName The name of the variable holding the argument.
+	 * @param parameterType The type of the parameter.
+	 * @return The source of the conversion, {@code null} if it cannot be
+	 *         converted.
+	 */
+	protected String createArgumentConversion(String argumentName, Class<?> parameterType) {
+		if (parameterType == int.class) {
+			return argumentName + ".toint()";
+		} else if (parameterType == long.class) {
+			return argumentName + ".tolong()";
+		} else if (parameterType == double.class) {
+			return argumentName + ".todouble()";
+		} else if (parameterType == float.class) {
+			return argumentName + ".tofloat()";
+		} else if (parameterType == boolean.class) {
+			return argumentName + ".toboolean()";
+		} else if (parameterType.isPrimitive()) {
+			return null;
+		}
+		
+		return "(" + toSourceName(parameterType) + ")coercer.coerceLuaToJava(" + argumentName + ")";
+	}
+	
+	/**
+	 * Creates the source of the branch which handles the given
+	 * {@link Executable}.
+	 * 
+	 * @param function The {@link AbstractExecutableInvokingFunction} to which
+	 *        the {@link Executable} belongs.
+	 * @param executable The {@link Executable} for which to create the
+	 *        branch.
+	 * @return The source of the branch.
+	 */
+	protected String createExecutableBranch(AbstractExecutableInvokingFunction<?> function, Executable executable) {
+		boolean hasInstance = executable instanceof Method && !Modifier.isStatic(executable.getModifiers());
+		int argumentOffset = 1;
+		
+		if (hasInstance) {
+			argumentOffset = 2;
+		}
+		
+		int argumentCount = executable.getParameterCount() + argumentOffset - 1;
+		
+		if (executable.isVarArgs()) {
+			return "if (count >= " + (argumentCount - 1) + ") { return function.invokeResolving(args); }\n";
+		}
+		
+		if (!isAccessible(executable.getDeclaringClass())) {
+			return "if (count == " + argumentCount + ") { return function.invokeResolving(args); }\n";
+		}
+		
+		StringBuilder condition = new StringBuilder();
+		StringBuilder arguments = new StringBuilder();
+		
+		condition.append("count == ").append(argumentCount);
+		
+		if (hasInstance) {
+			condition.append(" && instance instanceof ").append(toSourceName(executable.getDeclaringClass()));
+		}
+		
+		Class<?>[] parameterTypes = executable.getParameterTypes();
+		
+		for (int index = 0; index < parameterTypes.length; index++) {
+			Class<?> parameterType = parameterTypes[index];
+			String argumentName = "a" + (index + argumentOffset);
+			
+			if (!isAccessible(parameterType) || function.isFunctionalInterface(parameterType)) {
+				return "if (count == " + argumentCount + ") { return function.invokeResolving(args); }\n";
+			}
+			
+			String argumentCondition = createArgumentCondition(function, argumentName, parameterType);
+			String argumentConversion = createArgumentConversion(argumentName, parameterType);
+			
+			if (argumentCondition == null || argumentConversion == null) {
+				// Can never match, so we can skip it completely.
+				return "";
+			}
+			
+			condition.append(" && ").append(argumentCondition);
+			
+			if (index > 0) {
+				arguments.append(", ");
+			}
+			
+			arguments.append(argumentConversion);
+		}
+		
+		String invocation = null;
+		Class<?> returnType = null;
+		
+		if (executable instanceof Constructor<?>) {
+			invocation = "new " + toSourceName(executable.getDeclaringClass()) + "(" + arguments + ")";
+			returnType = executable.getDeclaringClass();
+		} else if (hasInstance) {
+			invocation = "((" + toSourceName(executable.getDeclaringClass()) + ")instance)." + executable.getName() + "(" + arguments + ")";
+			returnType = ((Method)executable).getReturnType();
+		} else {
+			invocation = toSourceName(executable.getDeclaringClass()) + "." + executable.getName() + "(" + arguments + ")";
+			returnType = ((Method)executable).getReturnType();
+		}
+		
+		return "if (" + condition + ") {\n"
+				+ createReturnStatement(invocation, returnType)
+				+ "}\n";
+	}
+	
+	/**
+	 * Creates the source of the {@link VarArgFunction#invoke(org.luaj.vm2.Varargs)}
+	 * method of the stub.
+	 * 
+	 * @param function The {@link AbstractExecutableInvokingFunction} for which
+	 *        to create the method.
+	 * @return The source of the method.
+	 */
+	protected String createInvokeSource(AbstractExecutableInvokingFunction<?> function) {
+		int maximumArgumentCount = 0;
+		boolean hasInstance = false;
+		
+		for (Executable executable : function.executables) {
+			maximumArgumentCount = Math.max(maximumArgumentCount, executable.getParameterCount() + 1);
+			hasInstance = hasInstance || (executable instanceof Method && !Modifier.isStatic(executable.getModifiers()));
+		}
+		
+		StringBuilder source = new StringBuilder();
+		source.append("public org.luaj.vm2.Varargs invoke(org.luaj.vm2.Varargs args) {\n");
+		source.append("int count = args.narg();\n");
+		
+		for (int index = 1; index <= maximumArgumentCount; index++) {
+			source.append("org.luaj.vm2.LuaValue a").append(index).append(" = args.arg(").append(index).append(");\n");
+		}
+		
+		source.append("try {\n");
+		
+		if (hasInstance) {
+			source.append("java.lang.Object instance = null;\n");
+			source.append("if (count >= 1) { instance = coercer.coerceLuaToJava(a1); }\n");
+		}
+		
+		
+		for (Executable executable : function.executables) {
+			source.append(createExecutableBranch(function, executable));
+		}
+		
+		source.append("} catch (java.lang.Throwable e) {\n");
+		source.append("if (e instanceof org.luaj.vm2.LuaError) { throw (org.luaj.vm2.LuaError)e; }\n");
+		source.append("if (e instanceof java.lang.VirtualMachineError) { throw (java.lang.VirtualMachineError)e; }\n");
+		source.append("throw new org.luaj.vm2.LuaError(e);\n");
+		source.append("}\n");
+		source.append("return function.invokeResolving(args);\n");
+		source.append("}");
+		
+		return source.toString();
+	}
+	
+	/**
+	 * Creates the return statement which returns the result of the given
+	 * invocation.
+	 * 
+	 * @param invocation The source of the invocation.
+	 * @param returnType The type returned by the invocation.
+	 * @return The source of the return statement.
+	 */
+	protected String createReturnStatement(String invocation, Class<?> returnType) {
+		if (returnType == void.class) {
+			return invocation + ";\nreturn org.luaj.vm2.LuaValue.NIL;\n";
+		} else if (returnType == int.class
+				|| returnType == short.class
+				|| returnType == byte.class
+				|| returnType == double.class
+				|| returnType == boolean.class) {
+			return "return org.luaj.vm2.LuaValue.valueOf(" + invocation + ");\n";
+		} else if (returnType == float.class) {
+			return "return org.luaj.vm2.LuaValue.valueOf((double)" + invocation + ");\n";
+		} else if (returnType == long.class) {
+			return "return coercer.coerceJavaToLua(java.lang.Long.valueOf(" + invocation + "));\n";
+		} else if (returnType == char.class) {
+			return "return coercer.coerceJavaToLua(java.lang.Character.valueOf(" + invocation + "));\n";
+		}
+		
+		return "return coercer.coerceJavaToLua(" + invocation + ");\n";
+	}
+	
+	/**
+	 * Gets the {@link ClassLoader} of the given {@link Executable}s.
+	 * 
+	 * @param executables The {@link Executable}s.
+	 * @return The {@link ClassLoader} of the first {@link Executable} which is
+	 *         not loaded by the bootstrap {@link ClassLoader}, {@code null} if
+	 *         there is none.
+	 */
+	protected ClassLoader getTargetClassLoader(List<? extends Executable> executables) {
+		for (Executable executable : executables) {
+			ClassLoader classLoader = executable.getDeclaringClass().getClassLoader();
+			
+			if (classLoader != null) {
+				return classLoader;
+			}
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import java.util.Map;
+
+import org.bonsaimind.jluascript.lua.system.types.reflection.FieldAccessor;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.ThreeArgFunction;
+
+/**
+ * The {@link InstanceFieldAssigningFunction} is a {@link ThreeArgFunction}
+ * extension which is used as {@code __newindex} of the metatable of instances
+ * which have public fields, and sets the field on the instance.
+ */
+public class InstanceFieldAssigningFunction extends ThreeArgFunction {
+	/**
+	 * The {@link FieldAccessor}s of the public instance fields by their Lua
+	 * name.
+	 */
+	protected Map<LuaValue, FieldAccessor> fieldAccessors = null;
+	
+	/**
+	 * Creates a new instance of {@link InstanceFieldAssigningFunction}.
+	 *
+	 * @param fieldAccessors The {@link FieldAccessor}s of the public instance
+	 *        fields by their Lua name, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code fieldAccessors} is
+	 *         {@code null}.
+	 */
+	public InstanceFieldAssigningFunction(Map<LuaValue, FieldAccessor> fieldAccessors) {
+		super();
+		
+		this.fieldAccessors = Verifier.notNull("fieldAccessors", fieldAccessors);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue instance, LuaValue key, LuaValue value) {
+		FieldAccessor fieldAccessor = fieldAccessors.get(key);
+		
+		if (fieldAccessor == null) {
+			throw new LuaError("There is no field <" + key.tojstring() + "> on <" + instance.touserdata().getClass().getName() + ">.");
+		}
+		
+		fieldAccessor.set(instance.touserdata(), value);
+		
+		return LuaValue.NIL;
+	}
+}
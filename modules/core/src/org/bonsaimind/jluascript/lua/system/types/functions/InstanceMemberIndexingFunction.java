@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.functions;
+
+import java.util.Map;
+
+import org.bonsaimind.jluascript.lua.system.types.reflection.FieldAccessor;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.lib.TwoArgFunction;
+
+/**
+ * The {@link InstanceMemberIndexingFunction} is a {@link TwoArgFunction}
+ * extension which is used as {@code __index} of the metatable of instances
+ * which have public fields.
+ * <p>
+ * The value of a field is read from the instance, all other keys are looked up
+ * in the shared {@link LuaTable} of the methods.
+ */
+public class InstanceMemberIndexingFunction extends TwoArgFunction {
+	/**
+	 * The {@link FieldAccessor}s of the public instance fields by their Lua
+	 * name.
+	 */
+	protected Map<LuaValue, FieldAccessor> fieldAccessors = null;
+	/** The {@link LuaTable} of the functions invoking the methods. */
+	protected LuaTable methods = null;
+	
+	/**
+	 * Creates a new instance of {@link InstanceMemberIndexingFunction}.
+	 * 
+	 * @param fieldAccessors The {@link FieldAccessor}s of the public instance
+	 *        fields by their Lua name, cannot be {@code null}.
+	 * @param methods The {@link LuaTable} of the functions invoking the
+	 *        methods, cannot be {@code null}.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 */
+	public InstanceMemberIndexingFunction(Map<LuaValue, FieldAccessor> fieldAccessors, LuaTable methods) {
+		super();
+		
+		this.fieldAccessors = Verifier.notNull("fieldAccessors", fieldAccessors);
+		this.methods = Verifier.notNull("methods", methods);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public LuaValue call(LuaValue instance, LuaValue key) {
+		FieldAccessor fieldAccessor = fieldAccessors.get(key);
+		
+		if (fieldAccessor != null) {
+			return fieldAccessor.get(instance.touserdata());
+		}
+		
+		return methods.rawget(key);
+	}
+}
@@ -19,8 +19,10 @@
 
 package org.bonsaimind.jluascript.lua.system.types.functions;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.bonsaimind.jluascript.lua.system.Coercer;
@@ -50,66 +52,61 @@ public class InstanceMethodInvokingFunction extends AbstractExecutableInvokingFu
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Object execute(Method executable, List<Object> parameters) throws Exception {
+	protected Object execute(Method executable, Object[] parameters) throws Exception {
 		Verifier.notNull("executable", executable);
 		Verifier.notNull("parameters", parameters);
 		
-		if (parameters.size() < 1) {
+		if (parameters.length < 1) {
 			throw new LuaError("Expected to invoke instance function, but no instance parameter provided.");
 		}
 		
-		List<Object> methodParameters = new ArrayList<>(parameters);
-		Object instance = methodParameters.remove(0);
-		
-		return executable.invoke(instance, methodParameters.toArray());
+		return executable.invoke(parameters[0], Arrays.copyOfRange(parameters, 1, parameters.length));
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Method findMatchingExecutable(List<Object> parameters) {
+	protected Method findMatchingExecutable(Object[] parameters) {
 		Verifier.notNull("parameters", parameters);
 		
-		if (parameters.size() < 1) {
+		if (parameters.length < 1) {
 			throw new LuaError("Expected to invoke instance function, but no instance parameter provided.");
 		}
 		
-		List<Object> methodParameters = new ArrayList<>(parameters);
-		methodParameters.remove(0);
-		
-		return super.findMatchingExecutable(methodParameters);
+		return super.findMatchingExecutable(parameters);
 	}
 	
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * The first parameter is the instance on which the {@link Method} is
+	 * invoked.
 	 */
 	@Override
-	protected void foldVarargs(Method executable, List<Object> parameters) {
-		Verifier.notNull("executable", executable);
-		Verifier.notNull("parameters", parameters);
-		
-		Object instanceParameter = parameters.remove(0);
-		
-		super.foldVarargs(executable, parameters);
-		
-		parameters.add(0, instanceParameter);
+	protected int getParameterOffset() {
+		return 1;
 	}
 	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected String getRequestedMethodSignature(List<Object> parameters) {
+	protected String getRequestedMethodSignature(Object[] parameters) {
 		Verifier.notNull("parameters", parameters);
 		
-		if (parameters.size() < 1) {
+		if (parameters.length < 1) {
 			throw new LuaError("Expected to handle instance function, but no instance parameter provided.");
 		}
 		
-		List<Object> methodParameters = new ArrayList<>(parameters);
-		methodParameters.remove(0);
-		
-		return super.getRequestedMethodSignature(methodParameters);
+		return super.getRequestedMethodSignature(parameters);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected MethodHandle unreflect(Method executable) throws IllegalAccessException {
+		return MethodHandles.lookup().unreflect(executable);
 	}
 }
@@ -27,6 +27,7 @@ import org.luaj.vm2.LuaError;
 import org.luaj.vm2.LuaValue;
 import org.luaj.vm2.lib.OneArgFunction;
 
+import javassist.util.proxy.Proxy;
 import javassist.util.proxy.ProxyFactory;
 
 /**
@@ -45,7 +46,7 @@ public class ProxyInstanceCreatingFunction extends OneArgFunction {
 	
 	/**
 	 * Creates a new instance of {@link ProxyInstanceCreatingFunction}.
-	 *
+	 * 
 	 * @param clazz The {@link Class} from which to create a proxy instance,
 	 *        cannot be {@code null}.
 	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
@@ -58,7 +59,7 @@ public class ProxyInstanceCreatingFunction extends OneArgFunction {
 	
 	/**
 	 * Creates a new instance of {@link ProxyInstanceCreatingFunction}.
-	 *
+	 * 
 	 * @param clazz The {@link Class} from which to create a proxy instance,
 	 *        cannot be {@code null}.
 	 * @param defaultLuaFunctions The {@link LuaValue Lua table} containing the
@@ -107,11 +108,19 @@ public class ProxyInstanceCreatingFunction extends OneArgFunction {
 			methodHandler = new LuaInvokingMethodHandler(luaFunctions, coercer);
 		}
 		
+		Class<?> proxyClass = null;
+		
+		// The ProxyFactory itself is not safe for concurrent use, only its
+		// cache of the created classes is.
+		synchronized (proxyFactory) {
+			proxyClass = proxyFactory.createClass();
+		}
+		
 		try {
-			return coercer.coerceJavaToLua(proxyFactory.create(
-					new Class<?>[0],
-					new Object[0],
-					methodHandler));
+			Object proxy = proxyClass.getConstructor().newInstance();
+			((Proxy)proxy).setHandler(methodHandler);
+			
+			return coercer.coerceJavaToLua(proxy);
 		} catch (Exception e) {
 			throw new LuaError(e);
 		}
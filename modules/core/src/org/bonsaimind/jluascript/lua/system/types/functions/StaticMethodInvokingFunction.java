@@ -19,6 +19,8 @@
 
 package org.bonsaimind.jluascript.lua.system.types.functions;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.List;
 
@@ -47,7 +49,15 @@ public class StaticMethodInvokingFunction extends AbstractExecutableInvokingFunc
 	 * {@inheritDoc}
 	 */
 	@Override
-	protected Object execute(Method executable, List<Object> parameters) throws Exception {
-		return executable.invoke(null, parameters.toArray());
+	protected Object execute(Method executable, Object[] parameters) throws Exception {
+		return executable.invoke(null, parameters);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected MethodHandle unreflect(Method executable) throws IllegalAccessException {
+		return MethodHandles.lookup().unreflect(executable);
 	}
 }
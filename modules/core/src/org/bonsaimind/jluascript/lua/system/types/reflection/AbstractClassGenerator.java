@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bonsaimind.jluascript.support.GeneratingClassLoader;
+import org.bonsaimind.jluascript.utils.Verifier;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+/**
+ * The {@link AbstractClassGenerator} is the base for the generators which
+ * create classes at runtime, like the
+ * {@link FunctionalInterfaceImplementationGenerator} and the
+ * {@link org.bonsaimind.jluascript.lua.system.types.functions.DispatchStubGenerator}.
+ * <p>
+ * The classes are generated in {@link #GENERATED_PACKAGE} from the
+ * {@link ClassPool} of the {@link GeneratingClassLoader} which is shared by
+ * all classes generated against the same target {@link ClassLoader}.
+ */
+public abstract class AbstractClassGenerator {
+	/** The counter used for creating unique class names. */
+	protected static final AtomicLong CLASS_COUNTER = new AtomicLong();
+	/** The package in which the classes are generated. */
+	protected static final String GENERATED_PACKAGE = "org.bonsaimind.jluascript.generated.";
+	
+	/**
+	 * Creates a new instance of {@link AbstractClassGenerator}.
+	 */
+	protected AbstractClassGenerator() {
+		super();
+	}
+	
+	/**
+	 * Generates and defines a new class.
+	 * 
+	 * @param targetClassLoader The {@link ClassLoader} of the classes which
+	 *        are used by the generated class, can be {@code null} for the
+	 *        bootstrap {@link ClassLoader}.
+	 * @param simpleName The simple name of the class, to which a unique number
+	 *        is appended, cannot be {@code null}.
+	 * @param builder The {@link ClassBuilder} which builds the members of the
+	 *        class, cannot be {@code null}.
+	 * @return The generated {@link Class}.
+	 * @throws CannotCompileException If the class could not be compiled.
+	 * @throws IllegalArgumentException If the given {@code simpleName} or
+	 *         {@code builder} is {@code null}.
+	 */
+	protected Class<?> generateClass(ClassLoader targetClassLoader, String simpleName, ClassBuilder builder) throws CannotCompileException {
+		Verifier.notNull("simpleName", simpleName);
+		Verifier.notNull("builder", builder);
+		
+		GeneratingClassLoader classLoader = GeneratingClassLoader.forClassLoader(targetClassLoader);
+		
+		synchronized (classLoader) {
+			ClassPool classPool = classLoader.getClassPool();
+			CtClass ctClass = classPool.makeClass(GENERATED_PACKAGE + simpleName + CLASS_COUNTER.incrementAndGet());
+			
+			try {
+				builder.build(ctClass, classPool);
+				
+				return classLoader.defineClass(ctClass);
+			} catch (NotFoundException | IOException e) {
+				throw new CannotCompileException(e);
+			} finally {
+				ctClass.detach();
+			}
+		}
+	}
+	
+	/**
+	 * Tests whether the given {@link Class} can be accessed from the generated
+	 * class.
+	 * 
+	 * @param clazz The {@link Class} to test.
+	 * @return {@code true} if the given {@link Class} can be accessed.
+	 */
+	protected boolean isAccessible(Class<?> clazz) {
+		Class<?> currentClass = clazz;
+		
+		while (currentClass.isArray()) {
+			currentClass = currentClass.getComponentType();
+		}
+		
+		if (currentClass.isPrimitive()) {
+			return true;
+		}
+		
+		while (currentClass != null) {
+			if (!Modifier.isPublic(currentClass.getModifiers())) {
+				return false;
+			}
+			
+			currentClass = currentClass.getEnclosingClass();
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Gets the name of the given {@link Class} as it can be used in the source
+	 * of the generated class.
+	 * 
+	 * @param clazz The {@link Class}.
+	 * @return The name of the given {@link Class} to be used in source.
+	 */
+	protected String toSourceName(Class<?> clazz) {
+		if (clazz.isArray()) {
+			return toSourceName(clazz.getComponentType()) + "[]";
+		}
+		
+		return clazz.getName();
+	}
+	
+	/**
+	 * The {@link ClassBuilder} builds the members of a generated class.
+	 */
+	@FunctionalInterface
+	protected static interface ClassBuilder {
+		/**
+		 * Builds the members of the given {@link CtClass}.
+		 * 
+		 * @param ctClass The {@link CtClass} to build.
+		 * @param classPool The {@link ClassPool} from which the
+		 *        {@link CtClass} is generated.
+		 * @throws CannotCompileException If a member could not be compiled.
+		 * @throws NotFoundException If a referenced class could not be found.
+		 */
+		public abstract void build(CtClass ctClass, ClassPool classPool) throws CannotCompileException, NotFoundException;
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link AbstractLuaFunctionAdapter} is the base for the handwritten
+ * implementations of the primitive functional interfaces of
+ * {@code java.util.function}, which invoke a Lua function without boxing any
+ * primitive arguments or return values.
+ */
+public abstract class AbstractLuaFunctionAdapter {
+	/** The {@link Coercer} to use for non-primitive values. */
+	protected Coercer coercer = null;
+	/** The {@link LuaValue Lua function} that is being invoked. */
+	protected LuaValue luaFunction = null;
+	
+	/**
+	 * Creates a new instance of {@link AbstractLuaFunctionAdapter}.
+	 * 
+	 * @param luaFunction The {@link LuaValue Lua function} that is being
+	 *        invoked, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for non-primitive values,
+	 *        cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code luaFunction} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	protected AbstractLuaFunctionAdapter(LuaValue luaFunction, Coercer coercer) {
+		super();
+		
+		Verifier.notNull("luaFunction", luaFunction);
+		Verifier.notNull("coercer", coercer);
+		
+		this.luaFunction = luaFunction;
+		this.coercer = coercer;
+	}
+}
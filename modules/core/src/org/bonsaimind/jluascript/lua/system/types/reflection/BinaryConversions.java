@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.nio.ByteBuffer;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaString;
+
+/**
+ * The {@link BinaryConversions} is a static utility class for converting
+ * binary data between {@link LuaString}s and {@code byte[]}s or
+ * {@link ByteBuffer}s, without copying the data wherever possible.
+ * <p>
+ * {@link LuaString}s are immutable, so they are only ever exposed to Java as
+ * read-only {@link ByteBuffer}s, a {@code byte[]} always receives a copy.
+ */
+public final class BinaryConversions {
+	/**
+	 * No instance required.
+	 */
+	private BinaryConversions() {
+	}
+	
+	/**
+	 * Tests whether the given type is a binary type, meaning that a
+	 * {@link LuaString} can be converted to it.
+	 * 
+	 * @param type The type to test, cannot be {@code null}.
+	 * @return {@code true} if the given type is {@code byte[]} or
+	 *         {@link ByteBuffer}.
+	 * @throws IllegalArgumentException If the given {@code type} is
+	 *         {@code null}.
+	 */
+	public static final boolean isBinaryType(Class<?> type) {
+		Verifier.notNull("type", type);
+		
+		return type == byte[].class || type == ByteBuffer.class;
+	}
+	
+	/**
+	 * Converts the given {@link LuaString} to the given binary type, or to a
+	 * {@link String} if the type is not a binary type.
+	 * 
+	 * @param string The {@link LuaString} to convert, cannot be {@code null}.
+	 * @param targetType The type to convert to, cannot be {@code null}.
+	 * @return The converted value.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 * @see #toByteArray(LuaString)
+	 * @see #toByteBuffer(LuaString)
+	 */
+	public static final Object toBinary(LuaString string, Class<?> targetType) {
+		Verifier.notNull("string", string);
+		Verifier.notNull("targetType", targetType);
+		
+		if (targetType == ByteBuffer.class) {
+			return toByteBuffer(string);
+		} else if (targetType == byte[].class) {
+			return toByteArray(string);
+		}
+		
+		return string.tojstring();
+	}
+	
+	/**
+	 * Copies the bytes of the given {@link LuaString} into a new
+	 * {@code byte[]}.
+	 * 
+	 * @param string The {@link LuaString}, cannot be {@code null}.
+	 * @return The copy of the bytes.
+	 * @throws IllegalArgumentException If the given {@code string} is
+	 *         {@code null}.
+	 */
+	public static final byte[] toByteArray(LuaString string) {
+		Verifier.notNull("string", string);
+		
+		byte[] bytes = new byte[string.m_length];
+		string.copyInto(0, bytes, 0, bytes.length);
+		
+		return bytes;
+	}
+	
+	/**
+	 * Wraps the bytes of the given {@link LuaString} into a read-only
+	 * {@link ByteBuffer}, without copying them.
+	 * 
+	 * @param string The {@link LuaString}, cannot be {@code null}.
+	 * @return The read-only {@link ByteBuffer} backed by the bytes of the
+	 *         given {@link LuaString}.
+	 * @throws IllegalArgumentException If the given {@code string} is
+	 *         {@code null}.
+	 */
+	public static final ByteBuffer toByteBuffer(LuaString string) {
+		Verifier.notNull("string", string);
+		
+		return ByteBuffer.wrap(string.m_bytes, string.m_offset, string.m_length).slice().asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Wraps the given {@code byte[]} into a {@link LuaString}, without copying
+	 * it.
+	 * <p>
+	 * The {@code byte[]} must not be modified afterwards, as the
+	 * {@link LuaString} is backed by it.
+	 * 
+	 * @param bytes The {@code byte[]}, cannot be {@code null}.
+	 * @return The {@link LuaString} backed by the given {@code byte[]}.
+	 * @throws IllegalArgumentException If the given {@code bytes} is
+	 *         {@code null}.
+	 */
+	public static final LuaString toLuaString(byte[] bytes) {
+		Verifier.notNull("bytes", bytes);
+		
+		return LuaString.valueUsing(bytes);
+	}
+	
+	/**
+	 * Converts the remaining bytes of the given {@link ByteBuffer} into a
+	 * {@link LuaString}.
+	 * <p>
+	 * If the {@link ByteBuffer} is backed by an accessible {@code byte[]}, the
+	 * {@link LuaString} is backed by the same {@code byte[]} and it must not
+	 * be modified afterwards. Otherwise the bytes are copied. The position of
+	 * the {@link ByteBuffer} is not changed.
+	 * 
+	 * @param byteBuffer The {@link ByteBuffer}, cannot be {@code null}.
+	 * @return The {@link LuaString} of the remaining bytes.
+	 * @throws IllegalArgumentException If the given {@code byteBuffer} is
+	 *         {@code null}.
+	 */
+	public static final LuaString toLuaString(ByteBuffer byteBuffer) {
+		Verifier.notNull("byteBuffer", byteBuffer);
+		
+		if (byteBuffer.hasArray()) {
+			return LuaString.valueUsing(
+					byteBuffer.array(),
+					byteBuffer.arrayOffset() + byteBuffer.position(),
+					byteBuffer.remaining());
+		}
+		
+		byte[] bytes = new byte[byteBuffer.remaining()];
+		byteBuffer.duplicate().get(bytes);
+		
+		return LuaString.valueUsing(bytes);
+	}
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+
+/**
+ * The {@link ClassMetadata} holds the public members of a {@link Class} as
+ * they are made available to Lua, grouped by name and split into the static
+ * and the instance context.
+ * <p>
+ * The members are gathered only once per {@link Class} and the
+ * {@link ClassMetadata} is immutable afterwards, so it can be shared between
+ * all wrappers of the {@link Class} and all threads.
+ */
+public class ClassMetadata {
+	/** The {@link ClassMetadata} of the {@link Class}. */
+	private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(Class<?> clazz) {
+			return new ClassMetadata(clazz);
+		}
+	};
+	
+	/** The {@link Class} described by this metadata. */
+	protected Class<?> clazz = null;
+	/** The public {@link Constructor}s. */
+	protected List<Constructor<?>> constructors = null;
+	/** The public instance {@link Field}s by their name. */
+	protected Map<String, Field> instanceFields = null;
+	/** The public instance {@link Method}s by their name. */
+	protected Map<String, List<Method>> instanceMethods = null;
+	/** The public static {@link Field}s by their name. */
+	protected Map<String, Field> staticFields = null;
+	/** The public static {@link Method}s by their name. */
+	protected Map<String, List<Method>> staticMethods = null;
+	
+	/**
+	 * Creates a new instance of {@link ClassMetadata}.
+	 * 
+	 * @param clazz The {@link Class} to describe, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code clazz} is
+	 *         {@code null}.
+	 */
+	protected ClassMetadata(Class<?> clazz) {
+		super();
+		
+		this.clazz = Verifier.notNull("clazz", clazz);
+		
+		Map<String, Field> instanceFieldsByName = new HashMap<>();
+		Map<String, Field> staticFieldsByName = new HashMap<>();
+		
+		for (Field field : clazz.getFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				staticFieldsByName.putIfAbsent(field.getName(), field);
+			} else {
+				instanceFieldsByName.putIfAbsent(field.getName(), field);
+			}
+		}
+		
+		Map<String, List<Method>> instanceMethodsByName = new HashMap<>();
+		Map<String, List<Method>> staticMethodsByName = new HashMap<>();
+		
+		for (Method method : clazz.getMethods()) {
+			Map<String, List<Method>> methodsByName = instanceMethodsByName;
+			
+			if (Modifier.isStatic(method.getModifiers())) {
+				methodsByName = staticMethodsByName;
+			}
+			
+			Method declaredMethod = findDeclaredMethod(method, method.getDeclaringClass());
+			
+			if (declaredMethod == null) {
+				declaredMethod = method;
+			}
+			
+			methodsByName.computeIfAbsent(method.getName(), (name) -> new ArrayList<>()).add(declaredMethod);
+		}
+		
+		this.constructors = Collections.unmodifiableList(Arrays.asList(clazz.getConstructors()));
+		this.instanceFields = Collections.unmodifiableMap(instanceFieldsByName);
+		this.instanceMethods = freeze(instanceMethodsByName);
+		this.staticFields = Collections.unmodifiableMap(staticFieldsByName);
+		this.staticMethods = freeze(staticMethodsByName);
+	}
+	
+	/**
+	 * Gets the {@link ClassMetadata} of the given {@link Class}.
+	 * <p>
+	 * The {@link ClassMetadata} is created on first request and then shared.
+	 * 
+	 * @param clazz The {@link Class}, cannot be {@code null}.
+	 * @return The {@link ClassMetadata} of the given {@link Class}.
+	 * @throws IllegalArgumentException If the given {@code clazz} is
+	 *         {@code null}.
+	 */
+	public static final ClassMetadata forClass(Class<?> clazz) {
+		Verifier.notNull("clazz", clazz);
+		
+		return METADATA.get(clazz);
+	}
+	
+	/**
+	 * Gets the {@link Class} described by this metadata.
+	 * 
+	 * @return The {@link Class} described by this metadata.
+	 */
+	public Class<?> getClazz() {
+		return clazz;
+	}
+	
+	/**
+	 * Gets the public {@link Constructor}s.
+	 * 
+	 * @return The unmodifiable {@link List} of public {@link Constructor}s.
+	 */
+	public List<Constructor<?>> getConstructors() {
+		return constructors;
+	}
+	
+	/**
+	 * Gets the public instance {@link Field} with the given name.
+	 * 
+	 * @param name The name of the {@link Field}.
+	 * @return The {@link Field}, {@code null} if there is none with that name.
+	 */
+	public Field getInstanceField(String name) {
+		return instanceFields.get(name);
+	}
+	
+	/**
+	 * Gets the names of the public instance {@link Field}s.
+	 * 
+	 * @return The unmodifiable {@link Set} of the names of the public instance
+	 *         {@link Field}s.
+	 */
+	public Set<String> getInstanceFieldNames() {
+		return instanceFields.keySet();
+	}
+	
+	/**
+	 * Gets the names of the public instance {@link Method}s.
+	 * 
+	 * @return The unmodifiable {@link Set} of the names of the public instance
+	 *         {@link Method}s.
+	 */
+	public Set<String> getInstanceMethodNames() {
+		return instanceMethods.keySet();
+	}
+	
+	/**
+	 * Gets the public instance {@link Method}s with the given name.
+	 * <p>
+	 * The returned {@link Method}s are those of the topmost (super-)class or
+	 * interface which declares them, so that they can be invoked even if the
+	 * {@link Class} itself is not accessible.
+	 * 
+	 * @param name The name of the {@link Method}s.
+	 * @return The unmodifiable {@link List} of {@link Method}s, {@code null}
+	 *         if there are none with that name.
+	 */
+	public List<Method> getInstanceMethods(String name) {
+		return instanceMethods.get(name);
+	}
+	
+	/**
+	 * Gets the public static {@link Field} with the given name.
+	 * 
+	 * @param name The name of the {@link Field}.
+	 * @return The {@link Field}, {@code null} if there is none with that name.
+	 */
+	public Field getStaticField(String name) {
+		return staticFields.get(name);
+	}
+	
+	/**
+	 * Gets the names of the public static {@link Field}s.
+	 * 
+	 * @return The unmodifiable {@link Set} of the names of the public static
+	 *         {@link Field}s.
+	 */
+	public Set<String> getStaticFieldNames() {
+		return staticFields.keySet();
+	}
+	
+	/**
+	 * Gets the public static {@link Method}s with the given name.
+	 * 
+	 * @param name The name of the {@link Method}s.
+	 * @return The unmodifiable {@link List} of {@link Method}s, {@code null}
+	 *         if there are none with that name.
+	 */
+	public List<Method> getStaticMethods(String name) {
+		return staticMethods.get(name);
+	}
+	
+	/**
+	 * Finds the (super-)class oder interface from the given {@link Class} which
+	 * declares the given {@link Method} and returns the declared instance of
+	 * the {@link Method}.
+	 * 
+	 * @param method The {@link Method} to find the declared {@link Method}
+	 *        from, cannot be {@code null}.
+	 * @param declaringClass The {@link Class} at which to start the search,
+	 *        cannot be {@code null}.
+	 * @return The declared {@link Method}, may be {@code null} if there was an
+	 *         reflection exception.
+	 */
+	protected Method findDeclaredMethod(Method method, Class<?> declaringClass) {
+		if (!declaringClass.equals(Object.class) && declaringClass.getSuperclass() != null) {
+			Method declaredMethod = findDeclaredMethod(method, declaringClass.getSuperclass());
+			
+			if (declaredMethod != null) {
+				return declaredMethod;
+			}
+		}
+		
+		for (Class<?> superInterface : declaringClass.getInterfaces()) {
+			Method declaredMethod = findDeclaredMethod(method, superInterface);
+			
+			if (declaredMethod != null) {
+				return declaredMethod;
+			}
+		}
+		
+		try {
+			return declaringClass.getDeclaredMethod(method.getName(), method.getParameterTypes());
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+	
+	/**
+	 * Makes the given {@link Map} of {@link Method}s and the contained
+	 * {@link List}s unmodifiable.
+	 * 
+	 * @param methodsByName The {@link Map} to make unmodifiable.
+	 * @return The unmodifiable {@link Map}.
+	 */
+	protected Map<String, List<Method>> freeze(Map<String, List<Method>> methodsByName) {
+		for (Map.Entry<String, List<Method>> entry : methodsByName.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		
+		return Collections.unmodifiableMap(methodsByName);
+	}
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link FieldAccessor} reads and writes a {@link Field} from and to Lua.
+ * <p>
+ * The {@link Field} is accessed through {@link MethodHandle}s which are typed
+ * to the primitive type of the {@link Field}, so that primitive values are
+ * neither boxed when read nor when written. Static and instance {@link Field}s
+ * are accessed the same way, the instance is ignored for static ones. If the
+ * {@link Field} cannot be accessed through a {@link MethodHandle}, reflection
+ * is used instead.
+ */
+public class FieldAccessor {
+	/** The {@link Coercer} to use. */
+	protected Coercer coercer = null;
+	/** The {@link Field}. */
+	protected Field field = null;
+	/** The getter, {@code null} if reflection is used. */
+	protected MethodHandle getter = null;
+	/** The setter, {@code null} if the field is final or reflection is used. */
+	protected MethodHandle setter = null;
+	/**
+	 * The type of the {@link Field}, or {@link Object} if it is not a
+	 * primitive.
+	 */
+	protected Class<?> type = null;
+	
+	/**
+	 * Creates a new instance of {@link FieldAccessor}.
+	 * 
+	 * @param field The {@link Field} to access, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code field} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public FieldAccessor(Field field, Coercer coercer) {
+		super();
+		
+		this.field = Verifier.notNull("field", field);
+		this.coercer = Verifier.notNull("coercer", coercer);
+		
+		if (field.getType().isPrimitive()) {
+			this.type = field.getType();
+		} else {
+			this.type = Object.class;
+		}
+		
+		try {
+			this.getter = createGetter();
+			
+			if (!isFinal()) {
+				this.setter = createSetter();
+			}
+		} catch (IllegalAccessException e) {
+			// Not accessible through a MethodHandle, we will fall back to
+			// reflection for this one.
+			this.getter = null;
+			this.setter = null;
+		}
+	}
+	
+	/**
+	 * Gets the value of the {@link Field} as {@link LuaValue}.
+	 * 
+	 * @param instance The instance from which to read the {@link Field},
+	 *        ignored if the {@link Field} is static.
+	 * @return The value of the {@link Field} as {@link LuaValue}.
+	 * @throws LuaError If reading the {@link Field} failed.
+	 */
+	public LuaValue get(Object instance) {
+		try {
+			if (getter == null) {
+				return coercer.coerceJavaToLua(field.get(instance));
+			} else if (type == int.class) {
+				return LuaValue.valueOf((int)getter.invokeExact(instance));
+			} else if (type == double.class) {
+				return LuaValue.valueOf((double)getter.invokeExact(instance));
+			} else if (type == boolean.class) {
+				return LuaValue.valueOf((boolean)getter.invokeExact(instance));
+			} else if (type == long.class) {
+				return ValueConversions.toLua((long)getter.invokeExact(instance), coercer);
+			} else if (type == float.class) {
+				return LuaValue.valueOf((float)getter.invokeExact(instance));
+			} else if (type == short.class) {
+				return LuaValue.valueOf((short)getter.invokeExact(instance));
+			} else if (type == byte.class) {
+				return LuaValue.valueOf((byte)getter.invokeExact(instance));
+			} else if (type == char.class) {
+				return coercer.coerceJavaToLua(Character.valueOf((char)getter.invokeExact(instance)));
+			}
+			
+			return coercer.coerceJavaToLua((Object)getter.invokeExact(instance));
+		} catch (LuaError | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new LuaError(e);
+		}
+	}
+	
+	/**
+	 * Gets the {@link Field}.
+	 * 
+	 * @return The {@link Field}.
+	 */
+	public Field getField() {
+		return field;
+	}
+	
+	/**
+	 * Gets whether the {@link Field} is final.
+	 * 
+	 * @return {@code true} if the {@link Field} is final.
+	 */
+	public boolean isFinal() {
+		return Modifier.isFinal(field.getModifiers());
+	}
+	
+	/**
+	 * Sets the value of the {@link Field}.
+	 * 
+	 * @param instance The instance on which to set the {@link Field}, ignored
+	 *        if the {@link Field} is static.
+	 * @param value The value to set, cannot be {@code null}.
+	 * @throws LuaError If the {@link Field} is final, the value cannot be
+	 *         converted to the type of the {@link Field} or setting the
+	 *         {@link Field} failed.
+	 */
+	public void set(Object instance, LuaValue value) {
+		if (isFinal()) {
+			throw new LuaError("Field <" + field.getName() + "> is final and cannot be set.");
+		}
+		
+		try {
+			if (setter == null) {
+				field.set(instance, ValueConversions.toJava(value, field.getType(), coercer));
+			} else if (type == int.class) {
+				setter.invokeExact(instance, ValueConversions.toInt(value));
+			} else if (type == double.class) {
+				setter.invokeExact(instance, value.checkdouble());
+			} else if (type == boolean.class) {
+				setter.invokeExact(instance, value.checkboolean());
+			} else if (type == long.class) {
+				setter.invokeExact(instance, ValueConversions.toLong(value));
+			} else if (type == float.class) {
+				setter.invokeExact(instance, (float)value.checkdouble());
+			} else if (type == short.class) {
+				setter.invokeExact(instance, ValueConversions.toShort(value));
+			} else if (type == byte.class) {
+				setter.invokeExact(instance, ValueConversions.toByte(value));
+			} else if (type == char.class) {
+				setter.invokeExact(instance, ValueConversions.toChar(value));
+			} else {
+				setter.invokeExact(instance, ValueConversions.toJava(value, field.getType(), coercer));
+			}
+		} catch (LuaError | Error e) {
+			throw e;
+		} catch (ClassCastException | IllegalArgumentException e) {
+			throw new LuaError("Cannot set field <" + field.getName() + "> of type <" + field.getType().getName() + "> to <" + value.typename() + ">.");
+		} catch (Throwable e) {
+			throw new LuaError(e);
+		}
+	}
+	
+	/**
+	 * Creates the getter, which accepts the instance and returns the
+	 * {@link #type}.
+	 * 
+	 * @return The getter.
+	 * @throws IllegalAccessException If the {@link Field} is not accessible.
+	 */
+	protected MethodHandle createGetter() throws IllegalAccessException {
+		MethodHandle methodHandle = MethodHandles.lookup().unreflectGetter(field);
+		
+		if (Modifier.isStatic(field.getModifiers())) {
+			methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+		}
+		
+		return methodHandle.asType(MethodType.methodType(type, Object.class));
+	}
+	
+	/**
+	 * Creates the setter, which accepts the instance and the value of the
+	 * {@link #type}.
+	 * 
+	 * @return The setter.
+	 * @throws IllegalAccessException If the {@link Field} is not accessible.
+	 */
+	protected MethodHandle createSetter() throws IllegalAccessException {
+		MethodHandle methodHandle = MethodHandles.lookup().unreflectSetter(field);
+		
+		if (Modifier.isStatic(field.getModifiers())) {
+			methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+		}
+		
+		return methodHandle.asType(MethodType.methodType(void.class, Object.class, type));
+	}
+}
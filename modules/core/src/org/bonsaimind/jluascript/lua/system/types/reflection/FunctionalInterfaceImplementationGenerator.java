@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaValue;
+
+import javassist.CannotCompileException;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+
+/**
+ * The {@link FunctionalInterfaceImplementationGenerator} generates classes
+ * which implement a functional interface by invoking a Lua function.
+ * <p>
+ * Contrary to a {@link java.lang.reflect.Proxy}, the generated class passes
+ * the arguments directly to the {@link LuaValue#call()} with the matching
+ * arity and converts primitive arguments and return values without boxing
+ * them.
+ * <p>
+ * The generated classes have a public constructor which accepts the
+ * {@link LuaValue Lua function} and the {@link Coercer} to use.
+ */
+public class FunctionalInterfaceImplementationGenerator extends AbstractClassGenerator {
+	/** The shared instance. */
+	public static final FunctionalInterfaceImplementationGenerator INSTANCE = new FunctionalInterfaceImplementationGenerator();
+	
+	/**
+	 * Creates a new instance of {@link FunctionalInterfaceImplementationGenerator}.
+	 */
+	public FunctionalInterfaceImplementationGenerator() {
+		super();
+	}
+	
+	/**
+	 * Generates the implementation of the given functional interface.
+	 * 
+	 * @param functionalInterface The functional interface to implement, cannot
+	 *        be {@code null}.
+	 * @return The {@link Constructor} of the generated class, which accepts
+	 *         the {@link LuaValue Lua function} and the {@link Coercer}.
+	 * @throws CannotCompileException If the implementation could not be
+	 *         compiled, for example because the interface is not public.
+	 * @throws IllegalArgumentException If the given
+	 *         {@code functionalInterface} is {@code null}.
+	 * @throws ReflectiveOperationException If the constructor of the
+	 *         implementation could not be found.
+	 */
+	public Constructor<?> generate(Class<?> functionalInterface) throws CannotCompileException, ReflectiveOperationException {
+		Verifier.notNull("functionalInterface", functionalInterface);
+		
+		if (!functionalInterface.isInterface() || !isAccessible(functionalInterface)) {
+			throw new CannotCompileException("Cannot implement <" + functionalInterface.getName() + ">.");
+		}
+		
+		Class<?> generatedClass = generateClass(functionalInterface.getClassLoader(), functionalInterface.getSimpleName() + "Implementation", (implementationClass, classPool) -> {
+			implementationClass.addInterface(classPool.get(functionalInterface.getName()));
+			
+			implementationClass.addField(CtField.make("protected " + Coercer.class.getName() + " coercer;", implementationClass));
+			implementationClass.addField(CtField.make("protected " + LuaValue.class.getName() + " luaFunction;", implementationClass));
+			implementationClass.addConstructor(CtNewConstructor.make(
+					"public " + implementationClass.getSimpleName() + "(" + LuaValue.class.getName() + " luaFunction, " + Coercer.class.getName() + " coercer) {"
+							+ "super();"
+							+ "this.luaFunction = luaFunction;"
+							+ "this.coercer = coercer;"
+							+ "}",
+					implementationClass));
+			
+			for (Method method : functionalInterface.getMethods()) {
+				if (Modifier.isAbstract(method.getModifiers()) && !isObjectMethod(method)) {
+					if (!isAccessible(method.getReturnType())) {
+						throw new CannotCompileException("Cannot implement <" + method + ">.");
+					}
+					
+					for (Class<?> parameterType : method.getParameterTypes()) {
+						if (!isAccessible(parameterType)) {
+							throw new CannotCompileException("Cannot implement <" + method + ">.");
+						}
+					}
+					
+					implementationClass.addMethod(CtNewMethod.make(createMethodSource(method), implementationClass));
+				}
+			}
+		});
+		
+		return generatedClass.getConstructor(LuaValue.class, Coercer.class);
+	}
+	
+	/**
+	 * Creates the source which converts the given argument to a
+	 * {@link LuaValue}.
+	 * 
+	 * @param argumentName The name of the argument.
+	 * @param argumentType The type of the argument.
+	 * @return The source of the conversion.
+	 */
+	protected String createArgumentConversion(String argumentName, Class<?> argumentType) {
+		if (argumentType == int.class
+				|| argumentType == short.class
+				|| argumentType == byte.class
+				|| argumentType == double.class
+				|| argumentType == boolean.class) {
+			return "org.luaj.vm2.LuaValue.valueOf(" + argumentName + ")";
+		} else if (argumentType == float.class) {
+			return "org.luaj.vm2.LuaValue.valueOf((double)" + argumentName + ")";
+		} else if (argumentType == long.class) {
+			return "org.bonsaimind.jluascript.lua.system.types.reflection.ValueConversions.toLua(" + argumentName + ", coercer)";
+		} else if (argumentType == char.class) {
+			return "coercer.coerceJavaToLua(java.lang.Character.valueOf(" + argumentName + "))";
+		}
+		
+		return "coercer.coerceJavaToLua(" + argumentName + ")";
+	}
+	
+	/**
+	 * Creates the source of the implementation of the given {@link Method}.
+	 * 
+	 * @param method The {@link Method} to implement.
+	 * @return The source of the implementation.
+	 */
+	protected String createMethodSource(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		
+		StringBuilder source = new StringBuilder();
+		source.append("public ")
+				.append(toSourceName(method.getReturnType()))
+				.append(" ")
+				.append(method.getName())
+				.append("(");
+		
+		for (int index = 0; index < parameterTypes.length; index++) {
+			if (index > 0) {
+				source.append(", ");
+			}
+			
+			source.append(toSourceName(parameterTypes[index]))
+					.append(" p")
+					.append(index);
+		}
+		
+		source.append(") {\n");
+		
+		StringBuilder arguments = new StringBuilder();
+		
+		for (int index = 0; index < parameterTypes.length; index++) {
+			if (index > 0) {
+				arguments.append(", ");
+			}
+			
+			arguments.append(createArgumentConversion("p" + index, parameterTypes[index]));
+		}
+		
+		String invocation = null;
+		
+		if (parameterTypes.length <= 3) {
+			invocation = "luaFunction.call(" + arguments + ")";
+		} else {
+			invocation = "luaFunction.invoke(new org.luaj.vm2.LuaValue[] { " + arguments + " }).arg1()";
+		}
+		
+		source.append(createReturnStatement(invocation, method.getReturnType()));
+		source.append("}");
+		
+		return source.toString();
+	}
+	
+	/**
+	 * Creates the return statement which converts the {@link LuaValue}
+	 * returned by the given invocation to the given type.
+	 * 
+	 * @param invocation The source of the invocation.
+	 * @param returnType The type to return.
+	 * @return The source of the return statement.
+	 */
+	protected String createReturnStatement(String invocation, Class<?> returnType) {
+		if (returnType == void.class) {
+			return invocation + ";\n";
+		} else if (returnType == boolean.class) {
+			return "return " + invocation + ".toboolean();\n";
+		} else if (returnType == int.class) {
+			return "return " + invocation + ".toint();\n";
+		} else if (returnType == long.class) {
+			return "return " + invocation + ".tolong();\n";
+		} else if (returnType == double.class) {
+			return "return " + invocation + ".todouble();\n";
+		} else if (returnType == float.class) {
+			return "return " + invocation + ".tofloat();\n";
+		} else if (returnType == short.class) {
+			return "return " + invocation + ".toshort();\n";
+		} else if (returnType == byte.class) {
+			return "return " + invocation + ".tobyte();\n";
+		} else if (returnType == char.class) {
+			return "return " + invocation + ".tochar();\n";
+		}
+		
+		return "return (" + toSourceName(returnType) + ")coercer.coerceLuaToJava(" + invocation + ");\n";
+	}
+	
+	/**
+	 * Tests whether the given {@link Method} is a public method of
+	 * {@link Object}, which is redeclared by the interface, like
+	 * {@link java.util.Comparator#equals(Object)}.
+	 * 
+	 * @param method The {@link Method} to test.
+	 * @return {@code true} if the given {@link Method} is already implemented
+	 *         by {@link Object}.
+	 */
+	protected boolean isObjectMethod(Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaValue;
+
+import javassist.CannotCompileException;
+
+/**
+ * The {@link FunctionalInterfaceProxies} is a static utility class for
+ * creating proxies of functional interfaces which invoke a Lua function.
+ * <p>
+ * The proxies of the primitive functional interfaces of
+ * {@code java.util.function} are {@link AbstractLuaFunctionAdapter}s, all
+ * others are instances of classes generated by the
+ * {@link FunctionalInterfaceImplementationGenerator}, or if the interface
+ * cannot be implemented that way, {@link Proxy proxies} with a
+ * {@link LuaFunctionInvokingInvocationHandler}.
+ * <p>
+ * Whether a {@link Class} is a functional interface and the {@link Constructor}
+ * of its proxy class are determined only once per {@link Class}.
+ */
+public final class FunctionalInterfaceProxies {
+	/**
+	 * The handwritten adapters for the primitive functional interfaces of
+	 * {@code java.util.function}, which are used instead of generating an
+	 * implementation.
+	 */
+	private static final Class<?>[] ADAPTER_CLASSES = new Class<?>[] {
+			LuaFunctionIntAdapter.class,
+			LuaFunctionLongAdapter.class,
+			LuaFunctionDoubleAdapter.class };
+	
+	/** Whether the {@link Class} is a functional interface. */
+	private static final ClassValue<Boolean> FUNCTIONAL_INTERFACES = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> clazz) {
+			if (!clazz.isInterface()) {
+				return Boolean.FALSE;
+			}
+			
+			for (Method method : clazz.getMethods()) {
+				if (!method.isDefault()
+						&& !Modifier.isAbstract(method.getModifiers())
+						&& !Modifier.isStatic(method.getModifiers())) {
+					return Boolean.FALSE;
+				}
+			}
+			
+			return Boolean.TRUE;
+		}
+	};
+	
+	/**
+	 * The {@link Constructor} of the proxy class of the interface, either
+	 * accepting the Lua function and the {@link Coercer} if it is a generated
+	 * implementation, or the {@link InvocationHandler} if it is a
+	 * {@link Proxy} class.
+	 */
+	private static final ClassValue<Constructor<?>> PROXY_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+		@Override
+		protected Constructor<?> computeValue(Class<?> clazz) {
+			for (Class<?> adapterClass : ADAPTER_CLASSES) {
+				if (clazz.isAssignableFrom(adapterClass)) {
+					try {
+						return adapterClass.getConstructor(LuaValue.class, Coercer.class);
+					} catch (NoSuchMethodException e) {
+						throw new IllegalStateException("Adapter class does not have the expected constructor.", e);
+					}
+				}
+			}
+			
+			try {
+				return FunctionalInterfaceImplementationGenerator.INSTANCE.generate(clazz);
+			} catch (CannotCompileException | ReflectiveOperationException e) {
+				// Fall back to a Proxy class.
+			}
+			
+			try {
+				@SuppressWarnings("deprecation")
+				Class<?> proxyClass = Proxy.getProxyClass(clazz.getClassLoader(), clazz);
+				
+				return proxyClass.getConstructor(InvocationHandler.class);
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException("Proxy class does not have the expected constructor.", e);
+			}
+		}
+	};
+	
+	/**
+	 * No instance required.
+	 */
+	private FunctionalInterfaceProxies() {
+	}
+	
+	/**
+	 * Creates a new proxy of the given functional interface which invokes the
+	 * given Lua function.
+	 * 
+	 * @param <INTERFACE_TYPE> The type of the functional interface.
+	 * @param functionalInterface The functional interface to implement, cannot
+	 *        be {@code null}.
+	 * @param luaFunction The Lua function to invoke, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @return The new proxy.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 * @throws LuaError If the proxy could not be created.
+	 */
+	public static final <INTERFACE_TYPE> INTERFACE_TYPE createProxy(Class<INTERFACE_TYPE> functionalInterface, LuaValue luaFunction, Coercer coercer) {
+		Verifier.notNull("functionalInterface", functionalInterface);
+		Verifier.notNull("luaFunction", luaFunction);
+		Verifier.notNull("coercer", coercer);
+		
+		Constructor<?> proxyConstructor = PROXY_CONSTRUCTORS.get(functionalInterface);
+		
+		try {
+			if (Proxy.isProxyClass(proxyConstructor.getDeclaringClass())) {
+				return functionalInterface.cast(proxyConstructor.newInstance(
+						new LuaFunctionInvokingInvocationHandler(luaFunction, coercer)));
+			} else {
+				return functionalInterface.cast(proxyConstructor.newInstance(luaFunction, coercer));
+			}
+		} catch (ReflectiveOperationException | IllegalArgumentException e) {
+			throw new LuaError(e);
+		}
+	}
+	
+	/**
+	 * Tests if given {@link Class} is a functional interface.
+	 * 
+	 * @param clazz The {@link Class} to test, cannot be {@code null}.
+	 * @return {@code true} if the given {@link Class} is a functional
+	 *         interface.
+	 * @throws IllegalArgumentException If the given {@code clazz} is
+	 *         {@code null}.
+	 */
+	public static final boolean isFunctionalInterface(Class<?> clazz) {
+		Verifier.notNull("clazz", clazz);
+		
+		return FUNCTIONAL_INTERFACES.get(clazz).booleanValue();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link LuaFunctionDoubleAdapter} is an {@link AbstractLuaFunctionAdapter}
+ * extension which implements all functional interfaces of
+ * {@code java.util.function} with {@code double} arguments or return values,
+ * passing them to and from the Lua function without boxing.
+ */
+public class LuaFunctionDoubleAdapter extends AbstractLuaFunctionAdapter implements DoubleBinaryOperator, DoubleConsumer, DoubleFunction<Object>, DoublePredicate, DoubleSupplier, DoubleToIntFunction, DoubleToLongFunction, DoubleUnaryOperator, ObjDoubleConsumer<Object>, ToDoubleBiFunction<Object, Object>, ToDoubleFunction<Object> {
+	/**
+	 * Creates a new instance of {@link LuaFunctionDoubleAdapter}.
+	 * 
+	 * @param luaFunction The {@link LuaValue Lua function} that is being
+	 *        invoked, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for non-primitive values,
+	 *        cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code luaFunction} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public LuaFunctionDoubleAdapter(LuaValue luaFunction, Coercer coercer) {
+		super(luaFunction, coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void accept(double value) {
+		luaFunction.call(LuaValue.valueOf(value));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void accept(Object object, double value) {
+		luaFunction.call(coercer.coerceJavaToLua(object), LuaValue.valueOf(value));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object apply(double value) {
+		return coercer.coerceLuaToJava(luaFunction.call(LuaValue.valueOf(value)));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(Object value) {
+		return luaFunction.call(coercer.coerceJavaToLua(value)).todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(double operand) {
+		return luaFunction.call(LuaValue.valueOf(operand)).todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(Object left, Object right) {
+		return luaFunction.call(coercer.coerceJavaToLua(left), coercer.coerceJavaToLua(right)).todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(double left, double right) {
+		return luaFunction.call(LuaValue.valueOf(left), LuaValue.valueOf(right)).todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int applyAsInt(double value) {
+		return luaFunction.call(LuaValue.valueOf(value)).toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long applyAsLong(double value) {
+		return luaFunction.call(LuaValue.valueOf(value)).tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double getAsDouble() {
+		return luaFunction.call().todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean test(double value) {
+		return luaFunction.call(LuaValue.valueOf(value)).toboolean();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link LuaFunctionIntAdapter} is an {@link AbstractLuaFunctionAdapter}
+ * extension which implements all functional interfaces of
+ * {@code java.util.function} with {@code int} arguments or return values and
+ * the {@link BooleanSupplier}, passing them to and from the Lua function
+ * without boxing.
+ */
+public class LuaFunctionIntAdapter extends AbstractLuaFunctionAdapter implements BooleanSupplier, IntBinaryOperator, IntConsumer, IntFunction<Object>, IntPredicate, IntSupplier, IntToDoubleFunction, IntToLongFunction, IntUnaryOperator, ObjIntConsumer<Object>, ToIntBiFunction<Object, Object>, ToIntFunction<Object> {
+	/**
+	 * Creates a new instance of {@link LuaFunctionIntAdapter}.
+	 * 
+	 * @param luaFunction The {@link LuaValue Lua function} that is being
+	 *        invoked, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for non-primitive values,
+	 *        cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code luaFunction} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public LuaFunctionIntAdapter(LuaValue luaFunction, Coercer coercer) {
+		super(luaFunction, coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void accept(int value) {
+		luaFunction.call(LuaValue.valueOf(value));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void accept(Object object, int value) {
+		luaFunction.call(coercer.coerceJavaToLua(object), LuaValue.valueOf(value));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object apply(int value) {
+		return coercer.coerceLuaToJava(luaFunction.call(LuaValue.valueOf(value)));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(int value) {
+		return luaFunction.call(LuaValue.valueOf(value)).todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int applyAsInt(Object value) {
+		return luaFunction.call(coercer.coerceJavaToLua(value)).toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int applyAsInt(int operand) {
+		return luaFunction.call(LuaValue.valueOf(operand)).toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int applyAsInt(Object left, Object right) {
+		return luaFunction.call(coercer.coerceJavaToLua(left), coercer.coerceJavaToLua(right)).toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int applyAsInt(int left, int right) {
+		return luaFunction.call(LuaValue.valueOf(left), LuaValue.valueOf(right)).toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long applyAsLong(int value) {
+		return luaFunction.call(LuaValue.valueOf(value)).tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getAsBoolean() {
+		return luaFunction.call().toboolean();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getAsInt() {
+		return luaFunction.call().toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean test(int value) {
+		return luaFunction.call(LuaValue.valueOf(value)).toboolean();
+	}
+}
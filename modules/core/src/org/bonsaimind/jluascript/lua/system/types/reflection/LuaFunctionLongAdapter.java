@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link LuaFunctionLongAdapter} is an {@link AbstractLuaFunctionAdapter}
+ * extension which implements all functional interfaces of
+ * {@code java.util.function} with {@code long} arguments or return values,
+ * passing them to and from the Lua function without boxing.
+ */
+public class LuaFunctionLongAdapter extends AbstractLuaFunctionAdapter implements LongBinaryOperator, LongConsumer, LongFunction<Object>, LongPredicate, LongSupplier, LongToDoubleFunction, LongToIntFunction, LongUnaryOperator, ObjLongConsumer<Object>, ToLongBiFunction<Object, Object>, ToLongFunction<Object> {
+	/**
+	 * Creates a new instance of {@link LuaFunctionLongAdapter}.
+	 * 
+	 * @param luaFunction The {@link LuaValue Lua function} that is being
+	 *        invoked, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use for non-primitive values,
+	 *        cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given {@code luaFunction} or
+	 *         {@code coercer} is {@code null}.
+	 */
+	public LuaFunctionLongAdapter(LuaValue luaFunction, Coercer coercer) {
+		super(luaFunction, coercer);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void accept(long value) {
+		luaFunction.call(ValueConversions.toLua(value, coercer));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void accept(Object object, long value) {
+		luaFunction.call(coercer.coerceJavaToLua(object), ValueConversions.toLua(value, coercer));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object apply(long value) {
+		return coercer.coerceLuaToJava(luaFunction.call(ValueConversions.toLua(value, coercer)));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double applyAsDouble(long value) {
+		return luaFunction.call(ValueConversions.toLua(value, coercer)).todouble();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int applyAsInt(long value) {
+		return luaFunction.call(ValueConversions.toLua(value, coercer)).toint();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long applyAsLong(Object value) {
+		return luaFunction.call(coercer.coerceJavaToLua(value)).tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long applyAsLong(long operand) {
+		return luaFunction.call(ValueConversions.toLua(operand, coercer)).tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long applyAsLong(Object left, Object right) {
+		return luaFunction.call(coercer.coerceJavaToLua(left), coercer.coerceJavaToLua(right)).tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long applyAsLong(long left, long right) {
+		return luaFunction.call(ValueConversions.toLua(left, coercer), ValueConversions.toLua(right, coercer)).tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getAsLong() {
+		return luaFunction.call().tolong();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean test(long value) {
+		return luaFunction.call(ValueConversions.toLua(value, coercer)).toboolean();
+	}
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.lua.system.types.reflection;
+
+import org.bonsaimind.jluascript.lua.system.Coercer;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableArrays;
+import org.bonsaimind.jluascript.lua.system.types.collections.LuaTableViews;
+import org.bonsaimind.jluascript.utils.Verifier;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+
+/**
+ * The {@link ValueConversions} is a static utility class for converting
+ * {@link LuaValue}s into Java values of a specific type, like they are needed
+ * for assigning them to fields or array elements.
+ */
+public final class ValueConversions {
+	/**
+	 * The largest magnitude up to which every {@code long} can be represented
+	 * exactly as {@code double}, which is {@code 2^53}.
+	 */
+	public static final long EXACT_LONG_LIMIT = 1L << 53;
+	
+	/**
+	 * No instance required.
+	 */
+	private ValueConversions() {
+	}
+	
+	/**
+	 * Checks that the given {@link LuaValue} is an integral number within the
+	 * given range.
+	 * 
+	 * @param value The {@link LuaValue} to check, cannot be {@code null}.
+	 * @param minimum The minimum value, inclusive.
+	 * @param maximum The maximum value, inclusive.
+	 * @param targetType The type the value is converted to, for the error
+	 *        message, cannot be {@code null}.
+	 * @return The value of the given {@link LuaValue}.
+	 * @throws IllegalArgumentException If the given {@code value} or
+	 *         {@code targetType} is {@code null}.
+	 * @throws LuaError If the given {@code value} is not a number, not
+	 *         integral or out of range.
+	 */
+	public static final long checkIntegral(LuaValue value, long minimum, long maximum, Class<?> targetType) {
+		Verifier.notNull("value", value);
+		Verifier.notNull("targetType", targetType);
+		
+		if (value.isint()) {
+			return checkIntegral(value.toint(), minimum, maximum, targetType);
+		}
+		
+		return checkIntegral(value.checkdouble(), minimum, maximum, targetType);
+	}
+	
+	/**
+	 * Checks that the given {@link Number} is integral and within the given
+	 * range.
+	 * 
+	 * @param number The {@link Number} to check, cannot be {@code null}.
+	 * @param minimum The minimum value, inclusive.
+	 * @param maximum The maximum value, inclusive.
+	 * @param targetType The type the value is converted to, for the error
+	 *        message, cannot be {@code null}.
+	 * @return The value of the given {@link Number}.
+	 * @throws IllegalArgumentException If the given {@code number} or
+	 *         {@code targetType} is {@code null}.
+	 * @throws LuaError If the given {@code number} is not integral or out of
+	 *         range.
+	 */
+	public static final long checkIntegral(Number number, long minimum, long maximum, Class<?> targetType) {
+		Verifier.notNull("number", number);
+		Verifier.notNull("targetType", targetType);
+		
+		if (number instanceof Double || number instanceof Float) {
+			return checkIntegral(number.doubleValue(), minimum, maximum, targetType);
+		}
+		
+		return checkIntegral(number.longValue(), minimum, maximum, targetType);
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to a {@code byte}.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @return The {@code byte}.
+	 * @throws IllegalArgumentException If the given {@code value} is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} is not an integral number
+	 *         within the range of {@code byte}.
+	 */
+	public static final byte toByte(LuaValue value) {
+		return (byte)checkIntegral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, byte.class);
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to a {@code char}.
+	 * <p>
+	 * Strings must consist of exactly one character, numbers are used as the
+	 * code of the character.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @return The {@code char}.
+	 * @throws IllegalArgumentException If the given {@code value} is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} cannot be converted.
+	 */
+	public static final char toChar(LuaValue value) {
+		Verifier.notNull("value", value);
+		
+		if (value.type() == LuaValue.TSTRING) {
+			String string = value.tojstring();
+			
+			if (string.length() != 1) {
+				throw new LuaError("Expected a single character, but got <" + string + ">.");
+			}
+			
+			return string.charAt(0);
+		}
+		
+		return (char)checkIntegral(value, Character.MIN_VALUE, Character.MAX_VALUE, char.class);
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to an {@code int}.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @return The {@code int}.
+	 * @throws IllegalArgumentException If the given {@code value} is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} is not an integral number
+	 *         within the range of {@code int}.
+	 */
+	public static final int toInt(LuaValue value) {
+		return (int)checkIntegral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, int.class);
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to a Java value which can be
+	 * assigned to the given type.
+	 * <p>
+	 * Primitive types are returned boxed, numbers are converted to the boxed
+	 * type of the target, functions are converted into a proxy if the target
+	 * is a functional interface, strings are converted with
+	 * {@link BinaryConversions} if the target is a binary type. Tables are
+	 * exposed through {@link LuaTableViews} if the target is a collection
+	 * interface and converted with {@link LuaTableArrays} if the target is an
+	 * array. Anything else is coerced by the given {@link Coercer}.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @param targetType The type to convert to, cannot be {@code null}.
+	 * @param coercer The {@link Coercer} to use, cannot be {@code null}.
+	 * @return The converted value.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} cannot be converted.
+	 */
+	public static final Object toJava(LuaValue value, Class<?> targetType, Coercer coercer) {
+		Verifier.notNull("value", value);
+		Verifier.notNull("targetType", targetType);
+		Verifier.notNull("coercer", coercer);
+		
+		if (targetType.isPrimitive()) {
+			return toPrimitive(value, targetType);
+		}
+		
+		if (value.isfunction() && FunctionalInterfaceProxies.isFunctionalInterface(targetType)) {
+			return FunctionalInterfaceProxies.createProxy(targetType, value, coercer);
+		}
+		
+		if (value instanceof LuaString && BinaryConversions.isBinaryType(targetType)) {
+			return BinaryConversions.toBinary((LuaString)value, targetType);
+		}
+		
+		if (value instanceof LuaTable) {
+			if (LuaTableViews.isViewType(targetType)) {
+				return LuaTableViews.toView((LuaTable)value, targetType, coercer);
+			} else if (targetType.isArray()) {
+				return LuaTableArrays.toArray((LuaTable)value, targetType.getComponentType(), coercer);
+			}
+		}
+		
+		if (targetType == Character.class && !value.isnil()) {
+			return Character.valueOf(toChar(value));
+		}
+		
+		Object javaValue = coercer.coerceLuaToJava(value);
+		
+		if (javaValue instanceof Number && !targetType.isInstance(javaValue)) {
+			Number number = (Number)javaValue;
+			
+			if (targetType == Long.class) {
+				return Long.valueOf(checkIntegral(number, Long.MIN_VALUE, Long.MAX_VALUE, targetType));
+			} else if (targetType == Double.class) {
+				return Double.valueOf(number.doubleValue());
+			} else if (targetType == Float.class) {
+				return Float.valueOf(number.floatValue());
+			} else if (targetType == Short.class) {
+				return Short.valueOf((short)checkIntegral(number, Short.MIN_VALUE, Short.MAX_VALUE, targetType));
+			} else if (targetType == Byte.class) {
+				return Byte.valueOf((byte)checkIntegral(number, Byte.MIN_VALUE, Byte.MAX_VALUE, targetType));
+			} else if (targetType == Integer.class) {
+				return Integer.valueOf((int)checkIntegral(number, Integer.MIN_VALUE, Integer.MAX_VALUE, targetType));
+			}
+		}
+		
+		return javaValue;
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to a {@code long}.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @return The {@code long}.
+	 * @throws IllegalArgumentException If the given {@code value} is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} is not an integral number
+	 *         within the range of {@code long}.
+	 */
+	public static final long toLong(LuaValue value) {
+		return checkIntegral(value, Long.MIN_VALUE, Long.MAX_VALUE, long.class);
+	}
+	
+	/**
+	 * Converts the given {@code long} to a {@link LuaValue}.
+	 * <p>
+	 * LuaJ has no 64-bit integer type, so the value is converted to a Lua
+	 * number only if it is within {@link #EXACT_LONG_LIMIT}, values in the
+	 * {@code int} range end up as {@code LuaInteger}. All other values would
+	 * silently lose precision as {@code double}, so they are coerced as
+	 * {@link Long} by the given {@link Coercer} instead, which by default
+	 * wraps them into a userdata.
+	 * 
+	 * @param value The value to convert.
+	 * @param coercer The {@link Coercer} to use for values which cannot be
+	 *        represented exactly, cannot be {@code null}.
+	 * @return The {@link LuaValue}.
+	 * @throws LuaError If the conversion by the given {@link Coercer} failed.
+	 */
+	public static final LuaValue toLua(long value, Coercer coercer) {
+		if (value >= -EXACT_LONG_LIMIT && value <= EXACT_LONG_LIMIT) {
+			return LuaValue.valueOf((double)value);
+		}
+		
+		return coercer.coerceJavaToLua(Long.valueOf(value));
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to the given primitive type.
+	 * <p>
+	 * Integral types only accept integral numbers within their range.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @param primitiveType The primitive type, cannot be {@code null}.
+	 * @return The boxed primitive value.
+	 * @throws IllegalArgumentException If any of the given parameters is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} cannot be converted.
+	 */
+	public static final Object toPrimitive(LuaValue value, Class<?> primitiveType) {
+		Verifier.notNull("value", value);
+		Verifier.notNull("primitiveType", primitiveType);
+		
+		if (primitiveType == int.class) {
+			return Integer.valueOf(toInt(value));
+		} else if (primitiveType == double.class) {
+			return Double.valueOf(value.checkdouble());
+		} else if (primitiveType == boolean.class) {
+			return Boolean.valueOf(value.checkboolean());
+		} else if (primitiveType == long.class) {
+			return Long.valueOf(toLong(value));
+		} else if (primitiveType == float.class) {
+			return Float.valueOf((float)value.checkdouble());
+		} else if (primitiveType == short.class) {
+			return Short.valueOf(toShort(value));
+		} else if (primitiveType == byte.class) {
+			return Byte.valueOf(toByte(value));
+		} else if (primitiveType == char.class) {
+			return Character.valueOf(toChar(value));
+		}
+		
+		throw new LuaError("Cannot convert <" + value.typename() + "> to <" + primitiveType.getName() + ">.");
+	}
+	
+	/**
+	 * Converts the given {@link LuaValue} to a {@code short}.
+	 * 
+	 * @param value The {@link LuaValue} to convert, cannot be {@code null}.
+	 * @return The {@code short}.
+	 * @throws IllegalArgumentException If the given {@code value} is
+	 *         {@code null}.
+	 * @throws LuaError If the given {@code value} is not an integral number
+	 *         within the range of {@code short}.
+	 */
+	public static final short toShort(LuaValue value) {
+		return (short)checkIntegral(value, Short.MIN_VALUE, Short.MAX_VALUE, short.class);
+	}
+	
+	/**
+	 * Checks that the given {@code double} is integral and within the given
+	 * range.
+	 * 
+	 * @param value The value to check.
+	 * @param minimum The minimum value, inclusive.
+	 * @param maximum The maximum value, inclusive.
+	 * @param targetType The type the value is converted to, for the error
+	 *        message.
+	 * @return The given value.
+	 * @throws LuaError If the given value is not integral or out of range.
+	 */
+	private static final long checkIntegral(double value, long minimum, long maximum, Class<?> targetType) {
+		if (value != Math.floor(value) || Double.isInfinite(value)) {
+			throw new LuaError("Value <" + LuaValue.valueOf(value).tojstring() + "> is not an integer and cannot be converted to <" + targetType.getName() + ">.");
+		}
+		
+		// The maximum plus one is exact as double for all integral types,
+		// contrary to the maximum of long itself.
+		if (value < minimum || value >= (double)maximum + 1.0d) {
+			throw new LuaError("Value <" + LuaValue.valueOf(value).tojstring() + "> is out of range for <" + targetType.getName() + ">.");
+		}
+		
+		return (long)value;
+	}
+	
+	/**
+	 * Checks that the given {@code long} is within the given range.
+	 * 
+	 * @param value The value to check.
+	 * @param minimum The minimum value, inclusive.
+	 * @param maximum The maximum value, inclusive.
+	 * @param targetType The type the value is converted to, for the error
+	 *        message.
+	 * @return The given value.
+	 * @throws LuaError If the given value is out of range.
+	 */
+	private static final long checkIntegral(long value, long minimum, long maximum, Class<?> targetType) {
+		if (value < minimum || value > maximum) {
+			throw new LuaError("Value <" + value + "> is out of range for <" + targetType.getName() + ">.");
+		}
+		
+		return value;
+	}
+}
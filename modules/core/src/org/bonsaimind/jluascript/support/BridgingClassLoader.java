@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.support;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+
+/**
+ * The {@link BridgingClassLoader} is a {@link ClassLoader} extension which
+ * loads classes from two other {@link ClassLoader}s, and allows to define new
+ * classes which can see the classes of both.
+ * <p>
+ * This is used for generated classes which link user classes against our
+ * own, for example when the user classes have been loaded from a jar at
+ * runtime.
+ */
+public class BridgingClassLoader extends ClassLoader {
+	/**
+	 * The {@link ClassLoader} which is asked if the parent could not load the
+	 * class.
+	 */
+	protected ClassLoader secondaryClassLoader = null;
+	
+	/**
+	 * Creates a new instance of {@link BridgingClassLoader}.
+	 *
+	 * @param primaryClassLoader The {@link ClassLoader} which is asked first,
+	 *        can be {@code null} for the bootstrap {@link ClassLoader}.
+	 * @param secondaryClassLoader The {@link ClassLoader} which is asked if
+	 *        the primary one could not load the class, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given
+	 *         {@code secondaryClassLoader} is {@code null}.
+	 */
+	public BridgingClassLoader(ClassLoader primaryClassLoader, ClassLoader secondaryClassLoader) {
+		super(primaryClassLoader);
+		
+		Verifier.notNull("secondaryClassLoader", secondaryClassLoader);
+		
+		this.secondaryClassLoader = secondaryClassLoader;
+	}
+	
+	/**
+	 * Defines the {@link Class} with the given name from the given bytecode.
+	 * 
+	 * @param name The name of the {@link Class}, cannot be {@code null}.
+	 * @param bytecode The bytecode of the {@link Class}, cannot be
+	 *        {@code null}.
+	 * @return The defined {@link Class}.
+	 * @throws IllegalArgumentException If the given {@code name} or
+	 *         {@code bytecode} is {@code null}.
+	 */
+	public Class<?> defineClass(String name, byte[] bytecode) {
+		Verifier.notNull("name", name);
+		Verifier.notNull("bytecode", bytecode);
+		
+		return defineClass(name, bytecode, 0, bytecode.length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		return secondaryClassLoader.loadClass(name);
+	}
+}
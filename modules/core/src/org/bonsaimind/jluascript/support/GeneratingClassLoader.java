@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026, Robert 'Bobby' Zenz
+ * 
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3.0 of the License, or (at your option) any later version.
+ * 
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, see <http://www.gnu.org/licenses/>
+ * or write to the Free Software Foundation, Inc., 51 Franklin Street,
+ * Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package org.bonsaimind.jluascript.support;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.bonsaimind.jluascript.utils.Verifier;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.LoaderClassPath;
+
+/**
+ * The {@link GeneratingClassLoader} is a {@link BridgingClassLoader} extension
+ * which also holds the {@link ClassPool} from which the classes it defines are
+ * generated.
+ * <p>
+ * There is one shared instance per target {@link ClassLoader}, which is
+ * retrieved through {@link #forClassLoader(ClassLoader)}, so that the
+ * {@link ClassPool} and the {@link ClassLoader} are created only once instead
+ * of for every generated class. The shared instances are only weakly
+ * referenced, which means that an instance stays alive for as long as any of
+ * the classes defined by it, and does not keep the target
+ * {@link ClassLoader} alive.
+ * <p>
+ * The {@link ClassPool} is not safe for concurrent use, so generating and
+ * defining a class must be synchronized on the instance.
+ */
+public class GeneratingClassLoader extends BridgingClassLoader {
+	/**
+	 * The shared instances by their target {@link ClassLoader}, access must be
+	 * synchronized on the {@link Map}.
+	 */
+	protected static final Map<ClassLoader, WeakReference<GeneratingClassLoader>> INSTANCES = new WeakHashMap<>();
+	
+	/** The {@link ClassPool} from which the classes are generated. */
+	protected ClassPool classPool = null;
+	
+	/**
+	 * Creates a new instance of {@link GeneratingClassLoader}.
+	 *
+	 * @param primaryClassLoader The {@link ClassLoader} which is asked first,
+	 *        can be {@code null} for the bootstrap {@link ClassLoader}.
+	 * @param secondaryClassLoader The {@link ClassLoader} which is asked if
+	 *        the primary one could not load the class, cannot be {@code null}.
+	 * @throws IllegalArgumentException If the given
+	 *         {@code secondaryClassLoader} is {@code null}.
+	 */
+	public GeneratingClassLoader(ClassLoader primaryClassLoader, ClassLoader secondaryClassLoader) {
+		super(primaryClassLoader, secondaryClassLoader);
+		
+		classPool = new ClassPool(true);
+		classPool.appendClassPath(new LoaderClassPath(secondaryClassLoader));
+		
+		if (primaryClassLoader != null) {
+			classPool.insertClassPath(new LoaderClassPath(primaryClassLoader));
+		}
+	}
+	
+	/**
+	 * Gets the shared {@link GeneratingClassLoader} for the given target
+	 * {@link ClassLoader}, which can see the classes of the target
+	 * {@link ClassLoader} and our own.
+	 * 
+	 * @param targetClassLoader The target {@link ClassLoader}, can be
+	 *        {@code null} for the bootstrap {@link ClassLoader}.
+	 * @return The shared {@link GeneratingClassLoader}.
+	 */
+	public static GeneratingClassLoader forClassLoader(ClassLoader targetClassLoader) {
+		synchronized (INSTANCES) {
+			WeakReference<GeneratingClassLoader> reference = INSTANCES.get(targetClassLoader);
+			GeneratingClassLoader classLoader = null;
+			
+			if (reference != null) {
+				classLoader = reference.get();
+			}
+			
+			if (classLoader == null) {
+				classLoader = new GeneratingClassLoader(targetClassLoader, GeneratingClassLoader.class.getClassLoader());
+				INSTANCES.put(targetClassLoader, new WeakReference<>(classLoader));
+			}
+			
+			return classLoader;
+		}
+	}
+	
+	/**
+	 * Defines the {@link Class} from the given {@link CtClass}.
+	 * 
+	 * @param ctClass The {@link CtClass} to define, cannot be {@code null}.
+	 * @return The defined {@link Class}.
+	 * @throws CannotCompileException If the {@link CtClass} could not be
+	 *         compiled.
+	 * @throws IllegalArgumentException If the given {@code ctClass} is
+	 *         {@code null}.
+	 * @throws IOException If the bytecode could not be written.
+	 */
+	public synchronized Class<?> defineClass(CtClass ctClass) throws CannotCompileException, IOException {
+		Verifier.notNull("ctClass", ctClass);
+		
+		return defineClass(ctClass.getName(), ctClass.toBytecode());
+	}
+	
+	/**
+	 * Gets the {@link ClassPool} from which the classes are generated.
+	 * <p>
+	 * Access must be synchronized on this instance.
+	 * 
+	 * @return The {@link ClassPool} from which the classes are generated.
+	 */
+	public ClassPool getClassPool() {
+		return classPool;
+	}
+}
@@ -8,6 +8,22 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class ConfigurationTests {
+	@Test
+	public void testCache() {
+		Configuration configuration = new Configuration("--cache=/tmp/cache", "script", "--cache");
+		
+		Assertions.assertFalse(configuration.isPrintHelp());
+		Assertions.assertEquals("/tmp/cache", configuration.getCacheDirectory());
+		Assertions.assertEquals("script", configuration.getScript());
+		Assertions.assertEquals(1, configuration.getScriptArguments().size());
+		Assertions.assertEquals("--cache", configuration.getScriptArguments().get(0));
+		
+		configuration = new Configuration("--cache", "script");
+		
+		Assertions.assertTrue(configuration.getCacheDirectory().endsWith("jluascript"));
+		Assertions.assertNull(new Configuration("script").getCacheDirectory());
+	}
+	
 	@Test
 	public void testEmptyArguments() {
 		Configuration configuration = new Configuration();
@@ -19,6 +19,7 @@
 
 package org.bonsaimind.jluascript;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +28,11 @@ import java.util.List;
  * The command line parameters as configuration.
  */
 public class Configuration {
+	/**
+	 * The directory in which the compiled scripts are cached, {@code null} if
+	 * they should not be cached.
+	 */
+	protected String cacheDirectory = null;
 	/** Whether the path resolving should be disabled. */
 	protected boolean noScriptPathResolve = false;
 	/** Wether the help text should be printed. */
@@ -44,7 +50,7 @@ public class Configuration {
 	
 	/**
 	 * Creates a new instance of {@link Configuration}.
-	 *
+	 * 
 	 * @param arguments The {@link String} array with the arguments, can be
 	 *        {@code null} or empty.
 	 */
@@ -54,6 +60,16 @@ public class Configuration {
 		init(arguments);
 	}
 	
+	/**
+	 * The directory in which the compiled scripts are cached.
+	 * 
+	 * @return The directory in which the compiled scripts are cached,
+	 *         {@code null} if they should not be cached.
+	 */
+	public String getCacheDirectory() {
+		return cacheDirectory;
+	}
+	
 	/**
 	 * The script which should be run.
 	 * 
@@ -112,6 +128,23 @@ public class Configuration {
 		return repl;
 	}
 	
+	/**
+	 * Gets the default directory in which the compiled scripts are cached,
+	 * which is {@code jluascript} in {@code $XDG_CACHE_HOME} or in
+	 * {@code ~/.cache} if that is not set.
+	 * 
+	 * @return The default directory in which the compiled scripts are cached.
+	 */
+	protected String getDefaultCacheDirectory() {
+		String cacheHome = System.getenv("XDG_CACHE_HOME");
+		
+		if (cacheHome == null || cacheHome.isEmpty()) {
+			cacheHome = Paths.get(System.getProperty("user.home"), ".cache").toString();
+		}
+		
+		return Paths.get(cacheHome, "jluascript").toString();
+	}
+	
 	/**
 	 * Parses the given arguments.
 	 * 
@@ -123,7 +156,11 @@ public class Configuration {
 			for (String argument : arguments) {
 				if (argument != null && !argument.isEmpty()) {
 					if (script == null) {
-						if (argument.equals("-h") || argument.equals("--help")) {
+						if (argument.equals("--cache")) {
+							cacheDirectory = getDefaultCacheDirectory();
+						} else if (argument.startsWith("--cache=")) {
+							cacheDirectory = argument.substring("--cache=".length());
+						} else if (argument.equals("-h") || argument.equals("--help")) {
 							printHelp = true;
 						} else if (argument.equals("--no-script-path-resolve")) {
 							noScriptPathResolve = true;
@@ -29,6 +29,9 @@ import java.util.List;
 
 import org.bonsaimind.jluascript.lua.LuaEnvironment;
 import org.bonsaimind.jluascript.lua.ScriptExecutionException;
+import org.bonsaimind.jluascript.lua.compiler.PersistentChunkCache;
+import org.bonsaimind.jluascript.lua.system.coercers.DefaultCoercer;
+import org.bonsaimind.jluascript.support.DynamicClassLoader;
 import org.bonsaimind.jluascript.utils.Verifier;
 import org.jline.reader.LineReader;
 import org.jline.reader.LineReaderBuilder;
@@ -59,7 +62,7 @@ public final class Main {
 			System.exit(1);
 		}
 		
-		LuaEnvironment environment = new LuaEnvironment();
+		LuaEnvironment environment = createEnvironment(configuration);
 		
 		if (configuration.getScript() != null) {
 			runFile(environment, configuration);
@@ -70,6 +73,28 @@ public final class Main {
 		}
 	}
 	
+	/**
+	 * Creates the {@link LuaEnvironment} for the given {@link Configuration}.
+	 * 
+	 * @param configuration The current {@link Configuration}, cannot be
+	 *        {@code null}.
+	 * @return The {@link LuaEnvironment}.
+	 * @throws IllegalArgumentException If the {@code configuration} is
+	 *         {@code null}.
+	 */
+	private static final LuaEnvironment createEnvironment(Configuration configuration) {
+		Verifier.notNull("configuration", configuration);
+		
+		if (configuration.getCacheDirectory() != null) {
+			return new LuaEnvironment(
+					new DynamicClassLoader(LuaEnvironment.class.getClassLoader()),
+					new DefaultCoercer(),
+					new PersistentChunkCache(Paths.get(configuration.getCacheDirectory())));
+		}
+		
+		return new LuaEnvironment();
+	}
+	
 	/**
 	 * Gets the first cause in the exception chain.
 	 * 